@@ -137,6 +137,8 @@ public interface OBinaryRequestExecutor {
 
   OBinaryResponse executeSubscribeSequences(OSubscribeSequencesRequest request);
 
+  OBinaryResponse executeSubscribeRecords(OSubscribeRecordsRequest request);
+
   OBinaryResponse executeExperimental(OExperimentalRequest request);
 
   OBinaryResponse executeLockRecord(OLockRecordRequest request);
@@ -32,4 +32,6 @@ public interface ORemotePushHandler {
   OBinaryPushResponse executeUpdateFunction(OPushFunctionsRequest request);
 
   OBinaryPushResponse executeUpdateSequences(OPushSequencesRequest request);
+
+  OBinaryPushResponse executeUpdateRecords(OPushRecordsRequest request);
 }
@@ -0,0 +1,105 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.remote;
+
+import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.storage.ORawBuffer;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size bounded cache of the record contents read from the server, shared by all the sessions of a remote storage. Entries are
+ * evicted when the server pushes the ids of the changed records, or when the client itself changes them.
+ * <p>
+ * Every content is cached together with the user that read it and is returned only to the sessions of the same user, because the
+ * server checks the read permissions of each user on the record.
+ * <p>
+ * Every invalidation increments an epoch: a content read from the server is cached only if no invalidation happened while it was
+ * on the wire, otherwise a change pushed in the meantime could be hidden by the stale content.
+ */
+public class ORemoteRecordCache {
+
+  private static final class OCachedRecord {
+    private final String     user;
+    private final ORawBuffer buffer;
+
+    private OCachedRecord(String user, ORawBuffer buffer) {
+      this.user = user;
+      this.buffer = buffer;
+    }
+  }
+
+  private final ConcurrentLinkedHashMap<ORID, OCachedRecord> records;
+  private final AtomicLong                                   epoch = new AtomicLong();
+
+  public ORemoteRecordCache(int capacity) {
+    records = new ConcurrentLinkedHashMap.Builder<ORID, OCachedRecord>().maximumWeightedCapacity(capacity).build();
+  }
+
+  /**
+   * @return the content of the record if it was read by the same user, otherwise null
+   */
+  public ORawBuffer get(ORID rid, String user) {
+    final OCachedRecord cached = records.get(rid);
+    if (cached == null || !cached.user.equals(user))
+      return null;
+    return cached.buffer;
+  }
+
+  /**
+   * @return the current epoch, to be passed to {@link #put(ORID, String, ORawBuffer, long)} once the record is read
+   */
+  public long getEpoch() {
+    return epoch.get();
+  }
+
+  public void put(ORID rid, String user, ORawBuffer buffer, long readEpoch) {
+    if (buffer == null || user == null || epoch.get() != readEpoch)
+      return;
+
+    records.put(rid.copy(), new OCachedRecord(user, buffer));
+    if (epoch.get() != readEpoch)
+      // AN INVALIDATION RACED WITH THE PUT, THE CONTENT COULD BE STALE
+      records.remove(rid);
+  }
+
+  public void invalidate(ORID rid) {
+    epoch.incrementAndGet();
+    records.remove(rid);
+  }
+
+  public void invalidate(Collection<? extends ORID> rids) {
+    epoch.incrementAndGet();
+    for (ORID rid : rids) {
+      records.remove(rid);
+    }
+  }
+
+  public void clear() {
+    epoch.incrementAndGet();
+    records.clear();
+  }
+
+  public int size() {
+    return records.size();
+  }
+}
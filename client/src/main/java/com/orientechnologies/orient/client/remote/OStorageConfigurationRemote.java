@@ -205,7 +205,8 @@ public class OStorageConfigurationRemote implements OStorageConfiguration {
 
   @Override
   public String getProperty(String graphConsistencyMode) {
-    return properties.get(graphConsistencyMode).value;
+    final OStorageEntryConfiguration entry = properties.get(graphConsistencyMode);
+    return entry != null ? entry.value : null;
   }
 
   @Override
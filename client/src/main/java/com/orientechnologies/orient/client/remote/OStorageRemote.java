@@ -87,6 +87,7 @@ import com.orientechnologies.orient.client.remote.message.OOpen37Response;
 import com.orientechnologies.orient.client.remote.message.OPushDistributedConfigurationRequest;
 import com.orientechnologies.orient.client.remote.message.OPushFunctionsRequest;
 import com.orientechnologies.orient.client.remote.message.OPushIndexManagerRequest;
+import com.orientechnologies.orient.client.remote.message.OPushRecordsRequest;
 import com.orientechnologies.orient.client.remote.message.OPushSchemaRequest;
 import com.orientechnologies.orient.client.remote.message.OPushSequencesRequest;
 import com.orientechnologies.orient.client.remote.message.OPushStorageConfigurationRequest;
@@ -110,6 +111,8 @@ import com.orientechnologies.orient.client.remote.message.OSubscribeFunctionsReq
 import com.orientechnologies.orient.client.remote.message.OSubscribeIndexManagerRequest;
 import com.orientechnologies.orient.client.remote.message.OSubscribeLiveQueryRequest;
 import com.orientechnologies.orient.client.remote.message.OSubscribeLiveQueryResponse;
+import com.orientechnologies.orient.client.remote.message.OSubscribeRecordsRequest;
+import com.orientechnologies.orient.client.remote.message.OSubscribeRecordsResponse;
 import com.orientechnologies.orient.client.remote.message.OSubscribeSchemaRequest;
 import com.orientechnologies.orient.client.remote.message.OSubscribeSequencesRequest;
 import com.orientechnologies.orient.client.remote.message.OSubscribeStorageConfigurationRequest;
@@ -146,6 +149,8 @@ import com.orientechnologies.orient.core.exception.OSecurityException;
 import com.orientechnologies.orient.core.exception.OStorageException;
 import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OImmutableClass;
 import com.orientechnologies.orient.core.metadata.security.OTokenException;
 import com.orientechnologies.orient.core.record.ORecordInternal;
 import com.orientechnologies.orient.core.record.impl.ODocument;
@@ -240,6 +245,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
 
   private final    Map<Integer, OLiveQueryClientListener> liveQueryListener   = new ConcurrentHashMap<>();
   private volatile OStorageRemotePushThread               pushThread;
+  private volatile ORemoteRecordCache                     recordCache;
   private final    OrientDBRemote                         context;
   private volatile int                                    nextServerToConnect = 0;
 
@@ -529,6 +535,9 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
         openRemoteDatabase();
 
         reload();
+        int recordCacheSize = conf.getValueAsInteger(OGlobalConfiguration.CLIENT_RECORD_CACHE_SIZE);
+        if (recordCacheSize > 0 && recordCache == null)
+          recordCache = new ORemoteRecordCache(recordCacheSize);
         initPush(session);
 
         componentsFactory = new OCurrentStorageComponentsFactory(configuration);
@@ -779,12 +788,54 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
       // PENDING NETWORK OPERATION, CAN'T EXECUTE IT NOW
       return new OStorageOperationResult<ORawBuffer>(null);
 
+    final ORemoteRecordCache cache = iIgnoreCache || (iFetchPlan != null && !iFetchPlan.isEmpty()) || !isCacheable(iRid) ?
+        null :
+        recordCache;
+    final String user = getCurrentSession().connectionUserName;
+    long cacheEpoch = 0;
+    if (cache != null) {
+      final ORawBuffer cached = cache.get(iRid, user);
+      if (cached != null)
+        return new OStorageOperationResult<ORawBuffer>(new ORawBuffer(cached.buffer, cached.version, cached.recordType));
+      cacheEpoch = cache.getEpoch();
+    }
+
     OReadRecordRequest request = new OReadRecordRequest(iIgnoreCache, iRid, iFetchPlan, false);
     OReadRecordResponse response = networkOperation(request, "Error on read record " + iRid);
 
+    final ORawBuffer result = response.getResult();
+    if (cache != null && result != null && result.recordType == ODocument.RECORD_TYPE)
+      // ONLY THE CHANGES OF DOCUMENTS ARE PUSHED BY THE SERVER
+      cache.put(iRid, user, result, cacheEpoch);
+
     return new OStorageOperationResult<ORawBuffer>(response.getResult());
   }
 
+  /**
+   * The records of restricted classes are never cached: their access rules can change without changing the record.
+   */
+  private boolean isCacheable(final ORecordId rid) {
+    if (!rid.isPersistent())
+      return false;
+
+    final ODatabaseDocumentInternal db = ODatabaseRecordThreadLocal.instance().getIfDefined();
+    if (db == null)
+      return false;
+
+    final OClass cls = db.getMetadata().getImmutableSchemaSnapshot().getClassByClusterId(rid.getClusterId());
+    return cls == null || !((OImmutableClass) cls).isRestricted();
+  }
+
+  private void invalidateCachedRecord(final ORID rid) {
+    final ORemoteRecordCache cache = recordCache;
+    if (cache != null)
+      cache.invalidate(rid);
+  }
+
+  public ORemoteRecordCache getRecordCache() {
+    return recordCache;
+  }
+
   @Override
   public String incrementalBackup(final String backupDirectory, OCallable<Void, Void> started) {
     OIncrementalBackupRequest request = new OIncrementalBackupRequest(backupDirectory);
@@ -829,6 +880,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     OUpdateRecordRequest request = new OUpdateRecordRequest(iRid, iContent, iVersion, updateContent, iRecordType);
     OUpdateRecordResponse response = asyncNetworkOperationNoRetry(request, iMode, iRid, realCallback,
         "Error on update record " + iRid);
+    invalidateCachedRecord(iRid);
 
     Integer resVersion = null;
     if (response != null) {
@@ -853,6 +905,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     final ODeleteRecordRequest request = new ODeleteRecordRequest(iRid, iVersion);
     final ODeleteRecordResponse response = asyncNetworkOperationNoRetry(request, iMode, iRid, realCallback,
         "Error on delete record " + iRid);
+    invalidateCachedRecord(iRid);
     Boolean resDelete = null;
     if (response != null)
       resDelete = response.getResult();
@@ -870,6 +923,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     final OHideRecordRequest request = new OHideRecordRequest(recordId);
     final OHideRecordResponse response = asyncNetworkOperationNoRetry(request, mode, recordId, realCallback,
         "Error on hide record " + recordId);
+    invalidateCachedRecord(recordId);
     Boolean resHide = null;
     if (response != null)
       resHide = response.getResult();
@@ -887,6 +941,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     final OCleanOutRecordRequest request = new OCleanOutRecordRequest(recordVersion, recordId);
     final OCleanOutRecordResponse response = asyncNetworkOperationNoRetry(request, iMode, recordId, realCallback,
         "Error on delete record " + recordId);
+    invalidateCachedRecord(recordId);
     Boolean result = null;
     if (response != null)
       result = response.getResult();
@@ -1142,6 +1197,13 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
         iTx.getIndexOperations());
 
     OCommit37Response response = networkOperationNoRetry(request, "Error on commit");
+    if (response.getConsistencyToken() != null)
+      getCurrentSession().setConsistencyToken(response.getConsistencyToken());
+    final ORemoteRecordCache cache = recordCache;
+    if (cache != null) {
+      for (ORecordOperation txEntry : iTx.getRecordOperations())
+        cache.invalidate(txEntry.getRID());
+    }
     for (OCommit37Response.OCreatedRecordResponse created : response.getCreated()) {
       iTx.updateIdentityAfterCommit(created.getCurrentRid(), created.getCreatedRid());
       ORecordOperation rop = iTx.getRecordEntry(created.getCurrentRid());
@@ -1172,6 +1234,22 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     return null;
   }
 
+  /**
+   * Returns the consistency token of the transactions committed by the current session, returned by the distributed servers.
+   */
+  public String getConsistencyToken() {
+    final OStorageRemoteSession session = getCurrentSession();
+    return session != null ? session.getConsistencyToken() : null;
+  }
+
+  /**
+   * Sets the consistency token sent with the next record loads and queries of the current session: the server waits until it
+   * applied the transactions of the token before reading.
+   */
+  public void setConsistencyToken(final String token) {
+    getCurrentSession().setConsistencyToken(token);
+  }
+
   public void rollback(OTransactionInternal iTx) {
     try {
       if (((OTransactionOptimistic) iTx).isAlreadyCleared() && getCurrentSession().getAllServerSessions().size() > 0) {
@@ -1621,6 +1699,8 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
           subscribeIndexManager(session);
           subscribeFunctions(session);
           subscribeSequences(session);
+          if (recordCache != null)
+            subscribeRecords(session);
         }
       } finally {
         stateLock.releaseWriteLock();
@@ -1652,6 +1732,20 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     pushThread.subscribe(new OSubscribeIndexManagerRequest(), nodeSession);
   }
 
+  private void subscribeRecords(OStorageRemoteSession nodeSession) {
+    OSubscribeRecordsResponse response = null;
+    try {
+      response = pushThread.subscribe(new OSubscribeRecordsRequest(), nodeSession);
+    } catch (RuntimeException e) {
+      OLogManager.instance().debug(this, "Error subscribing to the records invalidation", e);
+    }
+    if (response == null) {
+      // WITHOUT INVALIDATION THE CACHE WOULD SERVE STALE RECORDS
+      OLogManager.instance().warn(this, "Server does not push records invalidation, the client record cache is disabled");
+      recordCache = null;
+    }
+  }
+
   protected void openRemoteDatabase(String currentURL) {
     do {
       do {
@@ -2167,6 +2261,8 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
       return new OPushFunctionsRequest();
     case OChannelBinaryProtocol.REQUEST_PUSH_SEQUENCES:
       return new OPushSequencesRequest();
+    case OChannelBinaryProtocol.REQUEST_PUSH_RECORDS:
+      return new OPushRecordsRequest();
 
     }
     return null;
@@ -2190,6 +2286,14 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     return null;
   }
 
+  @Override
+  public OBinaryPushResponse executeUpdateRecords(OPushRecordsRequest request) {
+    final ORemoteRecordCache cache = recordCache;
+    if (cache != null)
+      cache.invalidate(request.getRids());
+    return null;
+  }
+
   @Override
   public OBinaryPushResponse executeUpdateStorageConfig(OPushStorageConfigurationRequest payload) {
     final OStorageConfiguration storageConfiguration = new OStorageConfigurationRemote(
@@ -2278,9 +2382,14 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
         break;
       }
     }
+    if (recordCache != null)
+      // INVALIDATIONS COULD HAVE BEEN LOST WHILE DISCONNECTED
+      recordCache.clear();
     if (aValidSession != null) {
       subscribeDistributedConfiguration(aValidSession);
       subscribeStorageConfiguration(aValidSession);
+      if (recordCache != null)
+        subscribeRecords(aValidSession);
     } else {
       OLogManager.instance().warn(this,
           "Cannot find a valid session for subscribe for event to host '%s' forward the subscribe for the next session open ",
@@ -2302,6 +2411,9 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     if (this.connectionManager.getPool(((OChannelBinaryAsynchClient) network).getServerURL()) != null) {
       this.connectionManager.remove((OChannelBinaryAsynchClient) network);
     }
+    final ORemoteRecordCache cache = recordCache;
+    if (cache != null)
+      cache.clear();
     if (e instanceof InterruptedException) {
       for (OLiveQueryClientListener liveListener : liveQueryListener.values()) {
         liveListener.onEnd();
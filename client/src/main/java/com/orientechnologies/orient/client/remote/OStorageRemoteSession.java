@@ -42,6 +42,10 @@ public class OStorageRemoteSession {
    * this is for avoid to send to the server wrong request expecting a specific state that is not there anymore.
    */
   private int     stickToSession = 0;
+  /**
+   * Consistency token of the transactions committed by the session, sent with the reads to the servers.
+   */
+  private volatile String consistencyToken;
 
   public OStorageRemoteSession(final int sessionId) {
     this.uniqueClientSessionId = sessionId;
@@ -74,6 +78,7 @@ public class OStorageRemoteSession {
     serverURLIndex = -1;
     connections = new HashSet<OChannelBinary>();
     sessions = new HashMap<String, OStorageRemoteNodeSession>();
+    consistencyToken = null;
     closed = true;
   }
 
@@ -114,4 +119,12 @@ public class OStorageRemoteSession {
   public boolean isStickToSession() {
     return stickToSession > 0;
   }
+
+  public String getConsistencyToken() {
+    return consistencyToken;
+  }
+
+  public void setConsistencyToken(final String consistencyToken) {
+    this.consistencyToken = consistencyToken;
+  }
 }
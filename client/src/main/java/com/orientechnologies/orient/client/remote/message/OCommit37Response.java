@@ -25,6 +25,7 @@ import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
 import com.orientechnologies.orient.core.storage.ridbag.sbtree.OBonsaiCollectionPointer;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
 import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
 import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
 
@@ -94,14 +95,16 @@ public final class OCommit37Response implements OBinaryResponse {
   private List<OUpdatedRecordResponse>        updated;
   private List<ODeletedRecordResponse>        deleted;
   private Map<UUID, OBonsaiCollectionPointer> collectionChanges;
+  private String                              consistencyToken;
 
   public OCommit37Response(List<OCreatedRecordResponse> created, List<OUpdatedRecordResponse> updated,
-      List<ODeletedRecordResponse> deleted, Map<UUID, OBonsaiCollectionPointer> collectionChanges) {
+      List<ODeletedRecordResponse> deleted, Map<UUID, OBonsaiCollectionPointer> collectionChanges, String consistencyToken) {
     super();
     this.created = created;
     this.updated = updated;
     this.deleted = deleted;
     this.collectionChanges = collectionChanges;
+    this.consistencyToken = consistencyToken;
   }
 
   public OCommit37Response() {
@@ -138,7 +141,7 @@ public final class OCommit37Response implements OBinaryResponse {
     }
 
     collectionChanges = OMessageHelper.readCollectionChanges(network);
-
+    consistencyToken = network.readString();
   }
 
   @Override
@@ -163,6 +166,8 @@ public final class OCommit37Response implements OBinaryResponse {
     }
 
     OMessageHelper.writeCollectionChanges(channel, collectionChanges);
+    if (protocolVersion >= OChannelBinaryProtocol.PROTOCOL_VERSION_38)
+      channel.writeString(consistencyToken);
   }
 
   public List<OCreatedRecordResponse> getCreated() {
@@ -180,4 +185,11 @@ public final class OCommit37Response implements OBinaryResponse {
   public List<ODeletedRecordResponse> getDeleted() {
     return deleted;
   }
+
+  /**
+   * @return the consistency token of the session after the commit, null if the server is not distributed
+   */
+  public String getConsistencyToken() {
+    return consistencyToken;
+  }
 }
\ No newline at end of file
@@ -72,11 +72,12 @@ public class OMessageHelper {
   public static byte[] getRecordBytes(final ORecord iRecord, ORecordSerializer serializer) {
 
     final byte[] stream;
-    String dbSerializerName = null;
+    ORecordSerializer dbSerializer = null;
     if (ODatabaseRecordThreadLocal.instance().getIfDefined() != null)
-      dbSerializerName = ((ODatabaseDocumentInternal) iRecord.getDatabase()).getSerializer().toString();
-    if (ORecordInternal.getRecordType(iRecord) == ODocument.RECORD_TYPE && (dbSerializerName == null || !dbSerializerName
-        .equals(serializer.toString()))) {
+      dbSerializer = ((ODatabaseDocumentInternal) iRecord.getDatabase()).getSerializer();
+    // A DATABASE WRITING ANOTHER VERSION OF THE SAME FORMAT (E.G. WITH DICTIONARY CODES) IS ENCODED AGAIN AS WELL
+    if (ORecordInternal.getRecordType(iRecord) == ODocument.RECORD_TYPE && (dbSerializer == null || !dbSerializer.toString()
+        .equals(serializer.toString()) || dbSerializer.getCurrentVersion() != serializer.getCurrentVersion())) {
       ((ODocument) iRecord).deserializeFields();
       stream = serializer.toStream(iRecord, false);
     } else
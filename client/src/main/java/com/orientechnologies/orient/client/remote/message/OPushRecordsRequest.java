@@ -0,0 +1,63 @@
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.client.remote.ORemotePushHandler;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Pushes to the clients the ids of the records changed or deleted on the server, so they can be evicted from the client caches.
+ */
+public class OPushRecordsRequest implements OBinaryPushRequest<OBinaryPushResponse> {
+
+  private List<ORID> rids;
+
+  public OPushRecordsRequest() {
+  }
+
+  public OPushRecordsRequest(Collection<ORID> rids) {
+    this.rids = new ArrayList<>(rids);
+  }
+
+  @Override
+  public void write(OChannelDataOutput channel) throws IOException {
+    channel.writeInt(rids.size());
+    for (ORID rid : rids) {
+      channel.writeRID(rid);
+    }
+  }
+
+  @Override
+  public void read(OChannelDataInput network) throws IOException {
+    int size = network.readInt();
+    rids = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      rids.add(network.readRID());
+    }
+  }
+
+  @Override
+  public OBinaryPushResponse execute(ORemotePushHandler pushHandler) {
+    return pushHandler.executeUpdateRecords(this);
+  }
+
+  @Override
+  public OBinaryPushResponse createResponse() {
+    return null;
+  }
+
+  @Override
+  public byte getPushCommand() {
+    return OChannelBinaryProtocol.REQUEST_PUSH_RECORDS;
+  }
+
+  public List<ORID> getRids() {
+    return rids;
+  }
+}
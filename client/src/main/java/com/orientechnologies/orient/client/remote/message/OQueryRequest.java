@@ -46,6 +46,7 @@ public final class OQueryRequest implements OBinaryRequest<OQueryResponse> {
   private byte                operationType;
   private Map<String, Object> params;
   private boolean             namedParams;
+  private String              consistencyToken;
 
   public OQueryRequest(String language, String iCommand, Object[] positionalParams, byte operationType,
       ORecordSerializer serializer, int recordsPerPage) {
@@ -94,6 +95,7 @@ public final class OQueryRequest implements OBinaryRequest<OQueryResponse> {
     byte[] bytes = OMessageHelper.getRecordBytes(parms, serializer);
     network.writeBytes(bytes);
     network.writeBoolean(namedParams);
+    network.writeString(session != null ? session.getConsistencyToken() : null);
   }
 
   public void read(OChannelDataInput channel, int protocolVersion, ORecordSerializer serializer) throws IOException {
@@ -110,6 +112,8 @@ public final class OQueryRequest implements OBinaryRequest<OQueryResponse> {
     serializer.fromStream(bytes, paramsDoc, null);
     this.params = paramsDoc.field("params");
     this.namedParams = channel.readBoolean();
+    if (protocolVersion >= OChannelBinaryProtocol.PROTOCOL_VERSION_38)
+      this.consistencyToken = channel.readString();
   }
 
   @Override
@@ -137,6 +141,10 @@ public final class OQueryRequest implements OBinaryRequest<OQueryResponse> {
     return statement;
   }
 
+  public String getConsistencyToken() {
+    return consistencyToken;
+  }
+
   public Map<String, Object> getParams() {
     return params;
   }
@@ -36,6 +36,7 @@ public final class OReadRecordRequest implements OBinaryRequest<OReadRecordRespo
   private ORecordId rid;
   private String    fetchPlan;
   private boolean   loadTumbstone;
+  private String    consistencyToken;
 
   public OReadRecordRequest(boolean iIgnoreCache, ORecordId iRid, String iFetchPlan, boolean iLoadTumbstone) {
     this.ignoreCache = iIgnoreCache;
@@ -53,6 +54,7 @@ public final class OReadRecordRequest implements OBinaryRequest<OReadRecordRespo
     network.writeString(fetchPlan != null ? fetchPlan : "");
     network.writeByte((byte) (ignoreCache ? 1 : 0));
     network.writeByte((byte) (loadTumbstone ? 1 : 0));
+    network.writeString(session != null ? session.getConsistencyToken() : null);
   }
 
   public void read(OChannelDataInput channel, int protocolVersion, ORecordSerializer serializer) throws IOException {
@@ -60,6 +62,8 @@ public final class OReadRecordRequest implements OBinaryRequest<OReadRecordRespo
     fetchPlan = channel.readString();
     ignoreCache = channel.readByte() != 0;
     loadTumbstone = channel.readByte() != 0;
+    if (protocolVersion >= OChannelBinaryProtocol.PROTOCOL_VERSION_38)
+      consistencyToken = channel.readString();
   }
 
   @Override
@@ -88,6 +92,10 @@ public final class OReadRecordRequest implements OBinaryRequest<OReadRecordRespo
     return loadTumbstone;
   }
 
+  public String getConsistencyToken() {
+    return consistencyToken;
+  }
+
   @Override
   public OReadRecordResponse createResponse() {
     return new OReadRecordResponse();
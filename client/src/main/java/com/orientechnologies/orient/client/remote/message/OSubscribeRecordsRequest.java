@@ -0,0 +1,48 @@
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.client.binary.OBinaryRequestExecutor;
+import com.orientechnologies.orient.client.remote.OBinaryRequest;
+import com.orientechnologies.orient.client.remote.OBinaryResponse;
+import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
+import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Subscribes the push channel to the invalidation of the records changed on the server.
+ */
+public class OSubscribeRecordsRequest implements OBinaryRequest<OSubscribeRecordsResponse> {
+  @Override
+  public void write(OChannelDataOutput network, OStorageRemoteSession session) throws IOException {
+
+  }
+
+  @Override
+  public void read(OChannelDataInput channel, int protocolVersion, ORecordSerializer serializer) throws IOException {
+
+  }
+
+  @Override
+  public byte getCommand() {
+    return OChannelBinaryProtocol.SUBSCRIBE_PUSH_RECORDS;
+  }
+
+  @Override
+  public OSubscribeRecordsResponse createResponse() {
+    return new OSubscribeRecordsResponse();
+  }
+
+  @Override
+  public OBinaryResponse execute(OBinaryRequestExecutor executor) {
+    return executor.executeSubscribeRecords(this);
+  }
+
+  @Override
+  public String getDescription() {
+    return "Subscribe Records Invalidation";
+  }
+
+}
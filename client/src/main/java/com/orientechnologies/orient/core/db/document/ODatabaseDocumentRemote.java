@@ -334,6 +334,20 @@ public class ODatabaseDocumentRemote extends ODatabaseDocumentAbstract {
     return this;
   }
 
+  @Override
+  public String getConsistencyToken() {
+    checkOpenness();
+    checkIfActive();
+    return getStorage().getConsistencyToken();
+  }
+
+  @Override
+  public void setConsistencyToken(final String token) {
+    checkOpenness();
+    checkIfActive();
+    getStorage().setConsistencyToken(token);
+  }
+
   public OStorageRemoteSession getSessionMetadata() {
     return sessionMetadata;
   }
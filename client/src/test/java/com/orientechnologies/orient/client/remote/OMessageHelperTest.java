@@ -3,6 +3,7 @@ package com.orientechnologies.orient.client.remote;
 import com.orientechnologies.orient.client.remote.message.MockChannel;
 import com.orientechnologies.orient.client.remote.message.OMessageHelper;
 import com.orientechnologies.orient.client.remote.message.tx.ORecordOperationRequest;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.ODatabaseType;
 import com.orientechnologies.orient.core.db.OrientDB;
 import com.orientechnologies.orient.core.db.OrientDBConfig;
@@ -10,11 +11,15 @@ import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
 import com.orientechnologies.orient.core.db.record.ORecordOperation;
 import com.orientechnologies.orient.core.db.record.ridbag.ORidBag;
 import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
 import com.orientechnologies.orient.core.record.ORecordInternal;
 import com.orientechnologies.orient.core.record.impl.ODirtyManager;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.record.impl.ODocumentInternal;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerBinary;
 import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerNetworkFactory;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.OStringDictionary;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -104,4 +109,34 @@ public class OMessageHelperTest {
     }
 
   }
+
+  @Test
+  public void testDictionaryEncodedRecordIsSentInClientFormat() {
+    OrientDB orientDB = new OrientDB("embedded", OrientDBConfig.defaultConfig());
+
+    orientDB.create("testDictionaryEncoded", ODatabaseType.MEMORY,
+        OrientDBConfig.builder().addConfig(OGlobalConfiguration.DB_DOCUMENT_SERIALIZER_VERSION, 2).build());
+
+    ODatabaseDocument open = orientDB.open("testDictionaryEncoded", "admin", "admin");
+    try {
+      OClass clazz = open.createClass("City");
+      clazz.createProperty("country", OType.STRING)
+          .setCustom(OStringDictionary.ENCODING_CUSTOM, OStringDictionary.DICTIONARY_ENCODING);
+
+      open.save(new ODocument("City").field("country", "Italy"));
+      ODocument doc = open.save(new ODocument("City").field("country", "Italy"));
+      open.getLocalCache().clear();
+      ODocument loaded = open.load(doc.getIdentity());
+      assertThat(loaded.toStream()[0]).isEqualTo((byte) 2);
+
+      // A CLIENT NEGOTIATING THE BINARY SERIALIZER RECEIVES THE DEFAULT VERSION, WITHOUT DICTIONARY CODES
+      byte[] bytes = OMessageHelper.getRecordBytes(loaded, ORecordSerializerBinary.INSTANCE);
+      assertThat(bytes[0]).isEqualTo((byte) 1);
+      ODocument read = (ODocument) ORecordSerializerBinary.INSTANCE.fromStream(bytes, new ODocument(), null);
+      assertThat(read.<String>field("country")).isEqualTo("Italy");
+    } finally {
+      open.close();
+      orientDB.close();
+    }
+  }
 }
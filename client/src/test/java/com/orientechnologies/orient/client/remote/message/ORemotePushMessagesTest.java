@@ -1,6 +1,8 @@
 package com.orientechnologies.orient.client.remote.message;
 
 import com.orientechnologies.orient.core.db.*;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.metadata.schema.OSchemaProxy;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerNetworkV37;
@@ -79,6 +81,21 @@ public class ORemotePushMessagesTest {
 
   }
 
+  @Test
+  public void testRecords() throws IOException {
+    MockChannel channel = new MockChannel();
+    List<ORID> rids = new ArrayList<>();
+    rids.add(new ORecordId(10, 20));
+    rids.add(new ORecordId(11, 30));
+    OPushRecordsRequest request = new OPushRecordsRequest(rids);
+    request.write(channel);
+    channel.close();
+
+    OPushRecordsRequest readRequest = new OPushRecordsRequest();
+    readRequest.read(channel);
+    assertEquals(readRequest.getRids(), rids);
+  }
+
   @Test
   public void testSubscribeRequest() throws IOException {
     MockChannel channel = new MockChannel();
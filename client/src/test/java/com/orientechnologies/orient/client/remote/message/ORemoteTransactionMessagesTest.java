@@ -11,6 +11,7 @@ import com.orientechnologies.orient.core.storage.ridbag.sbtree.OBonsaiCollection
 import com.orientechnologies.orient.core.tx.OTransactionIndexChanges;
 import com.orientechnologies.orient.core.tx.OTransactionIndexChanges.OPERATION;
 import com.orientechnologies.orient.core.tx.OTransactionIndexChangesPerKey;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
 import org.junit.Test;
 
 import java.io.IOException;
@@ -129,8 +130,8 @@ public class ORemoteTransactionMessagesTest {
     Map<UUID, OBonsaiCollectionPointer> changes = new HashMap<>();
     UUID val = UUID.randomUUID();
     changes.put(val, new OBonsaiCollectionPointer(10, new OBonsaiBucketPointer(30, 40)));
-    OCommit37Response response = new OCommit37Response(creates, updates, deletes, changes);
-    response.write(channel, 0, null);
+    OCommit37Response response = new OCommit37Response(creates, updates, deletes, changes, "cluster:1.10");
+    response.write(channel, OChannelBinaryProtocol.CURRENT_PROTOCOL_VERSION, null);
     channel.close();
 
     OCommit37Response readResponse = new OCommit37Response();
@@ -274,6 +274,11 @@ public enum OGlobalConfiguration {// ENVIRONMENT
 
   WAL_MAX_SIZE("storage.wal.maxSize", "Maximum size of WAL on disk (in megabytes)", Integer.class, -1),
 
+  WAL_KEEP_SIZE("storage.wal.keepSize",
+      "Minimum size of WAL kept on disk after a checkpoint (in megabytes). In a distributed cluster a node which rejoins receives "
+          + "only the records changed since its last LSN if they are still in the kept WAL, instead of the whole database",
+      Integer.class, 0),
+
   WAL_ALLOW_DIRECT_IO("storage.wal.allowDirectIO",
       "Allows usage of direct IO API on Linux OS to avoid keeping of WAL data in " + "OS buffer", Boolean.class, true),
 
@@ -381,6 +386,10 @@ public enum OGlobalConfiguration {// ENVIRONMENT
 
   DB_VALIDATION("db.validation", "Enables or disables validation of records", Boolean.class, true, true),
 
+  DB_DICTIONARY_MAX_SIZE("db.dictionary.maxSize",
+      "Maximum number of distinct values in the dictionary of the string properties with dictionary encoding. Values met when "
+          + "the dictionary is full are stored in full", Integer.class, 4096),
+
   // SETTINGS OF NON-TRANSACTIONAL MODE
   @Deprecated NON_TX_RECORD_UPDATE_SYNCH("nonTX.recordUpdate.synch",
       "Executes a sync against the file-system for every record operation. This slows down record updates, "
@@ -443,6 +452,15 @@ public enum OGlobalConfiguration {// ENVIRONMENT
 
   INDEX_CURSOR_PREFETCH_SIZE("index.cursor.prefetchSize", "Default prefetch size of index cursor", Integer.class, 10000),
 
+  INDEX_BUILD_THREADS("index.build.threads",
+      "Number of threads which read the records when an index is built or rebuilt, the keys are written in the index by the thread"
+          + " which builds it. 1 reads the records in the building thread", Integer.class,
+      Runtime.getRuntime().availableProcessors()),
+
+  INDEX_LUCENE_SEARCH_THREADS("index.lucene.searchThreads",
+      "Number of threads shared by all the Lucene indexes to search the segments of an index in parallel for the same query. 1, the"
+          + " default, searches all the segments in the query thread", Integer.class, 1),
+
   // SBTREE
   SBTREE_MAX_DEPTH("sbtree.maxDepth",
       "Maximum depth of sbtree, which will be traversed during key look up until it will be treated as broken (64 by default)",
@@ -743,6 +761,13 @@ public enum OGlobalConfiguration {// ENVIRONMENT
   CLIENT_DB_RELEASE_WAIT_TIMEOUT("client.channel.dbReleaseWaitTimeout",
       "Delay (in ms), after which a data modification command will be resent, if the DB was frozen", Integer.class, 10000, true),
 
+  /**
+   * Maximum number of records kept in the near cache shared by all the sessions of a remote database, 0 disables the cache.
+   */
+  CLIENT_RECORD_CACHE_SIZE("client.recordCache.size",
+      "Maximum number of records kept in the near cache shared by all the sessions of a remote database. The cached records are "
+          + "invalidated by the server through the push channel. 0 means disabled", Integer.class, 0),
+
   CLIENT_USE_SSL("client.ssl.enabled", "Use SSL for client connections", Boolean.class, false),
 
   CLIENT_SSL_KEYSTORE("client.ssl.keyStore", "Use SSL for client connections", String.class, null),
@@ -805,6 +830,14 @@ public enum OGlobalConfiguration {// ENVIRONMENT
   DISTRIBUTED_DEPLOYDB_TASK_COMPRESSION("distributed.deployDbTaskCompression",
       "Compression level (between 0 and 9) to use in backup for database deployment", Integer.class, 7, true),
 
+  DISTRIBUTED_DEPLOYDB_TASK_CHUNKS_IN_FLIGHT("distributed.deployDbTaskChunksInFlight",
+      "Number of database chunks requested at the same time to the node which sends the database on a full sync", Integer.class,
+      4, true),
+
+  DISTRIBUTED_DEPLOYCHUNK_TASK_RETRIES("distributed.deployChunkTaskRetries",
+      "Number of times a database chunk is requested again after an error on a full sync, before the sync fails", Integer.class, 3,
+      true),
+
   DISTRIBUTED_ASYNCH_QUEUE_SIZE("distributed.asynchQueueSize",
       "Queue size to handle distributed asynchronous operations. The bigger is the queue, the more operation are buffered, but also more memory it's consumed. 0 = dynamic allocation, which means up to 2^31-1 entries",
       Integer.class, 0),
@@ -905,6 +938,16 @@ public enum OGlobalConfiguration {// ENVIRONMENT
   @OApi(maturity = OApi.MATURITY.NEW) DISTRIBUTED_DB_WORKERTHREADS("distributed.dbWorkerThreads",
       "Number of parallel worker threads per database that process distributed messages. Use 0 for automatic", Integer.class, 0),
 
+  DISTRIBUTED_DB_WORKERTHREADS_MAX("distributed.dbWorkerThreadsMax",
+      "Maximum number of worker threads per database that process distributed messages. More workers are started when all the "
+          + "workers are busy. Use 0 for twice the number of workers started with the database", Integer.class, 0),
+
+  DISTRIBUTED_DB_WORKERTHREADS_SCALE_QUEUESIZE("distributed.dbWorkerThreadsScaleQueueSize",
+      "Number of requests waiting in the queue of every worker of a database to start a new worker", Integer.class, 100),
+
+  DISTRIBUTED_DB_WORKERTHREADS_IDLE_TIMEOUT("distributed.dbWorkerThreadsIdleTimeout",
+      "Time in ms after which an idle worker started on demand is stopped", Long.class, 60000),
+
   /**
    * @Since 2.1.3, Deprecated in 2.2.0
    */
@@ -952,9 +995,21 @@ public enum OGlobalConfiguration {// ENVIRONMENT
       "Delay (in ms) between attempts on executing a distributed transaction, which had failed because of locked records. (0=no delay)",
       Integer.class, 100, true),
 
+  @OApi(maturity = OApi.MATURITY.NEW) DISTRIBUTED_TX_BATCH_SIZE("distributed.txBatchSize",
+      "Maximum number of concurrent transactions the coordinator replicates with the same message, when they involve the same clusters and nodes. All the nodes must support batched transactions. (1=no batching)",
+      Integer.class, 1, true),
+
+  @OApi(maturity = OApi.MATURITY.NEW) DISTRIBUTED_CONSISTENCY_TOKEN_TIMEOUT("distributed.consistencyTokenTimeout",
+      "Maximum time (in ms) a session waits for the local node to apply the transactions of the consistency token set by the client, before failing",
+      Long.class, 1000l, true),
+
   DB_DOCUMENT_SERIALIZER("db.document.serializer", "The default record serializer used by the document database", String.class,
       ORecordSerializerBinary.NAME),
 
+  @OApi(maturity = OApi.MATURITY.NEW) DB_DOCUMENT_SERIALIZER_VERSION("db.document.serializerVersion",
+      "Version of the binary record format written by the databases created with this setting. It is stored in the storage configuration at creation. Version 2 adds a sorted field directory to the record header, but its records cannot be read by older releases and by binary clients that deserialize records themselves",
+      Integer.class, 1),
+
   /**
    * @Since 2.2
    */
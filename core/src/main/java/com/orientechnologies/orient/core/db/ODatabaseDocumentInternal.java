@@ -221,6 +221,24 @@ public interface ODatabaseDocumentInternal extends ODatabaseSession, ODatabaseIn
     return false;
   }
 
+  /**
+   * returns the consistency token of the transactions committed by the session (if in distributed mode).
+   *
+   * @return the consistency token, null if the database is not distributed
+   */
+  default String getConsistencyToken() {
+    return null;
+  }
+
+  /**
+   * sets the consistency token returned to a session on another node (if in distributed mode), so the session reads the changes of
+   * its transactions.
+   *
+   * @param token the consistency token, null to read without waiting for any transaction
+   */
+  default void setConsistencyToken(String token) {
+  }
+
   /**
    * sends an execution plan to a remote node for a remote query execution
    *
@@ -13,6 +13,7 @@ import com.orientechnologies.orient.core.metadata.sequence.OSequenceLibraryImpl;
 import com.orientechnologies.orient.core.query.live.OLiveQueryHook;
 import com.orientechnologies.orient.core.query.live.OLiveQueryHookV2;
 import com.orientechnologies.orient.core.schedule.OSchedulerImpl;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.OStringDictionary;
 import com.orientechnologies.orient.core.sql.executor.OQueryStats;
 import com.orientechnologies.orient.core.sql.parser.OExecutionPlanCache;
 import com.orientechnologies.orient.core.sql.parser.OStatementCache;
@@ -40,6 +41,8 @@ public abstract class OSharedContext extends OListenerManger<OMetadataUpdateList
   protected OQueryStats                    queryStats;
   protected volatile boolean loaded = false;
 
+  protected final OStringDictionary stringDictionary = new OStringDictionary(this::getStorage);
+
   public OSharedContext() {
     super(true);
   }
@@ -92,6 +95,10 @@ public abstract class OSharedContext extends OListenerManger<OMetadataUpdateList
     return queryStats;
   }
 
+  public OStringDictionary getStringDictionary() {
+    return stringDictionary;
+  }
+
   public abstract void load(ODatabaseDocumentInternal oDatabaseDocumentInternal);
 
   public abstract void reload(ODatabaseDocumentInternal database);
@@ -32,6 +32,7 @@ import com.orientechnologies.orient.core.engine.OMemoryAndLocalPaginatedEnginesI
 import com.orientechnologies.orient.core.exception.ODatabaseException;
 import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
 import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializerFactory;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerBinary;
 import com.orientechnologies.orient.core.sql.parser.OStatement;
 import com.orientechnologies.orient.core.storage.OStorage;
 import com.orientechnologies.orient.core.storage.config.OClusterBasedStorageConfiguration;
@@ -449,6 +450,12 @@ public class OrientDBEmbedded implements OrientDBInternal {
     ORecordSerializer serializer = ORecordSerializerFactory.instance().getDefaultRecordSerializer();
     if (serializer.toString().equals("ORecordDocument2csv"))
       throw new ODatabaseException("Impossible to create the database with ORecordDocument2csv serializer");
+    if (serializer instanceof ORecordSerializerBinary) {
+      final int version = config.getConfigurations().getValueAsInteger(OGlobalConfiguration.DB_DOCUMENT_SERIALIZER_VERSION);
+      serializer = ORecordSerializerBinary.forVersion(version);
+      if (serializer == null)
+        throw new ODatabaseException("Record serializer version " + version + " is not supported");
+    }
     storage.setRecordSerializer(serializer.toString(), serializer.getCurrentVersion());
     // since 2.1 newly created databases use strict SQL validation by default
     storage.setProperty(OStatement.CUSTOM_STRICT_SQL, "true");
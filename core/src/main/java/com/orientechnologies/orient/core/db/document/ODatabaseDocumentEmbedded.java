@@ -74,7 +74,9 @@ import com.orientechnologies.orient.core.query.live.OLiveQueryMonitorEmbedded;
 import com.orientechnologies.orient.core.record.*;
 import com.orientechnologies.orient.core.record.impl.*;
 import com.orientechnologies.orient.core.schedule.OScheduledEvent;
+import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
 import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializerFactory;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerBinary;
 import com.orientechnologies.orient.core.sql.OSQLEngine;
 import com.orientechnologies.orient.core.sql.executor.LiveQueryListenerImpl;
 import com.orientechnologies.orient.core.sql.executor.OExecutionPlan;
@@ -92,7 +94,9 @@ import com.orientechnologies.orient.core.storage.cluster.OOfflineClusterExceptio
 import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
 import com.orientechnologies.orient.core.storage.impl.local.OMicroTransaction;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.ORecordSerializationContext;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.atomicoperations.OAtomicOperationsManager;
 import com.orientechnologies.orient.core.tx.OTransactionAbstract;
+import com.orientechnologies.orient.core.tx.OTransactionInternal;
 
 import java.text.SimpleDateFormat;
 import java.util.Collections;
@@ -164,6 +168,13 @@ public class ODatabaseDocumentEmbedded extends ODatabaseDocumentAbstract impleme
       serializer = serializerFactory.getFormat(serializeName);
       if (serializer == null)
         throw new ODatabaseException("RecordSerializer with name '" + serializeName + "' not found ");
+      if (serializer instanceof ORecordSerializerBinary) {
+        // DATABASES CREATED WITH ANOTHER SUPPORTED FORMAT VERSION KEEP WRITING IT
+        final ORecordSerializer byVersion = ORecordSerializerBinary
+            .forVersion(getStorage().getConfiguration().getRecordSerializerVersion());
+        if (byVersion != null)
+          serializer = byVersion;
+      }
       if (getStorage().getConfiguration().getRecordSerializerVersion() > serializer.getMinSupportedVersion())
         throw new ODatabaseException("Persistent record serializer version is not support by the current implementation");
 
@@ -1066,6 +1077,16 @@ public class ODatabaseDocumentEmbedded extends ODatabaseDocumentAbstract impleme
     return callbackHooks(ORecordHook.TYPE.BEFORE_READ, identifiable) == ORecordHook.RESULT.SKIP;
   }
 
+  @Override
+  public void internalCommit(OTransactionInternal transaction) {
+    super.internalCommit(transaction);
+
+    // THE STRING VALUES MET FOR THE FIRST TIME ARE ADDED TO THE DICTIONARY IN THEIR OWN ATOMIC OPERATION, AFTER THE COMMIT
+    if (!isDistributed() && getStorage().getUnderlying() instanceof OAbstractPaginatedStorage
+        && OAtomicOperationsManager.getCurrentOperation() == null)
+      getSharedContext().getStringDictionary().flush();
+  }
+
   @Override
   protected void afterCommitOperations() {
     super.afterCommitOperations();
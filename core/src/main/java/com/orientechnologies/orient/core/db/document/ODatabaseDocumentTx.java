@@ -1372,6 +1372,11 @@ public class ODatabaseDocumentTx implements ODatabaseDocumentInternal {
       // SAVE ENCRYPTION KEY IN CONFIGURATION
       builder.addConfig(OGlobalConfiguration.STORAGE_ENCRYPTION_KEY, encryptionKey);
 
+    final Object serializerVersion = pars.get(OGlobalConfiguration.DB_DOCUMENT_SERIALIZER_VERSION.getKey());
+    if (serializerVersion != null)
+      // SAVE RECORD FORMAT VERSION IN CONFIGURATION
+      builder.addConfig(OGlobalConfiguration.DB_DOCUMENT_SERIALIZER_VERSION, serializerVersion);
+
     for (Map.Entry<ATTRIBUTES, Object> attr : preopenAttributes.entrySet()) {
       builder.addAttribute(attr.getKey(), attr.getValue());
     }
@@ -30,14 +30,10 @@ import com.orientechnologies.common.serialization.types.OBinarySerializer;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
-import com.orientechnologies.orient.core.exception.OCommandExecutionException;
-import com.orientechnologies.orient.core.exception.OConfigurationException;
 import com.orientechnologies.orient.core.exception.OInvalidIndexEngineIdException;
-import com.orientechnologies.orient.core.exception.OTooBigIndexKeyException;
 import com.orientechnologies.orient.core.index.engine.OBaseIndexEngine;
 import com.orientechnologies.orient.core.intent.OIntentMassiveInsert;
 import com.orientechnologies.orient.core.metadata.schema.OType;
-import com.orientechnologies.orient.core.record.ORecord;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.record.impl.ODocumentInternal;
 import com.orientechnologies.orient.core.storage.OStorage;
@@ -58,7 +54,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -413,43 +408,48 @@ public abstract class OIndexAbstract<T> implements OIndexInternal<T> {
 
     final boolean intentInstalled = getDatabase().declareIntent(new OIntentMassiveInsert());
 
-    acquireExclusiveLock();
-    try {
-      // DO NOT REORDER 2 assignments bellow
-      // see #getRebuildVersion()
-      rebuilding = true;
-      rebuildVersion.incrementAndGet();
-
+    // THE STORAGE IS LOCKED BEFORE THE INDEX, OTHERWISE THE TRANSACTIONS WHICH COMMIT DURING THE REBUILD WAIT FOR THE INDEX WHILE
+    // THE REPLACEMENT OF THE ENGINE WAITS FOR THEM
+    storage.callInExclusiveLock(() -> {
+      acquireExclusiveLock();
       try {
-        if (indexId >= 0) {
-          storage.deleteIndexEngine(indexId);
+        // DO NOT REORDER 2 assignments bellow
+        // see #getRebuildVersion()
+        rebuilding = true;
+        rebuildVersion.incrementAndGet();
+
+        try {
+          if (indexId >= 0) {
+            storage.deleteIndexEngine(indexId);
+          }
+        } catch (Exception e) {
+          OLogManager.instance().error(this, "Error during index '%s' delete", e, name);
         }
-      } catch (Exception e) {
-        OLogManager.instance().error(this, "Error during index '%s' delete", e, name);
-      }
 
-      removeValuesContainer();
+        removeValuesContainer();
 
-      indexId = storage
-          .addIndexEngine(name, algorithm, type, indexDefinition, determineValueSerializer(), isAutomatic(), true, version, 1,
-              this instanceof OIndexMultiValues, getEngineProperties(), clustersToIndex, metadata);
-      apiVersion = OAbstractPaginatedStorage.extractEngineAPIVersion(indexId);
+        indexId = storage
+            .addIndexEngine(name, algorithm, type, indexDefinition, determineValueSerializer(), isAutomatic(), true, version, 1,
+                this instanceof OIndexMultiValues, getEngineProperties(), clustersToIndex, metadata);
+        apiVersion = OAbstractPaginatedStorage.extractEngineAPIVersion(indexId);
 
-      onIndexEngineChange(indexId);
-    } catch (Exception e) {
-      try {
-        if (indexId >= 0)
-          storage.clearIndex(indexId);
-      } catch (Exception e2) {
-        OLogManager.instance().error(this, "Error during index rebuild", e2);
-        // IGNORE EXCEPTION: IF THE REBUILD WAS LAUNCHED IN CASE OF RID INVALID CLEAR ALWAYS GOES IN ERROR
-      }
+        onIndexEngineChange(indexId);
+      } catch (Exception e) {
+        try {
+          if (indexId >= 0)
+            storage.clearIndex(indexId);
+        } catch (Exception e2) {
+          OLogManager.instance().error(this, "Error during index rebuild", e2);
+          // IGNORE EXCEPTION: IF THE REBUILD WAS LAUNCHED IN CASE OF RID INVALID CLEAR ALWAYS GOES IN ERROR
+        }
 
-      rebuilding = false;
-      throw OException.wrapException(new OIndexException("Error on rebuilding the index for clusters: " + clustersToIndex), e);
-    } finally {
-      releaseExclusiveLock();
-    }
+        rebuilding = false;
+        throw OException.wrapException(new OIndexException("Error on rebuilding the index for clusters: " + clustersToIndex), e);
+      } finally {
+        releaseExclusiveLock();
+      }
+      return null;
+    });
 
     acquireSharedLock();
     try {
@@ -478,9 +478,8 @@ public abstract class OIndexAbstract<T> implements OIndexInternal<T> {
   }
 
   private long fillIndex(final OProgressListener iProgressListener, final boolean rebuild) {
-    long documentIndexed = 0;
+    long documentIndexed;
     try {
-      long documentNum = 0;
       long documentTotal = 0;
 
       for (final String cluster : clustersToIndex)
@@ -490,11 +489,7 @@ public abstract class OIndexAbstract<T> implements OIndexInternal<T> {
         iProgressListener.onBegin(this, documentTotal, rebuild);
 
       // INDEX ALL CLUSTERS
-      for (final String clusterName : clustersToIndex) {
-        final long[] metrics = indexCluster(clusterName, iProgressListener, documentNum, documentIndexed, documentTotal);
-        documentNum = metrics[0];
-        documentIndexed = metrics[1];
-      }
+      documentIndexed = new OIndexBuilder(this, iProgressListener, documentTotal).build(clustersToIndex);
 
       if (iProgressListener != null)
         iProgressListener.onCompletition(this, true);
@@ -620,7 +615,7 @@ public abstract class OIndexAbstract<T> implements OIndexInternal<T> {
         updateConfiguration();
 
         // INDEX SINGLE CLUSTER
-        indexCluster(clusterName, null, 0, 0, 0);
+        new OIndexBuilder(this, null, 0).build(Collections.singleton(clusterName));
       }
 
       return this;
@@ -822,15 +817,6 @@ public abstract class OIndexAbstract<T> implements OIndexInternal<T> {
 
   protected abstract OBinarySerializer determineValueSerializer();
 
-  private void populateIndex(ODocument doc, Object fieldValue) {
-    if (fieldValue instanceof Collection) {
-      for (final Object fieldValueItem : (Collection<?>) fieldValue) {
-        put(fieldValueItem, doc);
-      }
-    } else
-      put(fieldValue, doc);
-  }
-
   public Object getCollatingValue(final Object key) {
     if (key != null && getDefinition() != null)
       return getDefinition().getCollate().transform(key);
@@ -908,46 +894,6 @@ public abstract class OIndexAbstract<T> implements OIndexInternal<T> {
     return ODatabaseRecordThreadLocal.instance().get();
   }
 
-  private long[] indexCluster(final String clusterName, final OProgressListener iProgressListener, long documentNum,
-      long documentIndexed, long documentTotal) {
-    try {
-      for (final ORecord record : getDatabase().browseCluster(clusterName)) {
-        if (Thread.interrupted())
-          throw new OCommandExecutionException("The index rebuild has been interrupted");
-
-        if (record instanceof ODocument) {
-          final ODocument doc = (ODocument) record;
-
-          if (indexDefinition == null)
-            throw new OConfigurationException(
-                "Index '" + name + "' cannot be rebuilt because has no a valid definition (" + indexDefinition + ")");
-
-          final Object fieldValue = indexDefinition.getDocumentValueToIndex(doc);
-
-          if (fieldValue != null || !indexDefinition.isNullValuesIgnored()) {
-            try {
-              populateIndex(doc, fieldValue);
-            } catch (OTooBigIndexKeyException | OIndexException e) {
-              OLogManager.instance().error(this,
-                  "Exception during index rebuild. Exception was caused by following key/ value pair - key %s, value %s."
-                      + " Rebuild will continue from this point", e, fieldValue, doc.getIdentity());
-            }
-
-            ++documentIndexed;
-          }
-        }
-        documentNum++;
-
-        if (iProgressListener != null)
-          iProgressListener.onProgress(this, documentNum, (float) (documentNum * 100.0 / documentTotal));
-      }
-    } catch (NoSuchElementException ignore) {
-      // END OF CLUSTER REACHED, IGNORE IT
-    }
-
-    return new long[] { documentNum, documentIndexed };
-  }
-
   protected void releaseExclusiveLock() {
     rwLock.releaseWriteLock();
   }
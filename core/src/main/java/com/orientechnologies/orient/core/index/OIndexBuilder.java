@@ -0,0 +1,330 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.core.index;
+
+import com.orientechnologies.common.comparator.ODefaultComparator;
+import com.orientechnologies.common.exception.OException;
+import com.orientechnologies.common.listener.OProgressListener;
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.orient.core.Orient;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
+import com.orientechnologies.orient.core.exception.OCommandExecutionException;
+import com.orientechnologies.orient.core.exception.OConfigurationException;
+import com.orientechnologies.orient.core.exception.OTooBigIndexKeyException;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.iterator.ORecordIteratorCluster;
+import com.orientechnologies.orient.core.record.ORecord;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.storage.ORecordMetadata;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills an index with the records of its clusters. The clusters are split in ranges of positions which are read in parallel by
+ * {@link OGlobalConfiguration#INDEX_BUILD_THREADS} threads, each one with its own copy of the database. The threads extract the
+ * keys of the records of a range and sort them, while the building thread puts the sorted batches in the index, so the index is
+ * written by a single thread mostly in key order.
+ * <p>
+ * The transactions committed during the build change the index directly, so their keys are checked against the index when they
+ * commit. Each batch is written in chunks of {@value #WRITE_CHUNK_SIZE} keys, every chunk while the transactions which change
+ * the records of its cluster wait, and the records changed since they were read are indexed with their last version.
+ */
+final class OIndexBuilder {
+  private static final int RANGE_SIZE       = 10_000;
+  private static final int WRITE_CHUNK_SIZE = 256;
+
+  private static final Comparator<Entry> ENTRY_COMPARATOR = (first, second) -> {
+    if (first.key == null) {
+      return second.key == null ? 0 : -1;
+    } else if (second.key == null) {
+      return 1;
+    }
+    return ODefaultComparator.INSTANCE.compare(first.key, second.key);
+  };
+
+  private final OIndexAbstract<?>  index;
+  private final OIndexDefinition   definition;
+  private final OProgressListener  progressListener;
+  private final long               documentTotal;
+  private final boolean            sorted;
+  private final Queue<long[]>      ranges          = new ConcurrentLinkedQueue<>();
+  private final AtomicLong         documentNum     = new AtomicLong();
+  private final AtomicLong         documentIndexed = new AtomicLong();
+  private final BlockingQueue<Object> batches;
+
+  private volatile boolean stopped;
+
+  OIndexBuilder(final OIndexAbstract<?> index, final OProgressListener progressListener, final long documentTotal) {
+    this.index = index;
+    this.definition = index.getDefinition();
+    this.progressListener = progressListener;
+    this.documentTotal = documentTotal;
+    this.sorted = index.supportsOrderedIterations();
+    this.batches = new ArrayBlockingQueue<>(Math.max(1, OGlobalConfiguration.INDEX_BUILD_THREADS.getValueAsInteger()) * 2);
+  }
+
+  /**
+   * @return the number of records indexed
+   */
+  long build(final Collection<String> clusterNames) {
+    final ODatabaseDocumentInternal database = ODatabaseRecordThreadLocal.instance().get();
+    for (final String clusterName : clusterNames) {
+      final int clusterId = database.getClusterIdByName(clusterName);
+      if (clusterId < 0) {
+        continue;
+      }
+
+      final long[] range = database.getStorage().getClusterDataRange(clusterId);
+      for (long first = range[0]; first >= 0 && first <= range[1]; first += RANGE_SIZE) {
+        ranges.add(new long[] { clusterId, first, Math.min(first + RANGE_SIZE - 1, range[1]) });
+      }
+    }
+
+    final List<ODatabaseDocumentInternal> workerDatabases = openWorkerDatabases(database);
+    if (workerDatabases.isEmpty()) {
+      long[] range;
+      while ((range = ranges.poll()) != null) {
+        write(database, read(database, range));
+      }
+      return documentIndexed.get();
+    }
+
+    try {
+      for (final ODatabaseDocumentInternal workerDatabase : workerDatabases) {
+        Orient.instance().submit(() -> readRanges(workerDatabase));
+      }
+
+      int running = workerDatabases.size();
+      while (running > 0) {
+        final Object batch = batches.take();
+        if (batch instanceof Entry[]) {
+          write(database, (Entry[]) batch);
+        } else if (batch instanceof Throwable) {
+          throw OException.wrapException(new OIndexException("Error on reading the records of index '" + index.getName() + "'"),
+              (Throwable) batch);
+        } else {
+          running--;
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OCommandExecutionException("The index rebuild has been interrupted");
+    } finally {
+      stopped = true;
+      batches.clear();
+    }
+    return documentIndexed.get();
+  }
+
+  private List<ODatabaseDocumentInternal> openWorkerDatabases(final ODatabaseDocumentInternal database) {
+    final int threads = Math.min(OGlobalConfiguration.INDEX_BUILD_THREADS.getValueAsInteger(), ranges.size());
+    final List<ODatabaseDocumentInternal> workerDatabases = new ArrayList<>(threads);
+    if (threads < 2 || database.getTransaction().isActive()) {
+      return workerDatabases;
+    }
+
+    try {
+      for (int i = 0; i < threads; i++) {
+        workerDatabases.add(database.copy());
+      }
+    } catch (final RuntimeException e) {
+      OLogManager.instance().debug(this, "Index '%s' is built by a single thread", e, index.getName());
+      for (final ODatabaseDocumentInternal workerDatabase : workerDatabases) {
+        workerDatabase.activateOnCurrentThread();
+        workerDatabase.close();
+      }
+      workerDatabases.clear();
+    } finally {
+      database.activateOnCurrentThread();
+    }
+    return workerDatabases;
+  }
+
+  private void readRanges(final ODatabaseDocumentInternal workerDatabase) {
+    Object result = this;
+    try {
+      workerDatabase.activateOnCurrentThread();
+      long[] range;
+      while (!stopped && (range = ranges.poll()) != null) {
+        final Entry[] batch = read(workerDatabase, range);
+        while (!stopped && !batches.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+          // THE BUILDING THREAD IS BUSY WRITING THE PREVIOUS BATCHES
+        }
+      }
+    } catch (final Exception | Error e) {
+      result = e;
+    } finally {
+      try {
+        workerDatabase.close();
+      } finally {
+        ODatabaseRecordThreadLocal.instance().remove();
+      }
+    }
+
+    try {
+      while (!stopped && !batches.offer(result, 100, TimeUnit.MILLISECONDS)) {
+        // THE BUILDING THREAD IS BUSY WRITING THE PREVIOUS BATCHES
+      }
+    } catch (final InterruptedException ignore) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private Entry[] read(final ODatabaseDocumentInternal database, final long[] range) {
+    final List<Entry> entries = new ArrayList<>();
+    try {
+      for (final ORecord record : new ORecordIteratorCluster<ORecord>(database, (int) range[0], range[1], range[2])) {
+        if (stopped || Thread.interrupted()) {
+          throw new OCommandExecutionException("The index rebuild has been interrupted");
+        }
+
+        if (record instanceof ODocument) {
+          final ODocument document = (ODocument) record;
+
+          if (definition == null) {
+            throw new OConfigurationException(
+                "Index '" + index.getName() + "' cannot be rebuilt because has no a valid definition (" + definition + ")");
+          }
+
+          if (extract(document, entries)) {
+            documentIndexed.incrementAndGet();
+          }
+        }
+        documentNum.incrementAndGet();
+      }
+    } catch (final NoSuchElementException ignore) {
+      // END OF CLUSTER REACHED, IGNORE IT
+    }
+
+    final Entry[] batch = entries.toArray(new Entry[0]);
+    if (sorted) {
+      try {
+        Arrays.sort(batch, ENTRY_COMPARATOR);
+      } catch (final RuntimeException ignore) {
+        // KEYS WHICH CANNOT BE COMPARED ARE WRITTEN IN THE ORDER OF THE RECORDS
+      }
+    }
+    return batch;
+  }
+
+  /**
+   * @return true if the document has keys to index
+   */
+  private boolean extract(final ODocument document, final List<Entry> entries) {
+    final Object fieldValue = definition.getDocumentValueToIndex(document);
+    if (fieldValue == null && definition.isNullValuesIgnored()) {
+      return false;
+    }
+
+    final ORID rid = document.getIdentity().copy();
+    final int version = document.getVersion();
+    if (fieldValue instanceof Collection) {
+      for (final Object fieldValueItem : (Collection<?>) fieldValue) {
+        entries.add(new Entry(index.getCollatingValue(fieldValueItem), rid, version));
+      }
+    } else {
+      entries.add(new Entry(index.getCollatingValue(fieldValue), rid, version));
+    }
+    return true;
+  }
+
+  private void write(final ODatabaseDocumentInternal database, final Entry[] batch) {
+    // THE BATCH IS WRITTEN IN CHUNKS, SO THE TRANSACTIONS WHICH CHANGE THE RECORDS OF THE CLUSTER WAIT FOR ONE CHUNK AT MOST
+    for (int from = 0; from < batch.length; from += WRITE_CHUNK_SIZE) {
+      final Entry[] chunk = Arrays.copyOfRange(batch, from, Math.min(from + WRITE_CHUNK_SIZE, batch.length));
+
+      // THE TRANSACTIONS WHICH CHANGE THE RECORDS OF THE CHUNK WAIT, SO THEY FIND THE KEYS OF THE CHUNK IN THE INDEX WHEN THEY
+      // COMMIT AND THE KEYS OF THE RECORDS THEY CHANGED BEFORE CANNOT BE OVERWRITTEN BY THE KEYS OF AN OLDER VERSION
+      index.storage.callInClusterReadLock(chunk[0].rid.getClusterId(), () -> {
+        for (final Entry entry : lastVersions(database, chunk)) {
+          try {
+            index.put(entry.key, entry.rid);
+          } catch (final OTooBigIndexKeyException | OIndexException e) {
+            OLogManager.instance().error(this,
+                "Exception during index rebuild. Exception was caused by following key/ value pair - key %s, value %s."
+                    + " Rebuild will continue from this point", e, entry.key, entry.rid);
+          }
+        }
+        return null;
+      });
+    }
+
+    if (progressListener != null) {
+      final long num = documentNum.get();
+      progressListener.onProgress(index, num, (float) (num * 100.0 / documentTotal));
+    }
+  }
+
+  /**
+   * @return the entries of the chunk whose records are unchanged since they were read, and the entries of the last version of the
+   * records changed in the meantime, whose transactions could not find the keys of the previous version in the index
+   */
+  private List<Entry> lastVersions(final ODatabaseDocumentInternal database, final Entry[] chunk) {
+    final List<Entry> entries = new ArrayList<>(chunk.length);
+    final Map<ORID, Boolean> changed = new HashMap<>();
+    for (final Entry entry : chunk) {
+      Boolean recordChanged = changed.get(entry.rid);
+      if (recordChanged == null) {
+        final ORecordMetadata metadata = index.storage.getRecordMetadata(entry.rid);
+        recordChanged = metadata == null || metadata.getVersion() != entry.version;
+        changed.put(entry.rid, recordChanged);
+
+        if (recordChanged && metadata != null) {
+          final ORecord record = database.load(entry.rid, null, true);
+          if (record instanceof ODocument) {
+            extract((ODocument) record, entries);
+          }
+        }
+      }
+
+      if (!recordChanged) {
+        entries.add(entry);
+      }
+    }
+    return entries;
+  }
+
+  private static final class Entry {
+    private final Object key;
+    private final ORID   rid;
+    private final int    version;
+
+    private Entry(final Object key, final ORID rid, final int version) {
+      this.key = key;
+      this.rid = rid;
+      this.version = version;
+    }
+  }
+}
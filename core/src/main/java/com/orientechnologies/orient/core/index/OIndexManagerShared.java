@@ -344,7 +344,8 @@ public class OIndexManagerShared extends OIndexManagerAbstract {
     final OStorage storage = database.getStorage();
     if (storage instanceof OAbstractPaginatedStorage) {
       OAbstractPaginatedStorage paginatedStorage = (OAbstractPaginatedStorage) storage;
-      return paginatedStorage.wereDataRestoredAfterOpen() && paginatedStorage.wereNonTxOperationsPerformedInPreviousOpen();
+      return paginatedStorage.wereDataRestoredAfterOpen() && paginatedStorage.wereNonTxOperationsPerformedInPreviousOpen()
+          || paginatedStorage.wasBulkLoadInterrupted();
     }
 
     return false;
@@ -574,7 +575,9 @@ public class OIndexManagerShared extends OIndexManagerAbstract {
 
       final boolean automatic = indexDefinition != null && indexDefinition.isAutomatic();
       // XXX: At this moment Lucene-based indexes are not durable, so we still need to rebuild them.
-      final boolean durable = !"LUCENE".equalsIgnoreCase(indexMetadata.getAlgorithm());
+      // Indexes are not updated during a bulk load, so they are not durable when the load is interrupted.
+      final boolean durable = !"LUCENE".equalsIgnoreCase(indexMetadata.getAlgorithm()) && !(storage instanceof OAbstractPaginatedStorage
+          && ((OAbstractPaginatedStorage) storage).wasBulkLoadInterrupted());
 
       // The database and its index manager are in a special half-open state now, the index manager is created, but not populated
       // with the index metadata, we have to rebuild the whole index list manually and insert it into the index manager.
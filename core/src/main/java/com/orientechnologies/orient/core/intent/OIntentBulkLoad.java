@@ -0,0 +1,80 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+
+package com.orientechnologies.orient.core.intent;
+
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.index.OIndex;
+import com.orientechnologies.orient.core.storage.OStorage;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+
+import java.util.Set;
+
+/**
+ * Massive insert which also puts the local storage in bulk load mode: the changes of the session are not logged in the write ahead
+ * log and the automatic non unique indexes are rebuilt once when the intent ends, instead of being updated by every transaction.
+ * The database is not durable until the intent ends, so it is meant for the initial load of a database which can be loaded again
+ * from scratch.
+ *
+ * @see OAbstractPaginatedStorage#beginBulkLoad(ODatabaseDocumentInternal)
+ */
+public class OIntentBulkLoad extends OIntentMassiveInsert {
+  private OAbstractPaginatedStorage storage;
+
+  @Override
+  public void begin(final ODatabaseDocumentInternal iDatabase) {
+    super.begin(iDatabase);
+
+    final OStorage underlying = iDatabase.getStorage().getUnderlying();
+    if (underlying instanceof OAbstractPaginatedStorage) {
+      storage = (OAbstractPaginatedStorage) underlying;
+      storage.beginBulkLoad(iDatabase);
+    }
+  }
+
+  @Override
+  public void end(final ODatabaseDocumentInternal iDatabase) {
+    try {
+      if (storage != null) {
+        final Set<String> indexes = storage.endBulkLoad();
+        storage = null;
+
+        for (final String indexName : indexes) {
+          final OIndex<?> index = iDatabase.getMetadata().getIndexManager().getIndex(indexName);
+          if (index != null) {
+            index.rebuild();
+          }
+        }
+      }
+    } finally {
+      super.end(iDatabase);
+    }
+  }
+
+  @Override
+  public OIntent copy() {
+    final OIntentBulkLoad copy = new OIntentBulkLoad();
+    copy.setDisableValidation(isDisableValidation());
+    copy.setDisableSecurity(isDisableSecurity());
+    copy.setDisableHooks(isDisableHooks());
+    copy.storage = storage;
+    return copy;
+  }
+}
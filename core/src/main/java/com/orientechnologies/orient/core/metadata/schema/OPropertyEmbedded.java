@@ -12,6 +12,7 @@ import com.orientechnologies.orient.core.index.OIndexMetadata;
 import com.orientechnologies.orient.core.metadata.security.ORole;
 import com.orientechnologies.orient.core.metadata.security.ORule;
 import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.OStringDictionary;
 import com.orientechnologies.orient.core.sql.OSQLEngine;
 
 import java.util.ArrayList;
@@ -233,6 +234,7 @@ public class OPropertyEmbedded extends OPropertyImpl {
     acquireSchemaWriteLock();
     try {
       checkEmbedded();
+      OStringDictionary.checkCustom(getDatabase(), iName, iValue);
 
       if (customFields == null)
         customFields = new HashMap<String, String>();
@@ -106,6 +106,13 @@ public class ORecordInternal {
     rec.clearSource();
   }
 
+  /**
+   * Returns the serialized content of the record if it is still available, without serializing the record again.
+   */
+  public static byte[] getSource(final ORecord record) {
+    return ((ORecordAbstract) record)._source;
+  }
+
   public static void addIdentityChangeListener(ORecord record, final OIdentityChangeListener identityChangeListener) {
     if (!(record instanceof ORecordAbstract)) {
       //manage O*Delegate
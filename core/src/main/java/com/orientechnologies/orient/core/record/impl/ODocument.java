@@ -87,6 +87,7 @@ import com.orientechnologies.orient.core.serialization.serializer.OStringSeriali
 import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
 import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializerFactory;
 import com.orientechnologies.orient.core.serialization.serializer.record.binary.HelperClasses;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerBinaryV1;
 import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerNetwork;
 import com.orientechnologies.orient.core.sql.OSQLHelper;
 import com.orientechnologies.orient.core.sql.executor.OResult;
@@ -132,6 +133,10 @@ public class ODocument extends ORecordAbstract
   protected              int      _fieldSize;
 
   protected Map<String, ODocumentEntry> _fields;
+  /**
+   * True if some entries may hold a value not decoded yet, see {@link ODocumentEntry#isPending()}.
+   */
+  private   boolean                     _pendingFields;
 
   protected           boolean                             _trackingChanges        = true;
   protected           boolean                             _ordered                = true;
@@ -338,7 +343,7 @@ public class ODocument extends ORecordAbstract
       }
     }
 
-    checkForFields();
+    checkForEntries(null);
 
     if (_fields == null || _fields.size() == 0)
       return Collections.EMPTY_SET;
@@ -456,7 +461,7 @@ public class ODocument extends ORecordAbstract
     }
 
     checkForLoading();
-    checkForFields();
+    checkForEntries(iPropetyName);
 
     ODocumentEntry entry = _fields.get(iPropetyName);
     final boolean knownProperty;
@@ -559,7 +564,7 @@ public class ODocument extends ORecordAbstract
 
   public <RET> RET removeProperty(final String iFieldName) {
     checkForLoading();
-    checkForFields();
+    checkForEntries(iFieldName);
 
     if (ODocumentHelper.ATTRIBUTE_CLASS.equalsIgnoreCase(iFieldName)) {
       setClassName(null);
@@ -1098,7 +1103,7 @@ public class ODocument extends ORecordAbstract
         return fieldNames;
     }
 
-    checkForFields();
+    checkForEntries(null);
 
     if (_fields == null || _fields.size() == 0)
       return EMPTY_STRINGS;
@@ -1433,7 +1438,7 @@ public class ODocument extends ORecordAbstract
     iFieldName = checkFieldName(iFieldName);
 
     checkForLoading();
-    checkForFields();
+    checkForEntries(iFieldName);
 
     ODocumentEntry entry = _fields.get(iFieldName);
     final boolean knownProperty;
@@ -1548,7 +1553,7 @@ public class ODocument extends ORecordAbstract
   @Override
   public Object removeField(final String iFieldName) {
     checkForLoading();
-    checkForFields();
+    checkForEntries(iFieldName);
 
     if (ODocumentHelper.ATTRIBUTE_CLASS.equalsIgnoreCase(iFieldName)) {
       setClassName(null);
@@ -2058,7 +2063,7 @@ public class ODocument extends ORecordAbstract
       getDirtyManager().setDirty(this);
 
     // THIS IS IMPORTANT TO BE SURE THAT FIELDS ARE LOADED BEFORE IT'S TOO LATE AND THE RECORD _SOURCE IS NULL
-    checkForFields();
+    checkForEntries(null);
 
     super.setDirty();
 
@@ -2104,7 +2109,7 @@ public class ODocument extends ORecordAbstract
     getDirtyManager().setDirty(this);
 
     // THIS IS IMPORTANT TO BE SURE THAT FIELDS ARE LOADED BEFORE IT'S TOO LATE AND THE RECORD _SOURCE IS NULL
-    checkForFields();
+    checkForEntries(null);
 
     super.setDirtyNoChanged();
   }
@@ -2353,13 +2358,13 @@ public class ODocument extends ORecordAbstract
   @Override
   public int fields() {
     checkForLoading();
-    checkForFields();
+    checkForEntries(null);
     return _fieldSize;
   }
 
   public boolean isEmpty() {
     checkForLoading();
-    checkForFields();
+    checkForEntries(null);
     return _fields == null || _fields.isEmpty();
   }
 
@@ -2666,7 +2671,14 @@ public class ODocument extends ORecordAbstract
   @Override
   public void validate() throws OValidationException {
     checkForLoading();
-    checkForFields();
+    checkForEntries(null);
+
+    // ONLY THE PROPERTIES OF THE CLASS ARE CONVERTED AND VALIDATED: THE OTHER FIELDS CAN STAY NOT DECODED
+    final OImmutableClass schemaClass = getImmutableSchemaClass();
+    if (schemaClass != null && _pendingFields) {
+      for (OProperty p : schemaClass.properties())
+        decodeField(p.getName());
+    }
 
     autoConvertValues();
 
@@ -2904,11 +2916,76 @@ public class ODocument extends ORecordAbstract
     removeCollectionChangeListener(entry, entry.value);
     entry.value = iFieldValue;
     entry.type = iFieldType;
+    entry.clearSerialized();
     addCollectionChangeListener(entry);
     if (iFieldValue instanceof OIdentifiable && !((OIdentifiable) iFieldValue).getIdentity().isPersistent())
       track((OIdentifiable) iFieldValue);
   }
 
+  /**
+   * Sets a field read from a stream, keeping the bytes of its value to write them back as they are while the value is unchanged.
+   */
+  protected void rawField(final String iFieldName, final Object iFieldValue, final OType iFieldType,
+      final ORecordSerializerBinaryV1 iSerializer, final byte[] iSerialized, final int iOffset, final int iLength) {
+    rawField(iFieldName, iFieldValue, iFieldType);
+    _fields.get(iFieldName).setSerialized(iSerializer, iSerialized, iOffset, iLength);
+  }
+
+  /**
+   * Sets a field read from a stream without decoding its value: the serializer decodes it on first access, or writes its bytes back
+   * as they are if it is never accessed.
+   */
+  protected void rawPendingField(final String iFieldName, final OType iFieldType, final ORecordSerializerBinaryV1 iSerializer,
+      final byte[] iSerialized, final int iOffset, final int iLength) {
+    rawField(iFieldName, null, iFieldType);
+    _fields.get(iFieldName).setPending(iSerializer, iSerialized, iOffset, iLength);
+    _pendingFields = true;
+  }
+
+  /**
+   * Decodes the value of the field if it has not been decoded yet.
+   */
+  protected void decodeField(final String iFieldName) {
+    final ODocumentEntry entry = _fields != null ? _fields.get(iFieldName) : null;
+    if (entry != null && entry.isPending())
+      decodeEntry(entry);
+  }
+
+  private void decodeEntry(final ODocumentEntry entry) {
+    final STATUS prev = _status;
+    _status = STATUS.UNMARSHALLING;
+    try {
+      entry.value = entry.getSerializer()
+          .deserializeValue(this, entry.getSerialized(), entry.getSerializedOffset(), entry.getSerializedLength(), entry.type);
+    } finally {
+      _status = prev;
+    }
+    entry.setDecoded();
+    addCollectionChangeListener(entry);
+  }
+
+  private void decodeFields(final String... iFields) {
+    if (iFields == null || iFields.length == 0) {
+      for (ODocumentEntry entry : _fields.values()) {
+        if (entry.isPending())
+          decodeEntry(entry);
+      }
+      _pendingFields = false;
+      return;
+    }
+
+    for (String f : iFields) {
+      if (f == null || f.startsWith("@"))
+        continue;
+
+      // DECODE THE ROOT OF THE CHAINED FIELD NAMES
+      final int pos1 = f.indexOf('.');
+      final int pos2 = f.indexOf('[');
+      final int pos = pos1 > -1 && (pos2 == -1 || pos1 < pos2) ? pos1 : pos2;
+      decodeField(pos > -1 ? f.substring(0, pos) : f);
+    }
+  }
+
   protected ODocumentEntry getOrCreate(String key) {
     ODocumentEntry entry = _fields.get(key);
     if (entry == null) {
@@ -3302,11 +3379,32 @@ public class ODocument extends ORecordAbstract
     if (_fields == null)
       _fields = _ordered ? new LinkedHashMap<>() : new HashMap<>();
 
+    boolean result = true;
     if (_status == ORecordElement.STATUS.LOADED && _source != null)
       // POPULATE FIELDS LAZY
-      return deserializeFields(iFields);
+      result = deserializeFields(iFields);
 
-    return true;
+    if (_pendingFields)
+      decodeFields(iFields);
+
+    return result;
+  }
+
+  /**
+   * Populates all the fields like {@link #checkForFields(String...)} with no fields, but decodes only the value of the given field:
+   * the values of the others are decoded on first access.
+   *
+   * @param iFieldName the field to decode, or null to decode none
+   */
+  protected void checkForEntries(final String iFieldName) {
+    if (_fields == null)
+      _fields = _ordered ? new LinkedHashMap<>() : new HashMap<>();
+
+    if (_status == ORecordElement.STATUS.LOADED && _source != null)
+      deserializeFields();
+
+    if (_pendingFields && iFieldName != null)
+      decodeField(iFieldName);
   }
 
   /**
@@ -3353,6 +3451,11 @@ public class ODocument extends ORecordAbstract
     return _fields == null ? new HashSet<>() : _fields.entrySet();
   }
 
+  protected Set<Entry<String, ODocumentEntry>> getRawEntriesUndecoded() {
+    checkForEntries(null);
+    return _fields == null ? new HashSet<>() : _fields.entrySet();
+  }
+
   private void fetchSchemaIfCan() {
     if (_schema == null) {
       ODatabaseDocumentInternal db = ODatabaseRecordThreadLocal.instance().getIfDefined();
@@ -3409,6 +3512,7 @@ public class ODocument extends ORecordAbstract
       ODocumentEntry entry = _fields != null ? _fields.get(prop.getName()) : null;
       if (entry != null && entry.exist()) {
         if (entry.type == null || entry.type != prop.getType()) {
+          decodeField(prop.getName());
           boolean preChanged = entry.changed;
           boolean preCreated = entry.created;
           ;
@@ -21,11 +21,18 @@ package com.orientechnologies.orient.core.record.impl;
 
 import com.orientechnologies.orient.core.db.record.OMultiValueChangeEvent;
 import com.orientechnologies.orient.core.db.record.OMultiValueChangeTimeLine;
+import com.orientechnologies.orient.core.db.record.ORecordLazyMultiValue;
+import com.orientechnologies.orient.core.db.record.OTrackedMultiValue;
+import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.metadata.schema.OProperty;
 import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerBinaryV1;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -47,6 +54,16 @@ public class ODocumentEntry {
   public boolean                                         exist   = true;
   public boolean                                         created = false;
 
+  /**
+   * Bytes of the value in the stream the document was read from, written back as they are while the value is unchanged.
+   */
+  private byte[]                    serialized;
+  private int                       serializedOffset;
+  private int                       serializedLength;
+  private Object                    serializedValue;
+  private ORecordSerializerBinaryV1 serializer;
+  private boolean                   pending;
+
   public ODocumentEntry() {
 
   }
@@ -184,6 +201,119 @@ public class ODocumentEntry {
     this.created = created;
   }
 
+  /**
+   * Keeps the bytes the current value has been read from.
+   *
+   * @param serializer the serializer that read the bytes, the only one that can write them back
+   * @param length     the length of the bytes as stored in the header of the document, negative for a dictionary code
+   */
+  public void setSerialized(final ORecordSerializerBinaryV1 serializer, final byte[] bytes, final int offset, final int length) {
+    this.serializer = serializer;
+    serialized = bytes;
+    serializedOffset = offset;
+    serializedLength = length;
+    serializedValue = value;
+    pending = false;
+  }
+
+  /**
+   * Keeps the bytes of a value that is not decoded yet, {@link ODocument} decodes it through the serializer on first access.
+   */
+  public void setPending(final ORecordSerializerBinaryV1 serializer, final byte[] bytes, final int offset, final int length) {
+    setSerialized(serializer, bytes, offset, length);
+    pending = true;
+  }
+
+  protected void setDecoded() {
+    serializedValue = value;
+    pending = false;
+  }
+
+  public void clearSerialized() {
+    serializer = null;
+    serialized = null;
+    serializedValue = null;
+    pending = false;
+  }
+
+  /**
+   * @return true if the value has not been decoded from the serialized bytes yet
+   */
+  public boolean isPending() {
+    return pending;
+  }
+
+  public ORecordSerializerBinaryV1 getSerializer() {
+    return serializer;
+  }
+
+  public byte[] getSerialized() {
+    return serialized;
+  }
+
+  public int getSerializedOffset() {
+    return serializedOffset;
+  }
+
+  public int getSerializedLength() {
+    return serializedLength;
+  }
+
+  /**
+   * @return true if the value is still the one read from the serialized bytes, changed neither by replacement nor in place
+   */
+  public boolean isSerializedUpToDate() {
+    if (serialized == null || changed || !exist)
+      return false;
+
+    if (pending)
+      // NEVER DECODED, SO NEVER CHANGED
+      return true;
+
+    if (value == null || value != serializedValue)
+      return false;
+
+    // THE CONTENT OF BINARY VALUES AND RIDBAGS CAN CHANGE WITHOUT NOTIFICATION
+    if (type == null || type == OType.BINARY || type == OType.LINKBAG || type == OType.CUSTOM || type == OType.TRANSIENT)
+      return false;
+
+    if (value instanceof OTrackedMultiValue) {
+      // THE CHANGES OF THE COLLECTION CLEAR THE BYTES THROUGH THE CHANGE LISTENER, BUT NOT THE CHANGES OF ITS ITEMS
+      if (changeListener == null || (timeLine != null && !timeLine.getMultiValueChangeEvents().isEmpty()))
+        return false;
+      return hasImmutableItems((OTrackedMultiValue<?, ?>) value);
+    }
+
+    // ANY OTHER VALUE, LIKE A DATE OR A DOCUMENT, CAN BE CHANGED IN PLACE WITHOUT NOTIFICATION
+    return isImmutable(value);
+  }
+
+  private static boolean hasImmutableItems(final OTrackedMultiValue<?, ?> value) {
+    final Iterator<?> items;
+    if (value instanceof ORecordLazyMultiValue)
+      // DO NOT LOAD THE LINKED RECORDS
+      items = ((ORecordLazyMultiValue) value).rawIterator();
+    else
+      items = value instanceof Map ? ((Map<?, ?>) value).values().iterator() : ((Collection<?>) value).iterator();
+
+    while (items.hasNext()) {
+      final Object item = items.next();
+      if (item != null && !isImmutable(item))
+        return false;
+    }
+    return true;
+  }
+
+  private static boolean isImmutable(final Object value) {
+    if (value instanceof ORID)
+      // TEMPORARY IDS ARE UPDATED IN PLACE ON COMMIT
+      return ((ORID) value).isPersistent();
+
+    return value instanceof String || value instanceof Integer || value instanceof Long || value instanceof Short
+        || value instanceof Byte || value instanceof Boolean || value instanceof Character || value instanceof Float
+        || value instanceof Double || value instanceof BigDecimal || value instanceof BigInteger;
+  }
+
   protected ODocumentEntry clone() {
     final ODocumentEntry entry = new ODocumentEntry();
     entry.type = type;
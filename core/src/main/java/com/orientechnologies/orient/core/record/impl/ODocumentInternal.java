@@ -26,6 +26,7 @@ import com.orientechnologies.orient.core.metadata.schema.OGlobalProperty;
 import com.orientechnologies.orient.core.metadata.schema.OImmutableClass;
 import com.orientechnologies.orient.core.metadata.schema.OType;
 import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerBinaryV1;
 
 import java.util.Map.Entry;
 import java.util.Set;
@@ -49,6 +50,21 @@ public class ODocumentInternal {
     oDocument.rawField(iFieldName, iFieldValue, iFieldType);
   }
 
+  public static void rawField(final ODocument oDocument, final String iFieldName, final Object iFieldValue,
+      final OType iFieldType, final ORecordSerializerBinaryV1 iSerializer, final byte[] iSerialized, final int iOffset,
+      final int iLength) {
+    oDocument.rawField(iFieldName, iFieldValue, iFieldType, iSerializer, iSerialized, iOffset, iLength);
+  }
+
+  public static void rawPendingField(final ODocument oDocument, final String iFieldName, final OType iFieldType,
+      final ORecordSerializerBinaryV1 iSerializer, final byte[] iSerialized, final int iOffset, final int iLength) {
+    oDocument.rawPendingField(iFieldName, iFieldType, iSerializer, iSerialized, iOffset, iLength);
+  }
+
+  public static void decodeField(final ODocument oDocument, final String iFieldName) {
+    oDocument.decodeField(iFieldName);
+  }
+
   public static boolean rawContainsField(final ODocument oDocument, final String iFiledName) {
     return oDocument.rawContainsField(iFiledName);
   }
@@ -79,6 +95,13 @@ public class ODocumentInternal {
     return document.getRawEntries();
   }
 
+  /**
+   * Same as {@link #rawEntries(ODocument)}, but the values not decoded yet are left as they are.
+   */
+  public static Set<Entry<String, ODocumentEntry>> rawEntriesUndecoded(final ODocument document) {
+    return document.getRawEntriesUndecoded();
+  }
+
   public static void clearTrackData(final ODocument document) {
     document.clearTrackData();
   }
@@ -52,6 +52,8 @@ final class OSimpleMultiValueChangeListener<K, V> implements OMultiValueChangeLi
       //doc not alive anymore, do nothing.
       return;
     if (document.getInternalStatus() != STATUS.UNMARSHALLING) {
+      if (entry != null)
+        entry.clearSerialized();
       if (event.isChangesOwnerContent())
         document.setDirty();
       else
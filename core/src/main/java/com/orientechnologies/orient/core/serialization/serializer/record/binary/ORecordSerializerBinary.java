@@ -35,14 +35,16 @@ public class ORecordSerializerBinary implements ORecordSerializer {
   public static final  String                  NAME                   = "ORecordSerializerBinary";
   public static final  ORecordSerializerBinary INSTANCE               = new ORecordSerializerBinary();
   private static final byte                    CURRENT_RECORD_VERSION = 1;
+  private static final ORecordSerializerBinary INSTANCE_V2            = new ORecordSerializerBinary((byte) 2);
 
   private       ODocumentSerializer[] serializerByVersion;
   private final byte                  currentSerializerVersion;
 
   private void init() {
-    serializerByVersion = new ODocumentSerializer[2];
+    serializerByVersion = new ODocumentSerializer[3];
     serializerByVersion[0] = new ORecordSerializerBinaryV0();
     serializerByVersion[1] = new ORecordSerializerBinaryV1();
+    serializerByVersion[2] = new ORecordSerializerBinaryV2();
   }
 
   public ORecordSerializerBinary(byte serializerVersion) {
@@ -55,6 +57,18 @@ public class ORecordSerializerBinary implements ORecordSerializer {
     init();
   }
 
+  /**
+   * Returns the serializer that writes records with the given version, or null if the version is not supported. Databases
+   * created with version 2 in their storage configuration write it, all the others the current version.
+   */
+  public static ORecordSerializerBinary forVersion(final int version) {
+    if (version == CURRENT_RECORD_VERSION)
+      return INSTANCE;
+    if (version == INSTANCE_V2.getCurrentVersion())
+      return INSTANCE_V2;
+    return null;
+  }
+
   public int getNumberOfSupportedVersions() {
     return serializerByVersion.length;
   }
@@ -119,6 +119,7 @@ public class ORecordSerializerBinaryV1 extends ORecordSerializerBinaryV0 {
 
     String fieldName;
     int valuePos;
+    int fieldLength;
     OType type;
     int unmarshalledFields = 0;
 
@@ -138,7 +139,7 @@ public class ORecordSerializerBinaryV1 extends ORecordSerializerBinaryV0 {
         boolean match = matchFieldName.getFirstVal();
         fieldName = matchFieldName.getSecondVal();
         Tuple<Integer, OType> pointerAndType = getFieldSizeAndTypeFromCurrentPosition(bytes);
-        int fieldLength = pointerAndType.getFirstVal();
+        fieldLength = pointerAndType.getFirstVal();
 
         if (!match) {
           // FIELD NOT INCLUDED: SKIP IT
@@ -157,6 +158,7 @@ public class ORecordSerializerBinaryV1 extends ORecordSerializerBinaryV0 {
         // LOAD GLOBAL PROPERTY BY ID
         Triple<Signal, Triple<Integer, OType, String>, Integer> actionSignal = processPropertyFiledInDeserializePartial(document,
             len, iFields, bytes, cumulativeLength, headerStart, headerLength);
+        fieldLength = actionSignal.getThirdVal() - cumulativeLength;
         cumulativeLength = actionSignal.getThirdVal();
         switch (actionSignal.getFirstVal()) {
         case CONTINUE:
@@ -175,7 +177,7 @@ public class ORecordSerializerBinaryV1 extends ORecordSerializerBinaryV0 {
         bytes.offset = valuePos;
         final Object value = deserializeValue(bytes, type, document);
         bytes.offset = headerCursor;
-        ODocumentInternal.rawField(document, fieldName, value, type);
+        ODocumentInternal.rawField(document, fieldName, value, type, this, bytes.bytes, valuePos, fieldLength);
       } else
         ODocumentInternal.rawField(document, fieldName, null, null);
 
@@ -359,16 +361,19 @@ public class ORecordSerializerBinaryV1 extends ORecordSerializerBinaryV0 {
       }
 
       if (fieldLength != 0) {
-        int headerCursor = bytes.offset;
-
         int valuePos = cumulativeSize + headerStart + headerLength;
 
-        bytes.offset = valuePos;
-        final Object value = deserializeValue(bytes, type, document);
-        if (bytes.offset > last)
-          last = bytes.offset;
-        bytes.offset = headerCursor;
-        ODocumentInternal.rawField(document, fieldName, value, type);
+        if (isDecodedOnAccess(type))
+          ODocumentInternal.rawPendingField(document, fieldName, type, this, bytes.bytes, valuePos, fieldLength);
+        else {
+          int headerCursor = bytes.offset;
+          bytes.offset = valuePos;
+          final Object value = deserializeValue(bytes, type, document);
+          if (bytes.offset > last)
+            last = bytes.offset;
+          bytes.offset = headerCursor;
+          ODocumentInternal.rawField(document, fieldName, value, type, this, bytes.bytes, valuePos, fieldLength);
+        }
       } else
         ODocumentInternal.rawField(document, fieldName, null, null);
 
@@ -377,11 +382,44 @@ public class ORecordSerializerBinaryV1 extends ORecordSerializerBinaryV0 {
 
     ORecordInternal.clearSource(document);
 
+    // THE VALUES NOT DECODED YET DO NOT MOVE THE CURSOR: THE LENGTHS IN THE HEADER GIVE THE END OF THE DOCUMENT
+    if (headerStart + headerLength + cumulativeSize > last)
+      last = headerStart + headerLength + cumulativeSize;
     if (last > bytes.offset) {
       bytes.offset = last;
     }
   }
 
+  /**
+   * Decodes a value left not decoded by {@link #deserialize(ODocument, BytesContainer)}.
+   *
+   * @param length the length of the value as stored in the header of the document
+   */
+  public Object deserializeValue(final ODocument document, final byte[] source, final int offset, final int length,
+      final OType type) {
+    return deserializeValue(new BytesContainer(source, offset), type, document);
+  }
+
+  /**
+   * @return true if the values of the type are decoded on first access instead of when the document is read: the links are always
+   * decoded, to track the records they point to, as are the values that can change without notification
+   */
+  protected static boolean isDecodedOnAccess(final OType type) {
+    switch (type) {
+    case LINK:
+    case LINKLIST:
+    case LINKSET:
+    case LINKMAP:
+    case LINKBAG:
+    case CUSTOM:
+    case TRANSIENT:
+    case ANY:
+      return false;
+    default:
+      return true;
+    }
+  }
+
   @Override
   public void deserializeWithClassName(final ODocument document, final BytesContainer bytes) {
 
@@ -460,19 +498,34 @@ public class ORecordSerializerBinaryV1 extends ORecordSerializerBinaryV0 {
         OVarIntSerializer.write(headerBuffer, (docEntry.property.getId() + 1) * -1);
       }
 
+      if (docEntry.isPending() && docEntry.getSerializer() != this)
+        // ONLY THE SERIALIZER THAT READ THE BYTES CAN WRITE THEM BACK
+        ODocumentInternal.decodeField(document, field.getKey());
+
       final Object value = field.getValue().value;
 
       final OType type;
-      if (value != null) {
+      if (docEntry.isPending()) {
+        // NEVER ACCESSED SINCE READ: COPY THE BYTES
+        type = docEntry.type;
+        writeSerializedValue(headerBuffer, valuesBuffer, docEntry);
+      } else if (value != null) {
         type = getFieldType(field.getValue());
         if (type == null) {
           throw new OSerializationException(
               "Impossible serialize value of type " + value.getClass() + " with the ODocument binary serializer");
         }
-        Tuple<Integer, Integer> dataPointerAndLength = serializeValue(valuesBuffer, value, type,
-            getLinkedType(document, type, field.getKey()));
-        int valueLength = dataPointerAndLength.getSecondVal();
-        OVarIntSerializer.write(headerBuffer, valueLength);
+        if (type == docEntry.type && docEntry.getSerializer() == this && docEntry.isSerializedUpToDate())
+          // UNCHANGED SINCE READ: COPY THE BYTES INSTEAD OF SERIALIZING THE VALUE AGAIN
+          writeSerializedValue(headerBuffer, valuesBuffer, docEntry);
+        else {
+          // THE BYTES READ ARE STALE, IF ANY: THE ONES WRITTEN NOW ARE NOT KEPT AS THEY ARE COPIED AGAIN WHEN MERGED
+          docEntry.clearSerialized();
+          Tuple<Integer, Integer> dataPointerAndLength = serializeValue(valuesBuffer, value, type,
+              getLinkedType(document, type, field.getKey()));
+          int valueLength = dataPointerAndLength.getSecondVal();
+          OVarIntSerializer.write(headerBuffer, valueLength);
+        }
       }
       //handle null fields
       else {
@@ -488,7 +541,15 @@ public class ORecordSerializerBinaryV1 extends ORecordSerializerBinaryV0 {
     }
   }
 
-  private void merge(BytesContainer destinationBuffer, BytesContainer sourceBuffer1, BytesContainer sourceBuffer2) {
+  private static void writeSerializedValue(final BytesContainer headerBuffer, final BytesContainer valuesBuffer,
+      final ODocumentEntry docEntry) {
+    final int length = docEntry.getSerializedLength();
+    final int pos = valuesBuffer.alloc(length);
+    System.arraycopy(docEntry.getSerialized(), docEntry.getSerializedOffset(), valuesBuffer.bytes, pos, length);
+    OVarIntSerializer.write(headerBuffer, length);
+  }
+
+  protected void merge(BytesContainer destinationBuffer, BytesContainer sourceBuffer1, BytesContainer sourceBuffer2) {
     destinationBuffer.offset = destinationBuffer.allocExact(sourceBuffer1.offset + sourceBuffer2.offset);
     System.arraycopy(sourceBuffer1.bytes, 0, destinationBuffer.bytes, destinationBuffer.offset, sourceBuffer1.offset);
     System.arraycopy(sourceBuffer2.bytes, 0, destinationBuffer.bytes, destinationBuffer.offset + sourceBuffer1.offset,
@@ -496,11 +557,11 @@ public class ORecordSerializerBinaryV1 extends ORecordSerializerBinaryV0 {
     destinationBuffer.offset += sourceBuffer1.offset + sourceBuffer2.offset;
   }
 
-  private void serializeDocument(final ODocument document, final BytesContainer bytes, final OClass clazz) {
+  protected void serializeDocument(final ODocument document, final BytesContainer bytes, final OClass clazz) {
     //allocate space for header length
 
     final Map<String, OProperty> props = clazz != null ? clazz.propertiesMap() : null;
-    final Set<Entry<String, ODocumentEntry>> fields = ODocumentInternal.rawEntries(document);
+    final Set<Entry<String, ODocumentEntry>> fields = ODocumentInternal.rawEntriesUndecoded(document);
 
     BytesContainer valuesBuffer = new BytesContainer();
     BytesContainer headerBuffer = new BytesContainer();
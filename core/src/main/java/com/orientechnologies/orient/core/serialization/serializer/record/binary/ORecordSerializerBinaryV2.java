@@ -0,0 +1,543 @@
+package com.orientechnologies.orient.core.serialization.serializer.record.binary;
+
+import com.orientechnologies.common.serialization.types.OByteSerializer;
+import com.orientechnologies.common.serialization.types.OIntegerSerializer;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
+import com.orientechnologies.orient.core.exception.OSerializationException;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OGlobalProperty;
+import com.orientechnologies.orient.core.metadata.schema.OImmutableSchema;
+import com.orientechnologies.orient.core.metadata.schema.OProperty;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.ORecordInternal;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.record.impl.ODocumentEntry;
+import com.orientechnologies.orient.core.record.impl.ODocumentInternal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import static com.orientechnologies.orient.core.serialization.serializer.record.binary.HelperClasses.getGlobalProperty;
+import static com.orientechnologies.orient.core.serialization.serializer.record.binary.HelperClasses.readOType;
+import static com.orientechnologies.orient.core.serialization.serializer.record.binary.HelperClasses.stringFromBytes;
+import static com.orientechnologies.orient.core.serialization.serializer.record.binary.HelperClasses.writeString;
+
+/**
+ * Same as {@link ORecordSerializerBinaryV1}, but the header starts with a directory of the fields sorted by the hash code of their
+ * names, so a single field is looked up with a binary search instead of decoding the whole header.
+ * <p>
+ * Layout of the document after the optional class name:
+ * <pre>
+ * header length (varint)
+ * field count (varint)
+ * directory: field count times [name hash (int)][offset of the field entry from the first entry (int)]
+ * entries:   [name length (varint) + name | -(global property id + 1) (varint)][value length (varint)]
+ *            [value offset from the first value (varint), only if value length is not 0][type (byte), only for named fields
+ *            and properties of type ANY]
+ * values
+ * </pre>
+ * A value length of 0 means a null value. A negative value length -n means a string stored as its code in the dictionary of the
+ * database, written as a varint of n bytes (see {@link OStringDictionary}).
+ */
+public class ORecordSerializerBinaryV2 extends ORecordSerializerBinaryV1 {
+
+  private static final int DIRECTORY_ENTRY_SIZE = 2 * OIntegerSerializer.INT_SIZE;
+
+  @Override
+  protected void serializeDocument(final ODocument document, final BytesContainer bytes, final OClass clazz) {
+    final Map<String, OProperty> props = clazz != null ? clazz.propertiesMap() : null;
+    final Set<Entry<String, ODocumentEntry>> fields = ODocumentInternal.rawEntriesUndecoded(document);
+
+    int fieldCount = 0;
+    for (Entry<String, ODocumentEntry> field : fields) {
+      if (field.getValue().exist())
+        fieldCount++;
+    }
+
+    // HASH IN THE HIGH BITS AND ENTRY OFFSET IN THE LOW BITS, SO SORTING THE LONGS SORTS THE DIRECTORY BY HASH
+    final long[] directory = new long[fieldCount];
+    final BytesContainer entriesBuffer = new BytesContainer();
+    final BytesContainer valuesBuffer = new BytesContainer();
+    OStringDictionary dictionary = null;
+
+    int fieldIndex = 0;
+    for (Entry<String, ODocumentEntry> field : fields) {
+      final ODocumentEntry docEntry = field.getValue();
+      if (!docEntry.exist())
+        continue;
+
+      if (docEntry.property == null && props != null) {
+        final OProperty prop = props.get(field.getKey());
+        if (prop != null && docEntry.type == prop.getType())
+          docEntry.property = prop;
+      }
+
+      directory[fieldIndex++] = ((long) field.getKey().hashCode() << 32) | entriesBuffer.offset;
+
+      if (docEntry.property == null)
+        writeString(entriesBuffer, field.getKey());
+      else
+        OVarIntSerializer.write(entriesBuffer, (docEntry.property.getId() + 1) * -1);
+
+      if (docEntry.isPending() && docEntry.getSerializer() != this)
+        // ONLY THE SERIALIZER THAT READ THE BYTES CAN WRITE THEM BACK
+        ODocumentInternal.decodeField(document, field.getKey());
+
+      final Object value = docEntry.value;
+      final OType type;
+      if (docEntry.isPending()) {
+        // NEVER ACCESSED SINCE READ: COPY THE BYTES
+        writeSerializedValue(entriesBuffer, valuesBuffer, docEntry);
+        type = docEntry.type;
+      } else if (value != null) {
+        type = getFieldType(docEntry);
+        if (type == null) {
+          throw new OSerializationException(
+              "Impossible serialize value of type " + value.getClass() + " with the ODocument binary serializer");
+        }
+        if (type == docEntry.type && docEntry.getSerializer() == this && docEntry.isSerializedUpToDate()) {
+          // UNCHANGED SINCE READ: COPY THE BYTES INSTEAD OF SERIALIZING THE VALUE AGAIN
+          writeSerializedValue(entriesBuffer, valuesBuffer, docEntry);
+          writeEntryType(entriesBuffer, docEntry, type);
+          continue;
+        }
+        final int valueOffset = valuesBuffer.offset;
+        // THE BYTES READ ARE STALE, IF ANY: THE ONES WRITTEN NOW ARE NOT KEPT AS THEY ARE COPIED AGAIN WHEN MERGED
+        docEntry.clearSerialized();
+
+        int code = -1;
+        if (type == OType.STRING && docEntry.property != null && OStringDictionary.isDictionaryEncoded(docEntry.property)) {
+          if (dictionary == null)
+            dictionary = getEncodingDictionary();
+          if (dictionary != null) {
+            code = dictionary.getCode((String) value);
+            if (code < 0)
+              dictionary.addCandidate((String) value);
+          }
+        }
+
+        final int valueLength;
+        if (code >= 0) {
+          OVarIntSerializer.write(valuesBuffer, code);
+          valueLength = -(valuesBuffer.offset - valueOffset);
+        } else
+          valueLength = serializeValue(valuesBuffer, value, type, getLinkedType(document, type, field.getKey())).getSecondVal();
+        OVarIntSerializer.write(entriesBuffer, valueLength);
+        if (valueLength != 0)
+          OVarIntSerializer.write(entriesBuffer, valueOffset);
+      } else {
+        OVarIntSerializer.write(entriesBuffer, 0);
+        type = OType.ANY;
+      }
+
+      writeEntryType(entriesBuffer, docEntry, type);
+    }
+
+    Arrays.sort(directory);
+
+    final BytesContainer headerBuffer = new BytesContainer();
+    OVarIntSerializer.write(headerBuffer, fieldCount);
+    int directoryPos = headerBuffer.alloc(fieldCount * DIRECTORY_ENTRY_SIZE);
+    for (long directoryEntry : directory) {
+      OIntegerSerializer.INSTANCE.serializeLiteral((int) (directoryEntry >> 32), headerBuffer.bytes, directoryPos);
+      OIntegerSerializer.INSTANCE
+          .serializeLiteral((int) directoryEntry, headerBuffer.bytes, directoryPos + OIntegerSerializer.INT_SIZE);
+      directoryPos += DIRECTORY_ENTRY_SIZE;
+    }
+    final int entriesPos = headerBuffer.alloc(entriesBuffer.offset);
+    System.arraycopy(entriesBuffer.bytes, 0, headerBuffer.bytes, entriesPos, entriesBuffer.offset);
+
+    OVarIntSerializer.write(bytes, headerBuffer.offset);
+    merge(bytes, headerBuffer, valuesBuffer);
+  }
+
+  private static void writeSerializedValue(final BytesContainer entriesBuffer, final BytesContainer valuesBuffer,
+      final ODocumentEntry docEntry) {
+    final int valueOffset = valuesBuffer.offset;
+    final int length = Math.abs(docEntry.getSerializedLength());
+    final int pos = valuesBuffer.alloc(length);
+    System.arraycopy(docEntry.getSerialized(), docEntry.getSerializedOffset(), valuesBuffer.bytes, pos, length);
+    OVarIntSerializer.write(entriesBuffer, docEntry.getSerializedLength());
+    OVarIntSerializer.write(entriesBuffer, valueOffset);
+  }
+
+  private static void writeEntryType(final BytesContainer entriesBuffer, final ODocumentEntry docEntry, final OType type) {
+    if (docEntry.property == null || docEntry.property.getType() == OType.ANY) {
+      final int typeOffset = entriesBuffer.alloc(OByteSerializer.BYTE_SIZE);
+      OByteSerializer.INSTANCE.serialize((byte) type.getId(), entriesBuffer.bytes, typeOffset);
+    }
+  }
+
+  @Override
+  public void deserialize(final ODocument document, final BytesContainer bytes) {
+    final int headerLength = OVarIntSerializer.readAsInteger(bytes);
+    final int valuesStart = bytes.offset + headerLength;
+    final int fieldCount = readFieldCount(bytes, headerLength);
+    bytes.skip(fieldCount * DIRECTORY_ENTRY_SIZE);
+
+    int valuesEnd = valuesStart;
+    for (int i = 0; i < fieldCount; i++) {
+      final int len = OVarIntSerializer.readAsInteger(bytes);
+      final String fieldName;
+      OGlobalProperty prop = null;
+      if (len > 0) {
+        fieldName = stringFromBytes(bytes.bytes, bytes.offset, len).intern();
+        bytes.skip(len);
+      } else {
+        prop = getGlobalProperty(document, len);
+        fieldName = prop.getName();
+      }
+
+      final int valueLength = OVarIntSerializer.readAsInteger(bytes);
+      final int valuePos = valueLength != 0 ? valuesStart + OVarIntSerializer.readAsInteger(bytes) : 0;
+      final OType type = readEntryType(bytes, prop);
+
+      if (valuePos + Math.abs(valueLength) > valuesEnd)
+        valuesEnd = valuePos + Math.abs(valueLength);
+
+      if (ODocumentInternal.rawContainsField(document, fieldName))
+        continue;
+
+      if (valueLength != 0) {
+        if (isDecodedOnAccess(type))
+          ODocumentInternal.rawPendingField(document, fieldName, type, this, bytes.bytes, valuePos, valueLength);
+        else {
+          final int headerCursor = bytes.offset;
+          bytes.offset = valuePos;
+          final Object value = valueLength > 0 ? deserializeValue(bytes, type, document) : readDictionaryValue(bytes);
+          bytes.offset = headerCursor;
+          ODocumentInternal.rawField(document, fieldName, value, type, this, bytes.bytes, valuePos, valueLength);
+        }
+      } else
+        ODocumentInternal.rawField(document, fieldName, null, null);
+    }
+
+    ORecordInternal.clearSource(document);
+
+    bytes.offset = valuesEnd;
+  }
+
+  @Override
+  public Object deserializeValue(final ODocument document, final byte[] source, final int offset, final int length,
+      final OType type) {
+    final BytesContainer bytes = new BytesContainer(source, offset);
+    return length > 0 ? deserializeValue(bytes, type, document) : readDictionaryValue(bytes);
+  }
+
+  @Override
+  public void deserializePartial(final ODocument document, final BytesContainer bytes, final String[] iFields) {
+    final int headerLength = OVarIntSerializer.readAsInteger(bytes);
+    final int headerStart = bytes.offset;
+    final int valuesStart = headerStart + headerLength;
+
+    for (String fieldName : iFields) {
+      if (fieldName == null)
+        continue;
+
+      bytes.offset = headerStart;
+      final int len = findField(bytes, headerLength, fieldName, document, null);
+      if (len == 0)
+        continue;
+
+      final OGlobalProperty prop = len < 0 ? getGlobalProperty(document, len) : null;
+      final int valueLength = OVarIntSerializer.readAsInteger(bytes);
+      if (valueLength != 0) {
+        final int valuePos = valuesStart + OVarIntSerializer.readAsInteger(bytes);
+        final OType type = readEntryType(bytes, prop);
+        bytes.offset = valuePos;
+        final Object value = valueLength > 0 ? deserializeValue(bytes, type, document) : readDictionaryValue(bytes);
+        ODocumentInternal.rawField(document, fieldName, value, type, this, bytes.bytes, valuePos, valueLength);
+      } else
+        ODocumentInternal.rawField(document, fieldName, null, null);
+    }
+  }
+
+  @Override
+  public OBinaryField deserializeField(final BytesContainer bytes, final OClass iClass, final String iFieldName) {
+    final OImmutableSchema schema = ODatabaseRecordThreadLocal.instance().get().getMetadata().getImmutableSchemaSnapshot();
+
+    final int headerLength = OVarIntSerializer.readAsInteger(bytes);
+    final int valuesStart = bytes.offset + headerLength;
+
+    final int len = findField(bytes, headerLength, iFieldName, null, schema);
+    if (len == 0)
+      return null;
+
+    final OGlobalProperty prop = len < 0 ? schema.getGlobalPropertyById(-len - 1) : null;
+    final int valueLength = OVarIntSerializer.readAsInteger(bytes);
+    if (valueLength == 0)
+      return null;
+
+    final int valuePos = valuesStart + OVarIntSerializer.readAsInteger(bytes);
+    final OType type = readEntryType(bytes, prop);
+    if (!getComparator().isBinaryComparable(type))
+      return null;
+
+    bytes.offset = valuePos;
+    final BytesContainer valueBytes;
+    if (valueLength < 0) {
+      // THE COMPARATORS WORK ON THE STRING
+      valueBytes = new BytesContainer();
+      writeString(valueBytes, readDictionaryValue(bytes));
+      valueBytes.offset = 0;
+    } else
+      valueBytes = bytes;
+
+    if (prop == null || iClass == null)
+      return new OBinaryField(iFieldName, type, valueBytes, null);
+
+    final OProperty classProp = iClass.getProperty(iFieldName);
+    return new OBinaryField(iFieldName, type, valueBytes, classProp != null ? classProp.getCollate() : null);
+  }
+
+  @Override
+  protected <RET> RET deserializeFieldTypedLoopAndReturn(final BytesContainer bytes, final String iFieldName,
+      final int serializerVersion) {
+    final OImmutableSchema schema = ODatabaseRecordThreadLocal.instance().get().getMetadata().getImmutableSchemaSnapshot();
+
+    final int headerLength = OVarIntSerializer.readAsInteger(bytes);
+    final int valuesStart = bytes.offset + headerLength;
+
+    final int len = findField(bytes, headerLength, iFieldName, null, schema);
+    if (len == 0)
+      return null;
+
+    final OGlobalProperty prop = len < 0 ? schema.getGlobalPropertyById(-len - 1) : null;
+    final int valueLength = OVarIntSerializer.readAsInteger(bytes);
+    if (valueLength == 0)
+      return null;
+
+    final int valuePos = valuesStart + OVarIntSerializer.readAsInteger(bytes);
+    final OType type = readEntryType(bytes, prop);
+
+    bytes.offset = valuePos;
+    if (valueLength < 0)
+      //noinspection unchecked
+      return (RET) readDictionaryValue(bytes);
+    //noinspection unchecked
+    return (RET) deserializeValue(bytes, type, null, false, valueLength, serializerVersion, false);
+  }
+
+  @Override
+  public String[] getFieldNames(final ODocument reference, final BytesContainer bytes, final boolean readClassName) {
+    // SKIP CLASS NAME
+    if (readClassName) {
+      final int classNameLen = OVarIntSerializer.readAsInteger(bytes);
+      bytes.skip(classNameLen);
+    }
+
+    final int headerLength = OVarIntSerializer.readAsInteger(bytes);
+    final int fieldCount = readFieldCount(bytes, headerLength);
+    bytes.skip(fieldCount * DIRECTORY_ENTRY_SIZE);
+
+    final String[] result = new String[fieldCount];
+    for (int i = 0; i < fieldCount; i++) {
+      final int len = OVarIntSerializer.readAsInteger(bytes);
+      OGlobalProperty prop = null;
+      if (len > 0) {
+        result[i] = stringFromBytes(bytes.bytes, bytes.offset, len).intern();
+        bytes.skip(len);
+      } else {
+        final int id = (len * -1) - 1;
+        prop = ODocumentInternal.getGlobalPropertyById(reference, id);
+        if (prop == null) {
+          throw new OSerializationException("Missing property definition for property id '" + id + "'");
+        }
+        result[i] = prop.getName();
+      }
+
+      // SKIP THE REST
+      if (OVarIntSerializer.readAsInteger(bytes) != 0)
+        OVarIntSerializer.readAsInteger(bytes);
+      if (prop == null || prop.getType() == OType.ANY)
+        bytes.skip(1);
+    }
+
+    return result;
+  }
+
+  @Override
+  public void deserializeDebug(final BytesContainer bytes, final ODatabaseDocumentInternal db,
+      final ORecordSerializationDebug debugInfo, final OImmutableSchema schema) {
+    debugInfo.properties = new ArrayList<>();
+    try {
+      final int headerLength = OVarIntSerializer.readAsInteger(bytes);
+      final int valuesStart = bytes.offset + headerLength;
+      final int fieldCount = readFieldCount(bytes, headerLength);
+      bytes.skip(fieldCount * DIRECTORY_ENTRY_SIZE);
+
+      for (int i = 0; i < fieldCount; i++) {
+        final ORecordSerializationDebugProperty debugProperty = new ORecordSerializationDebugProperty();
+        debugInfo.properties.add(debugProperty);
+
+        final int len = OVarIntSerializer.readAsInteger(bytes);
+        OGlobalProperty prop = null;
+        if (len > 0) {
+          debugProperty.name = stringFromBytes(bytes.bytes, bytes.offset, len).intern();
+          bytes.skip(len);
+        } else {
+          debugProperty.globalId = (len * -1) - 1;
+          prop = schema.getGlobalPropertyById(debugProperty.globalId);
+          if (prop == null) {
+            // WITHOUT THE PROPERTY THE TYPE IS UNKNOWN, SO THE REST OF THE HEADER CANNOT BE PARSED
+            debugProperty.faildToRead = true;
+            debugProperty.failPosition = bytes.offset;
+            break;
+          }
+          debugProperty.name = prop.getName();
+        }
+
+        final int valueLength = OVarIntSerializer.readAsInteger(bytes);
+        debugProperty.valuePos = valueLength != 0 ? valuesStart + OVarIntSerializer.readAsInteger(bytes) : 0;
+        debugProperty.type = readEntryType(bytes, prop);
+
+        if (debugProperty.valuePos != 0) {
+          final int headerCursor = bytes.offset;
+          bytes.offset = debugProperty.valuePos;
+          try {
+            debugProperty.value =
+                valueLength > 0 ? deserializeValue(bytes, debugProperty.type, new ODocument()) : readDictionaryValue(bytes);
+          } catch (RuntimeException ex) {
+            debugProperty.faildToRead = true;
+            debugProperty.readingException = ex;
+            debugProperty.failPosition = bytes.offset;
+          }
+          bytes.offset = headerCursor;
+        } else
+          debugProperty.value = null;
+      }
+    } catch (RuntimeException ex) {
+      debugInfo.readingFailure = true;
+      debugInfo.readingException = ex;
+      debugInfo.failPosition = bytes.offset;
+    }
+  }
+
+  /**
+   * Looks the field up in the directory of the header, the container has to be positioned on the field count.
+   *
+   * @return the name length or the encoded global property id of the entry of the field, with the container positioned after
+   * them, or 0 if the record has no such field
+   */
+  private int findField(final BytesContainer bytes, final int headerLength, final String fieldName, final ODocument document,
+      final OImmutableSchema schema) {
+    final int fieldCount = readFieldCount(bytes, headerLength);
+    final int directoryStart = bytes.offset;
+    final int entriesStart = directoryStart + fieldCount * DIRECTORY_ENTRY_SIZE;
+    final int hash = fieldName.hashCode();
+
+    int low = 0;
+    int high = fieldCount - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int midHash = OIntegerSerializer.INSTANCE.deserializeLiteral(bytes.bytes, directoryStart + mid * DIRECTORY_ENTRY_SIZE);
+      if (midHash < hash)
+        low = mid + 1;
+      else if (midHash > hash)
+        high = mid - 1;
+      else {
+        low = mid;
+        while (low > 0 && OIntegerSerializer.INSTANCE.deserializeLiteral(bytes.bytes, directoryStart + (low - 1) * DIRECTORY_ENTRY_SIZE)
+            == hash)
+          low--;
+        break;
+      }
+    }
+
+    // CHECK ALL THE ENTRIES WITH THE SAME HASH
+    for (int i = low; i < fieldCount; i++) {
+      final int directoryPos = directoryStart + i * DIRECTORY_ENTRY_SIZE;
+      if (OIntegerSerializer.INSTANCE.deserializeLiteral(bytes.bytes, directoryPos) != hash)
+        break;
+
+      bytes.offset = entriesStart + OIntegerSerializer.INSTANCE
+          .deserializeLiteral(bytes.bytes, directoryPos + OIntegerSerializer.INT_SIZE);
+      final int len = OVarIntSerializer.readAsInteger(bytes);
+      if (len > 0) {
+        if (nameMatches(bytes.bytes, bytes.offset, len, fieldName)) {
+          bytes.skip(len);
+          return len;
+        }
+      } else {
+        final OGlobalProperty prop =
+            document != null ? getGlobalProperty(document, len) : schema.getGlobalPropertyById((len * -1) - 1);
+        if (prop != null && fieldName.equals(prop.getName()))
+          return len;
+      }
+    }
+
+    return 0;
+  }
+
+  /**
+   * Looks the field up and returns its dictionary code, to compare string values without decoding them.
+   *
+   * @param bytes the serialized record, positioned after the version
+   *
+   * @return the code of the value of the field, or -1 if the value is not stored as a code of the dictionary
+   */
+  public int deserializeFieldCode(final BytesContainer bytes, final String iFieldName) {
+    final OImmutableSchema schema = ODatabaseRecordThreadLocal.instance().get().getMetadata().getImmutableSchemaSnapshot();
+
+    final int headerLength = OVarIntSerializer.readAsInteger(bytes);
+    final int valuesStart = bytes.offset + headerLength;
+
+    if (findField(bytes, headerLength, iFieldName, null, schema) >= 0)
+      // NAMED FIELDS ARE NEVER ENCODED
+      return -1;
+
+    final int valueLength = OVarIntSerializer.readAsInteger(bytes);
+    if (valueLength >= 0)
+      return -1;
+
+    bytes.offset = valuesStart + OVarIntSerializer.readAsInteger(bytes);
+    return OVarIntSerializer.readAsInteger(bytes);
+  }
+
+  private static String readDictionaryValue(final BytesContainer bytes) {
+    final OStringDictionary dictionary = OStringDictionary.current();
+    if (dictionary == null)
+      throw new OSerializationException("Cannot decode a value stored as a dictionary code without an open database");
+    return dictionary.getValue(OVarIntSerializer.readAsInteger(bytes));
+  }
+
+  /**
+   * @return the dictionary to encode the values with, or null if the values are stored in full: remote and distributed databases
+   * only decode the values, the dictionary grows only on the embedded storage
+   */
+  private static OStringDictionary getEncodingDictionary() {
+    final ODatabaseDocumentInternal db = ODatabaseRecordThreadLocal.instance().getIfDefined();
+    if (db == null || db.isDistributed() || db.getStorage().isRemote() || db.getSharedContext() == null)
+      return null;
+    return db.getSharedContext().getStringDictionary();
+  }
+
+  private static int readFieldCount(final BytesContainer bytes, final int headerLength) {
+    // RECORDS WITH THE CLASS ONLY HAVE AN EMPTY HEADER, WITHOUT FIELD COUNT
+    return headerLength != 0 ? OVarIntSerializer.readAsInteger(bytes) : 0;
+  }
+
+  private static boolean nameMatches(final byte[] bytes, final int offset, final int len, final String fieldName) {
+    final int length = fieldName.length();
+    if (len == length) {
+      // SAME NUMBER OF UTF-8 BYTES AND CHARS IS POSSIBLE ONLY FOR ASCII NAMES: COMPARE WITHOUT DECODING
+      for (int i = 0; i < len; i++) {
+        if (bytes[offset + i] != fieldName.charAt(i))
+          return false;
+      }
+      return true;
+    }
+
+    return len > length && stringFromBytes(bytes, offset, len).equals(fieldName);
+  }
+
+  private static OType readEntryType(final BytesContainer bytes, final OGlobalProperty prop) {
+    if (prop != null && prop.getType() != OType.ANY)
+      return prop.getType();
+    return readOType(bytes, false);
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.core.serialization.serializer.record.binary;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.config.OStorageConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
+import com.orientechnologies.orient.core.db.OSharedContext;
+import com.orientechnologies.orient.core.exception.OSchemaException;
+import com.orientechnologies.orient.core.exception.OSerializationException;
+import com.orientechnologies.orient.core.metadata.schema.OProperty;
+import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
+import com.orientechnologies.orient.core.storage.OStorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Dictionary of the values of the string properties declared with dictionary encoding, shared by all the properties of a
+ * database. A property is declared with dictionary encoding with the custom attribute {@value #ENCODING_CUSTOM} set to
+ * {@value #DICTIONARY_ENCODING}, the records then store the code of the value instead of the value.
+ * <p>
+ * Only the version 2 record format writes the codes, so the encoding can be declared only on the databases created with it.
+ * <p>
+ * The dictionary is kept in the properties of the storage configuration, one entry per value named by its code, and only grows. A
+ * value met for the first time is stored in full and becomes a candidate: the candidates are added to the dictionary by {@link
+ * #flush()} after the commit, in their own atomic operation, so a code is never written in a record before its value is durable.
+ */
+public class OStringDictionary {
+  public static final String ENCODING_CUSTOM     = "encoding";
+  public static final String DICTIONARY_ENCODING = "dictionary";
+
+  private static final String PROPERTY_PREFIX = "dictionary_";
+
+  private final    Supplier<OStorage>   storage;
+  private final    Map<String, Integer> codes      = new ConcurrentHashMap<>();
+  private final    Set<String>          candidates = ConcurrentHashMap.newKeySet();
+  private volatile String[]             values;
+
+  public OStringDictionary(final Supplier<OStorage> storage) {
+    this.storage = storage;
+  }
+
+  /**
+   * @return the dictionary of the database bound to the current thread, or null if there is none
+   */
+  public static OStringDictionary current() {
+    final ODatabaseDocumentInternal db = ODatabaseRecordThreadLocal.instance().getIfDefined();
+    final OSharedContext sharedContext = db != null ? db.getSharedContext() : null;
+    return sharedContext != null ? sharedContext.getStringDictionary() : null;
+  }
+
+  public static boolean isDictionaryEncoded(final OProperty property) {
+    return DICTIONARY_ENCODING.equalsIgnoreCase(property.getCustom(ENCODING_CUSTOM));
+  }
+
+  /**
+   * Checks that a custom attribute of a property can be set on the database: the dictionary encoding is rejected when the records
+   * of the database are not written with a format that stores the codes.
+   */
+  public static void checkCustom(final ODatabaseDocumentInternal db, final String name, final String value) {
+    if (!ENCODING_CUSTOM.equalsIgnoreCase(name) || !DICTIONARY_ENCODING.equalsIgnoreCase(value))
+      return;
+
+    final ORecordSerializer serializer = db.getSerializer();
+    if (!(serializer instanceof ORecordSerializerBinary) || serializer.getCurrentVersion() < 2)
+      throw new OSchemaException(
+          "Dictionary encoding is not supported by the record format of database '" + db.getName() + "', create the database with "
+              + OGlobalConfiguration.DB_DOCUMENT_SERIALIZER_VERSION.getKey() + "=2 to use it");
+  }
+
+  /**
+   * @return the code of the value, or -1 if the value is not in the dictionary
+   */
+  public int getCode(final String value) {
+    load();
+    final Integer code = codes.get(value);
+    return code != null ? code : -1;
+  }
+
+  public String getValue(final int code) {
+    String[] values = load();
+    if (code < 0 || code >= values.length || values[code] == null) {
+      // ADDED SINCE THE LAST LOAD, FOR EXAMPLE BY THE SERVER OF A REMOTE DATABASE
+      values = reload();
+      if (code < 0 || code >= values.length || values[code] == null)
+        throw new OSerializationException("Code " + code + " not found in the string dictionary of the database");
+    }
+    return values[code];
+  }
+
+  /**
+   * Marks a value that is not in the dictionary yet, to be added at the next {@link #flush()}.
+   */
+  public void addCandidate(final String value) {
+    if (load().length + candidates.size() < OGlobalConfiguration.DB_DICTIONARY_MAX_SIZE.getValueAsInteger())
+      candidates.add(value);
+  }
+
+  /**
+   * Adds the candidate values to the dictionary. Must not be called inside an atomic operation.
+   */
+  public void flush() {
+    if (candidates.isEmpty())
+      return;
+
+    synchronized (this) {
+      final int maxSize = OGlobalConfiguration.DB_DICTIONARY_MAX_SIZE.getValueAsInteger();
+      String[] values = load();
+      for (String value : candidates) {
+        candidates.remove(value);
+        if (values.length >= maxSize || codes.containsKey(value))
+          continue;
+
+        final int code = values.length;
+        storage.get().setProperty(PROPERTY_PREFIX + code, value);
+
+        values = Arrays.copyOf(values, code + 1);
+        values[code] = value;
+        this.values = values;
+        codes.put(value, code);
+      }
+    }
+  }
+
+  public int size() {
+    return load().length;
+  }
+
+  private String[] load() {
+    final String[] values = this.values;
+    return values != null ? values : reload();
+  }
+
+  /**
+   * Reads the values added since the last load. The codes are assigned in sequence, so the values are read by name starting from
+   * the first code not loaded yet, until one is missing.
+   */
+  private synchronized String[] reload() {
+    final String[] loaded = this.values != null ? this.values : new String[0];
+    final OStorageConfiguration configuration = storage.get().getConfiguration();
+
+    final List<String> added = new ArrayList<>();
+    String value;
+    while ((value = configuration.getProperty(PROPERTY_PREFIX + (loaded.length + added.size()))) != null)
+      added.add(value);
+    if (added.isEmpty() && this.values != null)
+      return loaded;
+
+    final String[] values = Arrays.copyOf(loaded, loaded.length + added.size());
+    for (int i = 0; i < added.size(); i++) {
+      values[loaded.length + i] = added.get(i);
+      codes.put(added.get(i), loaded.length + i);
+    }
+
+    this.values = values;
+    return values;
+  }
+}
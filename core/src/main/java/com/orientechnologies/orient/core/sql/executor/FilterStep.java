@@ -14,6 +14,7 @@ import java.util.Optional;
  */
 public class FilterStep extends AbstractExecutionStep {
   private OWhereClause whereClause;
+  private OBinaryFilter binaryFilter;
 
   OResultSet prevResult = null;
 
@@ -30,6 +31,9 @@ public class FilterStep extends AbstractExecutionStep {
       throw new IllegalStateException("filter step requires a previous step");
     }
     OExecutionStepInternal prevStep = prev.get();
+    if (binaryFilter == null) {
+      binaryFilter = new OBinaryFilter(whereClause, ctx);
+    }
 
     return new OResultSet() {
       public boolean finished = false;
@@ -60,7 +64,7 @@ public class FilterStep extends AbstractExecutionStep {
           nextItem = prevResult.next();
           long begin = profilingEnabled ? System.nanoTime() : 0;
           try {
-            if (whereClause.matchesFilters(nextItem, ctx)) {
+            if (binaryFilter.canMatch(nextItem) && whereClause.matchesFilters(nextItem, ctx)) {
               break;
             }
 
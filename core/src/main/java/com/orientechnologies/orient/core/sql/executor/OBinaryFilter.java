@@ -0,0 +1,489 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.common.collection.OMultiValue;
+import com.orientechnologies.orient.core.collate.ODefaultCollate;
+import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OProperty;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.ORecordInternal;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.record.impl.ODocumentInternal;
+import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.*;
+import com.orientechnologies.orient.core.sql.parser.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates the simple conditions of a WHERE clause on the serialized content of the records, to discard the records that cannot
+ * match before they are deserialized.
+ * <p>
+ * Only the top level conjuncts comparing a field with a constant (=, &lt;, &gt;, &lt;=, &gt;=, IN, IS NULL, BETWEEN, LIKE with a
+ * prefix) are considered, and only when both the field value and the constant are integers or strings. A condition that cannot be
+ * evaluated in binary form never discards the record: the records that are not discarded are still evaluated with the whole WHERE
+ * clause.
+ */
+public class OBinaryFilter {
+
+  private final List<Condition> conditions = new ArrayList<>();
+
+  public OBinaryFilter(OWhereClause whereClause, OCommandContext ctx) {
+    if (whereClause != null && whereClause.getBaseExpression() != null) {
+      collect(whereClause.getBaseExpression(), ctx);
+    }
+  }
+
+  public boolean isEmpty() {
+    return conditions.isEmpty();
+  }
+
+  /**
+   * @return false if the record of the result certainly does not match the conditions, true if it can match or if it cannot be
+   * evaluated in binary form
+   */
+  public boolean canMatch(OResult result) {
+    if (conditions.isEmpty() || result.getClass() != OResultInternal.class) {
+      return true;
+    }
+    final OResultInternal internal = (OResultInternal) result;
+    if (!(internal.element instanceof ODocument)) {
+      return true;
+    }
+
+    final ODocument doc = (ODocument) internal.element;
+    if (doc.isDirty() || !doc.getIdentity().isPersistent()) {
+      return true;
+    }
+
+    final ORecordSerializer recordSerializer = ORecordInternal.getRecordSerializer(doc);
+    final byte[] source = ORecordInternal.getSource(doc);
+    if (!(recordSerializer instanceof ORecordSerializerBinary) || source == null || source.length == 0) {
+      return true;
+    }
+
+    final ORecordSerializerBinary binarySerializer = (ORecordSerializerBinary) recordSerializer;
+    if (source[0] < 0 || source[0] >= binarySerializer.getNumberOfSupportedVersions()) {
+      return true;
+    }
+    final ODocumentSerializer serializer = binarySerializer.getSerializer(source[0]);
+    final OClass clazz = ODocumentInternal.getImmutableSchemaClass(doc);
+
+    for (Condition condition : conditions) {
+      if (internal.content.containsKey(condition.field)) {
+        continue;
+      }
+
+      final OProperty property = clazz != null ? clazz.getProperty(condition.field) : null;
+      if (property != null && property.getCollate() != null && !ODefaultCollate.NAME.equals(property.getCollate().getName())) {
+        // THE COMPARISON IS DONE ON THE TRANSFORMED VALUES
+        continue;
+      }
+
+      if (property != null && condition.isEvaluatedOnCodes() && serializer instanceof ORecordSerializerBinaryV2
+          && OStringDictionary.isDictionaryEncoded(property)) {
+        final int code = ((ORecordSerializerBinaryV2) serializer)
+            .deserializeFieldCode(new BytesContainer(source).skip(1), condition.field);
+        final OStringDictionary dictionary = code >= 0 ? OStringDictionary.current() : null;
+        if (dictionary != null) {
+          if (!condition.canMatch(code, dictionary)) {
+            return false;
+          }
+          continue;
+        }
+      }
+
+      final OBinaryField value = readField(serializer, source, clazz, condition.field);
+      if (value != null && !condition.canMatch(value, serializer.getComparator())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static OBinaryField readField(ODocumentSerializer serializer, byte[] source, OClass clazz, String fieldName) {
+    final BytesContainer bytes = new BytesContainer(source).skip(1);
+    final OBinaryField value = serializer.isSerializingClassNameByDefault() ?
+        serializer.deserializeFieldWithClassName(bytes, clazz, fieldName) :
+        serializer.deserializeField(bytes, clazz, fieldName);
+
+    if (value == null || (value.type != OType.STRING && !isInteger(value.type))) {
+      return null;
+    }
+    return value;
+  }
+
+  private void collect(OBooleanExpression expression, OCommandContext ctx) {
+    if (expression instanceof OOrBlock) {
+      final List<OBooleanExpression> subBlocks = ((OOrBlock) expression).getSubBlocks();
+      if (subBlocks.size() == 1) {
+        collect(subBlocks.get(0), ctx);
+      }
+    } else if (expression instanceof OAndBlock) {
+      for (OBooleanExpression subBlock : ((OAndBlock) expression).getSubBlocks()) {
+        collect(subBlock, ctx);
+      }
+    } else if (expression instanceof ONotBlock) {
+      if (!((ONotBlock) expression).isNegate()) {
+        collect(((ONotBlock) expression).getSub(), ctx);
+      }
+    } else {
+      final Condition condition = createCondition(expression, ctx);
+      if (condition != null) {
+        conditions.add(condition);
+      }
+    }
+  }
+
+  private static Condition createCondition(OBooleanExpression expression, OCommandContext ctx) {
+    if (expression instanceof OBinaryCondition) {
+      final OBinaryCondition binaryCondition = (OBinaryCondition) expression;
+      final String field = getFieldName(binaryCondition.getLeft());
+      if (field == null || !isConstant(binaryCondition.getRight(), ctx)) {
+        return null;
+      }
+
+      final Object value = binaryCondition.getRight().execute((OResult) null, ctx);
+      final OBinaryCompareOperator operator = binaryCondition.getOperator();
+      if (operator instanceof OLikeOperator) {
+        return createPrefixCondition(field, value);
+      }
+
+      final OBinaryField constant = toBinaryField(value);
+      if (constant == null) {
+        return null;
+      }
+      if (operator instanceof OEqualsCompareOperator) {
+        return new Comparison(field, value, constant, 0, 0);
+      } else if (operator instanceof OLtOperator) {
+        return new Comparison(field, value, constant, Integer.MIN_VALUE, -1);
+      } else if (operator instanceof OLeOperator) {
+        return new Comparison(field, value, constant, Integer.MIN_VALUE, 0);
+      } else if (operator instanceof OGtOperator) {
+        return new Comparison(field, value, constant, 1, Integer.MAX_VALUE);
+      } else if (operator instanceof OGeOperator) {
+        return new Comparison(field, value, constant, 0, Integer.MAX_VALUE);
+      }
+    } else if (expression instanceof OInCondition) {
+      final OInCondition inCondition = (OInCondition) expression;
+      final String field = getFieldName(inCondition.getLeft());
+      if (field == null || inCondition.getRightStatement() != null) {
+        return null;
+      }
+
+      final Object values;
+      if (inCondition.getRightParam() != null) {
+        values = inCondition.getRightParam().getValue(ctx.getInputParameters());
+      } else if (inCondition.getRightMathExpression() != null && isConstant(inCondition.getRightMathExpression(), ctx)) {
+        values = inCondition.getRightMathExpression().execute((OResult) null, ctx);
+      } else {
+        return null;
+      }
+      return createInCondition(field, values);
+    } else if (expression instanceof OIsNullCondition) {
+      final String field = getFieldName(((OIsNullCondition) expression).getExpression());
+      return field == null ? null : new IsNull(field);
+    } else if (expression instanceof OBetweenCondition) {
+      final OBetweenCondition between = (OBetweenCondition) expression;
+      final String field = getFieldName(between.getFirst());
+      if (field == null || !isConstant(between.getSecond(), ctx) || !isConstant(between.getThird(), ctx)) {
+        return null;
+      }
+
+      final OBinaryField from = toBinaryField(between.getSecond().execute((OResult) null, ctx));
+      final OBinaryField to = toBinaryField(between.getThird().execute((OResult) null, ctx));
+      return from == null || to == null ? null : new Between(field, from, to);
+    }
+    return null;
+  }
+
+  private static Condition createPrefixCondition(String field, Object pattern) {
+    if (!(pattern instanceof String)) {
+      return null;
+    }
+
+    // ONLY 'prefix%': A SINGLE WILDCARD AT THE END OF THE PATTERN
+    final String string = (String) pattern;
+    if (string.length() < 2 || string.indexOf('%') != string.length() - 1 || string.indexOf('?') >= 0) {
+      return null;
+    }
+    return new Prefix(field, string.substring(0, string.length() - 1).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Condition createInCondition(String field, Object values) {
+    if (!OMultiValue.isMultiValue(values)) {
+      return null;
+    }
+
+    final List<OBinaryField> constants = new ArrayList<>();
+    final List<Object> constantValues = new ArrayList<>();
+    for (Object value : OMultiValue.getMultiValueIterable(values, false)) {
+      final OBinaryField constant = toBinaryField(value);
+      if (constant == null) {
+        return null;
+      }
+      constants.add(constant);
+      constantValues.add(value);
+    }
+    return new In(field, constants, constantValues);
+  }
+
+  /**
+   * @return the name of the field if the expression is a plain field of the current record, otherwise null
+   */
+  private static String getFieldName(OExpression expression) {
+    if (expression == null || !(expression.getMathExpression() instanceof OBaseExpression) || !expression.isBaseIdentifier()) {
+      return null;
+    }
+
+    final String name = expression.getDefaultAlias().getStringValue();
+    for (int i = 0; i < name.length(); i++) {
+      final char c = name.charAt(i);
+      if (c == '.' || c == '[' || c == '$' || c == '@') {
+        // EVALUATED AS A PATH OR AS A VARIABLE
+        return null;
+      }
+    }
+    return name;
+  }
+
+  private static boolean isConstant(OExpression expression, OCommandContext ctx) {
+    return expression != null && expression.getMathExpression() != null && isConstant(expression.getMathExpression(), ctx);
+  }
+
+  private static boolean isConstant(OMathExpression expression, OCommandContext ctx) {
+    if (expression instanceof OBaseExpression && ((OBaseExpression) expression).getModifier() != null) {
+      return false;
+    }
+    return expression.isEarlyCalculated(ctx);
+  }
+
+  private static OBinaryField toBinaryField(Object value) {
+    if (value == null) {
+      return null;
+    }
+    final OType type = OType.getTypeByValue(value);
+    if (type != OType.STRING && !isInteger(type)) {
+      return null;
+    }
+
+    final BytesContainer bytes = new BytesContainer();
+    ORecordSerializerBinary.INSTANCE.getCurrentSerializer().serializeValue(bytes, value, type, null);
+    bytes.offset = 0;
+    return new OBinaryField(null, type, bytes, null);
+  }
+
+  private static boolean isInteger(OType type) {
+    return type == OType.SHORT || type == OType.INTEGER || type == OType.LONG;
+  }
+
+  /**
+   * Strings are compared only with strings and integers only with integers, the other combinations are converted by the
+   * operators in ways the binary comparator does not reproduce.
+   */
+  private static boolean isComparable(OBinaryField value, OBinaryField constant) {
+    return value.type == OType.STRING ? constant.type == OType.STRING : isInteger(constant.type);
+  }
+
+  private abstract static class Condition {
+    final String field;
+
+    Condition(String field) {
+      this.field = field;
+    }
+
+    /**
+     * @param value the value of the field, not null
+     *
+     * @return false if the condition is certainly false for the value
+     */
+    abstract boolean canMatch(OBinaryField value, OBinaryComparator comparator);
+
+    /**
+     * @return true if the condition can be evaluated on the dictionary code of a string value, without decoding it
+     */
+    boolean isEvaluatedOnCodes() {
+      return false;
+    }
+
+    /**
+     * @param code the dictionary code of the string value of the field
+     *
+     * @return false if the condition is certainly false for the value
+     */
+    boolean canMatch(int code, OStringDictionary dictionary) {
+      return true;
+    }
+  }
+
+  private static class Comparison extends Condition {
+    private final Object       value;
+    private final OBinaryField constant;
+    private final int          min;
+    private final int          max;
+
+    /**
+     * @param min the minimum result of the comparison between the value and the constant that satisfies the condition
+     * @param max the maximum result of the comparison between the value and the constant that satisfies the condition
+     */
+    Comparison(String field, Object value, OBinaryField constant, int min, int max) {
+      super(field);
+      this.value = value;
+      this.constant = constant;
+      this.min = min;
+      this.max = max;
+    }
+
+    @Override
+    boolean canMatch(OBinaryField value, OBinaryComparator comparator) {
+      if (!isComparable(value, constant)) {
+        return true;
+      }
+      if (min == 0 && max == 0) {
+        return comparator.isEqual(value, constant);
+      }
+
+      final int result = comparator.compare(value, constant);
+      return result >= min && result <= max;
+    }
+
+    @Override
+    boolean isEvaluatedOnCodes() {
+      // EQUAL STRINGS HAVE THE SAME CODE
+      return min == 0 && max == 0 && value instanceof String;
+    }
+
+    @Override
+    boolean canMatch(int code, OStringDictionary dictionary) {
+      return dictionary.getCode((String) value) == code;
+    }
+  }
+
+  private static class In extends Condition {
+    private final List<OBinaryField> constants;
+    private final List<Object>       values;
+
+    In(String field, List<OBinaryField> constants, List<Object> values) {
+      super(field);
+      this.constants = constants;
+      this.values = values;
+    }
+
+    @Override
+    boolean isEvaluatedOnCodes() {
+      for (Object value : values) {
+        if (!(value instanceof String)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    boolean canMatch(int code, OStringDictionary dictionary) {
+      for (Object value : values) {
+        if (dictionary.getCode((String) value) == code) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    boolean canMatch(OBinaryField value, OBinaryComparator comparator) {
+      for (OBinaryField constant : constants) {
+        if (!isComparable(value, constant) || comparator.isEqual(value, constant)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private static class IsNull extends Condition {
+    IsNull(String field) {
+      super(field);
+    }
+
+    @Override
+    boolean canMatch(OBinaryField value, OBinaryComparator comparator) {
+      return false;
+    }
+  }
+
+  private static class Between extends Condition {
+    private final OBinaryField from;
+    private final OBinaryField to;
+
+    Between(String field, OBinaryField from, OBinaryField to) {
+      super(field);
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    boolean canMatch(OBinaryField value, OBinaryComparator comparator) {
+      // THE BOUNDS ARE CONVERTED TO THE TYPE OF THE VALUE: ONLY WIDENING CONVERSIONS GIVE THE SAME RESULT
+      if (!isWidening(from.type, value.type) || !isWidening(to.type, value.type)) {
+        return true;
+      }
+      return comparator.compare(value, from) >= 0 && comparator.compare(value, to) <= 0;
+    }
+
+    private static boolean isWidening(OType from, OType to) {
+      if (from == OType.STRING || to == OType.STRING) {
+        return from == to;
+      }
+      return from == to || to == OType.LONG || (to == OType.INTEGER && from == OType.SHORT);
+    }
+  }
+
+  private static class Prefix extends Condition {
+    private final byte[] prefix;
+
+    Prefix(String field, byte[] prefix) {
+      super(field);
+      this.prefix = prefix;
+    }
+
+    @Override
+    boolean canMatch(OBinaryField value, OBinaryComparator comparator) {
+      if (value.type != OType.STRING) {
+        return true;
+      }
+
+      final BytesContainer bytes = value.bytes.copy();
+      final int length = OVarIntSerializer.readAsInteger(bytes);
+      if (length < prefix.length) {
+        return false;
+      }
+      for (int i = 0; i < prefix.length; i++) {
+        if (bytes.bytes[bytes.offset + i] != prefix[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
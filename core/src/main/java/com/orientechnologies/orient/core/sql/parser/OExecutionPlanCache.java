@@ -1,5 +1,7 @@
 package com.orientechnologies.orient.core.sql.parser;
 
+import com.orientechnologies.common.profiler.OProfiler;
+import com.orientechnologies.orient.core.Orient;
 import com.orientechnologies.orient.core.command.OBasicCommandContext;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.config.OStorageConfiguration;
@@ -18,6 +20,10 @@ import java.util.Map;
 /**
  * This class is an LRU cache for already prepared SQL execution plans. It stores itself in the storage as a resource. It also acts
  * an an entry point for the SQL executor.
+ * <p>
+ * Plans are cached by their statement text, normalized through {@link OStatementCache#normalize(String)}, and the cache hits and
+ * misses are counted by the profiler as <code>db.&lt;name&gt;.executionPlanCache.hit</code> and
+ * <code>db.&lt;name&gt;.executionPlanCache.miss</code>.
  *
  * @author Luigi Dell'Aquila (l.dellaquila-(at)-orientdb.com)
  */
@@ -58,7 +64,7 @@ public class OExecutionPlanCache implements OMetadataUpdateListener {
    */
   public boolean contains(String statement) {
     synchronized (map) {
-      return map.containsKey(statement);
+      return map.containsKey(OStatementCache.normalize(statement));
     }
   }
 
@@ -81,6 +87,17 @@ public class OExecutionPlanCache implements OMetadataUpdateListener {
 
     OExecutionPlanCache resource = db.getSharedContext().getExecutionPlanCache();
     OExecutionPlan result = resource.getInternal(statement, ctx, db);
+
+    final OProfiler profiler = Orient.instance().getProfiler();
+    if (profiler.isRecording()) {
+      if (result != null) {
+        profiler.updateCounter(profiler.getDatabaseMetric(db.getName(), "executionPlanCache.hit"),
+            "Execution plans returned by the Execution Plan Cache", +1);
+      } else {
+        profiler.updateCounter(profiler.getDatabaseMetric(db.getName(), "executionPlanCache.miss"),
+            "Execution plans not found in the Execution Plan Cache", +1);
+      }
+    }
     return result;
   }
 
@@ -107,7 +124,7 @@ public class OExecutionPlanCache implements OMetadataUpdateListener {
       internal = internal.copy(ctx);
       //this copy is never used, so it has to be closed to free resources
       internal.close();
-      map.put(statement, internal);
+      map.put(OStatementCache.normalize(statement), internal);
     }
   }
 
@@ -122,11 +139,12 @@ public class OExecutionPlanCache implements OMetadataUpdateListener {
     if (statement == null) {
       return null;
     }
+    String key = OStatementCache.normalize(statement);
     synchronized (map) {
       //LRU
-      result = map.remove(statement);
+      result = map.remove(key);
       if (result != null) {
-        map.put(statement, result);
+        map.put(key, result);
         result = result.copy(ctx);
       }
     }
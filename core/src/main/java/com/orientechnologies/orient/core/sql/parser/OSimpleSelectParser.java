@@ -0,0 +1,452 @@
+package com.orientechnologies.orient.core.sql.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Hand written parser for the most common shape of SQL query, ie.
+ * <p>
+ * <code>SELECT [*] FROM &lt;class&gt; [WHERE &lt;field&gt; &lt;op&gt; &lt;value&gt; [AND ...]] [LIMIT &lt;value&gt;]</code>
+ * <p>
+ * where <code>&lt;op&gt;</code> is one of <code>=, &lt;, &gt;, &lt;=, &gt;=, !=, &lt;&gt;</code> and <code>&lt;value&gt;</code> is an
+ * input parameter, an integer or a string literal.
+ * <p>
+ * These statements are scanned directly on the characters of the statement, without any intermediate token, and the result is
+ * the same tree that {@link OrientSql} would produce, at a fraction of the cost. Any other statement is left to {@link OrientSql}:
+ * {@link #parse(String)} returns null as soon as it finds something it does not recognize.
+ */
+public class OSimpleSelectParser {
+
+  private static final int EOF        = 0;
+  private static final int WORD       = 1;
+  private static final int INTEGER    = 2;
+  private static final int STRING     = 3;
+  private static final int STAR       = 4;
+  private static final int HOOK       = 5;
+  private static final int COLON      = 6;
+  private static final int SEMICOLON  = 7;
+  private static final int EQ         = 8;
+  private static final int LT         = 9;
+  private static final int GT         = 10;
+  private static final int LE         = 11;
+  private static final int GE         = 12;
+  private static final int NE         = 13;
+  private static final int NEQ        = 14;
+  private static final int UNKNOWN    = 15;
+
+  /**
+   * Keywords that {@link OrientSql} also accepts as identifiers, producing the same node as a plain identifier
+   */
+  private static final Set<String> NON_RESERVED = new HashSet<String>(Arrays
+      .asList("abstract", "add", "addcluster", "all", "alter", "begin", "blob", "cache", "class", "classes", "clusters",
+          "clusterselection", "collate", "commit", "console", "content", "count", "custom", "cycle", "database", "default",
+          "description", "drop", "encryption", "engine", "exception", "execute", "explain", "extends", "find", "force", "function",
+          "grant", "ha", "id", "idempotent", "index", "inverse", "isolation", "key", "language", "link", "lucene", "merge", "metadata",
+          "mindepth", "name", "near", "nocycle", "nolimit", "none", "off", "optimize", "optional", "oversize", "parameters",
+          "profile", "property", "put", "read", "rebuild", "record", "references", "remove", "removecluster", "revoke", "rollback",
+          "sequence", "server", "shared", "shortname", "sleep", "start", "status", "storage", "strictmode", "superclass",
+          "superclasses", "sync", "truncate", "type", "updatable", "value", "values", "view", "within"));
+
+  private static final Set<String> KEYWORDS = new HashSet<String>();
+
+  static {
+    for (String image : OrientSqlConstants.tokenImage) {
+      if (image.length() > 2 && image.charAt(0) == '<' && image.charAt(image.length() - 1) == '>') {
+        // TOKEN NAMES ARE THE KEYWORDS IN UPPER CASE, SOMETIMES WITH A SUFFIX TO AVOID CLASHES WITH JAVA NAMES (eg. SKIP2, DEFAULT_)
+        String name = image.substring(1, image.length() - 1).toLowerCase(Locale.ENGLISH);
+        KEYWORDS.add(name);
+        KEYWORDS.add(name.replaceAll("[_0-9]+$", ""));
+        KEYWORDS.add(name.replace("_", ""));
+      }
+    }
+  }
+
+  private final String statement;
+  private final char[] chars;
+  private       int    pos;
+
+  private int tokenKind;
+  private int tokenStart;
+  private int tokenEnd;
+
+  private int inputParamCount = 0;
+
+  private OSimpleSelectParser(String statement) {
+    this.statement = statement;
+    this.chars = statement.toCharArray();
+  }
+
+  /**
+   * @param statement an SQL statement
+   *
+   * @return the parsed statement, or null if the statement is not a simple SELECT and has to be parsed by {@link OrientSql}
+   */
+  public static OSelectStatement parse(String statement) {
+    if (statement == null || statement.length() < 6) {
+      return null;
+    }
+    char first = statement.charAt(0);
+    if (first != 's' && first != 'S' && !isBlank(first)) {
+      return null;
+    }
+    return new OSimpleSelectParser(statement).selectStatement();
+  }
+
+  private OSelectStatement selectStatement() {
+    next();
+    if (!isKeyword("select")) {
+      return null;
+    }
+    OSelectStatement result = new OSelectStatement(OrientSqlTreeConstants.JJTSELECTSTATEMENT);
+    next();
+    if (tokenKind == STAR) {
+      result.projection = starProjection();
+      next();
+    }
+    if (!isKeyword("from")) {
+      return null;
+    }
+    next();
+    OIdentifier target = identifier();
+    if (target == null) {
+      return null;
+    }
+    OFromItem item = new OFromItem(OrientSqlTreeConstants.JJTFROMITEM);
+    item.rids = new ArrayList<ORid>();
+    item.inputParams = new ArrayList<OInputParameter>();
+    item.identifier = target;
+    result.target = new OFromClause(OrientSqlTreeConstants.JJTFROMCLAUSE);
+    result.target.item = item;
+    next();
+
+    if (isKeyword("where")) {
+      next();
+      result.whereClause = whereClause();
+      if (result.whereClause == null) {
+        return null;
+      }
+    }
+    if (isKeyword("limit")) {
+      next();
+      result.limit = limit();
+      if (result.limit == null) {
+        return null;
+      }
+      next();
+    }
+    if (tokenKind == SEMICOLON) {
+      next();
+    }
+    if (tokenKind != EOF) {
+      return null;
+    }
+    return result;
+  }
+
+  private OProjection starProjection() {
+    OSuffixIdentifier suffix = new OSuffixIdentifier(OrientSqlTreeConstants.JJTSUFFIXIDENTIFIER);
+    suffix.star = true;
+    OBaseIdentifier identifier = new OBaseIdentifier(OrientSqlTreeConstants.JJTBASEIDENTIFIER);
+    identifier.suffix = suffix;
+    OBaseExpression base = new OBaseExpression(OrientSqlTreeConstants.JJTBASEEXPRESSION);
+    base.identifier = identifier;
+    OExpression expression = new OExpression(OrientSqlTreeConstants.JJTEXPRESSION);
+    expression.mathExpression = base;
+    OProjectionItem projectionItem = new OProjectionItem(OrientSqlTreeConstants.JJTPROJECTIONITEM);
+    projectionItem.expression = expression;
+
+    OProjection projection = new OProjection(OrientSqlTreeConstants.JJTPROJECTION);
+    projection.items = new ArrayList<OProjectionItem>();
+    projection.items.add(projectionItem);
+    return projection;
+  }
+
+  /**
+   * consumes the conditions up to the first token after the WHERE clause
+   */
+  private OWhereClause whereClause() {
+    OAndBlock andBlock = new OAndBlock(OrientSqlTreeConstants.JJTANDBLOCK);
+    while (true) {
+      OBinaryCondition condition = condition();
+      if (condition == null) {
+        return null;
+      }
+      ONotBlock notBlock = new ONotBlock(OrientSqlTreeConstants.JJTNOTBLOCK);
+      notBlock.sub = condition;
+      andBlock.subBlocks.add(notBlock);
+      if (!isKeyword("and")) {
+        break;
+      }
+      next();
+    }
+
+    OOrBlock orBlock = new OOrBlock(OrientSqlTreeConstants.JJTORBLOCK);
+    orBlock.subBlocks.add(andBlock);
+    OWhereClause result = new OWhereClause(OrientSqlTreeConstants.JJTWHERECLAUSE);
+    result.baseExpression = orBlock;
+    return result;
+  }
+
+  /**
+   * consumes a condition and the token after it
+   */
+  private OBinaryCondition condition() {
+    OIdentifier field = identifier();
+    if (field == null) {
+      return null;
+    }
+    OSuffixIdentifier suffix = new OSuffixIdentifier(OrientSqlTreeConstants.JJTSUFFIXIDENTIFIER);
+    suffix.identifier = field;
+    OBaseIdentifier baseIdentifier = new OBaseIdentifier(OrientSqlTreeConstants.JJTBASEIDENTIFIER);
+    baseIdentifier.suffix = suffix;
+    OBaseExpression left = new OBaseExpression(OrientSqlTreeConstants.JJTBASEEXPRESSION);
+    left.identifier = baseIdentifier;
+
+    next();
+    OBinaryCompareOperator operator = operator();
+    if (operator == null) {
+      return null;
+    }
+
+    next();
+    OBaseExpression right = new OBaseExpression(OrientSqlTreeConstants.JJTBASEEXPRESSION);
+    switch (tokenKind) {
+    case INTEGER:
+      right.number = integer();
+      break;
+    case STRING:
+      right.string = statement.substring(tokenStart, tokenEnd);
+      break;
+    default:
+      right.inputParam = inputParameter();
+      if (right.inputParam == null) {
+        return null;
+      }
+    }
+    next();
+
+    OBinaryCondition result = new OBinaryCondition(OrientSqlTreeConstants.JJTBINARYCONDITION);
+    result.left = new OExpression(OrientSqlTreeConstants.JJTEXPRESSION);
+    result.left.mathExpression = left;
+    result.operator = operator;
+    result.right = new OExpression(OrientSqlTreeConstants.JJTEXPRESSION);
+    result.right.mathExpression = right;
+    return result;
+  }
+
+  private OBinaryCompareOperator operator() {
+    switch (tokenKind) {
+    case EQ:
+      return new OEqualsCompareOperator(OrientSqlTreeConstants.JJTEQUALSCOMPAREOPERATOR);
+    case LT:
+      return new OLtOperator(OrientSqlTreeConstants.JJTLTOPERATOR);
+    case GT:
+      return new OGtOperator(OrientSqlTreeConstants.JJTGTOPERATOR);
+    case LE:
+      return new OLeOperator(OrientSqlTreeConstants.JJTLEOPERATOR);
+    case GE:
+      return new OGeOperator(OrientSqlTreeConstants.JJTGEOPERATOR);
+    case NE:
+      return new ONeOperator(OrientSqlTreeConstants.JJTNEOPERATOR);
+    case NEQ:
+      return new ONeqOperator(OrientSqlTreeConstants.JJTNEQOPERATOR);
+    default:
+      return null;
+    }
+  }
+
+  private OLimit limit() {
+    OLimit result = new OLimit(OrientSqlTreeConstants.JJTLIMIT);
+    if (tokenKind == INTEGER) {
+      result.num = integer();
+    } else {
+      result.inputParam = inputParameter();
+      if (result.inputParam == null) {
+        return null;
+      }
+    }
+    return result;
+  }
+
+  private OInteger integer() {
+    OInteger result = new OInteger(OrientSqlTreeConstants.JJTINTEGER);
+    result.setValue(1, statement.substring(tokenStart, tokenEnd));
+    return result;
+  }
+
+  /**
+   * consumes a positional or a named parameter, but not the token after it
+   */
+  private OInputParameter inputParameter() {
+    if (tokenKind == HOOK) {
+      OPositionalParameter result = new OPositionalParameter(OrientSqlTreeConstants.JJTPOSITIONALPARAMETER);
+      result.paramNumber = inputParamCount++;
+      return result;
+    }
+    if (tokenKind == COLON) {
+      next();
+      OIdentifier name = identifier();
+      if (name == null) {
+        return null;
+      }
+      ONamedParameter result = new ONamedParameter(OrientSqlTreeConstants.JJTNAMEDPARAMETER);
+      result.paramName = name.toString();
+      result.paramNumber = inputParamCount++;
+      return result;
+    }
+    return null;
+  }
+
+  /**
+   * @return the current token as an identifier, or null if it is not a plain identifier
+   */
+  private OIdentifier identifier() {
+    if (tokenKind != WORD) {
+      return null;
+    }
+    String value = statement.substring(tokenStart, tokenEnd);
+    String lowerCase = value.toLowerCase(Locale.ENGLISH);
+    if (KEYWORDS.contains(lowerCase) && !NON_RESERVED.contains(lowerCase)) {
+      return null;
+    }
+    OIdentifier result = new OIdentifier(OrientSqlTreeConstants.JJTIDENTIFIER);
+    result.value = value;
+    return result;
+  }
+
+  private boolean isKeyword(String keyword) {
+    return tokenKind == WORD && tokenEnd - tokenStart == keyword.length() && statement
+        .regionMatches(true, tokenStart, keyword, 0, keyword.length());
+  }
+
+  /**
+   * moves to the next token
+   *
+   * @return the kind of the new current token
+   */
+  private int next() {
+    while (pos < chars.length && isBlank(chars[pos])) {
+      pos++;
+    }
+    tokenStart = pos;
+    if (pos == chars.length) {
+      tokenEnd = pos;
+      return tokenKind = EOF;
+    }
+
+    char c = chars[pos++];
+    if (isLetter(c)) {
+      while (pos < chars.length && (isLetter(chars[pos]) || isDigit(chars[pos]))) {
+        pos++;
+      }
+      tokenKind = WORD;
+    } else if (isDigit(c)) {
+      // DECIMAL INTEGERS ONLY, OCTAL, HEX, LONG AND FLOATING POINT LITERALS ARE LEFT TO THE PARSER
+      while (pos < chars.length && isDigit(chars[pos])) {
+        pos++;
+      }
+      tokenKind = (c == '0' && pos - tokenStart > 1) ? UNKNOWN : INTEGER;
+    } else if (c == '\'' || c == '"') {
+      tokenKind = UNKNOWN;
+      while (pos < chars.length) {
+        char s = chars[pos++];
+        if (s == c) {
+          tokenKind = STRING;
+          break;
+        }
+        if (s == '\\' || s == '\n' || s == '\r' || s > 127) {
+          // ESCAPE SEQUENCES AND CHARACTERS DEPENDING ON THE DATABASE CHARSET ARE LEFT TO THE PARSER
+          break;
+        }
+      }
+    } else {
+      char n = pos < chars.length ? chars[pos] : 0;
+      switch (c) {
+      case '*':
+        tokenKind = STAR;
+        break;
+      case '?':
+        tokenKind = HOOK;
+        break;
+      case ':':
+        tokenKind = COLON;
+        break;
+      case ';':
+        tokenKind = SEMICOLON;
+        break;
+      case '=':
+        tokenKind = n == '=' ? UNKNOWN : EQ;
+        break;
+      case '<':
+        if (n == '=') {
+          pos++;
+          tokenKind = LE;
+        } else if (n == '>') {
+          pos++;
+          tokenKind = NEQ;
+        } else {
+          tokenKind = n == '<' ? UNKNOWN : LT;
+        }
+        break;
+      case '>':
+        if (n == '=') {
+          pos++;
+          tokenKind = GE;
+        } else {
+          tokenKind = n == '>' ? UNKNOWN : GT;
+        }
+        break;
+      case '!':
+        if (n == '=') {
+          pos++;
+          tokenKind = NE;
+        } else {
+          tokenKind = UNKNOWN;
+        }
+        break;
+      default:
+        tokenKind = UNKNOWN;
+      }
+    }
+    if ((tokenKind == WORD || tokenKind == INTEGER) && pos < chars.length && !isBlank(chars[pos]) && !isSeparator(chars[pos])) {
+      // eg. '$', '.' OR A LETTER AFTER A NUMBER: SOMETHING THIS PARSER DOES NOT KNOW ABOUT
+      tokenKind = UNKNOWN;
+    }
+    tokenEnd = pos;
+    return tokenKind;
+  }
+
+  private static boolean isSeparator(char c) {
+    switch (c) {
+    case '*':
+    case '?':
+    case ':':
+    case ';':
+    case '=':
+    case '<':
+    case '>':
+    case '!':
+    case '\'':
+    case '"':
+      return true;
+    default:
+      return false;
+    }
+  }
+
+  private static boolean isLetter(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isBlank(char c) {
+    // SAME CHARACTERS SKIPPED BY THE PARSER
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+  }
+}
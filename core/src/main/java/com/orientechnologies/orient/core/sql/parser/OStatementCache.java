@@ -41,7 +41,7 @@ public class OStatementCache {
    */
   public boolean contains(String statement) {
     synchronized (map) {
-      return map.containsKey(statement);
+      return map.containsKey(normalize(statement));
     }
   }
 
@@ -69,23 +69,88 @@ public class OStatementCache {
    * @return the corresponding executor, taking it from the internal cache, if it exists
    */
   public OStatement get(String statement) {
+    String key = normalize(statement);
     OStatement result;
     synchronized (map) {
       //LRU
-      result = map.remove(statement);
+      result = map.remove(key);
       if (result != null) {
-        map.put(statement, result);
+        map.put(key, result);
       }
     }
     if (result == null) {
       result = parse(statement);
       synchronized (map) {
-        map.put(statement, result);
+        map.put(key, result);
       }
     }
     return result;
   }
 
+  /**
+   * returns the key used to cache an SQL statement: leading and trailing white spaces are removed and every other sequence of white
+   * spaces is replaced by a single blank, unless it is part of a quoted string or identifier. This way statements that differ only
+   * in their formatting (eg. generated by an ORM or written on multiple lines) share the same cache entry.
+   *
+   * @param statement the SQL statement
+   *
+   * @return the normalized statement
+   */
+  public static String normalize(String statement) {
+    if (statement == null) {
+      return null;
+    }
+    int length = statement.length();
+    StringBuilder builder = null;
+    char quote = 0;
+    boolean pendingBlank = false;
+    for (int i = 0; i < length; i++) {
+      char c = statement.charAt(i);
+      if (quote != 0) {
+        if (c == '\\' && quote != '`' && i + 1 < length) {
+          // ESCAPED CHARACTER, COPY IT AS IS
+          if (builder != null) {
+            builder.append(c);
+          }
+          c = statement.charAt(++i);
+        } else if (c == quote) {
+          quote = 0;
+        }
+      } else if (isBlank(c)) {
+        if (builder == null) {
+          if (c == ' ' && i > 0 && i + 1 < length && !isBlank(statement.charAt(i + 1))) {
+            // ALREADY NORMALIZED
+            continue;
+          }
+          builder = new StringBuilder(length);
+          builder.append(statement, 0, i);
+        }
+        pendingBlank = true;
+        continue;
+      } else if (c == '"' || c == '\'' || c == '`') {
+        quote = c;
+      }
+
+      if (builder != null) {
+        if (pendingBlank && builder.length() > 0) {
+          builder.append(' ');
+        }
+        builder.append(c);
+      }
+      pendingBlank = false;
+    }
+
+    if (builder == null) {
+      return statement;
+    }
+    return builder.toString();
+  }
+
+  private static boolean isBlank(char c) {
+    // SAME CHARACTERS SKIPPED BY THE PARSER
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+  }
+
   /**
    * parses an SQL statement and returns the corresponding executor
    *
@@ -96,6 +161,11 @@ public class OStatementCache {
    * @throws OCommandSQLParsingException if the input parameter is not a valid SQL statement
    */
   protected static OStatement parse(String statement) throws OCommandSQLParsingException {
+    OStatement simple = OSimpleSelectParser.parse(statement);
+    if (simple != null) {
+      simple.originalStatement = statement;
+      return simple;
+    }
     try {
       ODatabaseDocumentInternal db = ODatabaseRecordThreadLocal.instance().getIfDefined();
       InputStream is;
@@ -29,6 +29,8 @@ import com.orientechnologies.orient.core.record.ORecordVersionHelper;
 import com.orientechnologies.orient.core.storage.cache.OCacheEntry;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.base.ODurablePage;
 
+import java.util.Arrays;
+
 /**
  * @author Andrey Lomakin (a.lomakin-at-orientdb.com)
  * @since 19.03.13
@@ -56,6 +58,11 @@ public final class OClusterPage extends ODurablePage {
 
   public static final int MAX_RECORD_SIZE = MAX_ENTRY_SIZE - 3 * OIntegerSerializer.INT_SIZE;
 
+  /**
+   * Changed byte ranges of a patched record closer than this are written as a single range.
+   */
+  private static final int PATCH_RANGE_GAP = 2 * OIntegerSerializer.INT_SIZE;
+
   private static final int ENTRY_KIND_HOLE    = -1;
   private static final int ENTRY_KIND_UNKNOWN = 0;
   private static final int ENTRY_KIND_DATA    = +1;
@@ -178,6 +185,57 @@ public final class OClusterPage extends ODurablePage {
     return writtenBytes;
   }
 
+  /**
+   * Overwrites only the bytes of the record which differ from the given ones, so the changes of the page, and the write ahead log
+   * record built from them, cover just the patched ranges instead of the whole record.
+   *
+   * @param offset position of the given bytes inside the record
+   *
+   * @return the number of bytes written
+   */
+  public int patchRecord(final int recordPosition, final int offset, final byte[] value, final int recordVersion) {
+    assert isPositionInsideInterval(recordPosition);
+
+    final int entryIndexPosition = PAGE_INDEXES_OFFSET + recordPosition * INDEX_ITEM_SIZE;
+    if (recordVersion != -1) {
+      setIntValue(entryIndexPosition + OIntegerSerializer.INT_SIZE, recordVersion);
+    }
+
+    final int entryPointer = getIntValue(entryIndexPosition);
+    final int valuePosition = (entryPointer & POSITION_MASK) + 3 * OIntegerSerializer.INT_SIZE + offset;
+    assert insideRecordBounds(entryPointer & POSITION_MASK, offset, value.length);
+
+    final byte[] current = getBinaryValue(valuePosition, value.length);
+
+    int writtenBytes = 0;
+    int i = 0;
+    while (i < value.length) {
+      if (current[i] == value[i]) {
+        i++;
+        continue;
+      }
+
+      // JOIN THE RANGES SEPARATED BY FEWER BYTES THAN THE OVERHEAD OF A NEW RANGE
+      final int start = i;
+      int end = i + 1;
+      int equal = 0;
+      for (int j = end; j < value.length && equal < PATCH_RANGE_GAP; j++) {
+        if (current[j] == value[j]) {
+          equal++;
+        } else {
+          equal = 0;
+          end = j + 1;
+        }
+      }
+
+      setBinaryValue(valuePosition + start, Arrays.copyOfRange(value, start, end));
+      writtenBytes += end - start;
+      i = end;
+    }
+
+    return writtenBytes;
+  }
+
   public int getRecordVersion(int position) {
     int indexesLength = getIntValue(PAGE_INDEXES_LENGTH_OFFSET);
     if (position >= indexesLength) {
@@ -592,6 +592,32 @@ public final class OPaginatedClusterV1 extends OPaginatedCluster {
     recordOperationMetadata.addRid(rid);
   }
 
+  /**
+   * Updates in place a record stored in a single page entry whose new content has the same length as the current one, writing only
+   * the changed bytes: the write ahead log then holds just the patch instead of the whole record.
+   *
+   * @return false if the record has to be rewritten
+   */
+  private boolean patchRecord(final OClusterPositionMapBucket.PositionEntry positionEntry, final byte[] content,
+      final int recordVersion, final byte recordType, final OAtomicOperation atomicOperation) throws IOException {
+    final OCacheEntry cacheEntry = loadPageForWrite(atomicOperation, fileId, positionEntry.getPageIndex(), false, true);
+    try {
+      final OClusterPage localPage = new OClusterPage(cacheEntry, false);
+      final int recordPosition = positionEntry.getRecordPosition();
+
+      if (localPage.getRecordSize(recordPosition) != getEntryContentLength(content.length)
+          || localPage.getRecordByteValue(recordPosition, 0) != recordType
+          || localPage.getRecordLongValue(recordPosition, -OLongSerializer.LONG_SIZE) >= 0) {
+        return false;
+      }
+
+      localPage.patchRecord(recordPosition, OByteSerializer.BYTE_SIZE + OIntegerSerializer.INT_SIZE, content, recordVersion);
+      return true;
+    } finally {
+      releasePageFromWrite(atomicOperation, cacheEntry);
+    }
+  }
+
   private static int getEntryContentLength(final int grownContentSize) {
 
     return grownContentSize + 2 * OByteSerializer.BYTE_SIZE + OIntegerSerializer.INT_SIZE + OLongSerializer.LONG_SIZE;
@@ -845,6 +871,11 @@ public final class OPaginatedClusterV1 extends OPaginatedCluster {
           return;
         }
 
+        if (patchRecord(positionEntry, content, recordVersion, recordType, atomicOperation)) {
+          addAtomicOperationMetadata(new ORecordId(id, clusterPosition), atomicOperation);
+          return;
+        }
+
         int nextRecordPosition = positionEntry.getRecordPosition();
         long nextPageIndex = positionEntry.getPageIndex();
 
@@ -588,6 +588,7 @@ public class OLocalPaginatedStorage extends OAbstractPaginatedStorage {
           contextConfiguration.getValueAsBoolean(OGlobalConfiguration.STORAGE_PRINT_WAL_PERFORMANCE_STATISTICS),
           contextConfiguration.getValueAsInteger(OGlobalConfiguration.STORAGE_PRINT_WAL_PERFORMANCE_INTERVAL));
 
+      diskWriteAheadLog.setKeepSize(contextConfiguration.getValueAsLong(OGlobalConfiguration.WAL_KEEP_SIZE) * 1024 * 1024);
       diskWriteAheadLog.addLowDiskSpaceListener(this);
       writeAheadLog = diskWriteAheadLog;
       writeAheadLog.addFullCheckpointListener(this);
@@ -54,6 +54,7 @@ import com.orientechnologies.orient.core.config.OStorageClusterConfiguration;
 import com.orientechnologies.orient.core.config.OStorageConfiguration;
 import com.orientechnologies.orient.core.config.OStorageConfigurationImpl;
 import com.orientechnologies.orient.core.config.OStorageConfigurationUpdateListener;
+import com.orientechnologies.orient.core.config.OStorageEntryConfiguration;
 import com.orientechnologies.orient.core.conflict.ORecordConflictStrategy;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.ODatabaseListener;
@@ -156,6 +157,7 @@ import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OWALRe
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OWriteAheadLog;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.cas.OCASDiskWriteAheadLog;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.cas.OWriteableWALRecord;
+import com.orientechnologies.orient.core.storage.impl.local.statistic.OIndexLockStatistic;
 import com.orientechnologies.orient.core.storage.impl.local.statistic.OPerformanceStatisticManager;
 import com.orientechnologies.orient.core.storage.impl.local.statistic.OSessionStoragePerformanceStatistic;
 import com.orientechnologies.orient.core.storage.index.engine.OHashTableIndexEngine;
@@ -252,6 +254,7 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
   private final OPerformanceStatisticManager performanceStatisticManager = new OPerformanceStatisticManager(this,
       OGlobalConfiguration.STORAGE_PROFILER_SNAPSHOT_INTERVAL.getValueAsInteger() * 1000000L,
       OGlobalConfiguration.STORAGE_PROFILER_CLEANUP_INTERVAL.getValueAsInteger() * 1000000L);
+  private final OIndexLockStatistic          indexLockStatistic          = new OIndexLockStatistic();
 
   protected volatile OWriteAheadLog          writeAheadLog;
   private            OStorageRecoverListener recoverListener;
@@ -281,6 +284,18 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
   private final List<OBaseIndexEngine>        indexEngines       = new ArrayList<>();
   private       boolean                       wereDataRestoredAfterOpen;
 
+  /**
+   * Declared in the configuration for the whole bulk load, so a load interrupted by a crash is detected on the next open.
+   */
+  private static final String BULK_LOAD_PROPERTY = "bulkLoad";
+
+  /**
+   * The session running the bulk load: only its changes skip the write ahead log and the non unique indexes.
+   */
+  private volatile ODatabaseDocumentInternal bulkLoadSession;
+  private volatile boolean                   bulkLoadInterrupted;
+  private final    Set<String>               bulkLoadIndexes = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
   private final LongAdder fullCheckpointCount = new LongAdder();
 
   private final AtomicLong recordCreated = new AtomicLong(0);
@@ -394,6 +409,10 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
 
         status = STATUS.OPEN;
 
+        checkInterruptedBulkLoad();
+
+        registerIndexLockStatistic();
+
         final String cs = configuration.getConflictStrategy();
         if (cs != null) {
           // SET THE CONFLICT STORAGE STRATEGY FROM THE LOADED CONFIGURATION
@@ -590,6 +609,8 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
 
         status = STATUS.OPEN;
 
+        registerIndexLockStatistic();
+
         // ADD THE METADATA CLUSTER TO STORE INTERNAL STUFF
         doAddCluster(OMetadataDefault.CLUSTER_INTERNAL_NAME, null);
 
@@ -1029,6 +1050,64 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
     }
   }
 
+  /**
+   * Runs the task while no other operation runs on the storage. The storage is locked before the locks taken by the task, as the
+   * transactions do when they commit.
+   */
+  public final <V> V callInExclusiveLock(final Callable<V> callable) {
+    try {
+      checkOpenness();
+      stateLock.acquireWriteLock();
+      try {
+        checkOpenness();
+
+        return callable.call();
+      } finally {
+        stateLock.releaseWriteLock();
+      }
+    } catch (final RuntimeException ee) {
+      throw logAndPrepareForRethrow(ee);
+    } catch (final Error ee) {
+      throw logAndPrepareForRethrow(ee);
+    } catch (final Throwable t) {
+      throw logAndPrepareForRethrow(t);
+    }
+  }
+
+  /**
+   * Runs the task while the transactions which change the records of the cluster wait to commit, so the records read by the task
+   * are the last committed versions until it completes.
+   */
+  public final <V> V callInClusterReadLock(final int clusterId, final Callable<V> callable) {
+    try {
+      checkOpenness();
+      stateLock.acquireReadLock();
+      try {
+        checkOpenness();
+
+        final OCluster cluster = getClusterById(clusterId);
+        if (!(cluster instanceof OPaginatedCluster)) {
+          return callable.call();
+        }
+
+        atomicOperationsManager.acquireReadLock((OPaginatedCluster) cluster);
+        try {
+          return callable.call();
+        } finally {
+          atomicOperationsManager.releaseReadLock((OPaginatedCluster) cluster);
+        }
+      } finally {
+        stateLock.releaseReadLock();
+      }
+    } catch (final RuntimeException ee) {
+      throw logAndPrepareForRethrow(ee);
+    } catch (final Error ee) {
+      throw logAndPrepareForRethrow(ee);
+    } catch (final Throwable t) {
+      throw logAndPrepareForRethrow(t);
+    }
+  }
+
   public OLogSequenceNumber getLSN() {
     try {
       if (writeAheadLog == null) {
@@ -2149,11 +2228,14 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
               result.add(recordOperation);
             }
 
-            lockIndexes(indexOperations);
+            final TreeMap<String, OTransactionIndexChanges> indexesToCommit =
+                isBulkLoadSession(transaction.getDatabase()) ? deferBulkLoadIndexes(indexOperations) : indexOperations;
+
+            lockIndexes(indexesToCommit);
 
             checkReadOnlyConditions();
 
-            commitIndexes(indexOperations, atomicOperation);
+            commitIndexes(indexesToCommit, atomicOperation);
           } catch (final IOException | RuntimeException e) {
             rollback = true;
             if (e instanceof RuntimeException) {
@@ -2216,6 +2298,24 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
     }
   }
 
+  /**
+   * @return the changes of the manual and unique indexes, the other automatic indexes are only recorded to be rebuilt at the end of
+   * the bulk load: the unique indexes are still updated by each transaction, so a duplicated key fails the transaction as usual
+   */
+  private TreeMap<String, OTransactionIndexChanges> deferBulkLoadIndexes(
+      final TreeMap<String, OTransactionIndexChanges> indexOperations) {
+    final TreeMap<String, OTransactionIndexChanges> manualIndexes = new TreeMap<>();
+    for (final Map.Entry<String, OTransactionIndexChanges> entry : indexOperations.entrySet()) {
+      final OIndexInternal<?> index = entry.getValue().getAssociatedIndex();
+      if (index != null && index.isAutomatic() && !index.isUnique()) {
+        bulkLoadIndexes.add(entry.getKey());
+      } else {
+        manualIndexes.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return manualIndexes;
+  }
+
   private static void commitIndexes(final Map<String, OTransactionIndexChanges> indexesToCommit,
       final OAtomicOperation atomicOperation) {
     final Map<OIndex, OIndexAbstract.IndexTxSnapshot> snapshots = new IdentityHashMap<>(8);
@@ -2528,6 +2628,132 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
     }
   }
 
+  /**
+   * Starts a bulk load. Until {@link #endBulkLoad()} the transactions of the session are not logged in the write ahead log and do
+   * not update the automatic non unique indexes, which are rebuilt once at the end of the load. The other sessions keep logging
+   * their changes and updating all the indexes. The storage is not durable during the load: if it is not ended, the records loaded
+   * can be lost or broken, as can the changes of the other sessions to the same pages, and all the indexes are rebuilt on the
+   * next open.
+   *
+   * @param session the session running the load
+   */
+  public void beginBulkLoad(final ODatabaseDocumentInternal session) {
+    try {
+      checkOpenness();
+
+      stateLock.acquireWriteLock();
+      try {
+        checkOpenness();
+
+        checkLowDiskSpaceRequestsAndReadOnlyConditions();
+
+        if (bulkLoadSession != null) {
+          throw new OStorageException("Bulk load is already in progress on storage '" + name + "'");
+        }
+
+        ((OClusterBasedStorageConfiguration) configuration).setProperty(BULK_LOAD_PROPERTY, "true");
+        // THE LOAD STARTS FROM A STATE WHICH DOES NOT NEED THE LOG TO BE RESTORED
+        flushAllData();
+
+        bulkLoadIndexes.clear();
+        bulkLoadSession = session;
+      } finally {
+        stateLock.releaseWriteLock();
+      }
+    } catch (final RuntimeException ee) {
+      throw logAndPrepareForRethrow(ee);
+    } catch (final Error ee) {
+      throw logAndPrepareForRethrow(ee);
+    } catch (final Throwable t) {
+      throw logAndPrepareForRethrow(t);
+    }
+  }
+
+  /**
+   * Ends the bulk load started by {@link #beginBulkLoad(ODatabaseDocumentInternal)}: writes the loaded data to disk and logs again the changes in the write
+   * ahead log.
+   *
+   * @return the names of the automatic indexes changed by the load, which have to be rebuilt by the caller
+   */
+  public Set<String> endBulkLoad() {
+    try {
+      checkOpenness();
+
+      stateLock.acquireWriteLock();
+      try {
+        checkOpenness();
+
+        if (bulkLoadSession == null) {
+          throw new OStorageException("Bulk load is not in progress on storage '" + name + "'");
+        }
+
+        flushAllData();
+        bulkLoadSession = null;
+
+        ((OClusterBasedStorageConfiguration) configuration).removeProperty(BULK_LOAD_PROPERTY);
+
+        final Set<String> indexes = new HashSet<>(bulkLoadIndexes);
+        bulkLoadIndexes.clear();
+        return indexes;
+      } finally {
+        stateLock.releaseWriteLock();
+      }
+    } catch (final RuntimeException ee) {
+      throw logAndPrepareForRethrow(ee);
+    } catch (final Error ee) {
+      throw logAndPrepareForRethrow(ee);
+    } catch (final Throwable t) {
+      throw logAndPrepareForRethrow(t);
+    }
+  }
+
+  public boolean isBulkLoad() {
+    return bulkLoadSession != null;
+  }
+
+  /**
+   * @return true if the session is running a bulk load, so its changes are not logged in the write ahead log
+   */
+  public boolean isBulkLoadSession(final ODatabaseDocumentInternal session) {
+    return session != null && session == bulkLoadSession;
+  }
+
+  /**
+   * @return true if the storage was closed during a bulk load, so the automatic indexes have to be rebuilt after the open
+   */
+  public boolean wasBulkLoadInterrupted() {
+    return bulkLoadInterrupted;
+  }
+
+  private void flushAllData() throws IOException {
+    final long lockId = atomicOperationsManager.freezeAtomicOperations(null, null);
+    try {
+      if (writeAheadLog != null) {
+        makeFullCheckpoint();
+      } else {
+        writeCache.flush();
+      }
+    } finally {
+      atomicOperationsManager.releaseAtomicOperations(lockId);
+    }
+  }
+
+  private void checkInterruptedBulkLoad() {
+    for (final OStorageEntryConfiguration property : configuration.getProperties()) {
+      if (property.name.equals(BULK_LOAD_PROPERTY)) {
+        OLogManager.instance().errorNoDb(this,
+            "Storage '%s' was closed during a bulk load, the records loaded can be lost or broken, indexes will be rebuilt", null,
+            name);
+
+        // THE INDEX MANAGER REBUILDS ALL THE AUTOMATIC INDEXES
+        bulkLoadInterrupted = true;
+
+        ((OClusterBasedStorageConfiguration) configuration).removeProperty(BULK_LOAD_PROPERTY);
+        return;
+      }
+    }
+  }
+
   private void checkIndexId(final int indexId) throws OInvalidIndexEngineIdException {
     if (indexId < 0 || indexId >= indexEngines.size() || indexEngines.get(indexId) == null) {
       throw new OInvalidIndexEngineIdException("Engine with id " + indexId + " is not registered inside of storage");
@@ -5054,6 +5280,12 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
           OLogManager.instance().error(this, "MBean for write cache cannot be unregistered", e);
         }
 
+        try {
+          indexLockStatistic.unregisterMBean(name, id);
+        } catch (final Exception e) {
+          OLogManager.instance().error(this, "MBean for index lock statistic cannot be unregistered", e);
+        }
+
         postCloseSteps(onDelete, jvmError.get() != null);
         transaction = null;
       } else {
@@ -5841,7 +6073,7 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
     return ridsPerCluster;
   }
 
-  private static void lockIndexes(final TreeMap<String, OTransactionIndexChanges> indexes) {
+  private void lockIndexes(final TreeMap<String, OTransactionIndexChanges> indexes) {
     for (final OTransactionIndexChanges changes : indexes.values()) {
       assert changes.changesPerKey instanceof TreeMap;
 
@@ -5856,6 +6088,7 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
         });
       }
 
+      final long lockStart = System.nanoTime();
       boolean fullyLocked = false;
       for (final Object key : orderedIndexNames) {
         if (index.acquireAtomicExclusiveLock(key)) {
@@ -5866,9 +6099,29 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
       if (!fullyLocked && !changes.nullKeyChanges.entries.isEmpty()) {
         index.acquireAtomicExclusiveLock(null);
       }
+
+      indexLockStatistic.lockAcquired(index.getName(), System.nanoTime() - lockStart);
     }
   }
 
+  private void registerIndexLockStatistic() {
+    if (!OGlobalConfiguration.PROFILER_ENABLED.getValueAsBoolean())
+      return;
+
+    try {
+      indexLockStatistic.registerMBean(name, id);
+    } catch (final Exception e) {
+      OLogManager.instance().error(this, "MBean for index lock statistic cannot be registered", e);
+    }
+  }
+
+  /**
+   * @return Time spent by the transactions of this storage to acquire the exclusive locks of the changed indexes.
+   */
+  public OIndexLockStatistic getIndexLockStatistic() {
+    return indexLockStatistic;
+  }
+
   private static void lockClusters(final TreeMap<Integer, OCluster> clustersToLock) {
     for (final OCluster cluster : clustersToLock.values()) {
       cluster.acquireAtomicExclusiveLock();
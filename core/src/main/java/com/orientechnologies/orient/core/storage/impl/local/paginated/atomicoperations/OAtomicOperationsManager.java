@@ -559,7 +559,12 @@ public class OAtomicOperationsManager implements OAtomicOperationsMangerMXBean {
     }
 
     final OTransactionInternal clientTx = storageTransaction.getClientTx();
-    return clientTx == null || clientTx.isUsingLog();
+    if (clientTx == null) {
+      return true;
+    }
+
+    // ONLY THE TRANSACTIONS OF THE SESSION RUNNING A BULK LOAD ARE NOT LOGGED
+    return clientTx.isUsingLog() && !storage.isBulkLoadSession(clientTx.getDatabase());
 
   }
 }
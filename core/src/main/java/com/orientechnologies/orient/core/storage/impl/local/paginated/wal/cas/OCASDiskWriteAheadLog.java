@@ -120,6 +120,8 @@ public final class OCASDiskWriteAheadLog implements OWriteAheadLog {
 
   private volatile long walSizeLimit;
 
+  private volatile long keepSize;
+
   private final long segmentsInterval;
 
   private final long maxSegmentSize;
@@ -1158,6 +1160,10 @@ public final class OCASDiskWriteAheadLog implements OWriteAheadLog {
           segmentId = written.getSegment();
         }
 
+        if (keepSize > 0) {
+          segmentId = Math.min(segmentId, firstRetainedSegment());
+        }
+
         if (segmentId <= segments.first()) {
           return false;
         }
@@ -1210,6 +1216,29 @@ public final class OCASDiskWriteAheadLog implements OWriteAheadLog {
     }
   }
 
+  /**
+   * @return the oldest segment which has to be kept so that the size of the log is not smaller than the configured keep size,
+   * which is never bigger than half of the maximum size of the log, otherwise checkpoints would be requested endlessly.
+   */
+  private long firstRetainedSegment() throws IOException {
+    final long limit = walSizeLimit;
+    final long sizeToKeep = limit > -1 ? Math.min(keepSize, limit / 2) : keepSize;
+
+    long retainedSize = 0;
+    for (final long segment : segments.descendingSet()) {
+      final Path segmentPath = walLocation.resolve(getSegmentName(segment));
+      if (Files.exists(segmentPath)) {
+        retainedSize += Files.size(segmentPath);
+      }
+
+      if (retainedSize >= sizeToKeep) {
+        return segment;
+      }
+    }
+
+    return segments.first();
+  }
+
   public boolean cutTill(final OLogSequenceNumber lsn) throws IOException {
     final long segmentId = lsn.getSegment();
     return cutAllSegmentsSmallerThan(segmentId);
@@ -1456,6 +1485,16 @@ public final class OCASDiskWriteAheadLog implements OWriteAheadLog {
     }
   }
 
+  /**
+   * Sets the minimum size of the log kept on disk after a checkpoint, so the changes done since a recent LSN can still be read
+   * from the log, for example to send only them to a node which rejoins the cluster.
+   *
+   * @param keepSize size in bytes, 0 or less to remove the segments as soon as they are not needed for the recovery
+   */
+  public void setKeepSize(final long keepSize) {
+    this.keepSize = keepSize;
+  }
+
   public void addLowDiskSpaceListener(final OLowDiskSpaceListener listener) {
     lowDiskSpaceListeners.add(listener);
   }
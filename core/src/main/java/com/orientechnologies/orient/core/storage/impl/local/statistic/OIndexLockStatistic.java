@@ -0,0 +1,159 @@
+/*
+ *
+ *  *  Copyright 2016 OrientDB LTD (info(at)orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://www.orientdb.com
+ *
+ */
+package com.orientechnologies.orient.core.storage.impl.local.statistic;
+
+import com.orientechnologies.common.exception.OException;
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.orient.core.exception.OStorageException;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gathers per index the time spent by committing transactions to acquire the exclusive lock of the index. Index locks are held
+ * till the end of the atomic operation, so high wait times show the indexes which serialize concurrent writers.
+ */
+public class OIndexLockStatistic implements OIndexLockStatisticMXBean {
+  private static final String MBEAN_PREFIX = "com.orientechnologies.orient.core.storage.impl.local.statistic:type=OIndexLockStatisticMXBean";
+
+  private final ConcurrentMap<String, LockCounters> counters          = new ConcurrentHashMap<>();
+  private final AtomicBoolean                       mbeanIsRegistered = new AtomicBoolean();
+
+  /**
+   * Records a single acquisition of the exclusive lock of the index.
+   *
+   * @param indexName Name of the locked index
+   * @param waitNanos Time spent to acquire the lock in nanoseconds
+   */
+  public void lockAcquired(String indexName, long waitNanos) {
+    LockCounters lockCounters = counters.get(indexName);
+    if (lockCounters == null) {
+      lockCounters = counters.computeIfAbsent(indexName, k -> new LockCounters());
+    }
+
+    lockCounters.count.increment();
+    lockCounters.waitTime.add(waitNanos);
+
+    long max = lockCounters.maxWaitTime.get();
+    while (waitNanos > max && !lockCounters.maxWaitTime.compareAndSet(max, waitNanos)) {
+      max = lockCounters.maxWaitTime.get();
+    }
+  }
+
+  @Override
+  public Map<String, Long> getLockCount() {
+    final Map<String, Long> result = new TreeMap<>();
+    for (Map.Entry<String, LockCounters> entry : counters.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().count.sum());
+    }
+    return result;
+  }
+
+  @Override
+  public Map<String, Long> getLockWaitTime() {
+    final Map<String, Long> result = new TreeMap<>();
+    for (Map.Entry<String, LockCounters> entry : counters.entrySet()) {
+      result.put(entry.getKey(), TimeUnit.NANOSECONDS.toMicros(entry.getValue().waitTime.sum()));
+    }
+    return result;
+  }
+
+  @Override
+  public Map<String, Long> getMaxLockWaitTime() {
+    final Map<String, Long> result = new TreeMap<>();
+    for (Map.Entry<String, LockCounters> entry : counters.entrySet()) {
+      result.put(entry.getKey(), TimeUnit.NANOSECONDS.toMicros(entry.getValue().maxWaitTime.get()));
+    }
+    return result;
+  }
+
+  @Override
+  public void reset() {
+    counters.clear();
+  }
+
+  /**
+   * Registers JMX bean for current statistic.
+   *
+   * @param storageName Name of storage of given statistic
+   * @param storageId   Id of storage of given statistic
+   */
+  public void registerMBean(String storageName, int storageId) {
+    if (mbeanIsRegistered.compareAndSet(false, true)) {
+      try {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName mbeanName = new ObjectName(getMBeanName(storageName, storageId));
+        if (!server.isRegistered(mbeanName)) {
+          server.registerMBean(this, mbeanName);
+        } else {
+          mbeanIsRegistered.set(false);
+          OLogManager.instance().warn(this,
+              "MBean with name %s has already registered. Probably your system was not shutdown correctly"
+                  + " or you have several running applications which use OrientDB engine inside", mbeanName.getCanonicalName());
+        }
+
+      } catch (MalformedObjectNameException | InstanceAlreadyExistsException | NotCompliantMBeanException | MBeanRegistrationException e) {
+        throw OException.wrapException(new OStorageException("Error during registration of index lock statistic MBean"), e);
+      }
+    }
+  }
+
+  /**
+   * Deregisters JMX bean for current statistic.
+   *
+   * @param storageName Name of storage of given statistic
+   * @param storageId   Id of storage of given statistic
+   */
+  public void unregisterMBean(String storageName, int storageId) {
+    if (mbeanIsRegistered.compareAndSet(true, false)) {
+      try {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName mbeanName = new ObjectName(getMBeanName(storageName, storageId));
+        server.unregisterMBean(mbeanName);
+      } catch (MalformedObjectNameException | InstanceNotFoundException | MBeanRegistrationException e) {
+        throw OException.wrapException(new OStorageException("Error during unregistration of index lock statistic MBean"), e);
+      }
+    }
+  }
+
+  private static String getMBeanName(String storageName, int storageId) {
+    return MBEAN_PREFIX + ",name=" + ObjectName.quote(storageName) + ",id=" + storageId;
+  }
+
+  private static final class LockCounters {
+    private final LongAdder  count       = new LongAdder();
+    private final LongAdder  waitTime    = new LongAdder();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ *
+ *  *  Copyright 2016 OrientDB LTD (info(at)orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://www.orientdb.com
+ *
+ */
+package com.orientechnologies.orient.core.storage.impl.local.statistic;
+
+import java.util.Map;
+
+/**
+ * JMX view of the time spent by transactions waiting for the exclusive locks of the indexes they change.
+ */
+public interface OIndexLockStatisticMXBean {
+  /**
+   * @return Amount of times the exclusive lock of each index was acquired during commit.
+   */
+  Map<String, Long> getLockCount();
+
+  /**
+   * @return Total time in microseconds spent waiting for the exclusive lock of each index.
+   */
+  Map<String, Long> getLockWaitTime();
+
+  /**
+   * @return Longest time in microseconds spent waiting for the exclusive lock of each index.
+   */
+  Map<String, Long> getMaxLockWaitTime();
+
+  /**
+   * Resets all gathered counters.
+   */
+  void reset();
+}
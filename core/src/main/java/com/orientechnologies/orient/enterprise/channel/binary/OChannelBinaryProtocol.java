@@ -152,8 +152,9 @@ public class OChannelBinaryProtocol {
   public static final int PROTOCOL_VERSION_35 = 35;
   public static final int PROTOCOL_VERSION_36 = 36;                 //ABILITY TO CREATE DATABASE FROM INCREMENTAL BACKUP
   public static final int PROTOCOL_VERSION_37 = 37;
+  public static final int PROTOCOL_VERSION_38 = 38;                 // CONSISTENCY TOKEN ON COMMIT, RECORD LOAD AND QUERY
 
-  public static final int CURRENT_PROTOCOL_VERSION          = PROTOCOL_VERSION_37;
+  public static final int CURRENT_PROTOCOL_VERSION          = PROTOCOL_VERSION_38;
   public static final int OLDEST_SUPPORTED_PROTOCOL_VERSION = PROTOCOL_VERSION_26;
 
   //This are specific messages inside the subscribe message
@@ -167,6 +168,7 @@ public class OChannelBinaryProtocol {
   public static final byte SUBSCRIBE_PUSH_INDEX_MANAGER  = 5;
   public static final byte SUBSCRIBE_PUSH_FUNCTIONS      = 6;
   public static final byte SUBSCRIBE_PUSH_SEQUENCES      = 7;
+  public static final byte SUBSCRIBE_PUSH_RECORDS        = 8;
 
   //Used by the client to identify what data was pushed
   public static final byte REQUEST_PUSH_DISTRIB_CONFIG = 80;
@@ -176,6 +178,7 @@ public class OChannelBinaryProtocol {
   public static final byte REQUEST_PUSH_INDEX_MANAGER  = 84;
   public static final byte REQUEST_PUSH_FUNCTIONS      = 85;
   public static final byte REQUEST_PUSH_SEQUENCES      = 86;
+  public static final byte REQUEST_PUSH_RECORDS        = 87;
 
   // Default encoding, in future will be possible to have other encodings
   public static final byte ENCODING_DEFAULT = 0;
@@ -0,0 +1,175 @@
+package com.orientechnologies.orient.core.index;
+
+import com.orientechnologies.common.listener.OProgressListener;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.storage.ORecordDuplicatedException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class OIndexBuilderTest {
+  private static final int RECORDS = 25_000;
+
+  private ODatabaseDocumentInternal db;
+  private OClass                    clazz;
+
+  @Before
+  public void before() {
+    db = new ODatabaseDocumentTx("memory:" + OIndexBuilderTest.class.getSimpleName());
+    db.create();
+
+    clazz = db.getMetadata().getSchema().createClass("Item");
+    clazz.createProperty("number", OType.INTEGER);
+    clazz.createProperty("tags", OType.EMBEDDEDLIST, OType.STRING);
+    clazz.addCluster("Item_second");
+
+    for (int i = 0; i < RECORDS; i++) {
+      final ODocument item = new ODocument("Item");
+      item.setProperty("number", i);
+      item.setProperty("tags", Arrays.asList("tag" + i % 10, "all"));
+      db.save(item, i % 2 == 0 ? "item" : "item_second");
+    }
+  }
+
+  @After
+  public void after() {
+    db.drop();
+  }
+
+  @Test
+  public void testCreateIndex() {
+    clazz.createIndex("Item.number", OClass.INDEX_TYPE.UNIQUE, "number");
+    clazz.createIndex("Item.tags", OClass.INDEX_TYPE.NOTUNIQUE, "tags");
+
+    final OIndex<?> number = db.getMetadata().getIndexManager().getIndex("Item.number");
+    Assert.assertEquals(RECORDS, number.getSize());
+    final ODocument item = ((OIdentifiable) number.get(12_345)).getRecord();
+    Assert.assertEquals(12_345, (int) item.getProperty("number"));
+
+    final OIndex<?> tags = db.getMetadata().getIndexManager().getIndex("Item.tags");
+    Assert.assertEquals(RECORDS * 2, tags.getSize());
+    Assert.assertEquals(RECORDS / 10, ((Collection<?>) tags.get("tag3")).size());
+    Assert.assertEquals(RECORDS, ((Collection<?>) tags.get("all")).size());
+  }
+
+  @Test
+  public void testRebuildWhileWriting() throws Exception {
+    clazz.createIndex("Item.number", OClass.INDEX_TYPE.UNIQUE, "number");
+    final OIndex<?> number = db.getMetadata().getIndexManager().getIndex("Item.number");
+
+    final List<ORID> rids = new ArrayList<>();
+    for (ODocument item : db.browseClass("Item")) {
+      rids.add(item.getIdentity());
+    }
+
+    final AtomicBoolean stop = new AtomicBoolean();
+    final ODatabaseDocumentInternal writerDb = db.copy();
+    db.activateOnCurrentThread();
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final Future<?> writer = executor.submit(() -> {
+      writerDb.activateOnCurrentThread();
+      try {
+        for (int i = 0; i < rids.size() && (!stop.get() || i < 100); i++) {
+          if (i % 3 == 0) {
+            writerDb.delete(rids.get(i));
+          } else {
+            final ODocument item = writerDb.load(rids.get(i));
+            item.setProperty("number", RECORDS + i);
+            writerDb.save(item);
+          }
+        }
+      } finally {
+        writerDb.close();
+      }
+    });
+
+    try {
+      for (int i = 0; i < 3; i++) {
+        number.rebuild();
+      }
+    } finally {
+      stop.set(true);
+    }
+    writer.get();
+    executor.shutdown();
+
+    Assert.assertEquals(db.countClass("Item"), number.getSize());
+    for (ODocument item : db.browseClass("Item")) {
+      Assert.assertEquals(item.getIdentity(), number.get(item.getProperty("number")));
+    }
+  }
+
+  @Test
+  public void testUniqueKeysAreCheckedAtCommitDuringRebuild() throws Exception {
+    clazz.createIndex("Item.number", OClass.INDEX_TYPE.UNIQUE, "number");
+    final OIndex<?> number = db.getMetadata().getIndexManager().getIndex("Item.number");
+
+    final ODatabaseDocumentInternal writerDb = db.copy();
+    db.activateOnCurrentThread();
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final AtomicReference<Throwable> commitFailure = new AtomicReference<>();
+
+    try {
+      number.rebuild(new OProgressListener() {
+        @Override
+        public void onBegin(Object iTask, long iTotal, Object iMetadata) {
+        }
+
+        @Override
+        public boolean onProgress(Object iTask, long iCounter, float iPercent) {
+          if (commitFailure.get() != null) {
+            return true;
+          }
+
+          // A KEY ALREADY WRITTEN BY THE REBUILD
+          final Object key = number.getFirstKey();
+          final Future<?> writer = executor.submit(() -> {
+            writerDb.activateOnCurrentThread();
+            final ODocument item = new ODocument("Item");
+            item.setProperty("number", key);
+            writerDb.save(item);
+          });
+          try {
+            writer.get();
+            commitFailure.set(new AssertionError("Duplicated key " + key + " committed"));
+          } catch (ExecutionException e) {
+            commitFailure.set(e.getCause());
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return true;
+        }
+
+        @Override
+        public void onCompletition(Object iTask, boolean iSucceed) {
+        }
+      });
+    } finally {
+      executor.submit(writerDb::close).get();
+      executor.shutdown();
+    }
+
+    Assert.assertTrue(String.valueOf(commitFailure.get()), commitFailure.get() instanceof ORecordDuplicatedException);
+    Assert.assertEquals(RECORDS, number.getSize());
+    Assert.assertEquals(RECORDS, db.countClass("Item"));
+  }
+}
@@ -0,0 +1,151 @@
+package com.orientechnologies.orient.core.serialization.serializer.binary.impl;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.record.impl.ODocumentEntry;
+import com.orientechnologies.orient.core.record.impl.ODocumentInternal;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the values decoded on first access and the bytes written back for the unchanged values, on both the record formats
+ * that support them.
+ */
+@RunWith(Parameterized.class)
+public class ORecordSerializerBinaryLazyFieldsTest {
+
+  private final int serializerVersion;
+
+  private ODatabaseDocumentTx db;
+
+  @Parameterized.Parameters
+  public static Collection<Object[]> generateParams() {
+    return Arrays.asList(new Object[] { 1 }, new Object[] { 2 });
+  }
+
+  public ORecordSerializerBinaryLazyFieldsTest(int serializerVersion) {
+    this.serializerVersion = serializerVersion;
+  }
+
+  @Before
+  public void before() {
+    db = new ODatabaseDocumentTx("memory:" + ORecordSerializerBinaryLazyFieldsTest.class.getSimpleName() + serializerVersion)
+        .create(Collections.singletonMap(OGlobalConfiguration.DB_DOCUMENT_SERIALIZER_VERSION, (Object) serializerVersion));
+    final OClass clazz = db.createClass("TestClass");
+    clazz.createProperty("name", OType.STRING);
+    clazz.createProperty("age", OType.INTEGER);
+  }
+
+  @After
+  public void after() {
+    db.drop();
+  }
+
+  @Test
+  public void testFieldsAreDecodedOnAccess() {
+    final ODocument embedded = new ODocument();
+    embedded.setProperty("inner", "value");
+
+    final ODocument doc = new ODocument("TestClass");
+    doc.setProperty("name", "foo");
+    doc.setProperty("age", 42);
+    doc.setProperty("description", "not a property of the class");
+    doc.setProperty("embedded", embedded, OType.EMBEDDED);
+    doc.setProperty("list", new ArrayList<>(Arrays.asList(1, 2, 3)), OType.EMBEDDEDLIST);
+    final Map<String, Object> map = new HashMap<>();
+    map.put("key", "value");
+    doc.setProperty("map", map, OType.EMBEDDEDMAP);
+    db.save(doc);
+
+    ODocument read = reload(doc);
+    read.setProperty("age", 43);
+    Assert.assertFalse(getEntry(read, "age").isPending());
+    Assert.assertTrue(getEntry(read, "description").isPending());
+    Assert.assertTrue(getEntry(read, "embedded").isPending());
+    Assert.assertTrue(getEntry(read, "list").isPending());
+    Assert.assertTrue(getEntry(read, "map").isPending());
+    db.save(read);
+    // THE FIELDS OF THE CLASS ARE DECODED TO BE VALIDATED, THE OTHERS ARE WRITTEN BACK WITHOUT DECODING
+    Assert.assertFalse(getEntry(read, "name").isPending());
+    Assert.assertTrue(getEntry(read, "description").isPending());
+    Assert.assertTrue(getEntry(read, "embedded").isPending());
+
+    read = reload(doc);
+    Assert.assertEquals("foo", read.field("name"));
+    Assert.assertEquals(Integer.valueOf(43), read.field("age"));
+    Assert.assertEquals("not a property of the class", read.field("description"));
+    Assert.assertEquals("value", read.<ODocument>field("embedded").field("inner"));
+    Assert.assertEquals(Arrays.asList(1, 2, 3), read.field("list"));
+    Assert.assertEquals("value", read.<Map<String, Object>>field("map").get("key"));
+    Assert.assertFalse(getEntry(read, "list").isPending());
+    Assert.assertTrue(getEntry(read, "list").isSerializedUpToDate());
+
+    read.removeField("description");
+    read.<List<Integer>>field("list").add(4);
+    read.<ODocument>field("embedded").setProperty("inner", "changed");
+    db.save(read);
+
+    read = reload(doc);
+    Assert.assertFalse(read.containsField("description"));
+    Assert.assertEquals(Arrays.asList(1, 2, 3, 4), read.field("list"));
+    Assert.assertEquals("changed", read.<ODocument>field("embedded").field("inner"));
+    Assert.assertEquals(5, read.fieldNames().length);
+  }
+
+  @Test
+  public void testMutableValuesChangedInPlaceAreWritten() {
+    final ODocument doc = new ODocument("TestClass");
+    doc.setProperty("name", "foo");
+    doc.setProperty("date", new Date(1000));
+    doc.setProperty("dates", new ArrayList<>(Collections.singletonList(new Date(1000))), OType.EMBEDDEDLIST);
+    doc.setProperty("binary", new byte[] { 1, 2 });
+    db.save(doc);
+
+    ODocument read = reload(doc);
+    read.<Date>field("date").setTime(2000);
+    read.<List<Date>>field("dates").get(0).setTime(2000);
+    read.<byte[]>field("binary")[0] = 3;
+    Assert.assertFalse(getEntry(read, "date").isSerializedUpToDate());
+    Assert.assertFalse(getEntry(read, "dates").isSerializedUpToDate());
+    Assert.assertTrue(getEntry(read, "name").isSerializedUpToDate());
+    // THE CHANGES IN PLACE DO NOT MAKE THE DOCUMENT DIRTY
+    read.setProperty("age", 1);
+    db.save(read);
+
+    read = reload(doc);
+    Assert.assertEquals(2000, read.<Date>field("date").getTime());
+    Assert.assertEquals(2000, read.<List<Date>>field("dates").get(0).getTime());
+    Assert.assertEquals(3, read.<byte[]>field("binary")[0]);
+    Assert.assertEquals("foo", read.field("name"));
+    Assert.assertEquals(Integer.valueOf(1), read.field("age"));
+  }
+
+  private ODocument reload(ODocument doc) {
+    db.getLocalCache().clear();
+    return db.load(doc.getIdentity());
+  }
+
+  private static ODocumentEntry getEntry(ODocument doc, String name) {
+    for (Map.Entry<String, ODocumentEntry> entry : ODocumentInternal.rawEntriesUndecoded(doc)) {
+      if (entry.getKey().equals(name))
+        return entry.getValue();
+    }
+    return null;
+  }
+}
@@ -0,0 +1,220 @@
+package com.orientechnologies.orient.core.serialization.serializer.binary.impl;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.record.impl.ODocumentEntry;
+import com.orientechnologies.orient.core.record.impl.ODocumentInternal;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerBinary;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ORecordSerializerBinaryV2Test {
+
+  private final ORecordSerializerBinary serializer = ORecordSerializerBinary.forVersion(2);
+
+  private ODatabaseDocumentTx db;
+
+  @Before
+  public void before() {
+    db = new ODatabaseDocumentTx("memory:" + ORecordSerializerBinaryV2Test.class.getSimpleName())
+        .create(Collections.singletonMap(OGlobalConfiguration.DB_DOCUMENT_SERIALIZER_VERSION, (Object) 2));
+    final OClass clazz = db.createClass("TestClass");
+    clazz.createProperty("name", OType.STRING);
+    clazz.createProperty("age", OType.INTEGER);
+  }
+
+  @After
+  public void after() {
+    db.drop();
+  }
+
+  @Test
+  public void testWideDocumentFieldLookup() {
+    final ODocument doc = new ODocument("TestClass");
+    doc.setProperty("name", "foo");
+    doc.setProperty("age", 42);
+    for (int i = 0; i < 200; i++) {
+      doc.setProperty("field" + i, i);
+    }
+    doc.setProperty("nullField", null);
+
+    final byte[] bytes = serializer.toStream(doc, false);
+    Assert.assertEquals(2, bytes[0]);
+
+    for (int i = 0; i < 200; i++) {
+      Assert.assertEquals(Integer.valueOf(i), serializer.deserializeFieldFromRoot(bytes, "field" + i));
+    }
+    Assert.assertEquals("foo", serializer.deserializeFieldFromRoot(bytes, "name"));
+    Assert.assertEquals(Integer.valueOf(42), serializer.deserializeFieldFromRoot(bytes, "age"));
+    Assert.assertNull(serializer.deserializeFieldFromRoot(bytes, "nullField"));
+    Assert.assertNull(serializer.deserializeFieldFromRoot(bytes, "missing"));
+
+    final ODocument partial = (ODocument) serializer
+        .fromStream(bytes, new ODocument(), new String[] { "field150", "name", "missing" });
+    Assert.assertEquals(Integer.valueOf(150), partial.field("field150"));
+    Assert.assertEquals("foo", partial.field("name"));
+    Assert.assertFalse(partial.containsField("field1"));
+  }
+
+  @Test
+  public void testSameHashFieldNames() {
+    // "Aa" AND "BB" HAVE THE SAME HASH CODE
+    Assert.assertEquals("Aa".hashCode(), "BB".hashCode());
+
+    final ODocument doc = new ODocument();
+    doc.setProperty("Aa", "first");
+    doc.setProperty("BB", "second");
+    doc.setProperty("AaBB", "third");
+    doc.setProperty("BBAa", "fourth");
+
+    final byte[] bytes = serializer.toStream(doc, false);
+    Assert.assertEquals("first", serializer.deserializeFieldFromRoot(bytes, "Aa"));
+    Assert.assertEquals("second", serializer.deserializeFieldFromRoot(bytes, "BB"));
+    Assert.assertEquals("third", serializer.deserializeFieldFromRoot(bytes, "AaBB"));
+    Assert.assertEquals("fourth", serializer.deserializeFieldFromRoot(bytes, "BBAa"));
+    Assert.assertNull(serializer.deserializeFieldFromRoot(bytes, "AaAa"));
+  }
+
+  @Test
+  public void testNonAsciiFieldNames() {
+    final ODocument doc = new ODocument();
+    doc.setProperty("café", 1);
+    doc.setProperty("cafe", 2);
+
+    final byte[] bytes = serializer.toStream(doc, false);
+    Assert.assertEquals(Integer.valueOf(1), serializer.deserializeFieldFromRoot(bytes, "café"));
+    Assert.assertEquals(Integer.valueOf(2), serializer.deserializeFieldFromRoot(bytes, "cafe"));
+  }
+
+  @Test
+  public void testPreviousVersionIsReadable() {
+    final ODocument doc = new ODocument("TestClass");
+    doc.setProperty("name", "foo");
+    doc.setProperty("other", 10);
+
+    final byte[] bytes = new ORecordSerializerBinary((byte) 1).toStream(doc, false);
+    Assert.assertEquals(1, bytes[0]);
+
+    final ODocument read = (ODocument) serializer.fromStream(bytes, new ODocument(), null);
+    Assert.assertEquals("foo", read.field("name"));
+    Assert.assertEquals(Integer.valueOf(10), read.field("other"));
+    Assert.assertEquals("foo", serializer.deserializeFieldFromRoot(bytes, "name"));
+
+    // REWRITING THE RECORD UPGRADES IT TO THE VERSION OF THE DATABASE
+    final byte[] rewritten = serializer.toStream(read, false);
+    Assert.assertEquals(2, rewritten[0]);
+  }
+
+  @Test
+  public void testVersionIsKeptPerDatabase() {
+    Assert.assertSame(serializer, db.getSerializer());
+    Assert.assertEquals(2, db.getStorage().getConfiguration().getRecordSerializerVersion());
+
+    final ODatabaseDocumentTx defaultDb = new ODatabaseDocumentTx(
+        "memory:" + ORecordSerializerBinaryV2Test.class.getSimpleName() + "Default").create();
+    try {
+      Assert.assertSame(ORecordSerializerBinary.INSTANCE, defaultDb.getSerializer());
+      Assert.assertEquals(1, defaultDb.getStorage().getConfiguration().getRecordSerializerVersion());
+      final ODocument doc = new ODocument();
+      doc.setProperty("name", "foo");
+      Assert.assertEquals(1, defaultDb.getSerializer().toStream(doc, false)[0]);
+    } finally {
+      defaultDb.drop();
+    }
+    db.activateOnCurrentThread();
+  }
+
+  @Test
+  public void testEmbeddedDocuments() {
+    final ODocument embedded = new ODocument();
+    embedded.setProperty("inner", "value");
+
+    final ODocument doc = new ODocument();
+    doc.setProperty("embedded", embedded, OType.EMBEDDED);
+    doc.setProperty("after", 5);
+
+    final byte[] bytes = serializer.toStream(doc, false);
+    final ODocument read = (ODocument) serializer.fromStream(bytes, new ODocument(), null);
+    Assert.assertEquals("value", ((ODocument) read.field("embedded")).field("inner"));
+    Assert.assertEquals(Integer.valueOf(5), read.field("after"));
+  }
+
+  @Test
+  public void testUnchangedValuesAreWrittenBack() {
+    final ODocument embedded = new ODocument();
+    embedded.setProperty("inner", "value");
+    embedded.setProperty("removed", 1);
+
+    final ODocument doc = new ODocument("TestClass");
+    doc.setProperty("name", "foo");
+    doc.setProperty("age", 42);
+    doc.setProperty("embedded", embedded, OType.EMBEDDED);
+    doc.setProperty("list", new ArrayList<>(Arrays.asList(1, 2, 3)), OType.EMBEDDEDLIST);
+    final Map<String, Object> map = new HashMap<>();
+    map.put("key", "value");
+    doc.setProperty("map", map, OType.EMBEDDEDMAP);
+    db.save(doc);
+
+    ODocument read = reload(doc);
+    Assert.assertNotNull(getEntry(read, "list").getSerialized());
+    read.setProperty("age", 43);
+    Assert.assertFalse(getEntry(read, "age").isSerializedUpToDate());
+    Assert.assertTrue(getEntry(read, "list").isSerializedUpToDate());
+    Assert.assertTrue(getEntry(read, "name").isSerializedUpToDate());
+    Assert.assertTrue(getEntry(read, "map").isSerializedUpToDate());
+    db.save(read);
+
+    read = reload(doc);
+    Assert.assertEquals("foo", read.field("name"));
+    Assert.assertEquals(Integer.valueOf(43), read.field("age"));
+    Assert.assertEquals(Arrays.asList(1, 2, 3), read.field("list"));
+    Assert.assertEquals("value", read.<Map<String, Object>>field("map").get("key"));
+    Assert.assertEquals("value", read.<ODocument>field("embedded").field("inner"));
+
+    // CHANGES IN PLACE OF EMBEDDED VALUES ARE SERIALIZED
+    read.<List<Integer>>field("list").add(4);
+    read.<Map<String, Object>>field("map").put("other", "value");
+    read.<ODocument>field("embedded").removeField("removed");
+    Assert.assertFalse(getEntry(read, "list").isSerializedUpToDate());
+    Assert.assertFalse(getEntry(read, "map").isSerializedUpToDate());
+    db.save(read);
+
+    read = reload(doc);
+    Assert.assertEquals(Arrays.asList(1, 2, 3, 4), read.field("list"));
+    Assert.assertEquals(2, read.<Map<String, Object>>field("map").size());
+    Assert.assertFalse(read.<ODocument>field("embedded").containsField("removed"));
+
+    read.<ODocument>field("embedded").setProperty("inner", "changed");
+    db.save(read);
+    read = reload(doc);
+    Assert.assertEquals("changed", read.<ODocument>field("embedded").field("inner"));
+    Assert.assertEquals(Integer.valueOf(43), read.field("age"));
+  }
+
+  private ODocument reload(ODocument doc) {
+    db.getLocalCache().clear();
+    final ODocument read = db.load(doc.getIdentity());
+    read.deserializeFields();
+    return read;
+  }
+
+  private static ODocumentEntry getEntry(ODocument doc, String name) {
+    for (Map.Entry<String, ODocumentEntry> entry : ODocumentInternal.rawEntries(doc)) {
+      if (entry.getKey().equals(name))
+        return entry.getValue();
+    }
+    return null;
+  }
+}
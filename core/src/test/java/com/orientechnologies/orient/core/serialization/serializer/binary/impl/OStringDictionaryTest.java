@@ -0,0 +1,139 @@
+package com.orientechnologies.orient.core.serialization.serializer.binary.impl;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.exception.OSchemaException;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OProperty;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerBinary;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.OStringDictionary;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class OStringDictionaryTest {
+
+  private ODatabaseDocumentInternal db;
+
+  @Before
+  public void before() {
+    db = new ODatabaseDocumentTx("memory:" + OStringDictionaryTest.class.getSimpleName());
+    // DICTIONARY CODES ARE WRITTEN ONLY BY THE VERSION 2 RECORD FORMAT
+    db.create(Collections.singletonMap(OGlobalConfiguration.DB_DOCUMENT_SERIALIZER_VERSION, (Object) 2));
+
+    final OClass clazz = db.getMetadata().getSchema().createClass("City");
+    clazz.createProperty("country", OType.STRING)
+        .setCustom(OStringDictionary.ENCODING_CUSTOM, OStringDictionary.DICTIONARY_ENCODING);
+    clazz.createProperty("name", OType.STRING);
+  }
+
+  @After
+  public void after() {
+    db.drop();
+  }
+
+  @Test
+  public void testValuesAreEncodedAfterFirstCommit() {
+    final OStringDictionary dictionary = db.getSharedContext().getStringDictionary();
+    Assert.assertEquals(-1, dictionary.getCode("Italy"));
+
+    final ODocument first = newCity("Rome", "Italy");
+    Assert.assertEquals(0, dictionary.getCode("Italy"));
+    Assert.assertEquals(-1, dictionary.getCode("Rome"));
+
+    final ODocument second = newCity("Milan", "Italy");
+
+    db.getLocalCache().clear();
+    final ODocument firstLoaded = db.load(first.getIdentity());
+    final ODocument secondLoaded = db.load(second.getIdentity());
+    Assert.assertEquals("Italy", firstLoaded.field("country"));
+    Assert.assertEquals("Rome", firstLoaded.field("name"));
+    Assert.assertEquals("Italy", secondLoaded.field("country"));
+    Assert.assertEquals("Milan", secondLoaded.field("name"));
+
+    // THE FIRST RECORD STORES THE VALUE IN FULL, THE SECOND ONE ITS CODE
+    final byte[] firstBytes = firstLoaded.toStream();
+    final byte[] secondBytes = secondLoaded.toStream();
+    Assert.assertEquals("Italy", ORecordSerializerBinary.forVersion(2).deserializeFieldFromRoot(secondBytes, "country"));
+    Assert.assertTrue(secondBytes.length < firstBytes.length);
+  }
+
+  @Test
+  public void testQueries() {
+    for (int i = 0; i < 10; i++) {
+      newCity("City" + i, i % 2 == 0 ? "Italy" : "France");
+    }
+    newCity("Madrid", "Spain");
+    db.getLocalCache().clear();
+
+    Assert.assertEquals(5, count("select from City where country = 'Italy'"));
+    Assert.assertEquals(6, count("select from City where country in ['France', 'Spain']"));
+    Assert.assertEquals(1, count("select from City where country = 'Spain'"));
+    Assert.assertEquals(0, count("select from City where country = 'Germany'"));
+    Assert.assertEquals(5, count("select from City where country like 'Fr%'"));
+    Assert.assertEquals(1, count("select from City where country = 'Italy' and name = 'City2'"));
+  }
+
+  @Test
+  public void testDictionaryIsStoredInConfiguration() {
+    newCity("Rome", "Italy");
+    newCity("Paris", "France");
+
+    final OStringDictionary reloaded = new OStringDictionary(() -> db.getStorage());
+    Assert.assertEquals(2, reloaded.size());
+    Assert.assertEquals("Italy", reloaded.getValue(reloaded.getCode("Italy")));
+    Assert.assertEquals("France", reloaded.getValue(reloaded.getCode("France")));
+  }
+
+  @Test
+  public void testValuesAddedLaterAreLoaded() {
+    final OStringDictionary reloaded = new OStringDictionary(() -> db.getStorage());
+    Assert.assertEquals(0, reloaded.size());
+
+    newCity("Rome", "Italy");
+    newCity("Paris", "France");
+
+    // THE CODES ADDED BY ANOTHER INSTANCE ARE READ ON THE FIRST MISS
+    Assert.assertEquals("France", reloaded.getValue(1));
+    Assert.assertEquals(2, reloaded.size());
+  }
+
+  @Test
+  public void testEncodingIsRejectedOnVersion1() {
+    final ODatabaseDocumentInternal v1 = new ODatabaseDocumentTx("memory:" + OStringDictionaryTest.class.getSimpleName() + "V1");
+    v1.create();
+    try {
+      final OProperty property = v1.getMetadata().getSchema().createClass("City").createProperty("country", OType.STRING);
+      try {
+        property.setCustom(OStringDictionary.ENCODING_CUSTOM, OStringDictionary.DICTIONARY_ENCODING);
+        Assert.fail();
+      } catch (OSchemaException e) {
+        Assert.assertNull(property.getCustom(OStringDictionary.ENCODING_CUSTOM));
+      }
+    } finally {
+      v1.activateOnCurrentThread();
+      v1.drop();
+      db.activateOnCurrentThread();
+    }
+  }
+
+  private ODocument newCity(String name, String country) {
+    final ODocument city = new ODocument("City");
+    city.setProperty("name", name);
+    city.setProperty("country", country);
+    return db.save(city);
+  }
+
+  private long count(String query) {
+    try (OResultSet result = db.query(query)) {
+      return result.stream().count();
+    }
+  }
+}
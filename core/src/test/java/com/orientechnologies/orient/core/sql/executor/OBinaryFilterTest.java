@@ -0,0 +1,167 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.orient.core.command.OBasicCommandContext;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.OSQLEngine;
+import com.orientechnologies.orient.core.sql.parser.OSelectStatement;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class OBinaryFilterTest {
+
+  private ODatabaseDocumentInternal db;
+  private ODocument                 doc;
+
+  @Before
+  public void before() {
+    db = new ODatabaseDocumentTx("memory:" + OBinaryFilterTest.class.getSimpleName());
+    db.create();
+
+    final OClass clazz = db.getMetadata().getSchema().createClass("Person");
+    clazz.createProperty("name", OType.STRING);
+    clazz.createProperty("age", OType.INTEGER);
+    clazz.createProperty("surname", OType.STRING).setCollate("ci");
+
+    final ODocument person = new ODocument("Person");
+    person.setProperty("name", "John");
+    person.setProperty("surname", "Smith");
+    person.setProperty("age", 30);
+    person.setProperty("code", "123");
+    person.setProperty("height", 1.80);
+    for (int i = 0; i < 50; i++) {
+      person.setProperty("field" + i, i);
+    }
+    db.save(person);
+
+    db.getLocalCache().clear();
+    doc = db.load(person.getIdentity());
+  }
+
+  @After
+  public void after() {
+    db.drop();
+  }
+
+  @Test
+  public void testComparisons() {
+    assertCanMatch(true, "name = 'John'");
+    assertCanMatch(false, "name = 'Jack'");
+    assertCanMatch(true, "age = 30");
+    assertCanMatch(true, "age = 30L");
+    assertCanMatch(false, "age = 31");
+    assertCanMatch(true, "age < 31 and age > 29 and age <= 30 and age >= 30");
+    assertCanMatch(false, "age < 30");
+    assertCanMatch(false, "age > 30");
+    assertCanMatch(false, "age >= 31");
+    assertCanMatch(false, "age <= 29");
+    assertCanMatch(false, "name > 'John'");
+    assertCanMatch(true, "field42 = 42");
+    assertCanMatch(false, "field42 = 43");
+    assertCanMatch(false, "name = 'John' and field42 = 43");
+  }
+
+  @Test
+  public void testInNullBetweenLike() {
+    assertCanMatch(true, "age in [10, 20, 30]");
+    assertCanMatch(false, "age in [10, 20]");
+    assertCanMatch(true, "name in ['Jack', 'John']");
+    assertCanMatch(false, "name in ['Jack']");
+    assertCanMatch(true, "missing is null");
+    assertCanMatch(false, "name is null");
+    assertCanMatch(true, "age between 30 and 40");
+    assertCanMatch(true, "age between 20 and 30");
+    assertCanMatch(false, "age between 31 and 40");
+    assertCanMatch(false, "name between 'A' and 'B'");
+    assertCanMatch(true, "name like 'Jo%'");
+    assertCanMatch(false, "name like 'Ja%'");
+    assertCanMatch(false, "name like 'Johnny%'");
+  }
+
+  @Test
+  public void testParameters() {
+    assertCanMatch(true, "name = ? and age = ?", "John", 30);
+    assertCanMatch(false, "name = ? and age = ?", "John", 31);
+    assertCanMatch(true, "age in ?", Arrays.asList(30, 40));
+    assertCanMatch(false, "age in ?", Collections.singletonList(40));
+
+    final Map<String, Object> params = new HashMap<>();
+    params.put("name", "Jack");
+    Assert.assertFalse(canMatch("name = :name", params));
+  }
+
+  @Test
+  public void testNotEvaluated() {
+    // CONVERSIONS BETWEEN TYPES, COLLATES, OTHER OPERATORS AND EXPRESSIONS ARE LEFT TO THE WHERE CLAUSE
+    assertCanMatch(true, "code = 124");
+    assertCanMatch(true, "age = '31'");
+    assertCanMatch(true, "height = 1.5");
+    assertCanMatch(true, "surname = 'smith'");
+    assertCanMatch(true, "surname = 'Jones'");
+    assertCanMatch(true, "name = 'Jack' or age = 30");
+    assertCanMatch(true, "not (name = 'Jack')");
+    assertCanMatch(true, "name <> 'John'");
+    assertCanMatch(true, "name like '%ack'");
+    assertCanMatch(true, "name like 'J?ck%'");
+    assertCanMatch(true, "name.length() = 3");
+    assertCanMatch(true, "age between 29.5 and 30.5");
+    assertCanMatch(true, "age in [31, 'a']");
+
+    // MODIFIED RECORDS ARE NOT EVALUATED ON THEIR SERIALIZED CONTENT
+    doc.setProperty("name", "Jack");
+    assertCanMatch(true, "name = 'Jack'");
+  }
+
+  @Test
+  public void testQueryResults() {
+    for (int i = 0; i < 10; i++) {
+      final ODocument person = new ODocument("Person");
+      person.setProperty("name", "Person" + i);
+      person.setProperty("surname", "Surname" + i);
+      person.setProperty("age", i);
+      db.save(person);
+    }
+    db.getLocalCache().clear();
+
+    Assert.assertEquals(1, count("select from Person where name = 'John'"));
+    Assert.assertEquals(3, count("select from Person where age < 3"));
+    Assert.assertEquals(4, count("select from Person where age between 3 and 6"));
+    Assert.assertEquals(10, count("select from Person where name like 'Person%'"));
+    Assert.assertEquals(2, count("select from Person where age in [1, 30]"));
+    Assert.assertEquals(1, count("select from Person where surname = 'SURNAME1'"));
+    Assert.assertEquals(0, count("select from Person where height is null and age = 30"));
+    Assert.assertEquals(10, count("select from Person where height is null"));
+  }
+
+  private void assertCanMatch(boolean expected, String condition, Object... params) {
+    final Map<Object, Object> parameters = new HashMap<>();
+    for (int i = 0; i < params.length; i++) {
+      parameters.put(i, params[i]);
+    }
+    Assert.assertEquals(condition, expected, canMatch(condition, parameters));
+  }
+
+  private boolean canMatch(String condition, Map<?, Object> params) {
+    final OSelectStatement statement = (OSelectStatement) OSQLEngine.parse("select from Person where " + condition, db);
+    final OBasicCommandContext ctx = new OBasicCommandContext();
+    ctx.setDatabase(db);
+    ctx.setInputParameters((Map<Object, Object>) params);
+    return new OBinaryFilter(statement.getWhereClause(), ctx).canMatch(new OResultInternal(doc));
+  }
+
+  private long count(String query) {
+    try (OResultSet result = db.query(query)) {
+      return result.stream().count();
+    }
+  }
+}
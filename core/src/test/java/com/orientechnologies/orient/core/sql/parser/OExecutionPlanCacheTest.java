@@ -59,4 +59,21 @@ public class OExecutionPlanCacheTest {
 
   }
 
+  @Test
+  public void testNormalizedStatement() throws InterruptedException {
+    ODatabaseDocumentTx db = new ODatabaseDocumentTx("memory:OExecutionPlanCacheTestNormalized");
+    db.create();
+    try {
+      Thread.sleep(2);
+
+      db.query("SELECT FROM OUser WHERE name = ?", "admin").close();
+      OExecutionPlanCache cache = OExecutionPlanCache.instance(db);
+      Assert.assertTrue(cache.contains("SELECT FROM OUser WHERE name = ?"));
+      Assert.assertTrue(cache.contains("SELECT FROM OUser\n  WHERE name = ?"));
+      Assert.assertFalse(cache.contains("SELECT FROM OUser WHERE name = 'admin'"));
+    } finally {
+      db.drop();
+    }
+  }
+
 }
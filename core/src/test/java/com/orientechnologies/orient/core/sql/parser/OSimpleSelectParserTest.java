@@ -0,0 +1,104 @@
+package com.orientechnologies.orient.core.sql.parser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+
+public class OSimpleSelectParserTest {
+
+  private static final String[] NON_RESERVED = { "abstract", "add", "addcluster", "all", "alter", "begin", "blob", "cache", "class",
+      "classes", "clusters", "clusterselection", "collate", "commit", "console", "content", "count", "custom", "cycle", "database",
+      "default", "description", "drop", "encryption", "engine", "exception", "execute", "explain", "extends", "find", "force",
+      "function", "grant", "ha", "id", "idempotent", "index", "inverse", "isolation", "key", "language", "link", "lucene", "merge",
+      "metadata", "mindepth", "name", "near", "nocycle", "nolimit", "none", "off", "optimize", "optional", "oversize", "parameters",
+      "profile", "property", "put", "read", "rebuild", "record", "references", "remove", "removecluster", "revoke", "rollback",
+      "sequence", "server", "shared", "shortname", "sleep", "start", "status", "storage", "strictmode", "superclass",
+      "superclasses", "sync", "truncate", "type", "updatable", "value", "values", "view", "within" };
+
+  @Test
+  public void testSameTreeAsParser() {
+    checkSame("select from Foo");
+    checkSame("SELECT FROM Foo");
+    checkSame("select * from Foo");
+    checkSame("select *from Foo;");
+    checkSame("  select from Foo  ");
+    checkSame("select from Foo where name = ?");
+    checkSame("select from Foo where name=?");
+    checkSame("select from Foo where name = :name");
+    checkSame("select from Foo where name = : name");
+    checkSame("select from Foo where name = ? and surname = :surname and age > ?");
+    checkSame("select from Foo where a = 1 AND b < 2 and c > 3 and d <= 4 and e >= 5 and f != 6 and g <> 7");
+    checkSame("select from Foo where a = 0 and b = 2147483648");
+    checkSame("select from Foo where a = 'x'");
+    checkSame("select from Foo where a = 'foo bar' and b = \"baz\"");
+    checkSame("select from Foo where a = \"it's\"");
+    checkSame("select from Foo where a = ? limit 10");
+    checkSame("select from Foo where a = ? limit ?");
+    checkSame("select from Foo limit :max");
+    checkSame("select from Foo_1 where field_2 = ?");
+    checkSame("select from Foo where name = ?;");
+  }
+
+  @Test
+  public void testNonReservedKeywords() {
+    for (String keyword : NON_RESERVED) {
+      checkSame("select from " + keyword);
+      checkSame("select from Foo where " + keyword + " = ?");
+      checkSame("select from Foo where a = :" + keyword);
+      checkSame("select from Foo where " + keyword.toUpperCase() + " = ?");
+    }
+  }
+
+  @Test
+  public void testLeftToParser() {
+    checkLeftToParser("insert into Foo set name = 'bar'");
+    checkLeftToParser("select name from Foo");
+    checkLeftToParser("select from Foo where name = ? or surname = ?");
+    checkLeftToParser("select from Foo where not name = ?");
+    checkLeftToParser("select from Foo where name == ?");
+    checkLeftToParser("select from Foo where name like ?");
+    checkLeftToParser("select from Foo where name.size() = ?");
+    checkLeftToParser("select from Foo where name = 'a\\'b'");
+    checkLeftToParser("select from Foo where name = 'café'");
+    checkLeftToParser("select from Foo where a = 1.5");
+    checkLeftToParser("select from Foo where a = 10L");
+    checkLeftToParser("select from Foo where a = 010");
+    checkLeftToParser("select from Foo where a = 0x10");
+    checkLeftToParser("select from Foo where a = -1");
+    checkLeftToParser("select from Foo where a = b");
+    checkLeftToParser("select from Foo where $a = 1");
+    checkLeftToParser("select from Foo where @rid = ?");
+    checkLeftToParser("select from Foo where `name` = ?");
+    checkLeftToParser("select from Foo where select = ?");
+    checkLeftToParser("select from Foo order by name");
+    checkLeftToParser("select from Foo limit 1 skip 2");
+    checkLeftToParser("select from Foo /* comment */");
+    checkLeftToParser("select from cluster:foo");
+    checkLeftToParser("select from index:foo");
+    checkLeftToParser("select from #12:0");
+    checkLeftToParser("select from (select from Foo)");
+    checkLeftToParser("select from Foo where");
+    checkLeftToParser("select from Foo where a = ? and");
+    checkLeftToParser("select from Foo limit");
+    checkLeftToParser("select from");
+    checkLeftToParser("select 1");
+  }
+
+  private void checkSame(String statement) {
+    OStatement expected;
+    try {
+      expected = new OrientSql(new ByteArrayInputStream(statement.getBytes())).parse();
+    } catch (ParseException e) {
+      throw new AssertionError(statement, e);
+    }
+    OSelectStatement result = OSimpleSelectParser.parse(statement);
+    Assert.assertNotNull(statement, result);
+    Assert.assertEquals(statement, expected.toString(), result.toString());
+    Assert.assertEquals(statement, expected, result);
+  }
+
+  private void checkLeftToParser(String statement) {
+    Assert.assertNull(statement, OSimpleSelectParser.parse(statement));
+  }
+}
@@ -26,5 +26,22 @@ public class OStatementCacheTest {
 
   }
 
+  @Test
+  public void testNormalize() {
+    Assert.assertEquals("select from foo", OStatementCache.normalize("select from foo"));
+    Assert.assertEquals("select from foo where name = ?", OStatementCache.normalize("  select\n  from foo\r\n\twhere name  =  ?  "));
+    Assert.assertEquals("select from foo where name = 'a  b'", OStatementCache.normalize("select from foo where name =  'a  b'"));
+    Assert.assertEquals("select from foo where name = \"a\\\"  b\"", OStatementCache.normalize("select  from foo where name = \"a\\\"  b\""));
+    Assert.assertEquals("select `a  b` from foo", OStatementCache.normalize("select   `a  b` from foo"));
+  }
+
+  @Test
+  public void testSameCacheEntryForDifferentFormatting() {
+    OStatementCache cache = new OStatementCache(2);
+    OStatement statement = cache.get("select from foo where name = ?");
+
+    Assert.assertTrue(cache.contains("select from foo\n  where name = ?"));
+    Assert.assertSame(statement, cache.get("  select from foo  where name = ? "));
+  }
 
 }
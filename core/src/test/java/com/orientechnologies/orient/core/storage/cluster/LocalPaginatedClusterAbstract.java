@@ -733,6 +733,32 @@ public abstract class LocalPaginatedClusterAbstract {
     Assert.assertEquals(rawBuffer.recordType, 2);
   }
 
+  @Test
+  public void testUpdateOneRecordSameSize() throws IOException {
+    byte[] record = new byte[20 * 1024];
+    Random random = new Random();
+    random.nextBytes(record);
+
+    OPhysicalPosition physicalPosition = paginatedCluster.createRecord(record, 1, (byte) 1, null);
+
+    for (int recordVersion = 2; recordVersion < 10; recordVersion++) {
+      record = record.clone();
+      record[random.nextInt(record.length)]++;
+      paginatedCluster.updateRecord(physicalPosition.clusterPosition, record, recordVersion, (byte) 1);
+
+      ORawBuffer rawBuffer = paginatedCluster.readRecord(physicalPosition.clusterPosition, false);
+      Assert.assertEquals(rawBuffer.version, recordVersion);
+      Assertions.assertThat(rawBuffer.buffer).isEqualTo(record);
+      Assert.assertEquals(rawBuffer.recordType, 1);
+    }
+
+    // A DIFFERENT RECORD TYPE IS NOT PATCHED
+    paginatedCluster.updateRecord(physicalPosition.clusterPosition, record, 10, (byte) 2);
+    ORawBuffer rawBuffer = paginatedCluster.readRecord(physicalPosition.clusterPosition, false);
+    Assertions.assertThat(rawBuffer.buffer).isEqualTo(record);
+    Assert.assertEquals(rawBuffer.recordType, 2);
+  }
+
   @Test
   public void testUpdateOneSmallRecordVersionIsLowerCurrentOne() throws IOException {
     byte[] smallRecord = new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 0 };
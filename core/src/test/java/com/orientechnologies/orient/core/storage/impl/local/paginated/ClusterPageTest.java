@@ -1093,6 +1093,66 @@ public class ClusterPageTest {
     Assert.assertEquals(localPage.getRecordVersion(index), newRecordVersion);
   }
 
+  @Test
+  public void testPatchRecord() throws Exception {
+    OByteBufferPool bufferPool = OByteBufferPool.instance(null);
+    OPointer pointer = bufferPool.acquireDirect(true);
+
+    OCachePointer cachePointer = new OCachePointer(pointer, bufferPool, 0, 0);
+    cachePointer.incrementReferrer();
+
+    OCacheEntry cacheEntry = new OCacheEntryImpl(0, 0, cachePointer);
+    cacheEntry.acquireExclusiveLock();
+
+    OPointer directPointer = bufferPool.acquireDirect(true);
+    OCachePointer directCachePointer = new OCachePointer(directPointer, bufferPool, 0, 0);
+    directCachePointer.incrementReferrer();
+
+    OCacheEntry directCacheEntry = new OCacheEntryImpl(0, 0, directCachePointer);
+    directCacheEntry.acquireExclusiveLock();
+    try {
+      OClusterPage localPage = new OClusterPage(new OCacheEntryChanges(cacheEntry), true);
+      OClusterPage directLocalPage = new OClusterPage(directCacheEntry, true);
+
+      patchRecord(localPage);
+      patchRecord(directLocalPage);
+
+      assertChangesTracking(localPage, directPointer, bufferPool);
+    } finally {
+      cacheEntry.releaseExclusiveLock();
+      directCacheEntry.releaseExclusiveLock();
+
+      cachePointer.decrementReferrer();
+      directCachePointer.decrementReferrer();
+    }
+  }
+
+  private void patchRecord(OClusterPage localPage) throws IOException {
+    final byte[] record = new byte[100];
+    for (int i = 0; i < record.length; i++) {
+      record[i] = (byte) i;
+    }
+
+    int index = localPage.appendRecord(1, record);
+    int freeSpace = localPage.getFreeSpace();
+
+    final byte[] patched = record.clone();
+    patched[10] = -1;
+    patched[13] = -1;
+    patched[80] = -1;
+
+    // THE FIRST TWO CHANGES ARE WRITTEN AS A SINGLE RANGE, THE BYTES IN BETWEEN INCLUDED
+    int written = localPage.patchRecord(index, 0, patched, 2);
+    Assert.assertEquals(written, 5);
+    Assert.assertEquals(localPage.getFreeSpace(), freeSpace);
+    Assert.assertEquals(localPage.getRecordVersion(index), 2);
+    assertThat(localPage.getRecordBinaryValue(index, 0, 100)).isEqualTo(patched);
+
+    written = localPage.patchRecord(index, 0, patched, -1);
+    Assert.assertEquals(written, 0);
+    Assert.assertEquals(localPage.getRecordVersion(index), 2);
+  }
+
   @Test
   public void testReplaceOneRecordWithSmallerSize() throws Exception {
     OByteBufferPool bufferPool = OByteBufferPool.instance(null);
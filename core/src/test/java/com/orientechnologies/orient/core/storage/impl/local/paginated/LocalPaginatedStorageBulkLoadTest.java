@@ -0,0 +1,167 @@
+package com.orientechnologies.orient.core.storage.impl.local.paginated;
+
+import com.orientechnologies.common.io.OFileUtils;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.ODatabaseInternal;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.db.OrientDBConfig;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.intent.OIntentBulkLoad;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.storage.ORecordDuplicatedException;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OWriteAheadLog;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+public class LocalPaginatedStorageBulkLoadTest {
+  private static final String DB_NAME = LocalPaginatedStorageBulkLoadTest.class.getSimpleName();
+
+  private String            buildDirectory;
+  private OrientDB          orientDB;
+  private ODatabaseDocument db;
+
+  @Before
+  public void before() {
+    buildDirectory = System.getProperty("buildDirectory", ".") + File.separator + DB_NAME;
+    OFileUtils.deleteRecursively(new File(buildDirectory));
+
+    orientDB = new OrientDB("plocal:" + buildDirectory, OrientDBConfig.defaultConfig());
+    orientDB.create(DB_NAME, ODatabaseType.PLOCAL);
+    db = orientDB.open(DB_NAME, "admin", "admin");
+
+    final OClass person = db.createClass("Person");
+    person.createProperty("name", OType.STRING).createIndex(OClass.INDEX_TYPE.UNIQUE);
+    person.createProperty("age", OType.INTEGER).createIndex(OClass.INDEX_TYPE.NOTUNIQUE);
+
+    for (int i = 0; i < 10; i++) {
+      newPerson(i);
+    }
+  }
+
+  @After
+  public void after() {
+    if (!db.isClosed()) {
+      db.close();
+    }
+    orientDB.drop(DB_NAME);
+    orientDB.close();
+    OFileUtils.deleteRecursively(new File(buildDirectory));
+  }
+
+  @Test
+  public void testBulkLoad() {
+    db.declareIntent(new OIntentBulkLoad());
+    Assert.assertTrue(getStorage().isBulkLoad());
+
+    for (int i = 10; i < 1000; i++) {
+      newPerson(i);
+    }
+    // THE NON UNIQUE INDEXES ARE BUILT AT THE END OF THE LOAD
+    Assert.assertEquals(10, db.getMetadata().getIndexManager().getIndex("Person.age").getSize());
+    Assert.assertEquals(1000, db.getMetadata().getIndexManager().getIndex("Person.name").getSize());
+
+    db.declareIntent(null);
+    Assert.assertFalse(getStorage().isBulkLoad());
+    assertLoaded();
+
+    db.close();
+    db = orientDB.open(DB_NAME, "admin", "admin");
+    assertLoaded();
+  }
+
+  @Test
+  public void testDuplicatedKeyFailsTheTransaction() {
+    db.declareIntent(new OIntentBulkLoad());
+    for (int i = 10; i < 1000; i++) {
+      newPerson(i);
+    }
+
+    try {
+      newPerson(500);
+      Assert.fail();
+    } catch (ORecordDuplicatedException e) {
+      // EXPECTED
+    }
+
+    db.declareIntent(null);
+    assertLoaded();
+  }
+
+  @Test
+  public void testOtherSessionsAreLogged() {
+    db.declareIntent(new OIntentBulkLoad());
+    final OWriteAheadLog wal = getStorage().getWALInstance();
+
+    OLogSequenceNumber lsn = wal.end();
+    for (int i = 10; i < 500; i++) {
+      newPerson(i);
+    }
+    Assert.assertEquals(lsn, wal.end());
+
+    try (ODatabaseDocument other = orientDB.open(DB_NAME, "admin", "admin")) {
+      lsn = wal.end();
+      final ODocument person = new ODocument("Person");
+      person.setProperty("name", "other");
+      person.setProperty("age", 0);
+      other.save(person);
+      Assert.assertTrue(wal.end().compareTo(lsn) > 0);
+      // THE INDEXES ARE UPDATED FOR THE OTHER SESSIONS
+      Assert.assertEquals(11, other.getMetadata().getIndexManager().getIndex("Person.age").getSize());
+      other.delete(person);
+    }
+
+    db.activateOnCurrentThread();
+    for (int i = 500; i < 1000; i++) {
+      newPerson(i);
+    }
+    db.declareIntent(null);
+    assertLoaded();
+  }
+
+  @Test
+  public void testInterruptedBulkLoad() {
+    getStorage().beginBulkLoad((ODatabaseDocumentInternal) db);
+    for (int i = 10; i < 1000; i++) {
+      newPerson(i);
+    }
+    db.close();
+    orientDB.close();
+
+    orientDB = new OrientDB("plocal:" + buildDirectory, OrientDBConfig.defaultConfig());
+    db = orientDB.open(DB_NAME, "admin", "admin");
+    Assert.assertFalse(getStorage().isBulkLoad());
+    db.getMetadata().getIndexManager().waitTillIndexRestore();
+    assertLoaded();
+  }
+
+  private void newPerson(int i) {
+    final ODocument person = new ODocument("Person");
+    person.setProperty("name", "name" + i);
+    person.setProperty("age", i % 100);
+    db.save(person);
+  }
+
+  private void assertLoaded() {
+    Assert.assertEquals(1000, db.countClass("Person"));
+    Assert.assertEquals(1000, db.getMetadata().getIndexManager().getIndex("Person.name").getSize());
+    Assert.assertEquals(1000, db.getMetadata().getIndexManager().getIndex("Person.age").getSize());
+    try (OResultSet result = db.query("select from Person where name = ?", "name500")) {
+      Assert.assertEquals(0, (int) result.next().<Integer>getProperty("age"));
+      Assert.assertFalse(result.hasNext());
+    }
+  }
+
+  private OAbstractPaginatedStorage getStorage() {
+    return (OAbstractPaginatedStorage) ((ODatabaseInternal) db).getStorage().getUnderlying();
+  }
+}
@@ -0,0 +1,88 @@
+package com.orientechnologies.orient.core.storage.impl.local.paginated.wal.cas;
+
+import com.orientechnologies.common.io.OFileUtils;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OOperationUnitId;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class OCASDiskWriteAheadLogKeepSizeTest {
+  private static final int SEGMENTS = 6;
+
+  private Path                  storagePath;
+  private OCASDiskWriteAheadLog writeAheadLog;
+
+  @Before
+  public void before() throws IOException {
+    String buildDirectory = System.getProperty("buildDirectory");
+    if (buildDirectory == null) {
+      buildDirectory = ".";
+    }
+
+    storagePath = Paths.get(buildDirectory).resolve(OCASDiskWriteAheadLogKeepSizeTest.class.getSimpleName());
+    OFileUtils.deleteRecursively(storagePath.toFile());
+    Files.createDirectories(storagePath);
+
+    writeAheadLog = new OCASDiskWriteAheadLog("walKeepSizeTest", storagePath, storagePath, 12_000, 128, Integer.MAX_VALUE,
+        Integer.MAX_VALUE, 25, true, Locale.US, -1, 1024L * 1024 * 1024, 1000, true, false, false, 10);
+
+    for (int i = 0; i < SEGMENTS; i++) {
+      for (int n = 0; n < 1_000; n++) {
+        writeAheadLog.logAtomicOperationStartRecord(true, OOperationUnitId.generateId());
+      }
+      writeAheadLog.appendNewSegment();
+    }
+    writeAheadLog.logAtomicOperationStartRecord(true, OOperationUnitId.generateId());
+    writeAheadLog.flush();
+  }
+
+  @After
+  public void after() throws IOException {
+    writeAheadLog.delete();
+    OFileUtils.deleteRecursively(storagePath.toFile());
+  }
+
+  @Test
+  public void testSegmentsWithinKeepSizeSurviveCut() throws IOException {
+    final List<Path> files = walFiles();
+    Assert.assertEquals(SEGMENTS + 1, files.size());
+
+    // THE LAST THREE SEGMENTS ARE ENOUGH TO REACH THE KEEP SIZE
+    final int kept = 3;
+    long keepSize = 0;
+    for (int i = files.size() - kept; i < files.size(); i++) {
+      keepSize += Files.size(files.get(i));
+    }
+    writeAheadLog.setKeepSize(keepSize);
+
+    Assert.assertTrue(writeAheadLog.cutAllSegmentsSmallerThan(writeAheadLog.activeSegment()));
+    Assert.assertEquals(files.subList(files.size() - kept, files.size()), walFiles());
+
+    // NOTHING ELSE CAN BE REMOVED WITHOUT GOING UNDER THE KEEP SIZE
+    Assert.assertFalse(writeAheadLog.cutAllSegmentsSmallerThan(writeAheadLog.activeSegment()));
+    Assert.assertEquals(kept, walFiles().size());
+  }
+
+  @Test
+  public void testSegmentsAreRemovedWithoutKeepSize() throws IOException {
+    Assert.assertTrue(writeAheadLog.cutAllSegmentsSmallerThan(writeAheadLog.activeSegment()));
+    Assert.assertEquals(1, walFiles().size());
+  }
+
+  private List<Path> walFiles() {
+    final List<Path> files = new ArrayList<>();
+    for (final String file : writeAheadLog.getWalFiles()) {
+      files.add(Paths.get(file));
+    }
+    return files;
+  }
+}
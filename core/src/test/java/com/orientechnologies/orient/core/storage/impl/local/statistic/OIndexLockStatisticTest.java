@@ -0,0 +1,82 @@
+package com.orientechnologies.orient.core.storage.impl.local.statistic;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+public class OIndexLockStatisticTest {
+
+  @Test
+  public void testCounters() {
+    final OIndexLockStatistic statistic = new OIndexLockStatistic();
+    statistic.lockAcquired("a", 2000);
+    statistic.lockAcquired("a", 5000);
+    statistic.lockAcquired("b", 1000);
+
+    Assert.assertEquals(Long.valueOf(2), statistic.getLockCount().get("a"));
+    Assert.assertEquals(Long.valueOf(1), statistic.getLockCount().get("b"));
+    Assert.assertEquals(Long.valueOf(7), statistic.getLockWaitTime().get("a"));
+    Assert.assertEquals(Long.valueOf(5), statistic.getMaxLockWaitTime().get("a"));
+    Assert.assertEquals(Long.valueOf(1), statistic.getMaxLockWaitTime().get("b"));
+
+    statistic.reset();
+    Assert.assertTrue(statistic.getLockCount().isEmpty());
+  }
+
+  @Test
+  public void testIndexLocksAreCounted() throws Exception {
+    final ODatabaseDocumentTx db = new ODatabaseDocumentTx("memory:" + OIndexLockStatisticTest.class.getSimpleName());
+    db.create();
+    try {
+      final OClass cls = db.getMetadata().getSchema().createClass("Person");
+      cls.createProperty("name", OType.STRING);
+      cls.createIndex("Person.name", OClass.INDEX_TYPE.NOTUNIQUE, "name");
+
+      for (int i = 0; i < 3; i++) {
+        db.begin();
+        db.save(new ODocument("Person").field("name", "name" + i));
+        db.commit();
+      }
+
+      final OAbstractPaginatedStorage storage = (OAbstractPaginatedStorage) db.getStorage().getUnderlying();
+      final Map<String, Long> lockCount = storage.getIndexLockStatistic().getLockCount();
+      Assert.assertTrue(lockCount.get("Person.name") >= 3);
+      Assert.assertTrue(storage.getIndexLockStatistic().getLockWaitTime().containsKey("Person.name"));
+
+      // THE PROFILER IS DISABLED BY DEFAULT
+      Assert.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(getMBeanName(storage)));
+    } finally {
+      db.drop();
+    }
+  }
+
+  @Test
+  public void testMBeanIsRegisteredWithProfiler() throws Exception {
+    final boolean profilerEnabled = OGlobalConfiguration.PROFILER_ENABLED.getValueAsBoolean();
+    OGlobalConfiguration.PROFILER_ENABLED.setValue(true);
+    final ODatabaseDocumentTx db = new ODatabaseDocumentTx("memory:" + OIndexLockStatisticTest.class.getSimpleName() + "Profiler");
+    try {
+      db.create();
+      final OAbstractPaginatedStorage storage = (OAbstractPaginatedStorage) db.getStorage().getUnderlying();
+      Assert.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(getMBeanName(storage)));
+      db.drop();
+    } finally {
+      OGlobalConfiguration.PROFILER_ENABLED.setValue(profilerEnabled);
+    }
+  }
+
+  private static ObjectName getMBeanName(OAbstractPaginatedStorage storage) throws Exception {
+    return new ObjectName(
+        "com.orientechnologies.orient.core.storage.impl.local.statistic:type=OIndexLockStatisticMXBean,name=" + ObjectName
+            .quote(storage.getName()) + ",id=" + storage.getId());
+  }
+}
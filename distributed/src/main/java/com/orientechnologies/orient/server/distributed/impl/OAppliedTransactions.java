@@ -0,0 +1,168 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.server.distributed.ODistributedRequestId;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Transactions received from the other coordinator nodes and applied by the local node, to check the consistency tokens of the
+ * sessions. A transaction of a token is applied when its second phase has been executed and every transaction of the same
+ * coordinator received before it has been completed too: the coordinator sends the messages of a session in order, so this
+ * covers also the previous transactions of the session.
+ */
+public class OAppliedTransactions {
+  private static final int HISTORY_SIZE = 10000;
+
+  private final Map<Integer, ONodeTransactions> nodes = new HashMap<Integer, ONodeTransactions>();
+  private final long                            expireTimeout;
+  private       long                            arrivals;
+
+  private static final class OArrival {
+    private final long order;
+    private final long time = System.currentTimeMillis();
+
+    private OArrival(final long order) {
+      this.order = order;
+    }
+  }
+
+  private static final class ONodeTransactions {
+    // TRANSACTIONS RECEIVED AND NOT COMPLETED YET, BY MESSAGE ID
+    private final Map<Long, OArrival>           pending   = new HashMap<Long, OArrival>();
+    // LAST COMPLETED TRANSACTIONS, BY MESSAGE ID
+    private final LinkedHashMap<Long, OArrival> completed = new LinkedHashMap<Long, OArrival>() {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Long, OArrival> eldest) {
+        if (size() > HISTORY_SIZE) {
+          forgotten = Math.max(forgotten, eldest.getKey());
+          return true;
+        }
+        return false;
+      }
+    };
+    // HIGHEST MESSAGE ID REMOVED FROM THE HISTORY
+    private       long                          forgotten = -1;
+  }
+
+  /**
+   * @param expireTimeout time (in ms) after which a transaction never completed is not waited anymore
+   */
+  public OAppliedTransactions(final long expireTimeout) {
+    this.expireTimeout = expireTimeout;
+  }
+
+  /**
+   * Registers the arrival of the first or second phase of a transaction.
+   */
+  public synchronized void received(final ODistributedRequestId transactionId) {
+    final ONodeTransactions node = getNode(transactionId.getNodeId());
+    if (!node.pending.containsKey(transactionId.getMessageId()) && !node.completed.containsKey(transactionId.getMessageId()))
+      node.pending.put(transactionId.getMessageId(), new OArrival(++arrivals));
+  }
+
+  /**
+   * Registers the execution of the second phase of a transaction.
+   */
+  public synchronized void completed(final ODistributedRequestId transactionId) {
+    final ONodeTransactions node = getNode(transactionId.getNodeId());
+    OArrival arrival = node.pending.remove(transactionId.getMessageId());
+    if (arrival == null)
+      arrival = new OArrival(++arrivals);
+    node.completed.put(transactionId.getMessageId(), arrival);
+    removeExpired(node);
+    notifyAll();
+  }
+
+  public synchronized boolean isApplied(final ODistributedRequestId transactionId) {
+    final ONodeTransactions node = nodes.get(transactionId.getNodeId());
+    if (node == null)
+      return false;
+
+    final long messageId = transactionId.getMessageId();
+    final OArrival arrival = node.completed.get(messageId);
+    if (arrival == null && messageId > node.forgotten)
+      return false;
+
+    removeExpired(node);
+    for (Map.Entry<Long, OArrival> entry : node.pending.entrySet()) {
+      // A TRANSACTION NO MORE IN THE HISTORY CAN BE PENDING AGAIN IF ONE OF ITS PHASES IS RECEIVED AFTER THE COMPLETION
+      if (arrival != null ? entry.getValue().order < arrival.order : entry.getKey() <= messageId)
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * Waits until all the transactions are applied.
+   *
+   * @param transactions message id of the transaction by coordinator node id
+   *
+   * @return true if all the transactions have been applied before the timeout
+   */
+  public synchronized boolean waitForApplied(final Map<Integer, Long> transactions, final long timeout)
+      throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + timeout;
+    for (Map.Entry<Integer, Long> entry : transactions.entrySet()) {
+      final ODistributedRequestId transactionId = new ODistributedRequestId(entry.getKey(), entry.getValue());
+      while (!isApplied(transactionId)) {
+        final long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0)
+          return false;
+        wait(remaining);
+      }
+    }
+    return true;
+  }
+
+  synchronized int getPendingTransactions() {
+    int total = 0;
+    for (ONodeTransactions node : nodes.values())
+      total += node.pending.size();
+    return total;
+  }
+
+  public synchronized void clear() {
+    nodes.clear();
+    notifyAll();
+  }
+
+  private void removeExpired(final ONodeTransactions node) {
+    final long now = System.currentTimeMillis();
+    for (Iterator<OArrival> it = node.pending.values().iterator(); it.hasNext(); ) {
+      if (now - it.next().time > expireTimeout)
+        // THE SECOND PHASE NEVER ARRIVED: THE TRANSACTION HAS BEEN ROLLED BACK BY TIMEOUT
+        it.remove();
+    }
+  }
+
+  private ONodeTransactions getNode(final int nodeId) {
+    ONodeTransactions node = nodes.get(nodeId);
+    if (node == null) {
+      node = new ONodeTransactions();
+      nodes.put(nodeId, node);
+    }
+    return node;
+  }
+}
@@ -115,6 +115,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
 import static com.orientechnologies.orient.core.config.OGlobalConfiguration.DISTRIBUTED_CONCURRENT_TX_MAX_AUTORETRY;
+import static com.orientechnologies.orient.core.config.OGlobalConfiguration.DISTRIBUTED_CONSISTENCY_TOKEN_TIMEOUT;
 import static com.orientechnologies.orient.core.config.OGlobalConfiguration.DISTRIBUTED_REPLICATION_PROTOCOL_VERSION;
 import static com.orientechnologies.orient.server.distributed.impl.ONewDistributedTxContextImpl.Status.FAILED;
 import static com.orientechnologies.orient.server.distributed.impl.ONewDistributedTxContextImpl.Status.SUCCESS;
@@ -125,7 +126,9 @@ import static com.orientechnologies.orient.server.distributed.impl.ONewDistribut
  */
 public class ODatabaseDocumentDistributed extends ODatabaseDocumentEmbedded {
 
-  private final OHazelcastPlugin distributedManager;
+  private final OHazelcastPlugin             distributedManager;
+  private final ODistributedConsistencyToken consistencyToken = new ODistributedConsistencyToken();
+  private       boolean                      consistencyTokenSet;
 
   public ODatabaseDocumentDistributed(OStorage storage, OHazelcastPlugin hazelcastPlugin) {
     super(storage);
@@ -145,6 +148,44 @@ public class ODatabaseDocumentDistributed extends ODatabaseDocumentEmbedded {
     return distributedManager.getLocalNodeName();
   }
 
+  /**
+   * Returns the consistency token of the session: the last transactions committed by the session on each cluster. A session on
+   * another node that sets this token reads the changes of these transactions.
+   *
+   * @return the consistency token of the session
+   */
+  @Override
+  public String getConsistencyToken() {
+    return consistencyToken.toString();
+  }
+
+  /**
+   * Sets the consistency token received from a session on another node and waits until the local node applied its transactions on
+   * the clusters owned by the local node, up to {@link com.orientechnologies.orient.core.config.OGlobalConfiguration#DISTRIBUTED_CONSISTENCY_TOKEN_TIMEOUT}. From then on, the session reads the records from the
+   * local node without asking the read quorum to the other nodes.
+   *
+   * @param token consistency token returned by {@link #getConsistencyToken()}
+   *
+   * @throws ODistributedException if the local node did not apply the transactions in time
+   */
+  @Override
+  public void setConsistencyToken(final String token) {
+    final ODistributedConsistencyToken received = ODistributedConsistencyToken.parse(token);
+    final long timeout = getConfiguration().getValueAsLong(DISTRIBUTED_CONSISTENCY_TOKEN_TIMEOUT);
+    if (!((ODistributedDatabaseImpl) getStorageDistributed().getLocalDistributedDatabase())
+        .waitForConsistencyToken(received, timeout))
+      throw new ODistributedException(
+          "Node '" + getLocalNodeName() + "' has not applied the transactions of the consistency token '" + token + "' in "
+              + timeout + "ms");
+
+    consistencyToken.merge(received);
+    consistencyTokenSet = true;
+  }
+
+  public boolean isConsistencyTokenSet() {
+    return consistencyTokenSet;
+  }
+
   /**
    * returns the cluster map for current deploy. The keys of the map are node names, the values contain names of clusters (data
    * files) available on the single node.
@@ -680,7 +721,8 @@ public class ODatabaseDocumentDistributed extends ODatabaseDocumentEmbedded {
       ONewDistributedTransactionManager txManager = new ONewDistributedTransactionManager(getStorageDistributed(), dManager,
           getStorageDistributed().getLocalDistributedDatabase());
       int quorum = 0;
-      for (String clusterName : txManager.getInvolvedClusters(iTx.getRecordOperations())) {
+      final Set<String> involvedClusters = txManager.getInvolvedClusters(iTx.getRecordOperations());
+      for (String clusterName : involvedClusters) {
         final List<String> clusterServers = dbCfg.getServers(clusterName, null);
         final int writeQuorum = dbCfg.getWriteQuorum(clusterName, clusterServers.size(), localNodeName);
         quorum = Math.max(quorum, writeQuorum);
@@ -692,7 +734,9 @@ public class ODatabaseDocumentDistributed extends ODatabaseDocumentEmbedded {
         throw new ODistributedException("No enough nodes online to execute the operation, online nodes: " + online);
       }
 
-      txManager.commit(this, iTx);
+      final ODistributedRequestId transactionId = txManager.commit(this, iTx);
+      if (transactionId != null)
+        consistencyToken.merge(transactionId, involvedClusters);
       return;
     } catch (OValidationException e) {
       throw e;
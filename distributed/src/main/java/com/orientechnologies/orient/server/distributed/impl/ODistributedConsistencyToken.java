@@ -0,0 +1,134 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.server.distributed.ODistributedException;
+import com.orientechnologies.orient.server.distributed.ODistributedRequestId;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Consistency token of a session: the last transaction committed by the session through each coordinator node, for each cluster
+ * changed by the session. Any node that applied the transactions of the clusters it owns can serve the reads of the session on
+ * these clusters without stale results. The token is exchanged as a string in the format
+ * <code>clusterName:nodeId.messageId[,clusterName:nodeId.messageId]*</code>.
+ *
+ * @see OAppliedTransactions
+ */
+public class ODistributedConsistencyToken {
+  private final Map<String, Map<Integer, Long>> transactions = new TreeMap<String, Map<Integer, Long>>();
+
+  public static ODistributedConsistencyToken parse(final String token) {
+    final ODistributedConsistencyToken result = new ODistributedConsistencyToken();
+    if (token == null || token.trim().isEmpty())
+      return result;
+
+    for (String transaction : token.split(",")) {
+      final int clusterSeparator = transaction.lastIndexOf(':');
+      final int separator = transaction.indexOf('.', clusterSeparator + 1);
+      try {
+        final String clusterName = transaction.substring(0, clusterSeparator).trim();
+        if (clusterName.isEmpty())
+          throw new IllegalArgumentException();
+
+        result.merge(new ODistributedRequestId(Integer.parseInt(transaction.substring(clusterSeparator + 1, separator).trim()),
+            Long.parseLong(transaction.substring(separator + 1).trim())), Collections.singleton(clusterName));
+      } catch (RuntimeException e) {
+        throw new ODistributedException("Invalid consistency token '" + token + "'");
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Adds a transaction committed by the session.
+   *
+   * @param clusterNames names of the clusters changed by the transaction
+   */
+  public synchronized void merge(final ODistributedRequestId transactionId, final Collection<String> clusterNames) {
+    for (String clusterName : clusterNames) {
+      Map<Integer, Long> clusterTransactions = transactions.get(clusterName);
+      if (clusterTransactions == null) {
+        clusterTransactions = new TreeMap<Integer, Long>();
+        transactions.put(clusterName, clusterTransactions);
+      }
+
+      final Long last = clusterTransactions.get(transactionId.getNodeId());
+      if (last == null || last < transactionId.getMessageId())
+        clusterTransactions.put(transactionId.getNodeId(), transactionId.getMessageId());
+    }
+  }
+
+  public synchronized void merge(final ODistributedConsistencyToken token) {
+    for (String clusterName : token.getClusterNames())
+      for (Map.Entry<Integer, Long> entry : token.getTransactions(Collections.singleton(clusterName)).entrySet())
+        merge(new ODistributedRequestId(entry.getKey(), entry.getValue()), Collections.singleton(clusterName));
+  }
+
+  /**
+   * @return the names of the clusters changed by the transactions of the token
+   */
+  public synchronized Set<String> getClusterNames() {
+    return Collections.unmodifiableSet(new TreeSet<String>(transactions.keySet()));
+  }
+
+  /**
+   * @param clusterNames names of the clusters to read
+   *
+   * @return the message id of the last transaction that changed one of the clusters, by coordinator node id
+   */
+  public synchronized Map<Integer, Long> getTransactions(final Collection<String> clusterNames) {
+    final Map<Integer, Long> result = new TreeMap<Integer, Long>();
+    for (String clusterName : clusterNames) {
+      final Map<Integer, Long> clusterTransactions = transactions.get(clusterName);
+      if (clusterTransactions == null)
+        continue;
+
+      for (Map.Entry<Integer, Long> entry : clusterTransactions.entrySet()) {
+        final Long last = result.get(entry.getKey());
+        if (last == null || last < entry.getValue())
+          result.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return result;
+  }
+
+  public synchronized boolean isEmpty() {
+    return transactions.isEmpty();
+  }
+
+  @Override
+  public synchronized String toString() {
+    final StringBuilder buffer = new StringBuilder();
+    for (Map.Entry<String, Map<Integer, Long>> cluster : transactions.entrySet()) {
+      for (Map.Entry<Integer, Long> entry : cluster.getValue().entrySet()) {
+        if (buffer.length() > 0)
+          buffer.append(',');
+        buffer.append(cluster.getKey()).append(':').append(entry.getKey()).append('.').append(entry.getValue());
+      }
+    }
+    return buffer.toString();
+  }
+}
@@ -23,6 +23,7 @@ import com.orientechnologies.orient.core.serialization.OStreamable;
 import com.orientechnologies.orient.core.storage.impl.local.OSyncSource;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
 import com.orientechnologies.orient.server.distributed.ODistributedMomentum;
+import com.orientechnologies.orient.server.distributed.impl.task.OBackgroundBackup;
 
 import java.io.DataInput;
 import java.io.DataOutput;
@@ -30,6 +31,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPInputStream;
 
@@ -77,12 +79,58 @@ public class ODistributedDatabaseChunk implements OStreamable {
           last = true;
         }
       }
+
+      if (last) {
+        in.close();
+      }
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
     }
 
   }
 
+  /**
+   * Reads a chunk of the file written by a background backup, waiting until the backup has written all of it. All the chunks
+   * except the last one have the same size, so they can be requested by offset, more of them at the same time or the same one
+   * again after an error.
+   */
+  public ODistributedDatabaseChunk(final OBackgroundBackup backup, final long iOffset, final int iMaxSize,
+      final ODistributedMomentum momentum) throws IOException {
+    final File file = backup.getResultedBackupFile();
+    filePath = file.getAbsolutePath();
+    offset = iOffset;
+    this.momentum = momentum;
+    this.gzipCompressed = false;
+    this.incremental = backup.getIncremental();
+    this.walSegment = -1;
+    this.walPosition = -1;
+
+    boolean completed;
+    try {
+      completed = backup.getFinished().await(0, TimeUnit.NANOSECONDS);
+      while (!completed && file.length() < iOffset + iMaxSize) {
+        // WAIT FOR ASYNCH WRITE
+        completed = backup.getFinished().await(100, TimeUnit.MILLISECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for the chunk at offset " + iOffset + " of backup " + filePath);
+    }
+
+    if (backup.isFailed() || !file.exists()) {
+      throw new IOException("Backup " + filePath + " is not available");
+    }
+
+    final long fileSize = file.length();
+    buffer = new byte[(int) Math.max(0, Math.min(iMaxSize, fileSize - iOffset))];
+    try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+      in.seek(iOffset);
+      in.readFully(buffer);
+    }
+
+    last = completed && iOffset + buffer.length >= fileSize;
+  }
+
   public ODistributedDatabaseChunk(final File iFile, final long iOffset, final int iMaxSize, final ODistributedMomentum momentum,
       final boolean gzipCompressed, boolean incremental) throws IOException {
     this(iFile, iOffset, iMaxSize, momentum, gzipCompressed, incremental, -1, -1);
@@ -57,7 +57,12 @@ import com.orientechnologies.orient.server.distributed.ODistributedSyncConfigura
 import com.orientechnologies.orient.server.distributed.ODistributedTxContext;
 import com.orientechnologies.orient.server.distributed.OModifiableDistributedConfiguration;
 import com.orientechnologies.orient.server.distributed.ORemoteServerController;
+import com.orientechnologies.orient.server.distributed.impl.ONewDistributedTransactionManager.OPhase1Request;
 import com.orientechnologies.orient.server.distributed.impl.task.ODistributedLockTask;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase1BatchTask;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase1Task;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase2BatchTask;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase2Task;
 import com.orientechnologies.orient.server.distributed.impl.task.OUnreachableServerLocalTask;
 import com.orientechnologies.orient.server.distributed.impl.task.OWaitForTask;
 import com.orientechnologies.orient.server.distributed.task.OAbstractRemoteTask;
@@ -72,8 +77,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -93,7 +101,6 @@ import static com.orientechnologies.orient.core.config.OGlobalConfiguration.DIST
  */
 public class ODistributedDatabaseImpl implements ODistributedDatabase {
   public static final  String                                    DISTRIBUTED_SYNC_JSON_FILENAME = "distributed-sync.json";
-  private static final HashSet<Integer>                          ALL_QUEUES                     = new HashSet<Integer>();
   protected final      ODistributedAbstractPlugin                manager;
   protected final      ODistributedMessageServiceImpl            msgService;
   protected final      String                                    databaseName;
@@ -104,7 +111,7 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
 
   protected       ConcurrentHashMap<ODistributedRequestId, ODistributedTxContext> activeTxContexts = new ConcurrentHashMap<ODistributedRequestId, ODistributedTxContext>(
       64);
-  protected final List<ODistributedWorker>                                        workerThreads    = new ArrayList<ODistributedWorker>();
+  protected final List<ODistributedWorker>                                        workerThreads    = new CopyOnWriteArrayList<ODistributedWorker>();
   protected       ODistributedWorker                                              lockThread;
   protected       ODistributedWorker                                              nowaitThread;
 
@@ -116,10 +123,68 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
   private          AtomicBoolean                         parsing               = new AtomicBoolean(true);
   private final    AtomicReference<ODistributedMomentum> filterByMomentum      = new AtomicReference<ODistributedMomentum>();
 
+  // WORKER EXECUTING THE REQUESTS OF EACH PARTITION KEY, WHILE IT HAS REQUESTS IN QUEUE OR RUNNING
+  private final Map<Integer, OPartitionOwner>                    partitionOwners    = new HashMap<Integer, OPartitionOwner>();
+  private final Map<ODistributedRequest, List<OPartitionOwner>> acquiredPartitions = new IdentityHashMap<ODistributedRequest, List<OPartitionOwner>>();
+  private       int                                              initialWorkers;
+  private       int                                              maxWorkers;
+
+  // CONCURRENT TRANSACTIONS COORDINATED BY THIS NODE, REPLICATED IN BATCHES
+  private final OTransactionBatcher<OPhase1Request, ONewDistributedResponseManager> txPhase1Batcher = new OTransactionBatcher<OPhase1Request, ONewDistributedResponseManager>();
+  private final OTransactionBatcher<OTransactionPhase2Task, Object>                 txPhase2Batcher = new OTransactionBatcher<OTransactionPhase2Task, Object>();
+
+  // TRANSACTIONS OF THE OTHER COORDINATORS APPLIED BY THIS NODE, TO SERVE THE READS OF THE SESSIONS WITH A CONSISTENCY TOKEN
+  private final OAppliedTransactions appliedTransactions = new OAppliedTransactions(
+      OGlobalConfiguration.DISTRIBUTED_TX_EXPIRE_TIMEOUT.getValueAsLong());
+
   private final String                     localNodeName;
   private final OSimpleLockManager<ORID>   recordLockManager;
   private final OSimpleLockManager<Object> indexKeyLockManager;
 
+  OTransactionBatcher<OPhase1Request, ONewDistributedResponseManager> getTxPhase1Batcher() {
+    return txPhase1Batcher;
+  }
+
+  OTransactionBatcher<OTransactionPhase2Task, Object> getTxPhase2Batcher() {
+    return txPhase2Batcher;
+  }
+
+  public OAppliedTransactions getAppliedTransactions() {
+    return appliedTransactions;
+  }
+
+  /**
+   * Waits until the local node applied the transactions of a consistency token that changed the clusters owned by the local node.
+   * The transactions that changed only clusters of other nodes are not received by the local node, whose reads of these clusters
+   * are sent to their owners.
+   *
+   * @return true if the transactions have been applied before the timeout
+   */
+  public boolean waitForConsistencyToken(final ODistributedConsistencyToken token, final long timeout) {
+    final ODistributedConfiguration cfg = manager.getDatabaseConfiguration(databaseName);
+    final Set<String> localClusters = new HashSet<String>();
+    for (String clusterName : token.getClusterNames()) {
+      if (cfg.getServers(clusterName, null).contains(localNodeName))
+        localClusters.add(clusterName);
+    }
+
+    final Map<Integer, Long> transactions = token.getTransactions(localClusters);
+    // THE TRANSACTIONS COORDINATED BY THE LOCAL NODE ARE ALREADY COMMITTED
+    transactions.remove(manager.getLocalNodeId());
+    try {
+      return appliedTransactions.waitForApplied(transactions, timeout);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  Set<Integer> getOwnedPartitionKeys() {
+    synchronized (partitionOwners) {
+      return new HashSet<Integer>(partitionOwners.keySet());
+    }
+  }
+
   public OSimpleLockManager<ORID> getRecordLockManager() {
     return recordLockManager;
   }
@@ -262,6 +327,17 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
 
     totalReceivedRequests.incrementAndGet();
 
+    if (task instanceof OTransactionPhase1Task)
+      appliedTransactions.received(request.getId());
+    else if (task instanceof OTransactionPhase2Task)
+      appliedTransactions.received(((OTransactionPhase2Task) task).getTransactionId());
+    else if (task instanceof OTransactionPhase1BatchTask)
+      for (ODistributedRequestId transactionId : ((OTransactionPhase1BatchTask) task).getTransactionIds())
+        appliedTransactions.received(transactionId);
+    else if (task instanceof OTransactionPhase2BatchTask)
+      for (OTransactionPhase2Task transaction : ((OTransactionPhase2BatchTask) task).getTransactions())
+        appliedTransactions.received(transaction.getTransactionId());
+
     // final ODistributedMomentum lastMomentum = filterByMomentum.get();
     // if (lastMomentum != null && task instanceof OAbstractReplicatedTask) {
     // final OLogSequenceNumber taskLastLSN = ((OAbstractReplicatedTask) task).getLastLSN();
@@ -288,65 +364,19 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
 
     if (partitionKeys.length > 1 || partitionKeys[0] == -1) {
 
-      final Set<Integer> involvedWorkerQueues;
+      final Map<ODistributedWorker, List<OPartitionOwner>> involvedWorkers;
       if (partitionKeys.length > 1)
-        involvedWorkerQueues = getInvolvedQueuesByPartitionKeys(partitionKeys);
+        involvedWorkers = acquireQueuesByPartitionKeys(partitionKeys);
       else
         // LOCK ALL THE QUEUES
-        involvedWorkerQueues = ALL_QUEUES;
+        involvedWorkers = reserveAllWorkers();
 
-      // if (ODistributedServerLog.isDebugEnabled())
-      ODistributedServerLog
-          .debug(this, localNodeName, null, DIRECTION.NONE, "Request %s on database '%s' involvedQueues=%s", request, databaseName,
-              involvedWorkerQueues);
-
-      if (involvedWorkerQueues.size() == 1)
-        // JUST ONE QUEUE INVOLVED: PROCESS IT IMMEDIATELY
-        processRequest(involvedWorkerQueues.iterator().next(), request);
-      else {
-        // INVOLVING MULTIPLE QUEUES
+      dispatch(request, involvedWorkers);
 
-        // if (ODistributedServerLog.isDebugEnabled())
-        ODistributedServerLog.debug(this, localNodeName, null, DIRECTION.NONE,
-            "Request %s on database '%s' waiting for all the previous requests to be completed", request, databaseName);
-        CyclicBarrier started = new CyclicBarrier(involvedWorkerQueues.size());
-        CyclicBarrier finished = new CyclicBarrier(involvedWorkerQueues.size());
-        // WAIT ALL THE INVOLVED QUEUES ARE FREE AND SYNCHRONIZED
-        for (int queue : involvedWorkerQueues) {
-          ODistributedWorker worker = workerThreads.get(queue);
-          OWaitPartitionsReadyTask waitRequest = new OWaitPartitionsReadyTask(started, task, finished);
-
-          final ODistributedRequest syncRequest = new ODistributedRequest(null, request.getId().getNodeId(),
-              request.getId().getMessageId(), databaseName, waitRequest);
-          worker.processRequest(syncRequest);
-        }
-
-      }
     } else if (partitionKeys.length == 1 && partitionKeys[0] == -2) {
       // ANY PARTITION: USE THE FIRST EMPTY IF ANY, OTHERWISE THE FIRST IN THE LIST
-      boolean found = false;
-
-      for (ODistributedWorker q : workerThreads) {
-        if (q.isWaitingForNextRequest() && q.localQueue.isEmpty()) {
-          q.processRequest(request);
-          found = true;
-          break;
-        }
-      }
-
-      if (!found)
-        // ALL THE THREADS ARE BUSY, SELECT THE FIRST EMPTY ONE
-        for (ODistributedWorker q : workerThreads) {
-          if (q.localQueue.isEmpty()) {
-            q.processRequest(request);
-            found = true;
-            break;
-          }
-        }
-
-      if (!found)
-        // EXEC ON THE FIRST QUEUE
-        workerThreads.get(0).processRequest(request);
+      final ODistributedWorker worker = reserveAnyWorker();
+      dispatch(worker, request, Collections.<OPartitionOwner>emptyList());
 
     } else if (partitionKeys.length == 1 && partitionKeys[0] == -3) {
       // SERVICE - LOCK
@@ -363,7 +393,7 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
       nowaitThread.processRequest(request);
 
     } else {
-      processRequest(partitionKeys[0], request);
+      dispatch(request, acquireQueuesByPartitionKeys(partitionKeys));
     }
   }
 
@@ -381,25 +411,238 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
       }
   }
 
-  protected Set<Integer> getInvolvedQueuesByPartitionKeys(final int[] partitionKeys) {
-    final Set<Integer> involvedWorkerQueues = new HashSet<Integer>(partitionKeys.length);
+  /**
+   * Returns the workers which execute the requests of the partition keys, with the owners of the keys acquired on each of them. The
+   * requests with the same key are executed in order by the same worker while it has some of them in queue or running, otherwise
+   * the key is assigned to the least busy worker, so a busy key does not slow down the keys which would share its worker with a
+   * fixed assignment. A new worker is started when all the workers are busy, up to
+   * {@link OGlobalConfiguration#DISTRIBUTED_DB_WORKERTHREADS_MAX}.
+   * <p>
+   * A key still owned by a busy worker moves to a less busy one when most of the load of its worker comes from the other keys.
+   * The request is then executed by both the workers through a barrier, so the next requests of the key on the new worker are
+   * executed after the ones queued on the previous worker.
+   */
+  protected Map<ODistributedWorker, List<OPartitionOwner>> acquireQueuesByPartitionKeys(final int[] partitionKeys) {
+    final Map<ODistributedWorker, List<OPartitionOwner>> involvedWorkers = new LinkedHashMap<ODistributedWorker, List<OPartitionOwner>>();
+    synchronized (partitionOwners) {
+      if (workerThreads.isEmpty())
+        throw new ODistributedException("There are no worker threads to process the request on database '" + databaseName + "'");
+
+      for (int pk : distinctPartitionKeys(partitionKeys)) {
+        OPartitionOwner owner = partitionOwners.get(pk);
+        if (owner == null) {
+          owner = new OPartitionOwner(pk, getLeastBusyWorker());
+          partitionOwners.put(pk, owner);
+        } else if (isOverloaded(owner)) {
+          final ODistributedWorker leastBusy = getLeastBusyWorker();
+          if (leastBusy != owner.worker && getLoad(leastBusy) * 2 < getLoad(owner.worker)) {
+            ODistributedServerLog.debug(this, localNodeName, null, DIRECTION.NONE,
+                "Partition %d of database '%s' moves from the worker %d to the worker %d", pk, databaseName, owner.worker.id,
+                leastBusy.id);
+            acquire(involvedWorkers, owner);
+            owner = new OPartitionOwner(pk, leastBusy);
+            partitionOwners.put(pk, owner);
+          }
+        }
+        acquire(involvedWorkers, owner);
+      }
+    }
+    return involvedWorkers;
+  }
+
+  /**
+   * Called by the workers after the execution of a request, or when it has been discarded, to release its partition keys.
+   */
+  protected void onRequestProcessed(final ODistributedRequest request) {
+    synchronized (partitionOwners) {
+      final List<OPartitionOwner> owners = acquiredPartitions.remove(request);
+      if (owners == null)
+        return;
+
+      for (OPartitionOwner owner : owners) {
+        // THE KEY COULD HAVE MOVED TO ANOTHER WORKER IN THE MEANTIME
+        if (--owner.pending == 0 && partitionOwners.get(owner.partitionKey) == owner)
+          partitionOwners.remove(owner.partitionKey);
+      }
+    }
+  }
+
+  /**
+   * Called by the workers started on demand when they did not receive requests for a while. Removes the worker, if it is the last
+   * one started, it has nothing to execute and it has been idle for {@link OGlobalConfiguration#DISTRIBUTED_DB_WORKERTHREADS_IDLE_TIMEOUT}.
+   *
+   * @return true if the worker has been removed and must stop
+   */
+  protected boolean removeIdleWorker(final ODistributedWorker worker) {
+    synchronized (partitionOwners) {
+      if (!running || workerThreads.size() <= initialWorkers || workerThreads.get(workerThreads.size() - 1) != worker)
+        return false;
+
+      if (worker.dispatching.get() > 0 || worker.getQueueSize() > 0
+          || System.currentTimeMillis() - worker.getLastActivity() < OGlobalConfiguration.DISTRIBUTED_DB_WORKERTHREADS_IDLE_TIMEOUT
+          .getValueAsLong())
+        return false;
+
+      for (OPartitionOwner owner : partitionOwners.values()) {
+        if (owner.worker == worker)
+          return false;
+      }
+
+      workerThreads.remove(workerThreads.size() - 1);
+    }
+
+    unregisterWorkerHooks(worker);
+
+    ODistributedServerLog.info(this, localNodeName, null, DIRECTION.NONE, "Stopping the idle worker %d of database '%s'", worker.id,
+        databaseName);
+    return true;
+  }
+
+  private boolean isOverloaded(final OPartitionOwner owner) {
+    final int load = getLoad(owner.worker);
+    return load >= OGlobalConfiguration.DISTRIBUTED_DB_WORKERTHREADS_SCALE_QUEUESIZE.getValueAsInteger()
+        && (load - owner.pending) * 2 >= load;
+  }
+
+  private static void acquire(final Map<ODistributedWorker, List<OPartitionOwner>> involvedWorkers, final OPartitionOwner owner) {
+    owner.pending++;
+    List<OPartitionOwner> owners = involvedWorkers.get(owner.worker);
+    if (owners == null) {
+      owners = new ArrayList<OPartitionOwner>();
+      involvedWorkers.put(owner.worker, owners);
+      owner.worker.dispatching.incrementAndGet();
+    }
+    owners.add(owner);
+  }
+
+  private Map<ODistributedWorker, List<OPartitionOwner>> reserveAllWorkers() {
+    final Map<ODistributedWorker, List<OPartitionOwner>> involvedWorkers = new LinkedHashMap<ODistributedWorker, List<OPartitionOwner>>();
+    synchronized (partitionOwners) {
+      for (ODistributedWorker worker : workerThreads) {
+        worker.dispatching.incrementAndGet();
+        involvedWorkers.put(worker, Collections.<OPartitionOwner>emptyList());
+      }
+    }
+    return involvedWorkers;
+  }
+
+  private ODistributedWorker reserveAnyWorker() {
+    synchronized (partitionOwners) {
+      ODistributedWorker selected = null;
+      for (ODistributedWorker q : workerThreads) {
+        if (q.isWaitingForNextRequest() && q.localQueue.isEmpty()) {
+          selected = q;
+          break;
+        }
+      }
+
+      if (selected == null)
+        // ALL THE THREADS ARE BUSY, SELECT THE FIRST EMPTY ONE
+        for (ODistributedWorker q : workerThreads) {
+          if (q.localQueue.isEmpty()) {
+            selected = q;
+            break;
+          }
+        }
+
+      if (selected == null)
+        // EXEC ON THE FIRST QUEUE
+        selected = workerThreads.get(0);
+
+      selected.dispatching.incrementAndGet();
+      return selected;
+    }
+  }
+
+  private static Set<Integer> distinctPartitionKeys(final int[] partitionKeys) {
+    final Set<Integer> keys = new HashSet<Integer>(partitionKeys.length);
     for (int pk : partitionKeys) {
       if (pk >= 0)
-        involvedWorkerQueues.add(pk % workerThreads.size());
+        keys.add(pk);
+    }
+    return keys;
+  }
+
+  private static int getLoad(final ODistributedWorker worker) {
+    return worker.getQueueSize() + (worker.isWaitingForNextRequest() ? 0 : 1);
+  }
+
+  private ODistributedWorker getLeastBusyWorker() {
+    ODistributedWorker leastBusy = null;
+    int leastLoad = Integer.MAX_VALUE;
+    for (ODistributedWorker worker : workerThreads) {
+      final int load = getLoad(worker);
+      if (load < leastLoad) {
+        leastBusy = worker;
+        leastLoad = load;
+      }
+    }
+
+    if (leastLoad >= OGlobalConfiguration.DISTRIBUTED_DB_WORKERTHREADS_SCALE_QUEUESIZE.getValueAsInteger()
+        && workerThreads.size() < maxWorkers && running) {
+      ODistributedServerLog.info(this, localNodeName, null, DIRECTION.NONE,
+          "All the %d workers of database '%s' are busy (queue=%d), starting a new worker", workerThreads.size(), databaseName,
+          leastLoad);
+      return startWorker(workerThreads.size());
     }
-    return involvedWorkerQueues;
+    return leastBusy;
   }
 
-  protected void processRequest(final int partitionKey, final ODistributedRequest request) {
-    if (workerThreads.isEmpty())
-      throw new ODistributedException("There are no worker threads to process request " + request);
+  private void dispatch(final ODistributedRequest request, final Map<ODistributedWorker, List<OPartitionOwner>> involvedWorkers) {
+    ODistributedServerLog
+        .debug(this, localNodeName, null, DIRECTION.NONE, "Request %s on database '%s' involvedQueues=%d", request, databaseName,
+            involvedWorkers.size());
 
-    final int partition = partitionKey % workerThreads.size();
+    if (involvedWorkers.size() == 1) {
+      // JUST ONE QUEUE INVOLVED: PROCESS IT IMMEDIATELY
+      final Map.Entry<ODistributedWorker, List<OPartitionOwner>> entry = involvedWorkers.entrySet().iterator().next();
+      dispatch(entry.getKey(), request, entry.getValue());
+    } else {
+      // INVOLVING MULTIPLE QUEUES
+      ODistributedServerLog.debug(this, localNodeName, null, DIRECTION.NONE,
+          "Request %s on database '%s' waiting for all the previous requests to be completed", request, databaseName);
+      CyclicBarrier started = new CyclicBarrier(involvedWorkers.size());
+      CyclicBarrier finished = new CyclicBarrier(involvedWorkers.size());
+      // WAIT ALL THE INVOLVED QUEUES ARE FREE AND SYNCHRONIZED
+      for (Map.Entry<ODistributedWorker, List<OPartitionOwner>> entry : involvedWorkers.entrySet()) {
+        OWaitPartitionsReadyTask waitRequest = new OWaitPartitionsReadyTask(started, request.getTask(), finished);
+
+        final ODistributedRequest syncRequest = new ODistributedRequest(null, request.getId().getNodeId(),
+            request.getId().getMessageId(), databaseName, waitRequest);
+        dispatch(entry.getKey(), syncRequest, entry.getValue());
+      }
+    }
+  }
 
+  private void dispatch(final ODistributedWorker worker, final ODistributedRequest request, final List<OPartitionOwner> owners) {
     ODistributedServerLog.debug(this, localNodeName, request.getTask().getNodeSource(), DIRECTION.IN,
-        "Request %s on database '%s' dispatched to the worker %d", request, databaseName, partition);
+        "Request %s on database '%s' dispatched to the worker %d", request, databaseName, worker.id);
+
+    if (!owners.isEmpty())
+      synchronized (partitionOwners) {
+        acquiredPartitions.put(request, owners);
+      }
+
+    boolean queued = false;
+    try {
+      queued = worker.processRequest(request);
+    } finally {
+      // THE WORKER CAN BE STOPPED ONLY AFTER THE REQUEST IS IN ITS QUEUE
+      worker.dispatching.decrementAndGet();
+      if (!queued)
+        onRequestProcessed(request);
+    }
+  }
+
+  static final class OPartitionOwner {
+    private final int                partitionKey;
+    private final ODistributedWorker worker;
+    private       int                pending;
 
-    workerThreads.get(partition).processRequest(request);
+    private OPartitionOwner(final int partitionKey, final ODistributedWorker worker) {
+      this.partitionKey = partitionKey;
+      this.worker = worker;
+    }
   }
 
   @Override
@@ -964,7 +1207,13 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
       }
       lockThread = null;
       nowaitThread = null;
+      for (ODistributedWorker workerThread : workerThreads)
+        unregisterWorkerHooks(workerThread);
       workerThreads.clear();
+      synchronized (partitionOwners) {
+        partitionOwners.clear();
+        acquiredPartitions.clear();
+      }
 
       // SAVE SYNC CONFIGURATION
       try {
@@ -1151,13 +1400,46 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
     nowaitThread = new ODistributedWorker(this, databaseName, -4, true);
     nowaitThread.start();
 
-    for (int i = 0; i < totalWorkers; ++i) {
-      final ODistributedWorker workerThread = new ODistributedWorker(this, databaseName, i, true);
-      workerThreads.add(workerThread);
-      workerThread.start();
+    initialWorkers = totalWorkers;
+    maxWorkers = OGlobalConfiguration.DISTRIBUTED_DB_WORKERTHREADS_MAX.getValueAsInteger();
+    if (maxWorkers <= 0)
+      maxWorkers = totalWorkers * 2;
 
-      ALL_QUEUES.add(i);
-    }
+    for (int i = 0; i < totalWorkers; ++i)
+      startWorker(i);
+  }
+
+  private ODistributedWorker startWorker(final int id) {
+    final ODistributedWorker workerThread = new ODistributedWorker(this, databaseName, id, true);
+    workerThreads.add(workerThread);
+    workerThread.start();
+
+    Orient.instance().getProfiler()
+        .registerHookValue("distributed.db." + databaseName + ".worker." + id + ".queueSize", "Number of requests in worker queue",
+            OProfiler.METRIC_TYPE.COUNTER, new OAbstractProfiler.OProfilerHookValue() {
+              @Override
+              public Object getValue() {
+                return (long) workerThread.getQueueSize();
+              }
+            }, "distributed.db.*.worker.*.queueSize");
+
+    Orient.instance().getProfiler()
+        .registerHookValue("distributed.db." + databaseName + ".worker." + id + ".latency",
+            "Number of requests executed by the worker by execution time", OProfiler.METRIC_TYPE.TEXT,
+            new OAbstractProfiler.OProfilerHookValue() {
+              @Override
+              public Object getValue() {
+                return workerThread.getLatencyHistogram().toString();
+              }
+            }, "distributed.db.*.worker.*.latency");
+
+    return workerThread;
+  }
+
+  private void unregisterWorkerHooks(final ODistributedWorker workerThread) {
+    Orient.instance().getProfiler()
+        .unregisterHookValue("distributed.db." + databaseName + ".worker." + workerThread.id + ".queueSize");
+    Orient.instance().getProfiler().unregisterHookValue("distributed.db." + databaseName + ".worker." + workerThread.id + ".latency");
   }
 
   @Override
@@ -1276,8 +1558,16 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
         if (w != null)
           w.reset();
       }
-      recordLockManager.reset();
-      indexKeyLockManager.reset();
+      synchronized (partitionOwners) {
+        partitionOwners.clear();
+        acquiredPartitions.clear();
+      }
+      appliedTransactions.clear();
+      // THE SYSTEM DATABASE HAS NO LOCK MANAGERS
+      if (recordLockManager != null)
+        recordLockManager.reset();
+      if (indexKeyLockManager != null)
+        indexKeyLockManager.reset();
     }
 
     this.parsing.set(false);
@@ -1332,7 +1622,8 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
         final ArrayBlockingQueue<ODistributedRequest> queue = t.localQueue;
 
         if (processing != null || !queue.isEmpty()) {
-          buffer.append("\n  - QUEUE " + t.id + " EXECUTING: " + processing);
+          buffer.append("\n  - QUEUE " + t.id + " (size=" + queue.size() + " latency=" + t.getLatencyHistogram() + ") EXECUTING: "
+              + processing);
           int i = 0;
           for (ODistributedRequest m : queue) {
             if (m != null)
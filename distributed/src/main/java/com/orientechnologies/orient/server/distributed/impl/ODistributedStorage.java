@@ -613,8 +613,8 @@ public class ODistributedStorage implements OStorage, OFreezableStorageComponent
       // CHECK IF LOCAL NODE OWNS THE DATA AND READ-QUORUM = 1: GET IT LOCALLY BECAUSE IT'S FASTER
       final String localNodeName = dManager.getLocalNodeName();
 
-      if (nodes.isEmpty()
-          || nodes.contains(dManager.getLocalNodeName()) && dbCfg.getReadQuorum(clusterName, availableNodes, localNodeName) <= 1) {
+      if (nodes.isEmpty() || nodes.contains(dManager.getLocalNodeName()) && (
+          dbCfg.getReadQuorum(clusterName, availableNodes, localNodeName) <= 1 || isConsistencyTokenSet())) {
         // DON'T REPLICATE
         return (OStorageOperationResult<ORawBuffer>) OScenarioThreadLocal.executeAsDistributed(new Callable() {
           @Override
@@ -657,6 +657,15 @@ public class ODistributedStorage implements OStorage, OFreezableStorageComponent
     }
   }
 
+  /**
+   * Returns true if the current session set a consistency token: the local node applied the transactions of the session, so the
+   * records can be read locally.
+   */
+  private boolean isConsistencyTokenSet() {
+    final ODatabaseDocumentInternal database = ODatabaseRecordThreadLocal.instance().getIfDefined();
+    return database instanceof ODatabaseDocumentDistributed && ((ODatabaseDocumentDistributed) database).isConsistencyTokenSet();
+  }
+
   @Override
   public OStorageOperationResult<ORawBuffer> readRecordIfVersionIsNotLatest(final ORecordId rid, final String fetchPlan,
       final boolean ignoreCache, final int recordVersion) throws ORecordNotFoundException {
@@ -677,8 +686,8 @@ public class ODistributedStorage implements OStorage, OFreezableStorageComponent
       // CHECK IF LOCAL NODE OWNS THE DATA AND READ-QUORUM = 1: GET IT LOCALLY BECAUSE IT'S FASTER
       final String localNodeName = dManager.getLocalNodeName();
 
-      if (nodes.isEmpty()
-          || nodes.contains(dManager.getLocalNodeName()) && dbCfg.getReadQuorum(clusterName, availableNodes, localNodeName) <= 1) {
+      if (nodes.isEmpty() || nodes.contains(dManager.getLocalNodeName()) && (
+          dbCfg.getReadQuorum(clusterName, availableNodes, localNodeName) <= 1 || isConsistencyTokenSet())) {
         // DON'T REPLICATE
         return (OStorageOperationResult<ORawBuffer>) OScenarioThreadLocal.executeAsDistributed(new Callable() {
           @Override
@@ -37,10 +37,14 @@ import com.orientechnologies.orient.server.distributed.ODistributedServerLog.DIR
 import com.orientechnologies.orient.server.distributed.task.ODistributedOperationException;
 import com.orientechnologies.orient.server.distributed.task.ORemoteTask;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Hazelcast implementation of distributed peer. There is one instance per database. Each node creates own instance to talk with
@@ -65,8 +69,15 @@ public class ODistributedWorker extends Thread {
 
   private AtomicLong    processedRequests     = new AtomicLong(0);
   private AtomicBoolean waitingForNextRequest = new AtomicBoolean(true);
+  private volatile long lastActivity          = System.currentTimeMillis();
+
+  // REQUESTS THE DATABASE IS PUTTING IN THE QUEUE, THE WORKER CANNOT BE STOPPED WHEN IDLE UNTIL THEY ARE QUEUED
+  final AtomicInteger dispatching = new AtomicInteger();
 
   private static final long                MAX_SHUTDOWN_TIMEOUT = 5000l;
+  // UPPER BOUNDS (IN MS) OF THE BUCKETS OF THE LATENCY HISTOGRAM, THE LAST BUCKET HAS NO BOUND
+  private static final long[]              LATENCY_BOUNDS       = { 1, 10, 100, 1000 };
+  private final        AtomicLongArray     latencies            = new AtomicLongArray(LATENCY_BOUNDS.length + 1);
   private volatile     ODistributedRequest currentExecuting;
 
   public ODistributedWorker(final ODistributedDatabaseImpl iDistributed, final String iDatabaseName, final int i,
@@ -115,12 +126,25 @@ public class ODistributedWorker extends Thread {
       try {
         message = readRequest();
 
+        if (message == null && distributed.removeIdleWorker(this)) {
+          running = false;
+          closeDatabase();
+          break;
+        }
+
         currentExecuting = message;
 
         if (message != null) {
           message.getId();
           reqId = message.getId();
-          onMessage(message);
+          final long begin = System.nanoTime();
+          try {
+            onMessage(message);
+          } finally {
+            distributed.onRequestProcessed(message);
+            updateLatencies(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+            lastActivity = System.currentTimeMillis();
+          }
         }
 
         currentExecuting = null;
@@ -229,10 +253,7 @@ public class ODistributedWorker extends Thread {
 
       localQueue.clear();
 
-      if (database != null) {
-        database.activateOnCurrentThread();
-        database.close();
-      }
+      closeDatabase();
 
     } catch (Exception e) {
       ODistributedServerLog
@@ -242,6 +263,13 @@ public class ODistributedWorker extends Thread {
     }
   }
 
+  private void closeDatabase() {
+    if (database != null) {
+      database.activateOnCurrentThread();
+      database.close();
+    }
+  }
+
   public ODatabaseDocumentInternal getDatabase() {
     return database;
   }
@@ -265,6 +293,10 @@ public class ODistributedWorker extends Thread {
     return req;
   }
 
+  public long getLastActivity() {
+    return lastActivity;
+  }
+
   public boolean isWaitingForNextRequest() {
     return waitingForNextRequest.get();
   }
@@ -471,6 +503,28 @@ public class ODistributedWorker extends Thread {
     return processedRequests.get();
   }
 
+  public int getQueueSize() {
+    return localQueue.size();
+  }
+
+  /**
+   * Returns the number of requests executed by this worker by execution time, from the fastest to the slowest.
+   */
+  public Map<String, Long> getLatencyHistogram() {
+    final Map<String, Long> histogram = new LinkedHashMap<String, Long>();
+    for (int i = 0; i < LATENCY_BOUNDS.length; ++i)
+      histogram.put("<" + LATENCY_BOUNDS[i] + "ms", latencies.get(i));
+    histogram.put(">=" + LATENCY_BOUNDS[LATENCY_BOUNDS.length - 1] + "ms", latencies.get(LATENCY_BOUNDS.length));
+    return histogram;
+  }
+
+  private void updateLatencies(final long millis) {
+    int bucket = 0;
+    while (bucket < LATENCY_BOUNDS.length && millis >= LATENCY_BOUNDS[bucket])
+      bucket++;
+    latencies.incrementAndGet(bucket);
+  }
+
   public void reset() {
     localQueue.clear();
     if (database != null) {
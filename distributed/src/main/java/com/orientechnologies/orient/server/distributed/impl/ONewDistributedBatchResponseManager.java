@@ -0,0 +1,163 @@
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.server.distributed.*;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase1BatchTask;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase1BatchTaskResult;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase1Task;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase1TaskResult;
+import com.orientechnologies.orient.server.distributed.impl.task.transaction.OTxException;
+
+import java.util.*;
+
+/**
+ * Collects the responses to the first phase of a batch of transactions, by splitting the result of every node among the response
+ * managers of the single transactions. The batch is finished when all the transactions are.
+ */
+public class ONewDistributedBatchResponseManager implements ODistributedResponseManager {
+
+  private final List<ONewDistributedResponseManager> responseManagers = new ArrayList<>();
+  private final Set<String>                          nodesConcurToTheQuorum;
+  private final List<String>                         respondingNodes  = new ArrayList<>();
+  private final String                               databaseName;
+  private final long                                 sentOn           = System.nanoTime();
+  private final long                                 timeout;
+
+  public ONewDistributedBatchResponseManager(ODistributedRequest iRequest, OTransactionPhase1BatchTask iTask,
+      Collection<String> iNodes, Set<String> nodesConcurToTheQuorum, int availableNodes, int expectedResponses, int quorum) {
+    this.nodesConcurToTheQuorum = nodesConcurToTheQuorum;
+    this.databaseName = iRequest.getDatabaseName();
+    for (OTransactionPhase1Task transaction : iTask.getTransactions()) {
+      responseManagers.add(
+          new ONewDistributedResponseManager(transaction, iNodes, nodesConcurToTheQuorum, availableNodes, expectedResponses,
+              quorum));
+    }
+    this.timeout = iTask.getSynchronousTimeout(expectedResponses);
+  }
+
+  public List<ONewDistributedResponseManager> getResponseManagers() {
+    return responseManagers;
+  }
+
+  @Override
+  public synchronized boolean setLocalResult(String localNodeName, Object localResult) {
+    final List<?> localResults = (List<?>) localResult;
+    for (int i = 0; i < responseManagers.size(); i++) {
+      responseManagers.get(i).setLocalResult(localNodeName, localResults.get(i));
+    }
+    return isFinished();
+  }
+
+  @Override
+  public ODistributedResponse getFinalResponse() {
+    return null;
+  }
+
+  @Override
+  public synchronized void removeServerBecauseUnreachable(String node) {
+    for (ONewDistributedResponseManager responseManager : responseManagers) {
+      responseManager.removeServerBecauseUnreachable(node);
+    }
+  }
+
+  @Override
+  public boolean waitForSynchronousResponses() throws InterruptedException {
+    boolean quorumReached = true;
+    for (ONewDistributedResponseManager responseManager : responseManagers) {
+      // THE TRANSACTIONS OF THE BATCH ARE ANSWERED TOGETHER: AFTER THE FIRST ONE THE OTHERS DO NOT WAIT
+      quorumReached &= responseManager.waitForSynchronousResponses();
+    }
+    return quorumReached;
+  }
+
+  @Override
+  public long getSynchTimeout() {
+    return timeout;
+  }
+
+  @Override
+  public void cancel() {
+    //This should do nothing we cannot cancel things
+  }
+
+  @Override
+  public Set<String> getExpectedNodes() {
+    return nodesConcurToTheQuorum;
+  }
+
+  @Override
+  public synchronized List<String> getRespondingNodes() {
+    return new ArrayList<>(respondingNodes);
+  }
+
+  @Override
+  public Set<String> getServersWithoutFollowup() {
+    return null;
+  }
+
+  @Override
+  public ODistributedRequestId getMessageId() {
+    return null;
+  }
+
+  @Override
+  public ODistributedRequest getRequest() {
+    return null;
+  }
+
+  @Override
+  public int getQuorum() {
+    return 0;
+  }
+
+  @Override
+  public synchronized boolean collectResponse(ODistributedResponse response) {
+    respondingNodes.add(response.getSenderNodeName());
+    final Object payload = response.getPayload();
+    if (payload instanceof OTransactionPhase1BatchTaskResult) {
+      final List<OTransactionPhase1TaskResult> results = ((OTransactionPhase1BatchTaskResult) payload).getResults();
+      for (int i = 0; i < responseManagers.size(); i++) {
+        responseManagers.get(i).collectResponse(results.get(i), response.getSenderNodeName());
+      }
+    } else {
+      final RuntimeException exception = payload instanceof RuntimeException ?
+          (RuntimeException) payload :
+          new ODistributedException("unknown payload:" + payload);
+      for (ONewDistributedResponseManager responseManager : responseManagers) {
+        responseManager.collectResponse(new OTransactionPhase1TaskResult(new OTxException(exception)), response.getSenderNodeName());
+      }
+    }
+    return isFinished();
+  }
+
+  @Override
+  public void timeout() {
+
+  }
+
+  @Override
+  public long getSentOn() {
+    return sentOn;
+  }
+
+  @Override
+  public synchronized List<String> getMissingNodes() {
+    final List<String> missingNodes = new ArrayList<>(nodesConcurToTheQuorum);
+    missingNodes.removeAll(respondingNodes);
+    return missingNodes;
+  }
+
+  @Override
+  public String getDatabaseName() {
+    return databaseName;
+  }
+
+  @Override
+  public boolean isFinished() {
+    for (ONewDistributedResponseManager responseManager : responseManagers) {
+      if (!responseManager.isFinished()) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
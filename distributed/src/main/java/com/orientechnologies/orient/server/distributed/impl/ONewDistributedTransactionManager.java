@@ -40,7 +40,9 @@ import com.orientechnologies.orient.server.distributed.ODistributedRequest.EXECU
 import com.orientechnologies.orient.server.distributed.ODistributedRequestId;
 import com.orientechnologies.orient.server.distributed.ODistributedServerLog;
 import com.orientechnologies.orient.server.distributed.ODistributedServerManager;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase1BatchTask;
 import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase1Task;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase2BatchTask;
 import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase2Task;
 import com.orientechnologies.orient.server.distributed.impl.task.transaction.*;
 import com.orientechnologies.orient.server.distributed.task.ODistributedOperationException;
@@ -61,6 +63,7 @@ public class ONewDistributedTransactionManager {
 
   private static final boolean                        SYNC_TX_COMPLETED = false;
   private              ONewDistributedResponseManager responseManager;
+  private              int                            batchSize         = 1;
 
   public ONewDistributedTransactionManager(final ODistributedStorage storage, final ODistributedServerManager manager,
       final ODistributedDatabase iDDatabase) {
@@ -69,15 +72,17 @@ public class ONewDistributedTransactionManager {
     this.localDistributedDatabase = iDDatabase;
   }
 
-  public void commit(final ODatabaseDocumentDistributed database, final OTransactionInternal iTx) {
+  /**
+   * @return the id of the committed transaction
+   */
+  public ODistributedRequestId commit(final ODatabaseDocumentDistributed database, final OTransactionInternal iTx) {
     int nretry = database.getConfiguration().getValueAsInteger(OGlobalConfiguration.DISTRIBUTED_CONCURRENT_TX_MAX_AUTORETRY);
     int delay = database.getConfiguration().getValueAsInteger(OGlobalConfiguration.DISTRIBUTED_CONCURRENT_TX_AUTORETRY_DELAY);
     int count = 0;
     do {
 
       try {
-        retriedCommit(database, iTx, count);
-        return;
+        return retriedCommit(database, iTx, count);
       } catch (ODistributedRecordLockedException ex) {
         if (count == nretry) {
           throw ex;
@@ -87,7 +92,7 @@ public class ONewDistributedTransactionManager {
           Thread.sleep(delay * count + v);
         } catch (InterruptedException e) {
           Thread.currentThread().interrupt();
-          return;
+          return null;
         }
       } catch (OConcurrentCreateException ex) {
         if (count == nretry) {
@@ -98,7 +103,7 @@ public class ONewDistributedTransactionManager {
           Thread.sleep(delay * count + v);
         } catch (InterruptedException e) {
           Thread.currentThread().interrupt();
-          return;
+          return null;
         }
       }
       count++;
@@ -106,7 +111,7 @@ public class ONewDistributedTransactionManager {
 
   }
 
-  public void retriedCommit(final ODatabaseDocumentDistributed database, final OTransactionInternal iTx,
+  public ODistributedRequestId retriedCommit(final ODatabaseDocumentDistributed database, final OTransactionInternal iTx,
       int retryCount) {
     final String localNodeName = dManager.getLocalNodeName();
 
@@ -135,7 +140,7 @@ public class ONewDistributedTransactionManager {
           Thread.sleep(delay * count + v);
         } catch (InterruptedException e) {
           Thread.currentThread().interrupt();
-          return;
+          return null;
         }
       }
       count++;
@@ -181,7 +186,7 @@ public class ONewDistributedTransactionManager {
         throw new ODistributedRecordLockedException("DeadLock", new ORecordId(-1, -1), requestId,
             database.getConfiguration().getValueAsInteger(OGlobalConfiguration.DISTRIBUTED_ATOMIC_LOCK_TIMEOUT));
       }
-      return;
+      return requestId;
     }
     //TODO:check the lsn
     txTask.setLastLSN(getLsn());
@@ -189,20 +194,29 @@ public class ONewDistributedTransactionManager {
     final Set sentNodes = new HashSet(nodes);
 
     iTx.setStatus(OTransaction.TXSTATUS.COMMITTING);
-    // SYNCHRONOUS CALL: REPLICATE IT
-    ((ODistributedAbstractPlugin) dManager)
-        .sendRequest(storage.getName(), involvedClusters, nodes, txTask, requestId.getMessageId(), EXECUTION_MODE.RESPONSE,
-            localResult, null, null,
-            ((iRequest, iNodes, endCallback, task, nodesConcurToTheQuorum, availableNodes, expectedResponses, quorum, groupByResponse, waitLocalNode) -> {
-              responseManager = new ONewDistributedResponseManager(txTask, iNodes, nodesConcurToTheQuorum, availableNodes,
-                  expectedResponses, quorum);
-              return responseManager;
-            }));
+    batchSize = database.getConfiguration().getValueAsInteger(OGlobalConfiguration.DISTRIBUTED_TX_BATCH_SIZE);
+    if (batchSize > 1) {
+      // SYNCHRONOUS CALL: REPLICATE IT TOGETHER WITH THE CONCURRENT TRANSACTIONS SENT TO THE SAME CLUSTERS AND NODES. THEIR
+      // RECORDS AND INDEX KEYS CANNOT CONFLICT, BECAUSE EACH ONE IS STILL LOCKED BY THE LOCAL FIRST PHASE
+      responseManager = getDistributedDatabase().getTxPhase1Batcher()
+          .submit(Arrays.asList(involvedClusters, nodes, txTask.getQuorumType()), new OPhase1Request(requestId, txTask, localResult),
+              batchSize, batch -> sendPhase1Batch(involvedClusters, nodes, batch));
+    } else {
+      // SYNCHRONOUS CALL: REPLICATE IT
+      ((ODistributedAbstractPlugin) dManager)
+          .sendRequest(storage.getName(), involvedClusters, nodes, txTask, requestId.getMessageId(), EXECUTION_MODE.RESPONSE,
+              localResult, null, null,
+              ((iRequest, iNodes, endCallback, task, nodesConcurToTheQuorum, availableNodes, expectedResponses, quorum, groupByResponse, waitLocalNode) -> {
+                responseManager = new ONewDistributedResponseManager(txTask, iNodes, nodesConcurToTheQuorum, availableNodes,
+                    expectedResponses, quorum);
+                return responseManager;
+              }));
+    }
 
     handleResponse(requestId, responseManager, involvedClusters, sentNodes, database, iTx);
 
     // OK, DISTRIBUTED COMMIT SUCCEED
-    return;
+    return requestId;
 
   }
 
@@ -210,6 +224,29 @@ public class ONewDistributedTransactionManager {
     return ((OAbstractPaginatedStorage) storage.getUnderlying()).getLSN();
   }
 
+  private List<ONewDistributedResponseManager> sendPhase1Batch(final Set<String> involvedClusters, final Set<String> nodes,
+      final List<OPhase1Request> batch) {
+    final OTransactionPhase1BatchTask batchTask = (OTransactionPhase1BatchTask) dManager.getTaskFactoryManager()
+        .getFactoryByServerNames(nodes).createTask(OTransactionPhase1BatchTask.FACTORYID);
+    final List<OTransactionResultPayload> localResults = new ArrayList<>(batch.size());
+    for (OPhase1Request request : batch) {
+      batchTask.addTransaction(request.requestId, request.task);
+      localResults.add(request.localResult);
+    }
+    batchTask.setLastLSN(getLsn());
+
+    final ONewDistributedBatchResponseManager[] batchResponseManager = new ONewDistributedBatchResponseManager[1];
+    ((ODistributedAbstractPlugin) dManager)
+        .sendRequest(storage.getName(), involvedClusters, nodes, batchTask, dManager.getNextMessageIdCounter(),
+            EXECUTION_MODE.RESPONSE, localResults, null, null,
+            ((iRequest, iNodes, endCallback, task, nodesConcurToTheQuorum, availableNodes, expectedResponses, quorum, groupByResponse, waitLocalNode) -> {
+              batchResponseManager[0] = new ONewDistributedBatchResponseManager(iRequest, batchTask, iNodes, nodesConcurToTheQuorum,
+                  availableNodes, expectedResponses, quorum);
+              return batchResponseManager[0];
+            }));
+    return batchResponseManager[0].getResponseManagers();
+  }
+
   private void handleResponse(ODistributedRequestId requestId, ONewDistributedResponseManager responseManager,
       Set<String> involvedClusters, Set<String> nodes, ODatabaseDocumentDistributed database, OTransactionInternal iTx) {
 
@@ -326,11 +363,29 @@ public class ONewDistributedTransactionManager {
   }
 
   private void sendPhase2Task(Set<String> involvedClusters, Set<String> nodes, OTransactionPhase2Task task) {
+    if (batchSize > 1) {
+      getDistributedDatabase().getTxPhase2Batcher().submit(Arrays.asList(involvedClusters, nodes), task, batchSize, batch -> {
+        final OTransactionPhase2BatchTask batchTask = (OTransactionPhase2BatchTask) dManager.getTaskFactoryManager()
+            .getFactoryByServerNames(nodes).createTask(OTransactionPhase2BatchTask.FACTORYID);
+        for (OTransactionPhase2Task transaction : batch) {
+          batchTask.addTransaction(transaction);
+        }
+        batchTask.setLastLSN(getLsn());
+        dManager.sendRequest(storage.getName(), involvedClusters, nodes, batchTask, dManager.getNextMessageIdCounter(),
+            EXECUTION_MODE.RESPONSE, "OK", null, null);
+        return Collections.nCopies(batch.size(), null);
+      });
+      return;
+    }
     dManager
         .sendRequest(storage.getName(), involvedClusters, nodes, task, dManager.getNextMessageIdCounter(), EXECUTION_MODE.RESPONSE,
             "OK", null, null);
   }
 
+  private ODistributedDatabaseImpl getDistributedDatabase() {
+    return (ODistributedDatabaseImpl) localDistributedDatabase;
+  }
+
   protected void checkForClusterIds(final OTransactionInternal iTx) {
     for (ORecordOperation op : iTx.getRecordOperations()) {
       final ORecordId rid = (ORecordId) op.getRecord().getIdentity();
@@ -367,4 +422,19 @@ public class ONewDistributedTransactionManager {
     return txTask;
   }
 
+  /**
+   * First phase of a transaction waiting to be replicated with a batch.
+   */
+  static final class OPhase1Request {
+    private final ODistributedRequestId     requestId;
+    private final OTransactionPhase1Task    task;
+    private final OTransactionResultPayload localResult;
+
+    OPhase1Request(final ODistributedRequestId requestId, final OTransactionPhase1Task task,
+        final OTransactionResultPayload localResult) {
+      this.requestId = requestId;
+      this.task = task;
+      this.localResult = localResult;
+    }
+  }
 }
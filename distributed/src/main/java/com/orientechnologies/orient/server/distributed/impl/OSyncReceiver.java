@@ -3,6 +3,7 @@ package com.orientechnologies.orient.server.distributed.impl;
 import com.orientechnologies.common.collection.OMultiValue;
 import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.common.io.OFileUtils;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.server.distributed.ODistributedException;
 import com.orientechnologies.orient.server.distributed.ODistributedMomentum;
 import com.orientechnologies.orient.server.distributed.ODistributedRequest;
@@ -11,7 +12,12 @@ import com.orientechnologies.orient.server.distributed.ODistributedServerLog;
 import com.orientechnologies.orient.server.distributed.impl.task.OCopyDatabaseChunkTask;
 
 import java.io.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class OSyncReceiver implements Runnable {
@@ -25,6 +31,8 @@ public class OSyncReceiver implements Runnable {
   private final CountDownLatch                        started = new CountDownLatch(1);
   private       PipedOutputStream                     output;
   private       PipedInputStream                      inputStream;
+  private       long                                  startTime;
+  private       long                                  transferred;
 
   public OSyncReceiver(ODistributedAbstractPlugin distributed, String databaseName, ODistributedDatabaseChunk firstChunk,
       AtomicReference<ODistributedMomentum> momentum, String iNode, String dbPath) {
@@ -43,6 +51,7 @@ public class OSyncReceiver implements Runnable {
       ODistributedDatabaseChunk chunk = firstChunk;
 
       momentum.set(chunk.getMomentum());
+      startTime = System.currentTimeMillis();
 
       output = new PipedOutputStream();
       inputStream = new PipedInputStream(output);
@@ -50,7 +59,13 @@ public class OSyncReceiver implements Runnable {
       try {
 
         long fileSize = writeDatabaseChunk(1, chunk, output);
-        for (int chunkNum = 2; !chunk.last; chunkNum++) {
+        if (!chunk.last && !chunk.filePath.isEmpty()) {
+          // FULL BACKUP: THE CHUNKS CAN BE REQUESTED BY OFFSET
+          fileSize += receiveChunksByOffset(chunk);
+        }
+
+        // A DELTA IS STREAMED, SO ITS CHUNKS ARE REQUESTED ONE AFTER THE OTHER
+        for (int chunkNum = 2; !chunk.last && chunk.filePath.isEmpty(); chunkNum++) {
           final ODistributedResponse response = distributed.sendRequest(databaseName, null, OMultiValue.getSingletonList(iNode),
               new OCopyDatabaseChunkTask(chunk.filePath, chunkNum, chunk.offset + chunk.buffer.length, false),
               distributed.getNextMessageIdCounter(), ODistributedRequest.EXECUTION_MODE.RESPONSE, null, null, null);
@@ -73,9 +88,10 @@ public class OSyncReceiver implements Runnable {
           }
         }
 
-        ODistributedServerLog
-            .info(this, distributed.nodeName, null, ODistributedServerLog.DIRECTION.NONE, "Database copied correctly, size=%s",
-                OFileUtils.getSizeAsString(fileSize));
+        final long elapsed = System.currentTimeMillis() - startTime;
+        ODistributedServerLog.info(this, distributed.nodeName, null, ODistributedServerLog.DIRECTION.NONE,
+            "Database copied correctly (%s), size=%s in %dms (%s/sec)", firstChunk.incremental ? "delta" : "full",
+            OFileUtils.getSizeAsString(fileSize), elapsed, OFileUtils.getSizeAsString(throughput(fileSize, elapsed)));
 
       } finally {
         try {
@@ -98,11 +114,83 @@ public class OSyncReceiver implements Runnable {
     }
   }
 
+  /**
+   * Keeps more chunks requested at the same time, so the sender reads and sends the next ones while the current one is written,
+   * and requests a chunk again after an error, because the sender reads it from the backup file by offset.
+   */
+  private long receiveChunksByOffset(final ODistributedDatabaseChunk firstChunk) throws Exception {
+    final int chunksInFlight = Math.max(1, OGlobalConfiguration.DISTRIBUTED_DEPLOYDB_TASK_CHUNKS_IN_FLIGHT.getValueAsInteger());
+    final String filePath = firstChunk.filePath;
+    final int chunkSize = firstChunk.buffer.length;
+
+    final ExecutorService executor = Executors.newFixedThreadPool(chunksInFlight, r -> {
+      final Thread thread = new Thread(r, "OrientDB installDatabase chunks node=" + distributed.nodeName + " db=" + databaseName);
+      thread.setDaemon(true);
+      return thread;
+    });
+    final Deque<Future<ODistributedDatabaseChunk>> requested = new ArrayDeque<>(chunksInFlight);
+    try {
+      long size = 0;
+      long nextOffset = firstChunk.offset + chunkSize;
+      int nextChunkNum = 2;
+
+      ODistributedDatabaseChunk chunk = firstChunk;
+      for (int chunkNum = 2; !chunk.last; chunkNum++) {
+        while (requested.size() < chunksInFlight) {
+          final int requestedChunkNum = nextChunkNum++;
+          final long requestedOffset = nextOffset;
+          requested.add(executor.submit(() -> requestChunk(filePath, requestedChunkNum, requestedOffset)));
+          nextOffset += chunkSize;
+        }
+
+        chunk = requested.poll().get();
+        size += writeDatabaseChunk(chunkNum, chunk, output);
+      }
+      return size;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private ODistributedDatabaseChunk requestChunk(final String filePath, final int chunkNum, final long offset) {
+    final int retries = OGlobalConfiguration.DISTRIBUTED_DEPLOYCHUNK_TASK_RETRIES.getValueAsInteger();
+    for (int retry = 0; ; ++retry) {
+      Object result;
+      try {
+        final ODistributedResponse response = distributed.sendRequest(databaseName, null, OMultiValue.getSingletonList(iNode),
+            new OCopyDatabaseChunkTask(filePath, chunkNum, offset, false), distributed.getNextMessageIdCounter(),
+            ODistributedRequest.EXECUTION_MODE.RESPONSE, null, null, null);
+        result = response != null ? response.getPayload() : null;
+      } catch (RuntimeException e) {
+        // TIMEOUT OR CONNECTION LOST: THE CHUNK IS READ BY OFFSET, SO IT CAN BE REQUESTED AGAIN
+        result = e;
+      }
+
+      if (result instanceof ODistributedDatabaseChunk && ((ODistributedDatabaseChunk) result).offset == offset) {
+        return (ODistributedDatabaseChunk) result;
+      }
+
+      if (retry >= retries) {
+        final ODistributedException exception = new ODistributedException(
+            "Cannot receive chunk #" + chunkNum + " offset=" + offset + " of database '" + databaseName + "' from server '" + iNode
+                + "'");
+        throw result instanceof Exception ? OException.wrapException(exception, (Exception) result) : exception;
+      }
+
+      ODistributedServerLog.warn(this, distributed.nodeName, iNode, ODistributedServerLog.DIRECTION.IN,
+          "error on receiving chunk #%d offset=%d of database %s (%s), requesting it again", chunkNum, offset, databaseName,
+          result);
+    }
+  }
+
   protected long writeDatabaseChunk(final int iChunkId, final ODistributedDatabaseChunk chunk, final OutputStream out)
       throws IOException {
 
+    transferred += chunk.buffer.length;
     ODistributedServerLog.info(this, distributed.getLocalNodeName(), null, ODistributedServerLog.DIRECTION.NONE,
-        "- writing chunk #%d offset=%d size=%s", iChunkId, chunk.offset, OFileUtils.getSizeAsString(chunk.buffer.length));
+        "- writing chunk #%d offset=%d size=%s (transferred %s, %s/sec)", iChunkId, chunk.offset,
+        OFileUtils.getSizeAsString(chunk.buffer.length), OFileUtils.getSizeAsString(transferred),
+        OFileUtils.getSizeAsString(throughput(transferred, System.currentTimeMillis() - startTime)));
     try {
       out.write(chunk.buffer);
     } catch (IOException e) {
@@ -115,6 +203,10 @@ public class OSyncReceiver implements Runnable {
     return chunk.buffer.length;
   }
 
+  private static long throughput(final long bytes, final long elapsedMillis) {
+    return elapsedMillis > 0 ? bytes * 1000 / elapsedMillis : bytes;
+  }
+
   public CountDownLatch getStarted() {
     return started;
   }
@@ -0,0 +1,144 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.server.distributed.ODistributedException;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Groups the requests of concurrent transactions in batches (group commit). Requests with the same key are sent in order, one
+ * batch at a time: the first transaction that finds no batch in flight for its key sends all the requests queued so far, up to
+ * the maximum batch size, and the other transactions wait for its response. Once the response arrived, the oldest waiting
+ * transaction sends the next batch.
+ *
+ * @param <E> the request of a transaction
+ * @param <R> the result of a request
+ */
+public class OTransactionBatcher<E, R> {
+  private final Map<Object, Deque<OPendingRequest<E, R>>> queues = new HashMap<>();
+
+  private static final class OPendingRequest<E, R> {
+    private final E                request;
+    private       boolean          sender;
+    private       boolean          done;
+    private       R                result;
+    private       RuntimeException error;
+
+    private OPendingRequest(final E request) {
+      this.request = request;
+    }
+  }
+
+  /**
+   * Sends a request together with the ones of the other transactions with the same key.
+   *
+   * @param key          requests with the same key are sent in the same batch
+   * @param request      request of the current transaction
+   * @param maxBatchSize maximum number of requests sent with the same batch
+   * @param sender       sends a batch of requests and returns their results in the same order
+   *
+   * @return the result of the request
+   */
+  public R submit(final Object key, final E request, final int maxBatchSize, final Function<List<E>, List<R>> sender) {
+    final OPendingRequest<E, R> pending = new OPendingRequest<>(request);
+    final Deque<OPendingRequest<E, R>> queue;
+
+    synchronized (this) {
+      queue = queues.computeIfAbsent(key, k -> new ArrayDeque<>());
+      queue.add(pending);
+      pending.sender = queue.size() == 1;
+
+      // THE REQUEST IS QUEUED AND MUST BE SENT, SO WAIT ALSO IF INTERRUPTED
+      boolean interrupted = false;
+      while (!pending.sender && !pending.done) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    if (!pending.done) {
+      send(key, queue, maxBatchSize, sender);
+    }
+
+    if (pending.error != null) {
+      throw pending.error;
+    }
+    return pending.result;
+  }
+
+  private void send(final Object key, final Deque<OPendingRequest<E, R>> queue, final int maxBatchSize,
+      final Function<List<E>, List<R>> sender) {
+    final List<OPendingRequest<E, R>> batch = new ArrayList<>();
+    synchronized (this) {
+      final Iterator<OPendingRequest<E, R>> iterator = queue.iterator();
+      while (iterator.hasNext() && batch.size() < maxBatchSize) {
+        batch.add(iterator.next());
+      }
+    }
+
+    final List<E> requests = new ArrayList<>(batch.size());
+    for (OPendingRequest<E, R> pending : batch) {
+      requests.add(pending.request);
+    }
+
+    List<R> results = null;
+    RuntimeException error = null;
+    try {
+      results = sender.apply(requests);
+    } catch (RuntimeException e) {
+      error = e;
+    } finally {
+      if (results == null && error == null) {
+        error = new ODistributedException("Error on sending a batch of " + batch.size() + " transactions");
+      }
+      complete(key, queue, batch, results, error);
+    }
+  }
+
+  private synchronized void complete(final Object key, final Deque<OPendingRequest<E, R>> queue,
+      final List<OPendingRequest<E, R>> batch, final List<R> results, final RuntimeException error) {
+    for (int i = 0; i < batch.size(); i++) {
+      final OPendingRequest<E, R> pending = batch.get(i);
+      if (error != null) {
+        pending.error = error;
+      } else {
+        pending.result = results.get(i);
+      }
+      pending.done = true;
+      queue.removeFirst();
+    }
+
+    if (queue.isEmpty()) {
+      queues.remove(key);
+    } else {
+      // THE OLDEST WAITING REQUEST SENDS THE NEXT BATCH
+      queue.getFirst().sender = true;
+    }
+    notifyAll();
+  }
+}
@@ -1,5 +1,6 @@
 package com.orientechnologies.orient.server.distributed.impl.task;
 
+import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.common.log.OLogManager;
 import com.orientechnologies.common.types.OModifiableBoolean;
 import com.orientechnologies.orient.core.command.OCommandOutputListener;
@@ -30,7 +31,8 @@ public class OBackgroundBackup implements Runnable, OSyncSource {
   private final    ODistributedRequestId                 requestId;
   private final    CountDownLatch                        started     = new CountDownLatch(1);
   private final    CountDownLatch                        finished    = new CountDownLatch(1);
-  private volatile InputStream                           inputStream;
+  private volatile boolean                               failed;
+  private          InputStream                           inputStream;
   public volatile  boolean                               valid       = true;
 
   public OBackgroundBackup(OSyncDatabaseTask oSyncDatabaseTask, ODistributedServerManager iManager,
@@ -66,10 +68,9 @@ public class OBackgroundBackup implements Runnable, OSyncSource {
           resultedBackupFile.getParentFile().mkdirs();
         resultedBackupFile.createNewFile();
 
-        final OutputStream fileOutputStream = new FileOutputStream(resultedBackupFile);
-        PipedOutputStream pipedOutputStream = new PipedOutputStream();
-        inputStream = new PipedInputStream(pipedOutputStream, OSyncDatabaseTask.CHUNK_MAX_SIZE);
-        OutputStream dest = new TeeOutputStream(fileOutputStream, pipedOutputStream);
+        // THE CHUNKS ARE READ FROM THE FILE BY OFFSET, SO THEY CAN BE REQUESTED IN PARALLEL AND AGAIN AFTER AN ERROR
+        final OutputStream dest = new BufferedOutputStream(new FileOutputStream(resultedBackupFile),
+            OSyncDatabaseTask.CHUNK_MAX_SIZE);
         if (database.getStorage().supportIncremental()) {
           OWriteAheadLog wal = ((OAbstractPaginatedStorage) database.getStorage().getUnderlying()).getWALInstance();
           OLogSequenceNumber lsn = wal.end();
@@ -82,13 +83,9 @@ public class OBackgroundBackup implements Runnable, OSyncSource {
             incremental.set(true);
             started.countDown();
             database.getStorage().fullIncrementalBackup(dest);
-          } catch (UnsupportedOperationException u) {
-            throw u;
-          } catch (RuntimeException r) {
-            finished.countDown();
-            throw r;
           } finally {
             wal.removeCutTillLimit(lsn);
+            dest.close();
           }
           finished.countDown();
           OLogManager.instance().info(this, "Sending Enterprise backup (" + database.getName() + ") for node sync");
@@ -115,12 +112,7 @@ public class OBackgroundBackup implements Runnable, OSyncSource {
                 }, listener, OGlobalConfiguration.DISTRIBUTED_DEPLOYDB_TASK_COMPRESSION.getValueAsInteger(),
                 OAbstractSyncDatabaseTask.CHUNK_MAX_SIZE);
           } finally {
-            try {
-              dest.close();
-            } catch (IOException e2) {
-              OLogManager.instance().debug(this, "Error performing backup ", e2);
-            }
-            finished.countDown();
+            dest.close();
           }
         }
 
@@ -129,6 +121,7 @@ public class OBackgroundBackup implements Runnable, OSyncSource {
                 "Backup of database '%s' completed. lastOperationId=%s...", database.getName(), requestId);
 
       } catch (Exception e) {
+        failed = true;
         OLogManager.instance().error(this, "Cannot execute backup of database '%s' for deploy database", e, database.getName());
         throw e;
       } finally {
@@ -145,11 +138,6 @@ public class OBackgroundBackup implements Runnable, OSyncSource {
 
   }
 
-  public void makeStreamFromFile() throws IOException, InterruptedException {
-    getFinished().await();
-    inputStream = new FileInputStream(finalBackupPath);
-  }
-
   public boolean getIncremental() {
     return incremental.get();
   }
@@ -170,13 +158,41 @@ public class OBackgroundBackup implements Runnable, OSyncSource {
     return finished;
   }
 
-  public InputStream getInputStream() {
+  /**
+   * @return the stream of the backup file, opened at the first call, from which the chunks not requested by offset are read one
+   * after the other
+   */
+  public synchronized InputStream getInputStream() {
+    if (inputStream == null) {
+      try {
+        inputStream = new FileInputStream(resultedBackupFile);
+      } catch (FileNotFoundException e) {
+        throw OException.wrapException(new ODistributedException("Backup file " + resultedBackupFile + " is not available"), e);
+      }
+    }
     return inputStream;
   }
 
+  /**
+   * @return true if the backup has been interrupted by an error, so its file is not complete
+   */
+  public boolean isFailed() {
+    return failed;
+  }
+
   @Override
   public void invalidate() {
     valid = false;
+
+    synchronized (this) {
+      if (inputStream != null) {
+        try {
+          inputStream.close();
+        } catch (IOException e) {
+          OLogManager.instance().debug(this, "Error on closing backup file %s", e, resultedBackupFile);
+        }
+      }
+    }
   }
 
   @Override
@@ -66,9 +66,15 @@ public class OCopyDatabaseChunkTask extends OAbstractReplicatedTask {
     if (storage == null) {
       throw new ODistributedException("database not available anymore during sync");
     }
-    OSyncSource b = storage.getLastValidBackup();
+    final OSyncSource b = storage.getLastValidBackup();
+    if (b == null) {
+      throw new ODistributedException("backup of database not available anymore during sync");
+    }
 
-    final ODistributedDatabaseChunk result = new ODistributedDatabaseChunk(b, OSyncDatabaseTask.CHUNK_MAX_SIZE, null);
+    // A FULL BACKUP IS READ BY OFFSET, A DELTA IS STREAMED IN THE ORDER OF THE REQUESTS
+    final ODistributedDatabaseChunk result = b instanceof OBackgroundBackup ?
+        new ODistributedDatabaseChunk((OBackgroundBackup) b, offset, OSyncDatabaseTask.CHUNK_MAX_SIZE, null) :
+        new ODistributedDatabaseChunk(b, OSyncDatabaseTask.CHUNK_MAX_SIZE, null);
 
     ODistributedServerLog.info(this, iManager.getLocalNodeName(), getNodeSource(), ODistributedServerLog.DIRECTION.OUT,
         "- transferring chunk #%d offset=%d size=%s...", chunkNum, result.offset, OFileUtils.getSizeAsNumber(result.buffer.length));
@@ -123,6 +123,12 @@ public class ODefaultRemoteTaskFactoryV1 extends ODefaultRemoteTaskFactoryV0 {
     case OTransactionPhase2Task.FACTORYID:
       return new OTransactionPhase2Task();
 
+    case OTransactionPhase1BatchTask.FACTORYID: // 45
+      return new OTransactionPhase1BatchTask();
+
+    case OTransactionPhase2BatchTask.FACTORYID: // 46
+      return new OTransactionPhase2BatchTask();
+
     case OUnreachableServerLocalTask.FACTORYID: // 28
       throw new IllegalArgumentException("Task with code " + code + " is not supported in remote configuration");
 
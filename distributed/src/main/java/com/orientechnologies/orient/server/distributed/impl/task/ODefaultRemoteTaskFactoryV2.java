@@ -142,6 +142,12 @@ public class ODefaultRemoteTaskFactoryV2 extends ODefaultRemoteTaskFactoryV1 {
     case OTransactionPhase2Task.FACTORYID: // 44
       return new OTransactionPhase2Task();
 
+    case OTransactionPhase1BatchTask.FACTORYID: // 45
+      return new OTransactionPhase1BatchTask();
+
+    case OTransactionPhase2BatchTask.FACTORYID: // 46
+      return new OTransactionPhase2BatchTask();
+
     case NodeOperationTask.FACTORYID: //55
       return new NodeOperationTask();
     }
@@ -0,0 +1,156 @@
+package com.orientechnologies.orient.server.distributed.impl.task;
+
+import com.orientechnologies.orient.core.command.OCommandDistributedReplicateRequest;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import com.orientechnologies.orient.server.OServer;
+import com.orientechnologies.orient.server.distributed.ODistributedRequestId;
+import com.orientechnologies.orient.server.distributed.ODistributedServerManager;
+import com.orientechnologies.orient.server.distributed.ORemoteTaskFactory;
+import com.orientechnologies.orient.server.distributed.impl.ODatabaseDocumentDistributed;
+import com.orientechnologies.orient.server.distributed.task.OAbstractReplicatedTask;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * First phase of a batch of concurrent transactions sent by the same coordinator. The transactions are executed in order, each
+ * one with its own request id, and the node responds once all of them have a result. Transactions that cannot be executed yet are
+ * retried by re-enqueuing the batch, without executing again the transactions that already have a result.
+ */
+public class OTransactionPhase1BatchTask extends OAbstractReplicatedTask {
+  public static final int FACTORYID = 45;
+
+  private final     List<ODistributedRequestId>    transactionIds = new ArrayList<>();
+  private final     List<OTransactionPhase1Task>   transactions   = new ArrayList<>();
+  private volatile  boolean                        hasResponse;
+  private transient OTransactionPhase1TaskResult[] results;
+  private transient int                            retryCount     = 0;
+
+  public OTransactionPhase1BatchTask() {
+  }
+
+  public void addTransaction(ODistributedRequestId transactionId, OTransactionPhase1Task transaction) {
+    transactionIds.add(transactionId);
+    transactions.add(transaction);
+  }
+
+  public List<ODistributedRequestId> getTransactionIds() {
+    return transactionIds;
+  }
+
+  public List<OTransactionPhase1Task> getTransactions() {
+    return transactions;
+  }
+
+  @Override
+  public String getName() {
+    return "TxPhase1Batch";
+  }
+
+  @Override
+  public OCommandDistributedReplicateRequest.QUORUM_TYPE getQuorumType() {
+    for (OTransactionPhase1Task transaction : transactions) {
+      if (transaction.getQuorumType() == OCommandDistributedReplicateRequest.QUORUM_TYPE.ALL) {
+        return OCommandDistributedReplicateRequest.QUORUM_TYPE.ALL;
+      }
+    }
+    return OCommandDistributedReplicateRequest.QUORUM_TYPE.WRITE;
+  }
+
+  @Override
+  public Object execute(ODistributedRequestId requestId, OServer iServer, ODistributedServerManager iManager,
+      ODatabaseDocumentInternal database) throws Exception {
+    if (results == null) {
+      results = new OTransactionPhase1TaskResult[transactions.size()];
+    }
+
+    boolean completed = true;
+    for (int i = 0; i < transactions.size(); i++) {
+      if (results[i] == null) {
+        results[i] = transactions.get(i).executeOrDelay(transactionIds.get(i), (ODatabaseDocumentDistributed) database);
+        if (results[i] == null) {
+          completed = false;
+        }
+      }
+    }
+
+    if (!completed) {
+      retryCount++;
+      ((ODatabaseDocumentDistributed) database).getStorageDistributed().getLocalDistributedDatabase()
+          .reEnqueue(requestId.getNodeId(), requestId.getMessageId(), database.getName(), this, retryCount);
+      hasResponse = false;
+      return null;
+    }
+    hasResponse = true;
+    return new OTransactionPhase1BatchTaskResult(Arrays.asList(results));
+  }
+
+  @Override
+  public boolean hasResponse() {
+    return hasResponse;
+  }
+
+  @Override
+  public void toStream(DataOutput out) throws IOException {
+    out.writeInt(transactions.size());
+    for (int i = 0; i < transactions.size(); i++) {
+      out.writeInt(transactionIds.get(i).getNodeId());
+      out.writeLong(transactionIds.get(i).getMessageId());
+      transactions.get(i).toStream(out);
+    }
+    if (lastLSN == null) {
+      new OLogSequenceNumber(-1, -1).toStream(out);
+    } else {
+      lastLSN.toStream(out);
+    }
+  }
+
+  @Override
+  public void fromStream(DataInput in, ORemoteTaskFactory factory) throws IOException {
+    int size = in.readInt();
+    for (int i = 0; i < size; i++) {
+      ODistributedRequestId transactionId = new ODistributedRequestId(in.readInt(), in.readLong());
+      OTransactionPhase1Task transaction = new OTransactionPhase1Task();
+      transaction.fromStream(in, factory);
+      addTransaction(transactionId, transaction);
+    }
+    lastLSN = new OLogSequenceNumber(in);
+    if (lastLSN.getSegment() == -1 && lastLSN.getPosition() == -1) {
+      lastLSN = null;
+    }
+  }
+
+  public void setLastLSN(OLogSequenceNumber lastLSN) {
+    this.lastLSN = lastLSN;
+  }
+
+  @Override
+  public int getFactoryId() {
+    return FACTORYID;
+  }
+
+  @Override
+  public boolean isIdempotent() {
+    return false;
+  }
+
+  @Override
+  public int[] getPartitionKey() {
+    return transactions.stream().flatMapToInt(t -> IntStream.of(t.getPartitionKey())).distinct().toArray();
+  }
+
+  @Override
+  public long getDistributedTimeout() {
+    long timeout = super.getDistributedTimeout();
+    for (OTransactionPhase1Task transaction : transactions) {
+      timeout = Math.max(timeout, transaction.getDistributedTimeout());
+    }
+    return timeout;
+  }
+}
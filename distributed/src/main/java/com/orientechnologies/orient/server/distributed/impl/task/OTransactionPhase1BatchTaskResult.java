@@ -0,0 +1,48 @@
+package com.orientechnologies.orient.server.distributed.impl.task;
+
+import com.orientechnologies.orient.core.serialization.OStreamable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Results of the first phase of a batch of transactions, in the order of the transactions in the batch.
+ */
+public class OTransactionPhase1BatchTaskResult implements OStreamable {
+
+  private List<OTransactionPhase1TaskResult> results;
+
+  public OTransactionPhase1BatchTaskResult() {
+    results = new ArrayList<>();
+  }
+
+  public OTransactionPhase1BatchTaskResult(List<OTransactionPhase1TaskResult> results) {
+    this.results = results;
+  }
+
+  @Override
+  public void toStream(final DataOutput out) throws IOException {
+    out.writeInt(results.size());
+    for (OTransactionPhase1TaskResult result : results) {
+      result.toStream(out);
+    }
+  }
+
+  @Override
+  public void fromStream(final DataInput in) throws IOException {
+    int size = in.readInt();
+    results = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      OTransactionPhase1TaskResult result = new OTransactionPhase1TaskResult();
+      result.fromStream(in);
+      results.add(result);
+    }
+  }
+
+  public List<OTransactionPhase1TaskResult> getResults() {
+    return results;
+  }
+}
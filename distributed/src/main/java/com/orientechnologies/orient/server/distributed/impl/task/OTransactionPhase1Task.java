@@ -96,17 +96,30 @@ public class OTransactionPhase1Task extends OAbstractReplicatedTask {
   @Override
   public Object execute(ODistributedRequestId requestId, OServer iServer, ODistributedServerManager iManager,
       ODatabaseDocumentInternal database) throws Exception {
-    convert(database);
-    OTransactionOptimisticDistributed tx = new OTransactionOptimisticDistributed(database, ops, false);
-    OTransactionResultPayload res1 = executeTransaction(requestId, (ODatabaseDocumentDistributed) database, tx, false, retryCount);
-    if (res1 == null) {
-      retryCount++;
+    OTransactionPhase1TaskResult result = executeOrDelay(requestId, (ODatabaseDocumentDistributed) database);
+    if (result == null) {
       ((ODatabaseDocumentDistributed) database).getStorageDistributed().getLocalDistributedDatabase()
           .reEnqueue(requestId.getNodeId(), requestId.getMessageId(), database.getName(), this, retryCount);
       hasResponse = false;
       return null;
     }
     hasResponse = true;
+    return result;
+  }
+
+  /**
+   * Executes the first phase of the transaction.
+   *
+   * @return the result of the first phase, or null if the transaction cannot be executed yet and has to be retried later
+   */
+  OTransactionPhase1TaskResult executeOrDelay(ODistributedRequestId requestId, ODatabaseDocumentDistributed database) {
+    convert(database);
+    OTransactionOptimisticDistributed tx = new OTransactionOptimisticDistributed(database, ops, false);
+    OTransactionResultPayload res1 = executeTransaction(requestId, database, tx, false, retryCount);
+    if (res1 == null) {
+      retryCount++;
+      return null;
+    }
     return new OTransactionPhase1TaskResult(res1);
   }
 
@@ -0,0 +1,136 @@
+package com.orientechnologies.orient.server.distributed.impl.task;
+
+import com.orientechnologies.orient.core.command.OCommandDistributedReplicateRequest;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import com.orientechnologies.orient.server.OServer;
+import com.orientechnologies.orient.server.distributed.ODistributedRequestId;
+import com.orientechnologies.orient.server.distributed.ODistributedServerManager;
+import com.orientechnologies.orient.server.distributed.ORemoteTaskFactory;
+import com.orientechnologies.orient.server.distributed.impl.ODatabaseDocumentDistributed;
+import com.orientechnologies.orient.server.distributed.task.OAbstractReplicatedTask;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Second phase of a batch of transactions sent by the same coordinator. The node responds "OK" once all the transactions have been
+ * committed or rolled back, "KO" if any of them failed.
+ */
+public class OTransactionPhase2BatchTask extends OAbstractReplicatedTask {
+  public static final int FACTORYID = 46;
+
+  private final     List<OTransactionPhase2Task> transactions = new ArrayList<>();
+  private volatile  boolean                      hasResponse;
+  private transient Object[]                     results;
+  private transient int                          retryCount   = 0;
+
+  public OTransactionPhase2BatchTask() {
+  }
+
+  public void addTransaction(OTransactionPhase2Task transaction) {
+    transactions.add(transaction);
+  }
+
+  public List<OTransactionPhase2Task> getTransactions() {
+    return transactions;
+  }
+
+  @Override
+  public String getName() {
+    return "TxPhase2Batch";
+  }
+
+  @Override
+  public OCommandDistributedReplicateRequest.QUORUM_TYPE getQuorumType() {
+    return OCommandDistributedReplicateRequest.QUORUM_TYPE.WRITE;
+  }
+
+  @Override
+  public Object execute(ODistributedRequestId requestId, OServer iServer, ODistributedServerManager iManager,
+      ODatabaseDocumentInternal database) throws Exception {
+    if (results == null) {
+      results = new Object[transactions.size()];
+    }
+
+    boolean completed = true;
+    for (int i = 0; i < transactions.size(); i++) {
+      if (results[i] == null) {
+        results[i] = transactions.get(i).executeOrDelay(iManager, database);
+        if (results[i] == null) {
+          completed = false;
+        }
+      }
+    }
+
+    if (!completed) {
+      retryCount++;
+      ((ODatabaseDocumentDistributed) database).getStorageDistributed().getLocalDistributedDatabase()
+          .reEnqueue(requestId.getNodeId(), requestId.getMessageId(), database.getName(), this, retryCount);
+      hasResponse = false;
+      return null;
+    }
+    hasResponse = true;
+    for (Object result : results) {
+      if (!"OK".equals(result)) {
+        return "KO";
+      }
+    }
+    return "OK";
+  }
+
+  @Override
+  public boolean hasResponse() {
+    return hasResponse;
+  }
+
+  @Override
+  public void toStream(DataOutput out) throws IOException {
+    out.writeInt(transactions.size());
+    for (OTransactionPhase2Task transaction : transactions) {
+      transaction.toStream(out);
+    }
+    if (lastLSN == null) {
+      new OLogSequenceNumber(-1, -1).toStream(out);
+    } else {
+      lastLSN.toStream(out);
+    }
+  }
+
+  @Override
+  public void fromStream(DataInput in, ORemoteTaskFactory factory) throws IOException {
+    int size = in.readInt();
+    for (int i = 0; i < size; i++) {
+      OTransactionPhase2Task transaction = new OTransactionPhase2Task();
+      transaction.fromStream(in, factory);
+      transactions.add(transaction);
+    }
+    lastLSN = new OLogSequenceNumber(in);
+    if (lastLSN.getSegment() == -1 && lastLSN.getPosition() == -1) {
+      lastLSN = null;
+    }
+  }
+
+  public void setLastLSN(OLogSequenceNumber lastLSN) {
+    this.lastLSN = lastLSN;
+  }
+
+  @Override
+  public int getFactoryId() {
+    return FACTORYID;
+  }
+
+  @Override
+  public boolean isIdempotent() {
+    return false;
+  }
+
+  @Override
+  public int[] getPartitionKey() {
+    return transactions.stream().flatMapToInt(t -> IntStream.of(t.getPartitionKey())).distinct().toArray();
+  }
+}
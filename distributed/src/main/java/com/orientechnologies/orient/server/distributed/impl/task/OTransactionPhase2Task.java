@@ -10,6 +10,7 @@ import com.orientechnologies.orient.server.distributed.ODistributedRequestId;
 import com.orientechnologies.orient.server.distributed.ODistributedServerManager;
 import com.orientechnologies.orient.server.distributed.ORemoteTaskFactory;
 import com.orientechnologies.orient.server.distributed.impl.ODatabaseDocumentDistributed;
+import com.orientechnologies.orient.server.distributed.impl.ODistributedDatabaseImpl;
 import com.orientechnologies.orient.server.distributed.task.OAbstractReplicatedTask;
 
 import java.io.DataInput;
@@ -88,15 +89,39 @@ public class OTransactionPhase2Task extends OAbstractReplicatedTask {
   @Override
   public Object execute(ODistributedRequestId requestId, OServer iServer, ODistributedServerManager iManager,
       ODatabaseDocumentInternal database) throws Exception {
+    Object result = executeOrDelay(iManager, database);
+    if (result == null) {
+      OLogManager.instance()
+          .info(OTransactionPhase2Task.this, "Received second phase but not yet first phase, re-enqueue second phase");
+      ((ODatabaseDocumentDistributed) database).getStorageDistributed().getLocalDistributedDatabase()
+          .reEnqueue(requestId.getNodeId(), requestId.getMessageId(), database.getName(), this, retryCount);
+      hasResponse = false;
+      return "OK";
+    }
+    hasResponse = true;
+    return result;
+  }
+
+  /**
+   * Commits or rolls back the transaction prepared by the first phase.
+   *
+   * @return "OK" or "KO", or null if the first phase has not been received yet and the second phase has to be retried later
+   */
+  Object executeOrDelay(ODistributedServerManager iManager, ODatabaseDocumentInternal database) {
+    Object result = commitOrRollback(iManager, database);
+    if (result != null) {
+      ((ODistributedDatabaseImpl) ((ODatabaseDocumentDistributed) database).getStorageDistributed().getLocalDistributedDatabase())
+          .getAppliedTransactions().completed(transactionId);
+    }
+    return result;
+  }
+
+  private Object commitOrRollback(ODistributedServerManager iManager, ODatabaseDocumentInternal database) {
     if (success) {
       if (!((ODatabaseDocumentDistributed) database).commit2pc(transactionId, false)) {
         retryCount++;
         if (retryCount < database.getConfiguration().getValueAsInteger(DISTRIBUTED_CONCURRENT_TX_MAX_AUTORETRY)) {
-          OLogManager.instance()
-              .info(OTransactionPhase2Task.this, "Received second phase but not yet first phase, re-enqueue second phase");
-          ((ODatabaseDocumentDistributed) database).getStorageDistributed().getLocalDistributedDatabase()
-              .reEnqueue(requestId.getNodeId(), requestId.getMessageId(), database.getName(), this, retryCount);
-          hasResponse = false;
+          return null;
         } else {
           Orient.instance().submit(() -> {
             OLogManager.instance()
@@ -104,33 +129,27 @@ public class OTransactionPhase2Task extends OAbstractReplicatedTask {
                     transactionId);
             iManager.installDatabase(false, database.getName(), true, true);
           });
-          hasResponse = true;
           return "KO";
         }
-      } else {
-        hasResponse = true;
       }
     } else {
       if (!((ODatabaseDocumentDistributed) database).rollback2pc(transactionId)) {
         retryCount++;
         if (retryCount < database.getConfiguration().getValueAsInteger(DISTRIBUTED_CONCURRENT_TX_MAX_AUTORETRY)) {
-          OLogManager.instance()
-              .info(OTransactionPhase2Task.this, "Received second phase but not yet first phase, re-enqueue second phase");
-          ((ODatabaseDocumentDistributed) database).getStorageDistributed().getLocalDistributedDatabase()
-              .reEnqueue(requestId.getNodeId(), requestId.getMessageId(), database.getName(), this, retryCount);
-          hasResponse = false;
+          return null;
         } else {
           //ABORT THE OPERATION IF THERE IS A NOT VALID TRANSACTION ACTIVE WILL BE ROLLBACK ON RE-INSTALL
-          hasResponse = true;
           return "KO";
         }
-      } else {
-        hasResponse = true;
       }
     }
     return "OK";
   }
 
+  public ODistributedRequestId getTransactionId() {
+    return transactionId;
+  }
+
   @Override
   public OLogSequenceNumber getLastLSN() {
     return super.getLastLSN();
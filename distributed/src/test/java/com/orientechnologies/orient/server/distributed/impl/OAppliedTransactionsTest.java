@@ -0,0 +1,132 @@
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.server.distributed.ODistributedException;
+import com.orientechnologies.orient.server.distributed.ODistributedRequestId;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class OAppliedTransactionsTest {
+
+  @Test
+  public void testConsistencyToken() {
+    final ODistributedConsistencyToken token = new ODistributedConsistencyToken();
+    Assert.assertEquals("", token.toString());
+
+    token.merge(new ODistributedRequestId(2, 10), Arrays.asList("a", "b"));
+    token.merge(new ODistributedRequestId(1, 7), Collections.singleton("a"));
+    token.merge(new ODistributedRequestId(2, 5), Collections.singleton("a"));
+    Assert.assertEquals("a:1.7,a:2.10,b:2.10", token.toString());
+
+    final ODistributedConsistencyToken parsed = ODistributedConsistencyToken.parse("a:1.7,a:2.10,b:2.10");
+    Assert.assertEquals(token.toString(), parsed.toString());
+    Assert.assertTrue(ODistributedConsistencyToken.parse(null).isEmpty());
+
+    try {
+      ODistributedConsistencyToken.parse("1.7");
+      Assert.fail();
+    } catch (ODistributedException e) {
+      // EXPECTED
+    }
+  }
+
+  @Test
+  public void testConsistencyTokenOfClusters() {
+    final ODistributedConsistencyToken token = ODistributedConsistencyToken.parse("a:1.7,a:2.10,b:1.12,c:3.4");
+
+    final Map<Integer, Long> expected = new HashMap<Integer, Long>();
+    expected.put(1, 12L);
+    expected.put(2, 10L);
+    Assert.assertEquals(expected, token.getTransactions(Arrays.asList("a", "b")));
+    // THE TRANSACTIONS OF THE CLUSTERS NOT IN THE TOKEN ARE NOT WAITED
+    Assert.assertTrue(token.getTransactions(Collections.singleton("d")).isEmpty());
+  }
+
+  @Test
+  public void testTransactionReceivedBeforeMustBeCompleted() {
+    final OAppliedTransactions applied = new OAppliedTransactions(30000);
+    final ODistributedRequestId first = new ODistributedRequestId(1, 10);
+    final ODistributedRequestId second = new ODistributedRequestId(1, 11);
+    final ODistributedRequestId other = new ODistributedRequestId(2, 3);
+
+    Assert.assertFalse(applied.isApplied(first));
+
+    applied.received(first);
+    applied.received(other);
+    applied.received(second);
+    applied.completed(second);
+    // THE FIRST TRANSACTION OF THE SAME COORDINATOR IS STILL RUNNING
+    Assert.assertFalse(applied.isApplied(second));
+
+    applied.completed(first);
+    Assert.assertTrue(applied.isApplied(first));
+    Assert.assertTrue(applied.isApplied(second));
+    Assert.assertFalse(applied.isApplied(other));
+
+    // A NEW ARRIVAL DOES NOT CHANGE THE TRANSACTIONS ALREADY APPLIED
+    applied.received(new ODistributedRequestId(1, 12));
+    applied.received(first);
+    Assert.assertTrue(applied.isApplied(second));
+  }
+
+  @Test
+  public void testExpiredTransactionsAreNotWaited() throws Exception {
+    final OAppliedTransactions applied = new OAppliedTransactions(0);
+    applied.received(new ODistributedRequestId(1, 10));
+    applied.received(new ODistributedRequestId(1, 11));
+    applied.completed(new ODistributedRequestId(1, 11));
+    Thread.sleep(5);
+
+    Assert.assertTrue(applied.isApplied(new ODistributedRequestId(1, 11)));
+  }
+
+  @Test
+  public void testExpiredTransactionsAreRemovedOnCompletion() throws Exception {
+    final OAppliedTransactions applied = new OAppliedTransactions(0);
+    applied.received(new ODistributedRequestId(1, 10));
+    applied.received(new ODistributedRequestId(1, 11));
+    Thread.sleep(5);
+
+    applied.completed(new ODistributedRequestId(1, 11));
+    Assert.assertEquals(0, applied.getPendingTransactions());
+  }
+
+  @Test
+  public void testForgottenTransactionPendingAgainIsNotApplied() {
+    final OAppliedTransactions applied = new OAppliedTransactions(30000);
+    for (int i = 0; i <= 10000; i++)
+      applied.completed(new ODistributedRequestId(1, i));
+    Assert.assertTrue(applied.isApplied(new ODistributedRequestId(1, 0)));
+
+    // THE TRANSACTION 0 IS NO MORE IN THE HISTORY
+    applied.received(new ODistributedRequestId(1, 0));
+    Assert.assertFalse(applied.isApplied(new ODistributedRequestId(1, 0)));
+
+    applied.completed(new ODistributedRequestId(1, 0));
+    Assert.assertTrue(applied.isApplied(new ODistributedRequestId(1, 0)));
+  }
+
+  @Test
+  public void testWaitForApplied() throws Exception {
+    final OAppliedTransactions applied = new OAppliedTransactions(30000);
+    final ODistributedConsistencyToken token = ODistributedConsistencyToken.parse("a:1.10,b:2.3");
+    Assert.assertFalse(applied.waitForApplied(token.getTransactions(token.getClusterNames()), 10));
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<Boolean> waiting = executor.submit(() -> applied.waitForApplied(token.getTransactions(token.getClusterNames()), 10000));
+      applied.completed(new ODistributedRequestId(2, 3));
+      applied.completed(new ODistributedRequestId(1, 10));
+      Assert.assertTrue(waiting.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
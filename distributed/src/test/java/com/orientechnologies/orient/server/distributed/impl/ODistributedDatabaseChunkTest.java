@@ -0,0 +1,102 @@
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.server.distributed.impl.task.OBackgroundBackup;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ODistributedDatabaseChunkTest {
+
+  @Test
+  public void testReadChunksByOffset() throws Exception {
+    final File file = File.createTempFile("backup", ".zip");
+    final OBackgroundBackup backup = new OBackgroundBackup(null, null, null, file, file.getAbsolutePath(), null, null, null, null,
+        null);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // THE CHUNK AFTER THE FIRST ONE IS REQUESTED BEFORE THE BACKUP WROTE IT
+      final Future<ODistributedDatabaseChunk> second = executor.submit(() -> new ODistributedDatabaseChunk(backup, 10, 10, null));
+
+      try (OutputStream out = new FileOutputStream(file)) {
+        for (int i = 0; i < 25; i++) {
+          out.write(i);
+          out.flush();
+        }
+      }
+      backup.getFinished().countDown();
+
+      final ODistributedDatabaseChunk first = new ODistributedDatabaseChunk(backup, 0, 10, null);
+      Assert.assertEquals(10, first.buffer.length);
+      Assert.assertFalse(first.last);
+      Assert.assertEquals(file.getAbsolutePath(), first.filePath);
+
+      Assert.assertEquals(10, second.get().offset);
+      Assert.assertEquals(10, second.get().buffer[0]);
+      Assert.assertFalse(second.get().last);
+
+      final ODistributedDatabaseChunk third = new ODistributedDatabaseChunk(backup, 20, 10, null);
+      Assert.assertEquals(5, third.buffer.length);
+      Assert.assertEquals(24, third.buffer[4]);
+      Assert.assertTrue(third.last);
+
+      final ODistributedDatabaseChunk afterTheEnd = new ODistributedDatabaseChunk(backup, 30, 10, null);
+      Assert.assertEquals(0, afterTheEnd.buffer.length);
+      Assert.assertTrue(afterTheEnd.last);
+    } finally {
+      executor.shutdown();
+      file.delete();
+    }
+  }
+
+  @Test
+  public void testReadChunksInSequence() throws Exception {
+    final File file = File.createTempFile("backup", ".zip");
+    final OBackgroundBackup backup = new OBackgroundBackup(null, null, null, file, file.getAbsolutePath(), null, null, null, null,
+        null);
+    try {
+      try (OutputStream out = new FileOutputStream(file)) {
+        for (int i = 0; i < 15; i++) {
+          out.write(i);
+        }
+      }
+      backup.getFinished().countDown();
+
+      final ODistributedDatabaseChunk first = new ODistributedDatabaseChunk(backup, 10, null);
+      Assert.assertEquals(10, first.buffer.length);
+      Assert.assertFalse(first.last);
+
+      // THE SAME STREAM CONTINUES AFTER THE FIRST CHUNK AND IS CLOSED AFTER THE LAST ONE
+      final ODistributedDatabaseChunk second = new ODistributedDatabaseChunk(backup, 10, null);
+      Assert.assertEquals(5, second.buffer.length);
+      Assert.assertEquals(10, second.buffer[0]);
+      Assert.assertTrue(second.last);
+
+      try {
+        backup.getInputStream().read();
+        Assert.fail();
+      } catch (IOException e) {
+        // CLOSED
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadChunkOfDeletedBackup() throws Exception {
+    final File file = File.createTempFile("backup", ".zip");
+    final OBackgroundBackup backup = new OBackgroundBackup(null, null, null, file, file.getAbsolutePath(), null, null, null, null,
+        null);
+    file.delete();
+    backup.getFinished().countDown();
+
+    new ODistributedDatabaseChunk(backup, 0, 10, null);
+  }
+}
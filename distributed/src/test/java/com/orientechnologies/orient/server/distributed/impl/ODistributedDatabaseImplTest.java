@@ -0,0 +1,354 @@
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.core.command.OCommandDistributedReplicateRequest;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.server.OServer;
+import com.orientechnologies.orient.server.OSystemDatabase;
+import com.orientechnologies.orient.server.distributed.ODistributedRequest;
+import com.orientechnologies.orient.server.distributed.ODistributedRequestId;
+import com.orientechnologies.orient.server.distributed.ODistributedServerManager;
+import com.orientechnologies.orient.server.distributed.task.OAbstractRemoteTask;
+import com.orientechnologies.orient.server.distributed.task.ORemoteTask;
+import com.orientechnologies.orient.server.hazelcast.OHazelcastPlugin;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Matchers.*;
+
+public class ODistributedDatabaseImplTest {
+  private static final int UNKNOWN_NODE = 7;
+
+  private final AtomicLong               messageIds = new AtomicLong();
+  private       List<Object>             configuration;
+  private       ODistributedDatabaseImpl distributed;
+
+  @Before
+  public void before() {
+    configuration = new ArrayList<Object>();
+    for (OGlobalConfiguration cfg : configurations())
+      configuration.add(cfg.getValue());
+  }
+
+  @After
+  public void after() {
+    if (distributed != null)
+      distributed.shutdown();
+
+    final OGlobalConfiguration[] cfgs = configurations();
+    for (int i = 0; i < cfgs.length; i++)
+      cfgs[i].setValue(configuration.get(i));
+  }
+
+  @Test
+  public void testRequestsOfAKeyAreExecutedInOrder() throws Exception {
+    createDatabase(4, 4, 2);
+
+    final int requests = 500;
+    final List<Integer> executed = Collections.synchronizedList(new ArrayList<Integer>());
+    final CountDownLatch done = new CountDownLatch(requests * 2);
+    for (int i = 0; i < requests; i++) {
+      final int sequence = i;
+      process(new OTestTask(new int[] { 5 }, () -> {
+        executed.add(sequence);
+        done.countDown();
+        return null;
+      }));
+      // OTHER KEYS KEEP THE WORKERS BUSY, SO THE LEAST BUSY WORKER CHANGES OVER TIME
+      process(new OTestTask(new int[] { i % 10 }, () -> {
+        Thread.sleep(sequence % 3);
+        done.countDown();
+        return null;
+      }));
+    }
+
+    Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+    final List<Integer> expected = new ArrayList<Integer>();
+    for (int i = 0; i < requests; i++)
+      expected.add(i);
+    Assert.assertEquals(expected, new ArrayList<Integer>(executed));
+    waitForReleasedPartitions();
+  }
+
+  @Test
+  public void testRequestOnMultipleKeysWaitsForAllTheKeys() throws Exception {
+    createDatabase(2, 2, 100);
+
+    final CountDownLatch release1 = new CountDownLatch(1);
+    final CountDownLatch release2 = new CountDownLatch(1);
+    processBlocking(1, release1);
+    processBlocking(2, release2);
+
+    final AtomicInteger executions = new AtomicInteger();
+    final CountDownLatch executed = new CountDownLatch(1);
+    process(new OTestTask(new int[] { 1, 2, 2 }, () -> {
+      executions.incrementAndGet();
+      executed.countDown();
+      return null;
+    }));
+
+    release1.countDown();
+    Assert.assertFalse(executed.await(500, TimeUnit.MILLISECONDS));
+
+    release2.countDown();
+    Assert.assertTrue(executed.await(10, TimeUnit.SECONDS));
+    waitForReleasedPartitions();
+    Assert.assertEquals(1, executions.get());
+  }
+
+  @Test
+  public void testPartitionIsReleasedWhenRequestFails() throws Exception {
+    createDatabase(2, 2, 100);
+
+    process(new OTestTask(new int[] { 3 }, () -> {
+      throw new IllegalStateException("Expected failure");
+    }));
+    waitForReleasedPartitions();
+
+    final CountDownLatch executed = new CountDownLatch(1);
+    process(new OTestTask(new int[] { 3 }, () -> {
+      executed.countDown();
+      return null;
+    }));
+    Assert.assertTrue(executed.await(10, TimeUnit.SECONDS));
+    waitForReleasedPartitions();
+  }
+
+  @Test
+  public void testPartitionIsReleasedWhenRequestIsDiscarded() throws Exception {
+    createDatabase(2, 2, 100);
+
+    final AtomicInteger executions = new AtomicInteger();
+    // THE SENDER IS NOT IN THE CLUSTER CONFIGURATION: THE WORKER DISCARDS THE REQUEST
+    distributed.processRequest(new ODistributedRequest(distributed.getManager(), UNKNOWN_NODE, messageIds.incrementAndGet(),
+        OSystemDatabase.SYSTEM_DB_NAME, new OTestTask(new int[] { 3, 4 }, () -> executions.incrementAndGet())), false);
+    Assert.assertEquals(new HashSet<Integer>(Arrays.asList(3, 4)), distributed.getOwnedPartitionKeys());
+
+    waitForReleasedPartitions();
+    Assert.assertEquals(0, executions.get());
+  }
+
+  @Test
+  public void testResetReleasesPartitions() throws Exception {
+    createDatabase(2, 2, 100);
+
+    final CountDownLatch release = new CountDownLatch(1);
+    processBlocking(1, release);
+    final AtomicInteger executions = new AtomicInteger();
+    process(new OTestTask(new int[] { 1 }, () -> executions.incrementAndGet()));
+    Assert.assertFalse(distributed.getOwnedPartitionKeys().isEmpty());
+
+    distributed.suspend();
+    Assert.assertTrue(distributed.getOwnedPartitionKeys().isEmpty());
+    distributed.resume();
+
+    release.countDown();
+    final CountDownLatch executed = new CountDownLatch(1);
+    process(new OTestTask(new int[] { 1 }, () -> {
+      executed.countDown();
+      return null;
+    }));
+    Assert.assertTrue(executed.await(10, TimeUnit.SECONDS));
+    waitForReleasedPartitions();
+    // THE QUEUED REQUEST HAS BEEN REMOVED BY THE RESET
+    Assert.assertEquals(0, executions.get());
+  }
+
+  @Test
+  public void testBusyKeyMovesToLessBusyWorker() throws Exception {
+    createDatabase(2, 2, 2);
+    final ODistributedWorker first = distributed.workerThreads.get(0);
+    final ODistributedWorker second = distributed.workerThreads.get(1);
+
+    final CountDownLatch release3 = new CountDownLatch(1);
+    final CountDownLatch release1 = new CountDownLatch(1);
+    processBlocking(3, release3);
+    processBlocking(1, release1);
+
+    final List<String> executed = Collections.synchronizedList(new ArrayList<String>());
+    final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+    final CountDownLatch done = new CountDownLatch(3);
+    process(recording(2, "first", executed, threads, done));
+
+    release1.countDown();
+    waitForIdle(second);
+
+    // THE FIRST WORKER IS BUSY WITH THE KEY 3, THE KEY 2 MOVES TO THE SECOND ONE AFTER ITS QUEUED REQUEST
+    process(recording(2, "second", executed, threads, done));
+    process(recording(2, "third", executed, threads, done));
+    Assert.assertFalse(done.await(500, TimeUnit.MILLISECONDS));
+    Assert.assertTrue(executed.isEmpty());
+
+    release3.countDown();
+    Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(Arrays.asList("first", "second", "third"), new ArrayList<String>(executed));
+    Assert.assertSame(first, threads.get(0));
+    Assert.assertSame(second, threads.get(2));
+    waitForReleasedPartitions();
+  }
+
+  @Test
+  public void testIdleWorkerStartedUnderLoadIsStopped() throws Exception {
+    OGlobalConfiguration.DISTRIBUTED_DB_WORKERTHREADS_IDLE_TIMEOUT.setValue(0);
+    createDatabase(1, 2, 1);
+
+    final CountDownLatch release = new CountDownLatch(1);
+    processBlocking(1, release);
+
+    final CountDownLatch executed = new CountDownLatch(1);
+    process(new OTestTask(new int[] { 2 }, () -> {
+      executed.countDown();
+      return null;
+    }));
+    Assert.assertEquals(2, distributed.workerThreads.size());
+    final ODistributedWorker started = distributed.workerThreads.get(1);
+    Assert.assertTrue(executed.await(10, TimeUnit.SECONDS));
+
+    started.join(10000);
+    Assert.assertFalse(started.isAlive());
+    Assert.assertEquals(1, distributed.workerThreads.size());
+
+    release.countDown();
+    waitForReleasedPartitions();
+    // THE INITIAL WORKERS ARE NEVER STOPPED
+    Thread.sleep(1500);
+    Assert.assertEquals(1, distributed.workerThreads.size());
+    Assert.assertTrue(distributed.workerThreads.get(0).isAlive());
+  }
+
+  private void createDatabase(final int workers, final int maxWorkers, final int scaleQueueSize) {
+    OGlobalConfiguration.DISTRIBUTED_DB_WORKERTHREADS.setValue(workers);
+    OGlobalConfiguration.DISTRIBUTED_DB_WORKERTHREADS_MAX.setValue(maxWorkers);
+    OGlobalConfiguration.DISTRIBUTED_DB_WORKERTHREADS_SCALE_QUEUESIZE.setValue(scaleQueueSize);
+
+    String buildDirectory = System.getProperty("buildDirectory");
+    if (buildDirectory == null)
+      buildDirectory = ".";
+
+    final OServer server = Mockito.mock(OServer.class);
+    Mockito.when(server.getDatabaseDirectory()).thenReturn(buildDirectory + "/" + getClass().getSimpleName() + "/");
+
+    final OHazelcastPlugin manager = Mockito.mock(OHazelcastPlugin.class);
+    Mockito.when(manager.getLocalNodeName()).thenReturn("node");
+    Mockito.when(manager.getServerInstance()).thenReturn(server);
+    Mockito.when(manager.getNodeNameById(anyInt())).thenReturn("node");
+    Mockito.when(manager.getNodeNameById(UNKNOWN_NODE)).thenReturn(null);
+    Mockito.when(manager.executeOnLocalNode(any(ODistributedRequestId.class), any(ORemoteTask.class),
+        any(ODatabaseDocumentInternal.class))).thenAnswer(invocation -> {
+      // THE EXCEPTIONS ARE RETURNED AS RESULT
+      try {
+        return ((ORemoteTask) invocation.getArguments()[1])
+            .execute((ODistributedRequestId) invocation.getArguments()[0], null, manager, null);
+      } catch (Exception e) {
+        return e;
+      }
+    });
+
+    distributed = new ODistributedDatabaseImpl(manager, new ODistributedMessageServiceImpl(manager),
+        OSystemDatabase.SYSTEM_DB_NAME, null, server);
+  }
+
+  private void process(final ORemoteTask task) {
+    distributed.processRequest(
+        new ODistributedRequest(distributed.getManager(), 0, messageIds.incrementAndGet(), OSystemDatabase.SYSTEM_DB_NAME, task),
+        false);
+  }
+
+  private void processBlocking(final int partitionKey, final CountDownLatch release) throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    process(new OTestTask(new int[] { partitionKey }, () -> {
+      started.countDown();
+      release.await();
+      return null;
+    }));
+    Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+  }
+
+  private static OTestTask recording(final int partitionKey, final String name, final List<String> executed,
+      final List<Thread> threads, final CountDownLatch done) {
+    return new OTestTask(new int[] { partitionKey }, () -> {
+      executed.add(name);
+      threads.add(Thread.currentThread());
+      done.countDown();
+      return null;
+    });
+  }
+
+  private static void waitForIdle(final ODistributedWorker worker) throws InterruptedException {
+    for (int i = 0; i < 100 && !(worker.isWaitingForNextRequest() && worker.getQueueSize() == 0); i++)
+      Thread.sleep(100);
+    Assert.assertTrue(worker.isWaitingForNextRequest());
+  }
+
+  private void waitForReleasedPartitions() throws InterruptedException {
+    for (int i = 0; i < 100 && !distributed.getOwnedPartitionKeys().isEmpty(); i++)
+      Thread.sleep(100);
+    Assert.assertTrue(distributed.getOwnedPartitionKeys().isEmpty());
+  }
+
+  private static OGlobalConfiguration[] configurations() {
+    return new OGlobalConfiguration[] { OGlobalConfiguration.DISTRIBUTED_DB_WORKERTHREADS,
+        OGlobalConfiguration.DISTRIBUTED_DB_WORKERTHREADS_MAX, OGlobalConfiguration.DISTRIBUTED_DB_WORKERTHREADS_SCALE_QUEUESIZE,
+        OGlobalConfiguration.DISTRIBUTED_DB_WORKERTHREADS_IDLE_TIMEOUT };
+  }
+
+  private static class OTestTask extends OAbstractRemoteTask {
+    private final int[]            partitionKeys;
+    private final Callable<Object> body;
+
+    private OTestTask(final int[] partitionKeys, final Callable<Object> body) {
+      this.partitionKeys = partitionKeys;
+      this.body = body;
+    }
+
+    @Override
+    public String getName() {
+      return "test";
+    }
+
+    @Override
+    public OCommandDistributedReplicateRequest.QUORUM_TYPE getQuorumType() {
+      return OCommandDistributedReplicateRequest.QUORUM_TYPE.NONE;
+    }
+
+    @Override
+    public Object execute(ODistributedRequestId requestId, OServer iServer, ODistributedServerManager iManager,
+        ODatabaseDocumentInternal database) throws Exception {
+      return body.call();
+    }
+
+    @Override
+    public int[] getPartitionKey() {
+      return partitionKeys;
+    }
+
+    @Override
+    public boolean hasResponse() {
+      return false;
+    }
+
+    @Override
+    public boolean isUsingDatabase() {
+      return false;
+    }
+
+    @Override
+    public int getFactoryId() {
+      return 0;
+    }
+  }
+}
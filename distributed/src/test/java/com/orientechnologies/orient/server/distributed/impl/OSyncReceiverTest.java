@@ -0,0 +1,67 @@
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.server.distributed.ODistributedException;
+import com.orientechnologies.orient.server.distributed.ODistributedResponse;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.times;
+
+public class OSyncReceiverTest {
+  private Object chunksInFlight;
+
+  @Before
+  public void before() {
+    chunksInFlight = OGlobalConfiguration.DISTRIBUTED_DEPLOYDB_TASK_CHUNKS_IN_FLIGHT.getValue();
+    OGlobalConfiguration.DISTRIBUTED_DEPLOYDB_TASK_CHUNKS_IN_FLIGHT.setValue(1);
+  }
+
+  @After
+  public void after() {
+    OGlobalConfiguration.DISTRIBUTED_DEPLOYDB_TASK_CHUNKS_IN_FLIGHT.setValue(chunksInFlight);
+  }
+
+  @Test
+  public void testChunkIsRequestedAgainAfterSendError() throws Exception {
+    final ODistributedAbstractPlugin distributed = Mockito.mock(ODistributedAbstractPlugin.class);
+    Mockito.when(distributed.sendRequest(anyString(), any(), any(), any(), anyLong(), any(), any(), any(), any()))
+        .thenThrow(new ODistributedException("Timeout on sending the request"))
+        .thenReturn(new ODistributedResponse(null, null, "sender", "receiver", chunk(4, true)));
+
+    final OSyncReceiver receiver = new OSyncReceiver(distributed, "test", chunk(0, false), new AtomicReference<>(), "sender",
+        "test");
+    final Thread thread = new Thread(receiver);
+    thread.start();
+    receiver.getStarted().await();
+
+    final ByteArrayOutputStream received = new ByteArrayOutputStream();
+    try (InputStream in = receiver.getInputStream()) {
+      int read;
+      while ((read = in.read()) != -1) {
+        received.write(read);
+      }
+    }
+    thread.join();
+
+    Assert.assertArrayEquals(new byte[] { 0, 1, 2, 3, 4, 5, 6, 7 }, received.toByteArray());
+    Mockito.verify(distributed, times(2)).sendRequest(anyString(), any(), any(), any(), anyLong(), any(), any(), any(), any());
+  }
+
+  private static ODistributedDatabaseChunk chunk(final int offset, final boolean last) {
+    final ODistributedDatabaseChunk chunk = new ODistributedDatabaseChunk();
+    chunk.filePath = "backup.zip";
+    chunk.offset = offset;
+    chunk.buffer = new byte[] { (byte) offset, (byte) (offset + 1), (byte) (offset + 2), (byte) (offset + 3) };
+    chunk.last = last;
+    return chunk;
+  }
+}
@@ -0,0 +1,85 @@
+package com.orientechnologies.orient.server.distributed.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class OTransactionBatcherTest {
+
+  @Test
+  public void testRequestsAreSentInBatches() throws Exception {
+    final OTransactionBatcher<Integer, String> batcher = new OTransactionBatcher<>();
+    final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch firstSending = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final Function<List<Integer>, List<String>> sender = requests -> {
+      batches.add(requests);
+      firstSending.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      return requests.stream().map(r -> "result" + r).collect(Collectors.toList());
+    };
+
+    final ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      final Future<String> first = executor.submit(() -> batcher.submit("key", 0, 2, sender));
+      firstSending.await();
+
+      // THE OTHER REQUESTS WAIT FOR THE FIRST BATCH, THE LAST ONE DOES NOT FIT IN THE SECOND BATCH
+      final List<Future<String>> others = new ArrayList<>();
+      final List<Thread> waiting = Collections.synchronizedList(new ArrayList<>());
+      for (int i = 1; i <= 3; i++) {
+        final int request = i;
+        others.add(executor.submit(() -> {
+          waiting.add(Thread.currentThread());
+          return batcher.submit("key", request, 2, sender);
+        }));
+        while (waiting.size() < i || waiting.get(i - 1).getState() != Thread.State.WAITING) {
+          Thread.sleep(1);
+        }
+      }
+      // A DIFFERENT KEY IS NOT BLOCKED BY THE BATCH IN FLIGHT
+      Assert.assertEquals("other", batcher.submit("other", 9, 2, requests -> Collections.singletonList("other")));
+
+      release.countDown();
+      Assert.assertEquals("result0", first.get());
+      for (int i = 1; i <= 3; i++) {
+        Assert.assertEquals("result" + i, others.get(i - 1).get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    Assert.assertEquals(3, batches.size());
+    Assert.assertEquals(Collections.singletonList(0), batches.get(0));
+    Assert.assertEquals(2, batches.get(1).size());
+    Assert.assertEquals(1, batches.get(2).size());
+  }
+
+  @Test
+  public void testErrorIsThrownToTheWholeBatch() {
+    final OTransactionBatcher<Integer, String> batcher = new OTransactionBatcher<>();
+    try {
+      batcher.submit("key", 0, 2, requests -> {
+        throw new IllegalStateException("unreachable");
+      });
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("unreachable", e.getMessage());
+    }
+    // THE KEY IS RELEASED AFTER THE ERROR
+    Assert.assertEquals("ok", batcher.submit("key", 1, 2, requests -> Collections.singletonList("ok")));
+  }
+}
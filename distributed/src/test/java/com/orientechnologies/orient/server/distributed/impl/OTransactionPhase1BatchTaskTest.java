@@ -0,0 +1,113 @@
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.db.record.ORecordOperation;
+import com.orientechnologies.orient.core.record.ORecordInternal;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import com.orientechnologies.orient.server.OServer;
+import com.orientechnologies.orient.server.distributed.ODistributedRequestId;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase1BatchTask;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase1BatchTaskResult;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase1Task;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase1TaskResult;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase2BatchTask;
+import com.orientechnologies.orient.server.distributed.impl.task.OTransactionPhase2Task;
+import com.orientechnologies.orient.server.distributed.impl.task.transaction.OTxConcurrentModification;
+import com.orientechnologies.orient.server.distributed.impl.task.transaction.OTxSuccess;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class OTransactionPhase1BatchTaskTest {
+
+  private ODatabaseSession session;
+  private OServer          server;
+
+  @Before
+  public void before() throws Exception {
+    server = new OServer(false);
+    server.startup(getClass().getClassLoader().getResourceAsStream("orientdb-server-config.xml"));
+    server.activate();
+    OrientDB orientDB = server.getContext();
+    orientDB.create(OTransactionPhase1BatchTaskTest.class.getSimpleName(), ODatabaseType.PLOCAL);
+    session = orientDB.open(OTransactionPhase1BatchTaskTest.class.getSimpleName(), "admin", "admin");
+    session.createClass("TestClass");
+  }
+
+  @Test
+  public void testBatchOfTransactions() throws Exception {
+    OIdentifiable first = session.save(new ODocument("TestClass"));
+    OIdentifiable second = session.save(new ODocument("TestClass"));
+    ODocument third = session.save(new ODocument("TestClass"));
+    third.field("one", "one");
+    session.save(third);
+
+    OTransactionPhase1BatchTask batch = new OTransactionPhase1BatchTask();
+    batch.addTransaction(new ODistributedRequestId(10, 20), updateTask(first, 1));
+    batch.addTransaction(new ODistributedRequestId(10, 21), updateTask(second, 1));
+    // STALE VERSION
+    batch.addTransaction(new ODistributedRequestId(10, 22), updateTask(third, 1));
+    batch.setLastLSN(new OLogSequenceNumber(0, 1));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    batch.toStream(new DataOutputStream(bytes));
+    OTransactionPhase1BatchTask received = new OTransactionPhase1BatchTask();
+    received.fromStream(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), null);
+    assertEquals(new OLogSequenceNumber(0, 1), received.getLastLSN());
+
+    OTransactionPhase1BatchTaskResult result = (OTransactionPhase1BatchTaskResult) received
+        .execute(new ODistributedRequestId(10, 23), server, null, (ODatabaseDocumentInternal) session);
+    bytes = new ByteArrayOutputStream();
+    result.toStream(new DataOutputStream(bytes));
+    result = new OTransactionPhase1BatchTaskResult();
+    result.fromStream(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+    List<OTransactionPhase1TaskResult> results = result.getResults();
+    assertEquals(3, results.size());
+    assertEquals(OTxSuccess.ID, results.get(0).getResultPayload().getResponseType());
+    assertEquals(OTxSuccess.ID, results.get(1).getResultPayload().getResponseType());
+    assertEquals(OTxConcurrentModification.ID, results.get(2).getResultPayload().getResponseType());
+
+    int[] clusters = { first.getIdentity().getClusterId() };
+    OTransactionPhase2BatchTask batch2 = new OTransactionPhase2BatchTask();
+    batch2.addTransaction(new OTransactionPhase2Task(new ODistributedRequestId(10, 20), true, clusters, null));
+    batch2.addTransaction(new OTransactionPhase2Task(new ODistributedRequestId(10, 21), true, clusters, null));
+    batch2.addTransaction(new OTransactionPhase2Task(new ODistributedRequestId(10, 22), false, clusters, null));
+    assertEquals("OK", batch2.execute(new ODistributedRequestId(10, 24), server, null, (ODatabaseDocumentInternal) session));
+
+    assertEquals(2, session.load(first.getIdentity()).getVersion());
+    assertEquals(2, session.load(second.getIdentity()).getVersion());
+    assertEquals(2, session.load(third.getIdentity()).getVersion());
+  }
+
+  private OTransactionPhase1Task updateTask(OIdentifiable id, int version) {
+    ODocument record = new ODocument(id.getIdentity());
+    record.setClassName("TestClass");
+    record.field("one", "two");
+    ORecordInternal.setVersion(record, version);
+    List<ORecordOperation> operations = new ArrayList<>();
+    operations.add(new ORecordOperation(record, ORecordOperation.UPDATED));
+    return new OTransactionPhase1Task(operations);
+  }
+
+  @After
+  public void after() {
+    session.close();
+    server.getContext().drop(OTransactionPhase1BatchTaskTest.class.getSimpleName());
+    server.shutdown();
+  }
+}
@@ -24,10 +24,12 @@ import com.orientechnologies.orient.core.command.OBasicCommandContext;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.ODatabasePool;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.record.ORecord;
 import com.orientechnologies.orient.etl.context.OETLContextWrapper;
 import com.orientechnologies.orient.etl.loader.OETLLoader;
 import com.orientechnologies.orient.etl.transformer.OETLTransformer;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 
@@ -136,6 +138,90 @@ public class OETLPipeline {
     return this;
   }
 
+  /**
+   * Executes a batch of items in one transaction: each transformer processes all the items of the batch before the next one, so
+   * that it can prefetch what the items need, then the loader loads the batch that is committed at once. A failed commit is
+   * retried for the whole batch. If an item fails, or the batch cannot be committed, the transaction is rolled back and the items
+   * are executed again one at a time, so that only the failed item is skipped, or halts the process.
+   */
+  protected void execute(final List<OETLExtractedItem> batch) {
+    // THE TRANSFORMERS AND THE LOADER CHANGE THE EXTRACTED RECORDS, KEEP A COPY TO EXECUTE THEM AGAIN ON FAILURE
+    final List<OETLExtractedItem> extracted = new ArrayList<OETLExtractedItem>(batch.size());
+    for (OETLExtractedItem item : batch)
+      extracted.add(item.payload instanceof ORecord ? new OETLExtractedItem(item.num, ((ORecord) item.payload).copy()) : item);
+
+    int retry = 0;
+    do {
+      ODatabaseDocument db = pool.acquire();
+      db.activateOnCurrentThread();
+      try {
+        loader.beginTransaction(db);
+
+        final List<Object> current = new ArrayList<Object>(batch.size());
+        for (OETLExtractedItem item : batch)
+          current.add(item.payload);
+
+        for (OETLTransformer t : transformers) {
+          final List<Object> inputs = new ArrayList<Object>(current.size());
+          for (Object input : current) {
+            if (input != null)
+              inputs.add(input);
+          }
+          if (inputs.isEmpty())
+            break;
+
+          t.prefetch(db, inputs);
+
+          for (int i = 0; i < current.size(); ++i) {
+            if (current.get(i) == null)
+              continue;
+
+            final OETLExtractedItem source = batch.get(i);
+            context.setVariable("extractedNum", source.num);
+            context.setVariable("extractedPayload", source.payload);
+
+            current.set(i, t.transform(db, current.get(i)));
+            if (current.get(i) == null) {
+              OETLContextWrapper.getInstance().getMessageHandler()
+                  .warn(this, "Transformer [%s] returned null, skip rest of pipeline execution", t);
+            }
+          }
+        }
+
+        final List<Object> loaded = new ArrayList<Object>(current.size());
+        for (Object o : current) {
+          if (o != null)
+            loaded.add(o);
+        }
+        if (!loaded.isEmpty()) {
+          // LOAD
+          loader.loadBatch(db, loaded, context);
+        }
+
+        db.commit();
+        return;
+      } catch (ONeedRetryException e) {
+        loader.rollback(db);
+        retry++;
+        OETLContextWrapper.getInstance().getMessageHandler()
+            .info(this, "Error in pipeline execution, retry = %d/%d (exception=)", retry, maxRetries, e);
+      } catch (Exception e) {
+        OETLContextWrapper.getInstance().getMessageHandler()
+            .info(this, "Error in batch execution, executing the %d items one at a time (exception=%s)", batch.size(), e);
+
+        loader.rollback(db);
+        break;
+
+      } finally {
+        db.close();
+      }
+    } while (retry < maxRetries);
+
+    // THE FAILED ITEMS ARE SKIPPED OR HALT THE PROCESS, AS WITHOUT BATCHES
+    for (OETLExtractedItem item : extracted)
+      execute(item);
+  }
+
   public void end() {
 //    pool.close();
   }
@@ -18,6 +18,8 @@
 
 package com.orientechnologies.orient.etl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
 /**
@@ -27,10 +29,16 @@ final class OETLPipelineWorker implements Runnable {
 
   private final BlockingQueue<OETLExtractedItem> queue;
   private final OETLPipeline                     pipeline;
+  private final int                              batchSize;
 
   public OETLPipelineWorker(BlockingQueue<OETLExtractedItem> queue, OETLPipeline pipeline) {
+    this(queue, pipeline, 1);
+  }
+
+  public OETLPipelineWorker(BlockingQueue<OETLExtractedItem> queue, OETLPipeline pipeline, int batchSize) {
     this.queue = queue;
     this.pipeline = pipeline;
+    this.batchSize = batchSize;
     pipeline.begin();
   }
 
@@ -38,8 +46,25 @@ final class OETLPipelineWorker implements Runnable {
   public void run() {
     try {
       OETLExtractedItem content;
-      while (!(content = queue.take()).finished) {
-        pipeline.execute(content);
+      if (batchSize > 1) {
+        final List<OETLExtractedItem> batch = new ArrayList<OETLExtractedItem>(batchSize);
+        content = queue.take();
+        while (!content.finished) {
+          batch.add(content);
+
+          // FILL THE BATCH WITH THE ITEMS ALREADY EXTRACTED ONLY, TO NOT DELAY THE ITEMS WAITING IN THE BATCH
+          final OETLExtractedItem next = batch.size() < batchSize ? queue.poll() : null;
+          if (next == null || next.finished) {
+            pipeline.execute(batch);
+            batch.clear();
+            content = next != null ? next : queue.take();
+          } else
+            content = next;
+        }
+      } else {
+        while (!(content = queue.take()).finished) {
+          pipeline.execute(content);
+        }
       }
       pipeline.end();
       //RE-ADD END FLAG FOR OTHER THREADS
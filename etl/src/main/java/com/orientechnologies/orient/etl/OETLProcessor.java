@@ -70,6 +70,7 @@ public class OETLProcessor {
   protected       boolean               haltOnError = true;
   protected       int                   maxRetries  = 10;
   protected       int                   workers     = 1;
+  protected       int                   batchSize   = 1;
   private         boolean               parallel    = false;
 
   /**
@@ -139,6 +140,10 @@ public class OETLProcessor {
         workers = cores - 1;
     }
 
+    // ITEMS TRANSFORMED, LOADED AND COMMITTED TOGETHER BY EACH WORKER
+    final Integer cfgBatchSize = (Integer) context.getVariable("batchSize");
+    if (cfgBatchSize != null && cfgBatchSize > 0)
+      batchSize = cfgBatchSize;
   }
 
   public OETLProcessorStats getStats() {
@@ -189,14 +194,23 @@ public class OETLProcessor {
   private void runExtractorAndPipeline() {
     try {
 
+      if (batchSize > 1 && !loader.isTransactional()) {
+        // WITHOUT A TRANSACTION THE ITEMS OF A FAILED BATCH ARE ALREADY SAVED AND CANNOT BE EXECUTED AGAIN ONE AT A TIME
+        OETLContextWrapper.getInstance().getMessageHandler()
+            .warn(this, "batchSize %d ignored because the loader does not work in transaction", batchSize);
+        batchSize = 1;
+      }
+
       OETLContextWrapper.getInstance().getMessageHandler().info(this, "Started execution with %d worker threads", workers);
       extractor.extract(source.read());
 
-      BlockingQueue<OETLExtractedItem> queue = new LinkedBlockingQueue<OETLExtractedItem>(workers * 500);
+      BlockingQueue<OETLExtractedItem> queue = new LinkedBlockingQueue<OETLExtractedItem>(
+          workers * Math.max(500, batchSize));
 
       List<CompletableFuture<Void>> futures = IntStream.range(0, workers).boxed().map(i -> CompletableFuture
-          .runAsync(new OETLPipelineWorker(queue, new OETLPipeline(this, transformers, loader, logLevel, maxRetries, haltOnError)),
-              executor)).collect(Collectors.toList());
+          .runAsync(
+              new OETLPipelineWorker(queue, new OETLPipeline(this, transformers, loader, logLevel, maxRetries, haltOnError),
+                  batchSize), executor)).collect(Collectors.toList());
 
       futures.add(CompletableFuture.runAsync(new OETLExtractorWorker(extractor, queue, haltOnError), executor));
 
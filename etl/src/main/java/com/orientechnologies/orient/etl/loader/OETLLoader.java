@@ -24,6 +24,8 @@ import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
 import com.orientechnologies.orient.etl.OETLComponent;
 import com.orientechnologies.orient.etl.OETLPipeline;
 
+import java.util.List;
+
 /**
  * ETL Loader.
  */
@@ -31,6 +33,27 @@ public interface OETLLoader extends OETLComponent {
 
   void load(ODatabaseDocument db, final Object input, OCommandContext context);
 
+  /**
+   * Loads the inputs of a batch, committed all together by the pipeline. Loads them one by one by default.
+   */
+  default void loadBatch(ODatabaseDocument db, final List<Object> inputs, OCommandContext context) {
+    for (Object input : inputs)
+      load(db, input, context);
+  }
+
+  /**
+   * @return true if the loader saves the records in a transaction, which can be rolled back
+   */
+  default boolean isTransactional() {
+    return false;
+  }
+
+  /**
+   * Begins the transaction of the loader, if not active yet, so that it contains also the changes made by the transformers.
+   */
+  default void beginTransaction(ODatabaseDocument db) {
+  }
+
   void beginLoader(OETLPipeline pipeline);
 
   long getProgress();
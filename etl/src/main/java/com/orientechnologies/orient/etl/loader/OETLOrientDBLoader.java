@@ -34,9 +34,12 @@ import com.orientechnologies.orient.core.storage.ORecordDuplicatedException;
 import com.orientechnologies.orient.etl.OETLPipeline;
 import com.orientechnologies.orient.etl.context.OETLContextWrapper;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
@@ -88,16 +91,61 @@ public class OETLOrientDBLoader extends OETLAbstractLoader implements OETLLoader
     if (input == null)
       return;
 
+    save(db, input);
+
+    // DO BATCH COMMIT if on TX
+
+    if (tx && batchCommitSize > 0 && batchCounter.get() > batchCommitSize) {
+      synchronized (this) {
+        if (batchCommitSize > 0 && batchCounter.get() > batchCommitSize) {
+          log(Level.FINE, "committing document batch %d", progress.get());
+          db.commit();
+          db.begin();
+          db.getTransaction().setUsingLog(txUseLog);
+          batchCounter.set(0);
+        }
+      }
+    } else {
+      batchCounter.incrementAndGet();
+    }
+  }
+
+  /**
+   * Saves the records of a batch grouped by target cluster, or by class when the cluster is chosen by the class at save time, so
+   * that the records of a cluster are written one after the other. The batch is committed by the pipeline.
+   */
+  @Override
+  public void loadBatch(ODatabaseDocument db, final List<Object> inputs, OCommandContext context) {
+    final Map<String, List<Object>> groups = new LinkedHashMap<String, List<Object>>();
+    for (Object input : inputs) {
+      if (input != null)
+        groups.computeIfAbsent(getTarget(input), k -> new ArrayList<Object>()).add(input);
+    }
+
+    for (List<Object> group : groups.values()) {
+      for (Object input : group)
+        save(db, input);
+    }
+  }
+
+  private String getTarget(final Object input) {
+    if (clusterName != null)
+      return clusterName;
+
+    if (input instanceof OVertex)
+      return ((OVertex) input).getSchemaType().map(OClass::getName).orElse("");
+    else if (input instanceof ODocument)
+      return className != null ? className : String.valueOf(((ODocument) input).getClassName());
+
+    return "";
+  }
+
+  private void save(ODatabaseDocument db, final Object input) {
     if (dbAutoCreateProperties) {
       autoCreateProperties(db, input);
     }
 
-    if (tx) {
-      if (!db.getTransaction().isActive()) {
-        db.begin();
-        db.getTransaction().setUsingLog(txUseLog);
-      }
-    }
+    beginTransaction(db);
 
     if (input instanceof OVertex) {
       final OVertex v = (OVertex) input;
@@ -131,22 +179,6 @@ public class OETLOrientDBLoader extends OETLAbstractLoader implements OETLLoader
     }
 
     progress.incrementAndGet();
-
-    // DO BATCH COMMIT if on TX
-
-    if (tx && batchCommitSize > 0 && batchCounter.get() > batchCommitSize) {
-      synchronized (this) {
-        if (batchCommitSize > 0 && batchCounter.get() > batchCommitSize) {
-          log(Level.FINE, "committing document batch %d", progress.get());
-          db.commit();
-          db.begin();
-          db.getTransaction().setUsingLog(txUseLog);
-          batchCounter.set(0);
-        }
-      }
-    } else {
-      batchCounter.incrementAndGet();
-    }
   }
 
   private void autoCreateProperties(ODatabaseDocument db, Object input) {
@@ -214,6 +246,21 @@ public class OETLOrientDBLoader extends OETLAbstractLoader implements OETLLoader
     return dbType == DOCUMENT ? "documents" : "vertices";
   }
 
+  @Override
+  public boolean isTransactional() {
+    return tx;
+  }
+
+  @Override
+  public void beginTransaction(ODatabaseDocument db) {
+    if (tx) {
+      if (!db.getTransaction().isActive()) {
+        db.begin();
+        db.getTransaction().setUsingLog(txUseLog);
+      }
+    }
+  }
+
   @Override
   public void rollback(ODatabaseDocument db) {
     if (tx) {
@@ -18,12 +18,17 @@
 
 package com.orientechnologies.orient.etl.transformer;
 
+import com.orientechnologies.common.collection.OLRUCache;
+import com.orientechnologies.common.collection.OMultiValue;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.index.OIndex;
+import com.orientechnologies.orient.core.index.OIndexCursor;
 import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.record.ORecord;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.query.OSQLQuery;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
@@ -31,8 +36,13 @@ import com.orientechnologies.orient.etl.context.OETLContextWrapper;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Merges two records. Useful when a record needs to be updated rather than created.
@@ -44,6 +54,7 @@ public abstract class OETLAbstractLookupTransformer extends OETLAbstractTransfor
   protected ACTION unresolvedLinkAction = ACTION.NOTHING;
   private OSQLQuery<ODocument> sqlQuery;
   private OIndex<?>            index;
+  private Map<Object, Object>  cache;
 
   @Override
   public void configure(final ODocument iConfiguration, OCommandContext iContext) {
@@ -59,36 +70,47 @@ public abstract class OETLAbstractLookupTransformer extends OETLAbstractTransfor
 
     if (iConfiguration.containsField("unresolvedLinkAction"))
       unresolvedLinkAction = ACTION.valueOf(iConfiguration.field("unresolvedLinkAction").toString().toUpperCase(Locale.ENGLISH));
+
+    if (iConfiguration.containsField("lookupCache")) {
+      final int lookupCacheSize = ((Number) iConfiguration.field("lookupCache")).intValue();
+      // THE SAME TRANSFORMER IS SHARED BY ALL THE PIPELINE WORKERS
+      if (lookupCacheSize > 0)
+        cache = Collections.synchronizedMap(new OLRUCache<Object, Object>(lookupCacheSize));
+    }
+  }
+
+  protected String getCommonLookupConfigurationParameters() {
+    return "{lookupCache:{optional:true,description:'maximum number of lookup results to cache, 0 (default) to disable it. The cache"
+        + " is never invalidated: use it only when the records looked up are not deleted and their join values do not change during"
+        + " the import'}}";
   }
 
   protected Object lookup(ODatabaseDocument db, Object joinValue, final boolean iReturnRIDS) {
     Object result = null;
 
     if (joinValue != null) {
-      if (sqlQuery == null && index == null) {
-        // ONLY THE FIRST TIME
-        if (lookup.toUpperCase(Locale.ENGLISH).startsWith("SELECT"))
-          sqlQuery = new OSQLSynchQuery<ODocument>(lookup);
-        else {
-          index = db.getMetadata().getIndexManager().getIndex(lookup);
-          if (index == null) {
-            OETLContextWrapper
-                .getInstance().getMessageHandler().warn(this, "WARNING: index %s not found. Lookups could be really slow", lookup);
-            final String[] parts = lookup.split("\\.");
-            sqlQuery = new OSQLSynchQuery<ODocument>("SELECT FROM " + parts[0] + " WHERE " + parts[1] + " = ?");
-          }
-        }
-      }
+      initLookup(db);
 
       if (index != null) {
         final OType idxFieldType = index.getDefinition().getTypes()[0];
         joinValue = OType.convert(joinValue, idxFieldType.getDefaultJavaType());
-        result = index.get(joinValue);
-      } else {
-        if (sqlQuery instanceof OSQLSynchQuery)
-          ((OSQLSynchQuery) sqlQuery).resetPagination();
+      }
+
+      if (cache != null)
+        result = cache.get(joinValue);
+
+      if (result == null) {
+        if (index != null) {
+          result = index.get(joinValue);
+        } else {
+          if (sqlQuery instanceof OSQLSynchQuery)
+            ((OSQLSynchQuery) sqlQuery).resetPagination();
 
-        result = db.query(sqlQuery, joinValue);
+          result = db.query(sqlQuery, joinValue);
+        }
+
+        if (cache != null)
+          cacheResult(joinValue, result);
       }
 
       if (result != null && result instanceof Collection) {
@@ -103,6 +125,17 @@ public abstract class OETLAbstractLookupTransformer extends OETLAbstractTransfor
                 resultRIDs.add(((OIdentifiable) o).getIdentity());
             }
             result = resultRIDs;
+          } else {
+            // LOAD THE RECORDS OF THE RIDS RETURNED BY THE INDEX OR BY THE CACHE
+            final List<ORecord> resultRecords = new ArrayList<ORecord>(coll.size());
+            for (Object o : coll) {
+              if (o instanceof OIdentifiable) {
+                final ORecord record = ((OIdentifiable) o).getRecord();
+                if (record != null)
+                  resultRecords.add(record);
+              }
+            }
+            result = resultRecords.isEmpty() ? null : resultRecords;
           }
         } else
           result = null;
@@ -117,6 +150,108 @@ public abstract class OETLAbstractLookupTransformer extends OETLAbstractTransfor
     return result;
   }
 
+  /**
+   * Prefetches the lookups of the join field values of the input records.
+   */
+  @Override
+  public void prefetch(ODatabaseDocument db, final List<Object> inputs) {
+    if (cache == null || joinFieldName == null || joinFieldName.startsWith("$"))
+      return;
+
+    final List<Object> joinValues = new ArrayList<Object>();
+    for (Object input : inputs) {
+      for (Object o : OMultiValue.getMultiValueIterable(input)) {
+        if (o instanceof OElement) {
+          final Object value = ((OElement) o).getProperty(joinFieldName);
+          if (OMultiValue.isMultiValue(value)) {
+            for (Object v : OMultiValue.getMultiValueIterable(value))
+              joinValues.add(v);
+          } else
+            joinValues.add(value);
+        }
+      }
+    }
+
+    prefetchLookups(db, joinValues);
+  }
+
+  /**
+   * Resolves the lookups of many join values with a single request against the index, keeping the results in the lookup cache
+   * for the following calls of {@link #lookup(ODatabaseDocument, Object, boolean)}. Does nothing if the lookup cache is disabled
+   * or the lookup is not against an index.
+   */
+  protected void prefetchLookups(ODatabaseDocument db, final Collection<Object> joinValues) {
+    if (cache == null || joinValues.isEmpty())
+      return;
+
+    initLookup(db);
+    if (index == null)
+      return;
+
+    final Class<?> keyType = index.getDefinition().getTypes()[0].getDefaultJavaType();
+    final Set<Object> keys = new LinkedHashSet<Object>();
+    for (Object value : joinValues) {
+      if (value != null) {
+        final Object key = OType.convert(value, keyType);
+        if (key != null && !cache.containsKey(key))
+          keys.add(key);
+      }
+    }
+    if (keys.isEmpty())
+      return;
+
+    final Map<Object, List<ORID>> found = new HashMap<Object, List<ORID>>();
+    final OIndexCursor cursor = index.iterateEntries(keys, true);
+    Map.Entry<Object, OIdentifiable> entry;
+    while ((entry = cursor.nextEntry()) != null)
+      found.computeIfAbsent(entry.getKey(), k -> new ArrayList<ORID>()).add(entry.getValue().getIdentity());
+
+    for (Map.Entry<Object, List<ORID>> e : found.entrySet())
+      cacheResult(e.getKey(), index.isUnique() ? e.getValue().get(0) : e.getValue());
+  }
+
+  private void initLookup(ODatabaseDocument db) {
+    if (sqlQuery == null && index == null) {
+      // ONLY THE FIRST TIME
+      if (lookup.toUpperCase(Locale.ENGLISH).startsWith("SELECT"))
+        sqlQuery = new OSQLSynchQuery<ODocument>(lookup);
+      else {
+        index = db.getMetadata().getIndexManager().getIndex(lookup);
+        if (index == null) {
+          OETLContextWrapper
+              .getInstance().getMessageHandler().warn(this, "WARNING: index %s not found. Lookups could be really slow", lookup);
+          final String[] parts = lookup.split("\\.");
+          sqlQuery = new OSQLSynchQuery<ODocument>("SELECT FROM " + parts[0] + " WHERE " + parts[1] + " = ?");
+        }
+      }
+    }
+  }
+
+  /**
+   * Caches the RIDs found by a lookup, whose records are loaded again by the lookups that do not return RIDs. Unresolved lookups are not cached because the record could be created later on (see
+   * {@link ACTION#CREATE}), neither the records not committed yet because their RIDs are temporary.
+   * <p>
+   * The cached RIDs are never invalidated: a record deleted during the import is still returned, and a record created later on
+   * with a join value already cached is not added to the result of a non unique lookup.
+   */
+  private void cacheResult(final Object key, final Object result) {
+    if (result instanceof Collection) {
+      final Collection<?> coll = (Collection<?>) result;
+      if (coll.isEmpty())
+        return;
+
+      final List<ORID> rids = new ArrayList<ORID>(coll.size());
+      for (Object o : coll) {
+        if (!(o instanceof OIdentifiable) || !((OIdentifiable) o).getIdentity().isPersistent())
+          return;
+        rids.add(((OIdentifiable) o).getIdentity());
+      }
+      cache.put(key, Collections.unmodifiableList(rids));
+
+    } else if (result instanceof OIdentifiable && ((OIdentifiable) result).getIdentity().isPersistent())
+      cache.put(key, ((OIdentifiable) result).getIdentity());
+  }
+
   protected enum ACTION {
     NOTHING, WARNING, ERROR, HALT, SKIP, CREATE
   }
@@ -45,6 +45,7 @@ public class OETLEdgeTransformer extends OETLAbstractLookupTransformer {
   @Override
   public ODocument getConfiguration() {
     return new ODocument().fromJSON("{parameters:[" + getCommonConfigurationParameters() + ","
+        + getCommonLookupConfigurationParameters() + ","
         + "{joinValue:{optional:true,description:'value to use for join'}},"
         + "{joinFieldName:{optional:true,description:'field name containing the value to join'}},"
         + "{lookup:{optional:false,description:'<Class>.<property> or Query to execute'}},"
@@ -93,6 +94,12 @@ public class OETLEdgeTransformer extends OETLAbstractLookupTransformer {
     super.begin(db);
   }
 
+  @Override
+  public void prefetch(ODatabaseDocument db, final List<Object> inputs) {
+    if (joinValue == null)
+      super.prefetch(db, inputs);
+  }
+
   @Override
   public Object executeTransform(ODatabaseDocument db, final Object input) {
     for (Object o : OMultiValue.getMultiValueIterable(input)) {
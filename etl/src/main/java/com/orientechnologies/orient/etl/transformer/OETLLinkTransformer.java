@@ -41,6 +41,7 @@ public class OETLLinkTransformer extends OETLAbstractLookupTransformer {
   @Override
   public ODocument getConfiguration() {
     return new ODocument().fromJSON("{parameters:[" + getCommonConfigurationParameters() + ","
+        + getCommonLookupConfigurationParameters() + ","
         + "{joinFieldName:{optional:true,description:'field name containing the value to join'}},"
         + "{joinValue:{optional:true,description:'value to use in lookup query'}},"
         + "{linkFieldName:{optional:false,description:'field name containing the link to set'}},"
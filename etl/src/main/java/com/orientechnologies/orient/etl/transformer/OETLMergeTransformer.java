@@ -33,6 +33,7 @@ public class OETLMergeTransformer extends OETLAbstractLookupTransformer {
   @Override
   public ODocument getConfiguration() {
     return new ODocument().fromJSON("{parameters:[" + getCommonConfigurationParameters() + ","
+        + getCommonLookupConfigurationParameters() + ","
         + "{joinFieldName:{optional:false,description:'field name containing the value to join'}},"
         + "{lookup:{optional:false,description:'<Class>.<property> or Query to execute'}},"
         + "{unresolvedLinkAction:{optional:true,description:'action when a unresolved link is found',values:" + stringArray2Json(
@@ -21,6 +21,8 @@ package com.orientechnologies.orient.etl.transformer;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
 import com.orientechnologies.orient.etl.OETLPipelineComponent;
 
+import java.util.List;
+
 /**
  * ETL Transformer.
  */
@@ -28,4 +30,10 @@ public interface OETLTransformer extends OETLPipelineComponent {
 
   Object transform(ODatabaseDocument db, final Object input);
 
+  /**
+   * Called before transforming the inputs of a batch one by one, to fetch at once what they need. Does nothing by default.
+   */
+  default void prefetch(ODatabaseDocument db, final List<Object> inputs) {
+  }
+
 }
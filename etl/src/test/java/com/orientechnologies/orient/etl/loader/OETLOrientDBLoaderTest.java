@@ -112,6 +112,25 @@ public class OETLOrientDBLoaderTest extends OETLBaseTest {
 
   }
 
+  @Test
+  public void testBatchSkipsOnlyTheFailedItem() {
+
+    configure("{config: { batchSize: 3, haltOnError: false }, source: { content: { value: 'name,surname\nJay,Miner\nSteve,Jobs\n"
+        + "Jay,Other\nBill,Gates' } }, extractor : { csv: {} }, loader: { orientdb: {\n"
+        + "      dbURL: 'memory:" + name.getMethodName() + "',\n" + "      dbAutoCreate: true,\n" + "      tx: true,\n"
+        + "      dbType: \"document\",\n" + "      class: \"Person\",\n" + "      classes: [\n"
+        + "        {name:\"Person\"},\n" + "      ],\n"
+        + "      indexes: [{class:\"Person\" , fields:[\"name:String\"], \"type\":\"UNIQUE\"} ]  } } }");
+
+    proc.execute();
+
+    ODatabaseDocument db = proc.getLoader().getPool().acquire();
+    // THE DUPLICATED NAME FAILS THE COMMIT OF ITS BATCH, THE OTHER ITEMS OF THE BATCH ARE LOADED ONE AT A TIME
+    assertThat(db.countClass("Person")).isEqualTo(3);
+    assertThat(proc.getStats().errors.get()).isEqualTo(1);
+    db.close();
+  }
+
   @Test
   public void shouldSaveDocumentsOnGivenCluster() {
 
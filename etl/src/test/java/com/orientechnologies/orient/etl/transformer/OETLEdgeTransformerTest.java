@@ -269,4 +269,37 @@ public class OETLEdgeTransformerTest extends OETLBaseTest {
     pool.close();
     proc.getLoader().close();
   }
+
+  @Test
+  public void testBatchWithLookupCache() {
+    configure("{config: { batchSize: 3 }, source: { content: { value: 'name,surname,friend\nJay,Miner,Luca\nSteve,Jobs,Enrico\n"
+        + "Bill,Gates,Luca\nLinus,Torvalds,Enrico\nDennis,Ritchie,Luca' } }, extractor : { csv: {} },"
+        + " transformers: [{vertex: {class:'V1'}}, {edge:{class:'Friend',joinFieldName:'friend',lookup:'V2.name',lookupCache:10}},"
+        + "], loader: { orientdb: { dbURL: 'memory:" + name.getMethodName()
+        + "', dbType:'graph', tx:true, useLightweightEdges:false } } }");
+
+    OETLLoader loader = proc.getLoader();
+    ODatabasePool pool = loader.getPool();
+    ODatabaseDocument db = pool.acquire();
+    createClasses(db);
+    db.getClass("V2").createProperty("name", OType.STRING).createIndex(OClass.INDEX_TYPE.NOTUNIQUE);
+    OVertex vertex = db.newVertex("V2");
+    vertex.setProperty("name", "Enrico");
+    db.save(vertex);
+    db.commit();
+    db.close();
+
+    proc.execute();
+    db = pool.acquire();
+
+    assertEquals(5, db.countClass("V1"));
+    assertEquals(2, db.countClass("V2"));
+    assertEquals(5, db.countClass("Friend"));
+
+    OResultSet friends = db.query("SELECT count(*) as count FROM Friend WHERE in.name = 'Luca'");
+    assertEquals(3L, (long) friends.next().<Long>getProperty("count"));
+    friends.close();
+    db.close();
+    pool.close();
+  }
 }
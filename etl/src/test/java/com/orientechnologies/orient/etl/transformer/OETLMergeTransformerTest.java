@@ -135,4 +135,40 @@ public class OETLMergeTransformerTest extends OETLBaseTest {
     resultSet.close();
   }
 
-}
\ No newline at end of file
+  @Test
+  public void shouldMergeVertexFoundByCachedQuery() throws Exception {
+    //the second row finds the record in the lookup cache
+    configure("{source: { content: { value: 'num,name\n10000,FirstNameUpdated\n10000,FirstNameUpdatedAgain' } },"
+        + " extractor : { csv: {} }, transformers: [{merge: { joinFieldName:'num', lookup:'SELECT FROM Person WHERE num = ?', lookupCache:10}},"
+        + " {vertex: {class:'Person', skipDuplicates: false}}]," + " loader: { orientdb: { dbURL: 'memory:" + name.getMethodName()
+        + "', dbType:'graph', tx: true} } }");
+
+    ODatabasePool pool = proc.getLoader().getPool();
+    ODatabaseDocument db = pool.acquire();
+
+    OClass personClass = db.createVertexClass("Person");
+    personClass.createProperty("num", OType.INTEGER);
+
+    OVertex person = db.newVertex("Person");
+    person.setProperty("num", 10000);
+    person.setProperty("name", "FirstName");
+    person.save();
+    db.commit();
+    db.close();
+
+    //run processor
+    proc.execute();
+
+    db = pool.acquire();
+    assertThat(db.countClass("Person")).isEqualTo(1);
+
+    OResultSet resultSet = db.query("SELECT from Person where num = 10000");
+
+    final OResult updated = resultSet.next();
+
+    assertThat(updated.<String>getProperty("name")).isEqualTo("FirstNameUpdatedAgain");
+    assertThat(resultSet.hasNext()).isFalse();
+    resultSet.close();
+    db.close();
+  }
+}
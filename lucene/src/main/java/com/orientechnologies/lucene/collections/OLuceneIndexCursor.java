@@ -19,15 +19,21 @@ public class OLuceneIndexCursor implements OIndexCursor {
 
   public OLuceneIndexCursor(OLuceneResultSet resultSet, Object key) {
     this.resultSet = resultSet;
-    this.iterator = resultSet.iterator();
     this.key = key;
   }
 
+  private Iterator<OIdentifiable> iterator() {
+    // THE HITS ARE COLLECTED ON THE FIRST READ, AFTER THE PREFETCH SIZE HAS BEEN SET
+    if (iterator == null)
+      iterator = resultSet.iterator();
+    return iterator;
+  }
+
   @Override
   public Map.Entry<Object, OIdentifiable> nextEntry() {
 
-    if (iterator.hasNext()) {
-      final OIdentifiable next = iterator.next();
+    if (iterator().hasNext()) {
+      final OIdentifiable next = iterator().next();
       return new Map.Entry<Object, OIdentifiable>() {
         @Override
         public Object getKey() {
@@ -65,17 +71,17 @@ public class OLuceneIndexCursor implements OIndexCursor {
 
   @Override
   public void setPrefetchSize(int prefetchSize) {
-
+    resultSet.setPageSize(prefetchSize);
   }
 
   @Override
   public boolean hasNext() {
-    return false;
+    return iterator().hasNext();
   }
 
   @Override
   public OIdentifiable next() {
-    return null;
+    return iterator().next();
   }
 
   @Override
@@ -44,11 +44,17 @@ import java.io.IOException;
 import java.util.*;
 
 /**
+ * Hits of a Lucene query. The hits are collected in pages when the result set is iterated, starting from a small page and doubling
+ * the size of each next page, and they are converted to records one by one: a query with a small limit collects and converts only
+ * the first hits.
+ * <p>
  * Created by Enrico Risa on 16/09/15.
  */
 public class OLuceneResultSet implements Set<OIdentifiable> {
 
-  private static Integer PAGE_SIZE = 10000;
+  private static final int FIRST_PAGE_SIZE = 100;
+  private static final int MAX_PAGE_SIZE   = 10000;
+
   private final Query               query;
   private final OLuceneIndexEngine  engine;
   private final OLuceneQueryContext queryContext;
@@ -58,6 +64,7 @@ public class OLuceneResultSet implements Set<OIdentifiable> {
   private final int                 maxNumFragments;
   private       TopDocs             topDocs;
   private long deletedMatchCount = 0;
+  private int  pageSize          = FIRST_PAGE_SIZE;
 
   public OLuceneResultSet(OLuceneIndexEngine engine, OLuceneQueryContext queryContext, ODocument metadata) {
     this.engine = engine;
@@ -65,8 +72,6 @@ public class OLuceneResultSet implements Set<OIdentifiable> {
     this.query = queryContext.getQuery();
 
     indexName = engine.indexName();
-    fetchFirstBatch();
-    deletedMatchCount = calculateDeletedMatch();
 
     Map<String, Object> highlight = Optional.ofNullable(metadata.<Map>getProperty("highlight")).orElse(Collections.emptyMap());
 
@@ -83,16 +88,32 @@ public class OLuceneResultSet implements Set<OIdentifiable> {
     maxNumFragments = (int) Optional.ofNullable(highlight.get("maxNumFragments")).orElse(2);
   }
 
+  /**
+   * Sets the number of hits collected by the first page, if the result set has not been read yet.
+   */
+  public void setPageSize(int pageSize) {
+    if (pageSize > 0)
+      this.pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+  }
+
+  private TopDocs getTopDocs() {
+    if (topDocs == null) {
+      fetchFirstBatch();
+      deletedMatchCount = calculateDeletedMatch();
+    }
+    return topDocs;
+  }
+
   protected void fetchFirstBatch() {
     try {
 
       IndexSearcher searcher = queryContext.getSearcher();
 
       if (queryContext.getSort() == null)
-        topDocs = searcher.search(query, PAGE_SIZE);
+        topDocs = searcher.search(query, pageSize);
 
       else
-        topDocs = searcher.search(query, PAGE_SIZE, queryContext.getSort());
+        topDocs = searcher.search(query, pageSize, queryContext.getSort());
     } catch (IOException e) {
       OLogManager.instance().error(this, "Error on fetching document by query '%s' to Lucene index", e, query);
     }
@@ -154,7 +175,7 @@ public class OLuceneResultSet implements Set<OIdentifiable> {
   }
 
   public void sendLookupTime(OCommandContext commandContext, long start) {
-    OLuceneIndexEngineUtils.sendLookupTime(indexName, commandContext, topDocs, -1, start);
+    OLuceneIndexEngineUtils.sendLookupTime(indexName, commandContext, getTopDocs(), -1, start);
   }
 
   protected long calculateDeletedMatch() {
@@ -163,7 +184,7 @@ public class OLuceneResultSet implements Set<OIdentifiable> {
 
   @Override
   public int size() {
-    return (int) Math.max(0, topDocs.totalHits - deletedMatchCount);
+    return (int) Math.max(0, getTopDocs().totalHits - deletedMatchCount);
   }
 
   @Override
@@ -179,6 +200,7 @@ public class OLuceneResultSet implements Set<OIdentifiable> {
     private long        totalHits;
 
     public OLuceneResultSetIteratorTx() {
+      final TopDocs topDocs = getTopDocs();
       totalHits = topDocs.totalHits;
       index = 0;
       localIndex = 0;
@@ -267,10 +289,11 @@ public class OLuceneResultSet implements Set<OIdentifiable> {
 
         IndexSearcher searcher = queryContext.getSearcher();
 
+        pageSize = Math.min(pageSize * 2, MAX_PAGE_SIZE);
         if (queryContext.getSort() == null)
-          topDocs = searcher.searchAfter(scoreDocs[scoreDocs.length - 1], query, PAGE_SIZE);
+          topDocs = searcher.searchAfter(scoreDocs[scoreDocs.length - 1], query, pageSize);
         else
-          topDocs = searcher.searchAfter(scoreDocs[scoreDocs.length - 1], query, PAGE_SIZE, queryContext.getSort());
+          topDocs = searcher.searchAfter(scoreDocs[scoreDocs.length - 1], query, pageSize, queryContext.getSort());
 
         scoreDocs = topDocs.scoreDocs;
 
@@ -20,6 +20,9 @@ import com.orientechnologies.common.concur.resource.OSharedResourceAdaptiveExter
 import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.common.io.OFileUtils;
 import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.common.profiler.OProfiler;
+import com.orientechnologies.common.thread.OThreadPoolExecutorWithLogging;
+import com.orientechnologies.common.util.OUncaughtExceptionHandler;
 import com.orientechnologies.common.serialization.types.OBinarySerializer;
 import com.orientechnologies.lucene.analyzer.OLuceneAnalyzerFactory;
 import com.orientechnologies.lucene.builder.OLuceneIndexType;
@@ -29,6 +32,7 @@ import com.orientechnologies.lucene.tx.OLuceneTxChanges;
 import com.orientechnologies.lucene.tx.OLuceneTxChangesMultiRid;
 import com.orientechnologies.lucene.tx.OLuceneTxChangesSingleRid;
 import com.orientechnologies.orient.core.Orient;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
@@ -43,6 +47,7 @@ import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.metadata.schema.OProperty;
 import com.orientechnologies.orient.core.metadata.schema.OType;
 import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.shutdown.OShutdownHandler;
 import com.orientechnologies.orient.core.storage.OStorage;
 import com.orientechnologies.orient.core.storage.disk.OLocalPaginatedStorage;
 import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
@@ -56,6 +61,8 @@ import org.apache.lucene.index.Term;
 import org.apache.lucene.search.ControlledRealTimeReopenThread;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ReferenceManager;
+import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TermQuery;
@@ -74,6 +81,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TimerTask;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
@@ -87,6 +97,20 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
   public static final String RID = "RID";
   public static final String KEY = "KEY";
 
+  private static ExecutorService searchExecutor;
+
+  private static final OShutdownHandler searchExecutorShutdownHandler = new OShutdownHandler() {
+    @Override
+    public int getPriority() {
+      return SHUTDOWN_ENGINES_PRIORITY + 1;
+    }
+
+    @Override
+    public void shutdown() throws Exception {
+      shutdownSearchExecutor();
+    }
+  };
+
   private final AtomicLong      lastAccess;
   private       SearcherManager searcherManager;
   OIndexDefinition indexDefinition;
@@ -107,6 +131,12 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
   private          long             closeAfterInterval;
   private          long             firstFlushAfter;
 
+  private          OLuceneRefreshPolicy refreshPolicy;
+  private          long                 refreshInterval;
+  private volatile long                 lastReopen;
+  private final    AtomicLong           reopenCount = new AtomicLong();
+  private final    AtomicLong           reopenTime  = new AtomicLong();
+
   private Lock openCloseLock;
 
   public OLuceneIndexEngineAbstract(OStorage storage, String name) {
@@ -152,6 +182,13 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
     closeAfterInterval = Optional.ofNullable(metadata.<Integer>getProperty("closeAfterInterval")).orElse(120000).longValue();
 
     firstFlushAfter = Optional.ofNullable(metadata.<Integer>getProperty("firstFlushAfter")).orElse(10000).longValue();
+
+    refreshPolicy = OLuceneRefreshPolicy.fromName(metadata.<String>getProperty("refreshPolicy"));
+
+    refreshInterval = Optional.ofNullable(metadata.<Integer>getProperty("refreshInterval")).orElse(1000).longValue();
+    if (refreshInterval <= 0)
+      throw new OLuceneIndexException("Invalid refresh interval " + refreshInterval + " for index '" + indexName
+          + "', it must be greater than 0 ms");
   }
 
   private void scheduleCommitTask() {
@@ -226,7 +263,8 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
       directory = directoryFactory.createDirectory(getDatabase(), name, metadata);
 
       indexWriter = createIndexWriter(directory.getDirectory());
-      searcherManager = new SearcherManager(indexWriter, true, true, null);
+      searcherManager = new SearcherManager(indexWriter, true, true, createSearcherFactory());
+      searcherManager.addListener(new OReopenListener());
 
       reopenToken = 0;
 
@@ -271,8 +309,60 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
 
   }
 
+  private static SearcherFactory createSearcherFactory() {
+    final ExecutorService executor = getSearchExecutor();
+    if (executor == null)
+      return null;
+
+    return new SearcherFactory() {
+      @Override
+      public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) {
+        return new IndexSearcher(reader, executor);
+      }
+    };
+  }
+
+  /**
+   * @return the executor shared by all the Lucene indexes to search the segments in parallel, null if the segments are searched in
+   * the query thread
+   */
+  private static synchronized ExecutorService getSearchExecutor() {
+    final int threads = OGlobalConfiguration.INDEX_LUCENE_SEARCH_THREADS.getValueAsInteger();
+    if (threads < 2)
+      return null;
+
+    if (searchExecutor == null) {
+      final OThreadPoolExecutorWithLogging executor = new OThreadPoolExecutorWithLogging(threads, threads, 60L, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(), r -> {
+        final Thread thread = new Thread(r);
+        thread.setDaemon(true);
+        thread.setName("OrientDB Lucene Search Thread");
+        thread.setUncaughtExceptionHandler(new OUncaughtExceptionHandler());
+        return thread;
+      });
+      executor.allowCoreThreadTimeOut(true);
+      searchExecutor = executor;
+      // THE HANDLERS ARE REMOVED ON SHUTDOWN, THE EXECUTOR IS CREATED AGAIN IF THE ENGINE IS RESTARTED
+      Orient.instance().addShutdownHandler(searchExecutorShutdownHandler);
+    }
+    return searchExecutor;
+  }
+
+  private static synchronized void shutdownSearchExecutor() throws InterruptedException {
+    if (searchExecutor != null) {
+      searchExecutor.shutdown();
+      searchExecutor.awaitTermination(1, TimeUnit.MINUTES);
+      searchExecutor = null;
+    }
+  }
+
   private void startNRT() {
-    nrt = new ControlledRealTimeReopenThread<>(indexWriter, searcherManager, 60.00, 0.1);
+    if (refreshPolicy == OLuceneRefreshPolicy.STRICT)
+      nrt = new ControlledRealTimeReopenThread<>(indexWriter, searcherManager, 60.00, 0.1);
+    else {
+      final double interval = refreshInterval / 1000.0;
+      nrt = new ControlledRealTimeReopenThread<>(indexWriter, searcherManager, interval, Math.min(interval, 0.1));
+    }
     nrt.setDaemon(true);
     nrt.start();
   }
@@ -444,7 +534,9 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
     try {
       updateLastAccess();
       openIfClosed();
-      nrt.waitForGeneration(reopenToken);
+      if (refreshPolicy == OLuceneRefreshPolicy.STRICT || (refreshPolicy == OLuceneRefreshPolicy.BOUNDED_STALENESS
+          && System.currentTimeMillis() - lastReopen > refreshInterval))
+        nrt.waitForGeneration(reopenToken);
       return searcherManager.acquire();
     } catch (Exception e) {
       OLogManager.instance().error(this, "Error on get searcher from Lucene index", e);
@@ -453,6 +545,48 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
 
   }
 
+  public OLuceneRefreshPolicy getRefreshPolicy() {
+    return refreshPolicy;
+  }
+
+  /**
+   * @return number of times the searcher has been reopened to see the last changes
+   */
+  public long getReopenCount() {
+    return reopenCount.get();
+  }
+
+  /**
+   * @return total time (in ms) spent reopening the searcher
+   */
+  public long getReopenTime() {
+    return reopenTime.get();
+  }
+
+  private class OReopenListener implements ReferenceManager.RefreshListener {
+    private long start;
+
+    @Override
+    public void beforeRefresh() {
+      start = System.currentTimeMillis();
+    }
+
+    @Override
+    public void afterRefresh(boolean didRefresh) {
+      if (!didRefresh)
+        return;
+
+      lastReopen = System.currentTimeMillis();
+      reopenCount.incrementAndGet();
+      reopenTime.addAndGet(lastReopen - start);
+
+      final OProfiler profiler = Orient.instance().getProfiler();
+      if (profiler.isRecording())
+        profiler.stopChrono("db." + storage.getName() + ".luceneIndex." + name + ".reopen", "Reopen of a Lucene index searcher",
+            start, "db.*.luceneIndex.*.reopen");
+    }
+  }
+
   @Override
   public long sizeInTx(OLuceneTxChanges changes) {
     updateLastAccess();
@@ -471,9 +605,9 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
   @Override
   public OLuceneTxChanges buildTxChanges() throws IOException {
     if (isCollectionDelete()) {
-      return new OLuceneTxChangesMultiRid(this, createIndexWriter(new RAMDirectory()), createIndexWriter(new RAMDirectory()));
+      return new OLuceneTxChangesMultiRid(this);
     } else {
-      return new OLuceneTxChangesSingleRid(this, createIndexWriter(new RAMDirectory()), createIndexWriter(new RAMDirectory()));
+      return new OLuceneTxChangesSingleRid(this);
     }
   }
 
@@ -0,0 +1,67 @@
+/*
+ *
+ *  * Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.orientechnologies.lucene.engine;
+
+import com.orientechnologies.lucene.exception.OLuceneIndexException;
+
+import java.util.Locale;
+
+/**
+ * When the searcher of a Lucene index is reopened to see the last changes, set with the <code>refreshPolicy</code> metadata of the
+ * index. The period of the background refresh is set with the <code>refreshInterval</code> metadata, in ms.
+ */
+public enum OLuceneRefreshPolicy {
+  /**
+   * Every search waits for the reopen of the searcher on the last change.
+   */
+  STRICT("strict"),
+
+  /**
+   * The searcher is reopened in background every refresh interval, searches never wait.
+   */
+  INTERVAL("interval"),
+
+  /**
+   * The searcher is reopened in background every refresh interval, searches wait for a reopen only when the searcher is older than
+   * the refresh interval.
+   */
+  BOUNDED_STALENESS("bounded-staleness");
+
+  private final String name;
+
+  OLuceneRefreshPolicy(String name) {
+    this.name = name;
+  }
+
+  public static OLuceneRefreshPolicy fromName(String name) {
+    if (name == null)
+      return STRICT;
+
+    for (OLuceneRefreshPolicy policy : values()) {
+      if (policy.name.equals(name.toLowerCase(Locale.ENGLISH)))
+        return policy;
+    }
+    throw new OLuceneIndexException("Invalid refresh policy '" + name + "', valid values are strict, interval, bounded-staleness");
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -19,18 +19,28 @@
 package com.orientechnologies.lucene.tx;
 
 import com.orientechnologies.common.exception.OException;
-import com.orientechnologies.common.log.OLogManager;
 import com.orientechnologies.lucene.engine.OLuceneIndexEngine;
 import com.orientechnologies.lucene.exception.OLuceneIndexException;
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import org.apache.lucene.document.Document;
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiReader;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
-import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.RAMDirectory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
+ * Buffers the documents added and removed by a transaction. Nothing is indexed while the transaction writes: the in memory index
+ * of the changes is built only when a query runs inside the transaction and it is kept until the next change.
+ * <p>
  * Created by Enrico Risa on 28/09/15.
  */
 public abstract class OLuceneTxChangesAbstract implements OLuceneTxChanges {
@@ -38,40 +48,80 @@ public abstract class OLuceneTxChangesAbstract implements OLuceneTxChanges {
   public static final String TMP = "_tmp_rid";
 
   protected final OLuceneIndexEngine engine;
-  protected final IndexWriter        writer;
-  protected final IndexWriter        deletedIdx;
 
-  public OLuceneTxChangesAbstract(OLuceneIndexEngine engine, IndexWriter writer, IndexWriter deletedIdx) {
+  private final List<Object>   addedKeys = new ArrayList<Object>();
+  private final List<String>   addedRids = new ArrayList<String>();
+  private final List<Document> addedDocs = new ArrayList<Document>();
+
+  private IndexReader addedReader;
+  private IndexReader deletedReader;
+
+  public OLuceneTxChangesAbstract(OLuceneIndexEngine engine) {
     this.engine = engine;
-    this.writer = writer;
-    this.deletedIdx = deletedIdx;
   }
 
-  public IndexSearcher searcher() {
-    // TODO optimize
-    try {
-      return new IndexSearcher(DirectoryReader.open(writer, true, true));
-    } catch (IOException e) {
-//      OLogManager.instance().error(this, "Error during searcher index instantiation on new documents", e);
-      throw OException.wrapException(new OLuceneIndexException("Error during searcher index instantiation on new documents"), e);
+  protected void addDocument(Object key, OIdentifiable value, Document doc) {
+    addedKeys.add(key);
+    addedRids.add(value.getIdentity().toString());
+    addedDocs.add(doc);
+    addedReader = null;
+  }
+
+  /**
+   * Removes the documents added in the transaction for the rid and, if not null, the key.
+   */
+  protected void removeAddedDocuments(Object key, OIdentifiable value) {
+    final String rid = value.getIdentity().toString();
+    for (int i = addedRids.size() - 1; i >= 0; i--) {
+      if (addedRids.get(i).equals(rid) && (key == null || key.equals(addedKeys.get(i)))) {
+        addedKeys.remove(i);
+        addedRids.remove(i);
+        addedDocs.remove(i);
+        addedReader = null;
+      }
     }
+  }
+
+  protected void deletedDocumentsChanged() {
+    deletedReader = null;
+  }
 
+  protected long addedDocs() {
+    return addedDocs.size();
+  }
+
+  public IndexSearcher searcher() {
+    if (addedReader == null)
+      addedReader = buildReader(addedDocs);
+    return new IndexSearcher(addedReader);
   }
 
   @Override
   public long deletedDocs(Query query) {
+    if (getDeletedDocs().isEmpty())
+      return 0;
 
     try {
-      IndexSearcher indexSearcher = new IndexSearcher(DirectoryReader.open(deletedIdx, true, true));
-
-      TopDocs search = indexSearcher.search(query, Integer.MAX_VALUE);
-      return search.totalHits;
+      if (deletedReader == null)
+        deletedReader = buildReader(getDeletedDocs());
+      return new IndexSearcher(deletedReader).count(query);
     } catch (IOException e) {
-      OLogManager.instance().error(this, "Error during searcher index instantiation on deleted documents ", e);
-    } finally {
-
+      throw OException.wrapException(new OLuceneIndexException("Error during search on deleted documents"), e);
     }
+  }
+
+  private IndexReader buildReader(Collection<Document> docs) {
+    try {
+      if (docs.isEmpty())
+        return new MultiReader();
 
-    return 0;
+      final RAMDirectory directory = new RAMDirectory();
+      try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(engine.indexAnalyzer()))) {
+        writer.addDocuments(docs);
+      }
+      return DirectoryReader.open(directory);
+    } catch (IOException e) {
+      throw OException.wrapException(new OLuceneIndexException("Error during searcher index instantiation on tx documents"), e);
+    }
   }
 }
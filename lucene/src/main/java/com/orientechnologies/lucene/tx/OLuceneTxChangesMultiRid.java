@@ -18,18 +18,14 @@
 
 package com.orientechnologies.lucene.tx;
 
-import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.lucene.engine.OLuceneIndexEngine;
-import com.orientechnologies.lucene.exception.OLuceneIndexException;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import org.apache.lucene.analysis.core.KeywordAnalyzer;
 import org.apache.lucene.document.Document;
-import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexableField;
 import org.apache.lucene.index.memory.MemoryIndex;
 import org.apache.lucene.search.Query;
 
-import java.io.IOException;
 import java.util.*;
 
 /**
@@ -39,40 +35,29 @@ public class OLuceneTxChangesMultiRid extends OLuceneTxChangesAbstract {
   private final Map<String, List<String>> deleted     = new HashMap<String, List<String>>();
   private final Set<Document>             deletedDocs = new HashSet<Document>();
 
-  public OLuceneTxChangesMultiRid(OLuceneIndexEngine engine, IndexWriter writer, IndexWriter deletedIdx) {
-    super(engine, writer, deletedIdx);
+  public OLuceneTxChangesMultiRid(OLuceneIndexEngine engine) {
+    super(engine);
   }
 
   public void put(Object key, OIdentifiable value, Document doc) {
-    try {
-      writer.addDocument(doc);
-    } catch (IOException e) {
-      throw OException.wrapException(new OLuceneIndexException("unable to add document to changes index"), e);
-    }
+    addDocument(key, value, doc);
   }
 
   public void remove(Object key, OIdentifiable value) {
+    if (value.getIdentity().isTemporary()) {
+      removeAddedDocuments(key, value);
+    } else {
 
-    try {
-      if (value.getIdentity().isTemporary()) {
-        writer.deleteDocuments(engine.deleteQuery(key, value));
-      } else {
-
-        deleted.putIfAbsent(value.getIdentity().toString(), new ArrayList<>());
-        deleted.get(value.getIdentity().toString()).add(key.toString());
+      deleted.putIfAbsent(value.getIdentity().toString(), new ArrayList<>());
+      deleted.get(value.getIdentity().toString()).add(key.toString());
 
-        Document doc = engine.buildDocument(key, value);
-        deletedDocs.add(doc);
-        deletedIdx.addDocument(doc);
-      }
-    } catch (IOException e) {
-      throw OException
-          .wrapException(new OLuceneIndexException("Error while deleting documents in transaction from lucene index"), e);
+      deletedDocs.add(engine.buildDocument(key, value));
+      deletedDocumentsChanged();
     }
   }
 
   public long numDocs() {
-    return searcher().getIndexReader().numDocs() - deletedDocs.size();
+    return addedDocs() - deletedDocs.size();
   }
 
   public Set<Document> getDeletedDocs() {
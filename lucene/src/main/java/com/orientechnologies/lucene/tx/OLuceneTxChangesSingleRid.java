@@ -18,16 +18,12 @@
 
 package com.orientechnologies.lucene.tx;
 
-import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.lucene.builder.OLuceneIndexType;
 import com.orientechnologies.lucene.engine.OLuceneIndexEngine;
-import com.orientechnologies.lucene.exception.OLuceneIndexException;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
-import org.apache.lucene.index.IndexWriter;
 
-import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -40,8 +36,8 @@ public class OLuceneTxChangesSingleRid extends OLuceneTxChangesAbstract {
   private final Set<String>   updated     = new HashSet<String>();
   private final Set<Document> deletedDocs = new HashSet<Document>();
 
-  public OLuceneTxChangesSingleRid(OLuceneIndexEngine engine, IndexWriter writer, IndexWriter deletedIdx) {
-    super(engine, writer, deletedIdx);
+  public OLuceneTxChangesSingleRid(OLuceneIndexEngine engine) {
+    super(engine);
   }
 
   public void put(Object key, OIdentifiable value, Document doc) {
@@ -49,33 +45,21 @@ public class OLuceneTxChangesSingleRid extends OLuceneTxChangesAbstract {
       doc.add(OLuceneIndexType.createField(TMP, value.getIdentity().toString(), Field.Store.YES));
       updated.add(value.getIdentity().toString());
     }
-    try {
-      writer.addDocument(doc);
-    } catch (IOException e) {
-      throw OException.wrapException(new OLuceneIndexException("unable to add document to changes index"), e);
-    }
+    addDocument(key, value, doc);
   }
 
   public void remove(Object key, OIdentifiable value) {
-
-    try {
-      if (value.getIdentity().isTemporary()) {
-        writer.deleteDocuments(engine.deleteQuery(key, value));
-      } else {
-        deleted.add(value.getIdentity().toString());
-        Document doc = engine.buildDocument(key, value);
-        deletedDocs.add(doc);
-        deletedIdx.addDocument(doc);
-
-      }
-    } catch (IOException e) {
-      throw OException
-          .wrapException(new OLuceneIndexException("Error while deleting documents in transaction from lucene index"), e);
+    if (value.getIdentity().isTemporary()) {
+      removeAddedDocuments(null, value);
+    } else {
+      deleted.add(value.getIdentity().toString());
+      deletedDocs.add(engine.buildDocument(key, value));
+      deletedDocumentsChanged();
     }
   }
 
   public long numDocs() {
-    return searcher().getIndexReader().numDocs() - deleted.size() - updated.size();
+    return addedDocs() - deleted.size() - updated.size();
   }
 
   public Set<Document> getDeletedDocs() {
@@ -27,13 +27,16 @@ import com.orientechnologies.orient.core.index.OIndex;
 import com.orientechnologies.orient.core.index.OIndexFactory;
 import com.orientechnologies.orient.core.index.OIndexInternal;
 import com.orientechnologies.orient.core.index.engine.OBaseIndexEngine;
+import com.orientechnologies.orient.core.index.engine.v1.OCellBTreeIndexEngine;
 import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.metadata.schema.OType;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.storage.OStorage;
 import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
 import com.orientechnologies.spatial.engine.OLuceneSpatialIndexEngineDelegator;
+import com.orientechnologies.spatial.engine.OSpatialPointIndexEngine;
 import com.orientechnologies.spatial.index.OLuceneSpatialIndex;
+import com.orientechnologies.spatial.index.OSpatialPointIndex;
 import com.orientechnologies.spatial.shape.OShapeFactory;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 
@@ -46,6 +49,11 @@ import static com.orientechnologies.lucene.OLuceneIndexFactory.LUCENE_ALGORITHM;
 
 public class OLuceneSpatialIndexFactory implements OIndexFactory, ODatabaseLifecycleListener {
 
+  /**
+   * Native spatial index of points, stored on the paginated storage by Hilbert curve key.
+   */
+  public static final String HILBERT_ALGORITHM = "HILBERT";
+
   private static final Set<String> TYPES;
   private static final Set<String> ALGORITHMS;
 
@@ -58,6 +66,7 @@ public class OLuceneSpatialIndexFactory implements OIndexFactory, ODatabaseLifec
   static {
     final Set<String> algorithms = new HashSet<String>();
     algorithms.add(LUCENE_ALGORITHM);
+    algorithms.add(HILBERT_ALGORITHM);
     ALGORITHMS = Collections.unmodifiableSet(algorithms);
   }
 
@@ -76,6 +85,8 @@ public class OLuceneSpatialIndexFactory implements OIndexFactory, ODatabaseLifec
 
   @Override
   public int getLastVersion(final String algorithm) {
+    if (HILBERT_ALGORITHM.equals(algorithm))
+      return OCellBTreeIndexEngine.VERSION;
     return 0;
   }
 
@@ -108,6 +119,12 @@ public class OLuceneSpatialIndexFactory implements OIndexFactory, ODatabaseLifec
 
     if (OClass.INDEX_TYPE.SPATIAL.toString().equals(indexType)) {
       final int binaryFormatVersion = pagStorage.getConfiguration().getBinaryFormatVersion();
+      if (HILBERT_ALGORITHM.equals(algorithm)) {
+        if (version < 0)
+          version = getLastVersion(algorithm);
+        return new OSpatialPointIndex(name, indexType, HILBERT_ALGORITHM, version, pagStorage, valueContainerAlgorithm, metadata,
+            binaryFormatVersion);
+      }
       return new OLuceneSpatialIndex(name, indexType, LUCENE_ALGORITHM, version, pagStorage, valueContainerAlgorithm, metadata,
           binaryFormatVersion);
     }
@@ -118,6 +135,9 @@ public class OLuceneSpatialIndexFactory implements OIndexFactory, ODatabaseLifec
   public OBaseIndexEngine createIndexEngine(String algorithm, String name, Boolean durableInNonTxMode, OStorage storage,
       int version, int apiVersion, boolean multiValue, Map<String, String> engineProperties) {
 
+    if (HILBERT_ALGORITHM.equals(algorithm))
+      return new OSpatialPointIndexEngine(name, (OAbstractPaginatedStorage) storage.getUnderlying(), version);
+
     return new OLuceneSpatialIndexEngineDelegator(name, durableInNonTxMode, storage, version);
 
   }
@@ -0,0 +1,191 @@
+/**
+ * Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * For more information: http://www.orientdb.com
+ */
+package com.orientechnologies.spatial.engine;
+
+import com.orientechnologies.common.serialization.types.OBinarySerializer;
+import com.orientechnologies.common.serialization.types.OLongSerializer;
+import com.orientechnologies.orient.core.encryption.OEncryption;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.index.OIndexCursor;
+import com.orientechnologies.orient.core.index.OIndexDefinition;
+import com.orientechnologies.orient.core.index.OIndexKeyCursor;
+import com.orientechnologies.orient.core.index.engine.OMultiValueIndexEngine;
+import com.orientechnologies.orient.core.index.engine.v1.OCellBTreeMultiValueIndexEngine;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Engine of the native spatial indexes: stores the points by their {@link com.orientechnologies.spatial.index.OHilbertCurve} key
+ * in a cell B-tree of the paginated storage, so the index is durable and protected by the WAL like any other index. The storage
+ * describes the keys by the type of the indexed property (<code>EMBEDDED</code>), they are replaced here by <code>Long</code>
+ * keys.
+ */
+public class OSpatialPointIndexEngine implements OMultiValueIndexEngine {
+  private static final OType[] KEY_TYPES = new OType[] { OType.LONG };
+
+  private final OCellBTreeMultiValueIndexEngine delegate;
+
+  public OSpatialPointIndexEngine(final String name, final OAbstractPaginatedStorage storage, final int version) {
+    this.delegate = new OCellBTreeMultiValueIndexEngine(name, storage, version);
+  }
+
+  @Override
+  public void init(String indexName, String indexType, OIndexDefinition indexDefinition, boolean isAutomatic, ODocument metadata) {
+    delegate.init(indexName, indexType, indexDefinition, isAutomatic, metadata);
+  }
+
+  @Override
+  public void flush() {
+    delegate.flush();
+  }
+
+  @Override
+  public void create(OBinarySerializer valueSerializer, boolean isAutomatic, OType[] keyTypes, boolean nullPointerSupport,
+      OBinarySerializer keySerializer, int keySize, Set<String> clustersToIndex, Map<String, String> engineProperties,
+      ODocument metadata, OEncryption encryption) {
+    delegate.create(valueSerializer, isAutomatic, KEY_TYPES, nullPointerSupport, OLongSerializer.INSTANCE, 1, clustersToIndex,
+        engineProperties, metadata, encryption);
+  }
+
+  @Override
+  public void load(String name, int keySize, OType[] keyTypes, OBinarySerializer keySerializer, OEncryption encryption) {
+    delegate.load(name, 1, KEY_TYPES, OLongSerializer.INSTANCE, encryption);
+  }
+
+  @Override
+  public void delete() {
+    delegate.delete();
+  }
+
+  @Override
+  public void deleteWithoutLoad(String indexName) {
+    delegate.deleteWithoutLoad(indexName);
+  }
+
+  @Override
+  public boolean contains(Object key) {
+    return delegate.contains(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  @Override
+  public Collection<ORID> get(Object key) {
+    return delegate.get(key);
+  }
+
+  @Override
+  public void put(Object key, ORID value) {
+    delegate.put(key, value);
+  }
+
+  @Override
+  public boolean remove(Object key) {
+    return delegate.remove(key);
+  }
+
+  @Override
+  public boolean remove(Object key, ORID value) {
+    return delegate.remove(key, value);
+  }
+
+  @Override
+  public Object getFirstKey() {
+    return delegate.getFirstKey();
+  }
+
+  @Override
+  public Object getLastKey() {
+    return delegate.getLastKey();
+  }
+
+  @Override
+  public OIndexCursor iterateEntriesBetween(Object rangeFrom, boolean fromInclusive, Object rangeTo, boolean toInclusive,
+      boolean ascSortOrder, ValuesTransformer transformer) {
+    return delegate.iterateEntriesBetween(rangeFrom, fromInclusive, rangeTo, toInclusive, ascSortOrder, transformer);
+  }
+
+  @Override
+  public OIndexCursor iterateEntriesMajor(Object fromKey, boolean isInclusive, boolean ascSortOrder,
+      ValuesTransformer transformer) {
+    return delegate.iterateEntriesMajor(fromKey, isInclusive, ascSortOrder, transformer);
+  }
+
+  @Override
+  public OIndexCursor iterateEntriesMinor(Object toKey, boolean isInclusive, boolean ascSortOrder, ValuesTransformer transformer) {
+    return delegate.iterateEntriesMinor(toKey, isInclusive, ascSortOrder, transformer);
+  }
+
+  @Override
+  public OIndexCursor cursor(ValuesTransformer valuesTransformer) {
+    return delegate.cursor(valuesTransformer);
+  }
+
+  @Override
+  public OIndexCursor descCursor(ValuesTransformer valuesTransformer) {
+    return delegate.descCursor(valuesTransformer);
+  }
+
+  @Override
+  public OIndexKeyCursor keyCursor() {
+    return delegate.keyCursor();
+  }
+
+  @Override
+  public long size(ValuesTransformer transformer) {
+    return delegate.size(transformer);
+  }
+
+  @Override
+  public boolean hasRangeQuerySupport() {
+    return true;
+  }
+
+  @Override
+  public int getVersion() {
+    return delegate.getVersion();
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public boolean acquireAtomicExclusiveLock(Object key) {
+    return delegate.acquireAtomicExclusiveLock(key);
+  }
+
+  @Override
+  public String getIndexNameByKey(Object key) {
+    return delegate.getIndexNameByKey(key);
+  }
+}
@@ -17,7 +17,6 @@
  */
 package com.orientechnologies.spatial.functions;
 
-import com.orientechnologies.lucene.collections.OLuceneResultSet;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
@@ -28,6 +27,7 @@ import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.functions.OIndexableSQLFunction;
 import com.orientechnologies.orient.core.sql.parser.*;
 import com.orientechnologies.spatial.index.OLuceneSpatialIndex;
+import com.orientechnologies.spatial.index.OSpatialPointIndex;
 import com.orientechnologies.spatial.shape.OShapeFactory;
 import com.orientechnologies.spatial.strategy.SpatialQueryBuilderAbstract;
 
@@ -45,7 +45,7 @@ public abstract class OSpatialFunctionAbstractIndexable extends OSpatialFunction
     super(iName, iMinParams, iMaxParams);
   }
 
-  protected OLuceneSpatialIndex searchForIndex(OFromClause target, OExpression[] args) {
+  protected OIndex<?> searchForIndex(OFromClause target, OExpression[] args) {
     OMetadata dbMetadata = getDb().getMetadata();
 
     OFromItem item = target.getItem();
@@ -53,13 +53,12 @@ public abstract class OSpatialFunctionAbstractIndexable extends OSpatialFunction
     String fieldName = args[0].toString();
 
     String className = identifier.getStringValue();
-    List<OLuceneSpatialIndex> indices = dbMetadata
+    List<OIndex<?>> indices = dbMetadata
         .getSchema()
         .getClass(className)
         .getIndexes()
         .stream()
-        .filter(idx -> idx instanceof OLuceneSpatialIndex)
-        .map(idx -> (OLuceneSpatialIndex) idx)
+        .filter(idx -> idx instanceof OLuceneSpatialIndex || idx.getInternal() instanceof OSpatialPointIndex)
         .filter(idx -> intersect(idx.getDefinition().getFields(), Arrays.asList(fieldName)))
         .collect(Collectors.toList());
 
@@ -93,8 +92,8 @@ public abstract class OSpatialFunctionAbstractIndexable extends OSpatialFunction
     return ODatabaseRecordThreadLocal.instance().get();
   }
 
-  protected OLuceneResultSet results(OFromClause target, OExpression[] args, OCommandContext ctx, Object rightValue) {
-    OIndex oIndex = searchForIndex(target, args);
+  protected Iterable<OIdentifiable> results(OFromClause target, OExpression[] args, OCommandContext ctx, Object rightValue) {
+    OIndex<?> oIndex = searchForIndex(target, args);
 
     if (oIndex == null) {
       return null;
@@ -120,7 +119,10 @@ public abstract class OSpatialFunctionAbstractIndexable extends OSpatialFunction
       ctx.setVariable("involvedIndexes", indexes);
     }
     indexes.add(oIndex.getName());
-    return (OLuceneResultSet) oIndex.get(queryParams);
+    if (oIndex.getInternal() instanceof OSpatialPointIndex) {
+      return ((OSpatialPointIndex) oIndex.getInternal()).search(oIndex, queryParams);
+    }
+    return (Iterable<OIdentifiable>) oIndex.get(queryParams);
   }
 
   protected void onAfterParsing(Map<String, Object> params, OExpression[] args, OCommandContext ctx, Object rightValue) {
@@ -139,8 +141,11 @@ public abstract class OSpatialFunctionAbstractIndexable extends OSpatialFunction
   public boolean allowsIndexedExecution(OFromClause target, OBinaryCompareOperator operator, Object rightValue, OCommandContext ctx,
       OExpression... args) {
 
-    OLuceneSpatialIndex index = searchForIndex(target, args);
+    OIndex<?> index = searchForIndex(target, args);
 
+    if (index != null && index.getInternal() instanceof OSpatialPointIndex) {
+      return OSpatialPointIndex.isSupported(operator());
+    }
     return index != null;
   }
 
@@ -154,7 +159,7 @@ public abstract class OSpatialFunctionAbstractIndexable extends OSpatialFunction
   public long estimate(OFromClause target, OBinaryCompareOperator operator, Object rightValue, OCommandContext ctx,
       OExpression... args) {
 
-    OLuceneSpatialIndex index = searchForIndex(target, args);
+    OIndex<?> index = searchForIndex(target, args);
 
     return index == null ? -1 : index.getSize();
   }
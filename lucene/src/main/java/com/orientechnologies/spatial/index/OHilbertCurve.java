@@ -0,0 +1,158 @@
+/**
+ * Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * For more information: http://www.orientdb.com
+ */
+package com.orientechnologies.spatial.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Maps longitude/latitude points to the distance along a Hilbert curve of order {@link #ORDER}, so that points close on the map
+ * get close keys in a B-tree. The first <code>2 * level</code> bits of a key are the Hilbert distance of the quadtree cell of that
+ * level containing the point, so every cell covers a single contiguous range of keys.
+ */
+public final class OHilbertCurve {
+  public static final  int    ORDER     = 31;
+  private static final long   SIDE      = 1L << ORDER;
+  private static final double LON_SCALE = SIDE / 360.0;
+  private static final double LAT_SCALE = SIDE / 180.0;
+
+  private OHilbertCurve() {
+  }
+
+  public static long encode(final double lon, final double lat) {
+    return xy2d(ORDER, quantize(lon + 180, LON_SCALE), quantize(lat + 90, LAT_SCALE));
+  }
+
+  /**
+   * @return the longitude and latitude of the center of the cell of the key, the error is below 1e-7 degrees
+   */
+  public static double[] decode(final long key) {
+    final long[] xy = d2xy(ORDER, key);
+    return new double[] { (xy[0] + 0.5) / LON_SCALE - 180, (xy[1] + 0.5) / LAT_SCALE - 90 };
+  }
+
+  /**
+   * Computes the ranges of keys covering a bounding box. The box is decomposed in quadtree cells, breadth first, until it is
+   * covered by at most <code>maxCells</code> cells: the cells partially inside the box are returned whole, so the ranges can
+   * contain points outside the box.
+   *
+   * @return the sorted and merged key ranges, as <code>{from, to}</code> inclusive pairs
+   */
+  public static List<long[]> ranges(final double minLon, final double minLat, final double maxLon, final double maxLat,
+      final int maxCells) {
+    final long minX = quantize(minLon + 180, LON_SCALE);
+    final long minY = quantize(minLat + 90, LAT_SCALE);
+    final long maxX = quantize(maxLon + 180, LON_SCALE);
+    final long maxY = quantize(maxLat + 90, LAT_SCALE);
+
+    final List<long[]> ranges = new ArrayList<long[]>();
+    final Deque<long[]> cells = new ArrayDeque<long[]>();
+    cells.add(new long[] { 0, 0, 0 });
+
+    while (!cells.isEmpty()) {
+      final long[] cell = cells.poll();
+      final int level = (int) cell[0];
+      final int shift = ORDER - level;
+      final long cellMinX = cell[1] << shift;
+      final long cellMinY = cell[2] << shift;
+      final long cellMaxX = cellMinX + (1L << shift) - 1;
+      final long cellMaxY = cellMinY + (1L << shift) - 1;
+
+      if (cellMaxX < minX || cellMinX > maxX || cellMaxY < minY || cellMinY > maxY)
+        continue;
+
+      final boolean inside = cellMinX >= minX && cellMaxX <= maxX && cellMinY >= minY && cellMaxY <= maxY;
+      if (inside || level == ORDER || ranges.size() + cells.size() + 4 > maxCells) {
+        final long mask = (1L << (2 * shift)) - 1;
+        final long key = xy2d(ORDER, cellMinX, cellMinY);
+        ranges.add(new long[] { key & ~mask, key | mask });
+      } else {
+        for (int i = 0; i < 4; i++)
+          cells.add(new long[] { level + 1, (cell[1] << 1) | (i & 1), (cell[2] << 1) | (i >> 1) });
+      }
+    }
+
+    Collections.sort(ranges, new Comparator<long[]>() {
+      @Override
+      public int compare(final long[] o1, final long[] o2) {
+        return Long.compare(o1[0], o2[0]);
+      }
+    });
+
+    final List<long[]> merged = new ArrayList<long[]>(ranges.size());
+    for (long[] range : ranges) {
+      final long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+      if (last != null && range[0] <= last[1] + 1)
+        last[1] = Math.max(last[1], range[1]);
+      else
+        merged.add(range);
+    }
+    return merged;
+  }
+
+  private static long quantize(final double value, final double scale) {
+    return Math.max(0, Math.min(SIDE - 1, (long) Math.floor(value * scale)));
+  }
+
+  static long xy2d(final int order, long x, long y) {
+    final long n = 1L << order;
+    long d = 0;
+    for (long s = n >> 1; s > 0; s >>= 1) {
+      final long rx = (x & s) > 0 ? 1 : 0;
+      final long ry = (y & s) > 0 ? 1 : 0;
+      d += s * s * ((3 * rx) ^ ry);
+      if (ry == 0) {
+        if (rx == 1) {
+          x = n - 1 - x;
+          y = n - 1 - y;
+        }
+        final long t = x;
+        x = y;
+        y = t;
+      }
+    }
+    return d;
+  }
+
+  static long[] d2xy(final int order, final long d) {
+    long x = 0;
+    long y = 0;
+    long t = d;
+    for (long s = 1; s < (1L << order); s <<= 1) {
+      final long rx = 1 & (t >> 1);
+      final long ry = 1 & (t ^ rx);
+      if (ry == 0) {
+        if (rx == 1) {
+          x = s - 1 - x;
+          y = s - 1 - y;
+        }
+        final long tmp = x;
+        x = y;
+        y = tmp;
+      }
+      x += s * rx;
+      y += s * ry;
+      t >>= 2;
+    }
+    return new long[] { x, y };
+  }
+}
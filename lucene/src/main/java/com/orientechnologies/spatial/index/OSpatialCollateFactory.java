@@ -0,0 +1,41 @@
+/**
+ * Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * For more information: http://www.orientdb.com
+ */
+package com.orientechnologies.spatial.index;
+
+import com.orientechnologies.orient.core.collate.OCollate;
+import com.orientechnologies.orient.core.collate.OCollateFactory;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Registers the {@link OSpatialPointCollate}, so that the definitions of the native spatial indexes can be loaded back.
+ */
+public class OSpatialCollateFactory implements OCollateFactory {
+  private static final OCollate HILBERT = new OSpatialPointCollate();
+
+  @Override
+  public Set<String> getNames() {
+    return Collections.singleton(OSpatialPointCollate.NAME);
+  }
+
+  @Override
+  public OCollate getCollate(final String name) {
+    return OSpatialPointCollate.NAME.equals(name) ? HILBERT : null;
+  }
+}
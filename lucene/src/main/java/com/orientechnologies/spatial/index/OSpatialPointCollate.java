@@ -0,0 +1,67 @@
+/**
+ * Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * For more information: http://www.orientdb.com
+ */
+package com.orientechnologies.spatial.index;
+
+import com.orientechnologies.common.comparator.ODefaultComparator;
+import com.orientechnologies.orient.core.collate.OCollate;
+import com.orientechnologies.orient.core.index.OIndexException;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.spatial.shape.OPointShapeBuilder;
+import com.orientechnologies.spatial.shape.OShapeBuilder;
+
+import java.util.List;
+
+/**
+ * Collate of the native spatial indexes: converts the <code>OPoint</code> documents to their key on the {@link OHilbertCurve}, so
+ * that the index, the transactional changes and the range scans all work on the same <code>Long</code> keys.
+ */
+public class OSpatialPointCollate extends ODefaultComparator implements OCollate {
+  public static final String NAME = "hilbert";
+
+  public String getName() {
+    return NAME;
+  }
+
+  public Object transform(final Object obj) {
+    if (obj instanceof ODocument) {
+      final ODocument document = (ODocument) obj;
+      if (!OPointShapeBuilder.NAME.equals(document.getClassName()))
+        throw new OIndexException(
+            "Only " + OPointShapeBuilder.NAME + " values can be indexed by a native spatial index, found " + document.getClassName());
+
+      final List<Number> coordinates = document.field(OShapeBuilder.COORDINATES);
+      return OHilbertCurve.encode(coordinates.get(0).doubleValue(), coordinates.get(1).doubleValue());
+    }
+    return obj;
+  }
+
+  @Override
+  public int hashCode() {
+    return getName().hashCode();
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return obj != null && obj.getClass() == this.getClass();
+  }
+
+  @Override
+  public String toString() {
+    return "{" + getClass().getSimpleName() + " : name = " + getName() + "}";
+  }
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * For more information: http://www.orientdb.com
+ */
+package com.orientechnologies.spatial.index;
+
+import com.orientechnologies.common.listener.OProgressListener;
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.index.OAbstractIndexDefinition;
+import com.orientechnologies.orient.core.index.OIndex;
+import com.orientechnologies.orient.core.index.OIndexCursor;
+import com.orientechnologies.orient.core.index.OIndexDefinition;
+import com.orientechnologies.orient.core.index.OIndexEngineException;
+import com.orientechnologies.orient.core.index.OIndexMultiValues;
+import com.orientechnologies.orient.core.index.OIndexNotUnique;
+import com.orientechnologies.orient.core.record.ORecord;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+import com.orientechnologies.spatial.shape.OPointShapeBuilder;
+import com.orientechnologies.spatial.shape.OShapeBuilder;
+import com.orientechnologies.spatial.shape.OShapeFactory;
+import com.orientechnologies.spatial.strategy.SpatialQueryBuilderAbstract;
+import com.orientechnologies.spatial.strategy.SpatialQueryBuilderDWithin;
+import com.orientechnologies.spatial.strategy.SpatialQueryBuilderDistanceSphere;
+import com.orientechnologies.spatial.strategy.SpatialQueryBuilderIntersects;
+import com.orientechnologies.spatial.strategy.SpatialQueryBuilderWithin;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.spatial4j.distance.DistanceUtils;
+import org.locationtech.spatial4j.shape.Point;
+import org.locationtech.spatial4j.shape.Rectangle;
+import org.locationtech.spatial4j.shape.Shape;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Spatial index of points stored on the paginated storage instead of Lucene. The points are indexed by their key on the {@link
+ * OHilbertCurve}: a query scans the key ranges covering the bounding box of the searched area, then checks the exact condition on
+ * the point stored in each record found.
+ */
+public class OSpatialPointIndex extends OIndexNotUnique {
+  private static final Set<String> OPERATORS;
+  private static final int         MAX_CELLS = 64;
+
+  static {
+    final Set<String> operators = new HashSet<String>();
+    operators.add(SpatialQueryBuilderDWithin.NAME);
+    operators.add(SpatialQueryBuilderDistanceSphere.NAME);
+    operators.add(SpatialQueryBuilderWithin.NAME);
+    operators.add(SpatialQueryBuilderIntersects.NAME);
+    OPERATORS = Collections.unmodifiableSet(operators);
+  }
+
+  private final OShapeFactory   shapeFactory    = OShapeFactory.INSTANCE;
+  private final GeometryFactory geometryFactory = new GeometryFactory();
+
+  private interface OPointFilter {
+    boolean accept(double lon, double lat);
+  }
+
+  public OSpatialPointIndex(String name, String typeId, String algorithm, int version, OAbstractPaginatedStorage storage,
+      String valueContainerAlgorithm, ODocument metadata, final int binaryFormatVersion) {
+    super(name, typeId, algorithm, version, storage, valueContainerAlgorithm, metadata, binaryFormatVersion);
+  }
+
+  /**
+   * @return true if the spatial operator can be executed by a native spatial index
+   */
+  public static boolean isSupported(final String operator) {
+    return OPERATORS.contains(operator);
+  }
+
+  @Override
+  public OIndexMultiValues create(String name, OIndexDefinition indexDefinition, String clusterIndexName,
+      Set<String> clustersToIndex, boolean rebuild, OProgressListener progressListener) {
+    ((OAbstractIndexDefinition) indexDefinition).setCollate(new OSpatialPointCollate());
+    return super.create(name, indexDefinition, clusterIndexName, clustersToIndex, rebuild, progressListener);
+  }
+
+  @Override
+  public OIndexMultiValues put(Object key, OIdentifiable singleValue) {
+    if (key == null) {
+      return this;
+    }
+    return super.put(key, singleValue);
+  }
+
+  /**
+   * Executes a spatial query.
+   *
+   * @param index the index to scan, the transactional view of this index to see the changes of the current transaction
+   * @param query the spatial operator, the shape and the distance as parsed by the <code>ST_*</code> functions
+   *
+   * @return the records matching the query
+   */
+  public List<OIdentifiable> search(final OIndex<?> index, final Map<String, Object> query) {
+    final String operator = (String) query.get(SpatialQueryBuilderAbstract.GEO_FILTER);
+    final Shape shape = shapeFactory.fromObject(query.get(SpatialQueryBuilderAbstract.SHAPE));
+    if (shape == null) {
+      throw new OIndexEngineException("Invalid spatial query. Missing shape field " + query, null);
+    }
+    final Number distance = (Number) query.get("distance");
+
+    final Rectangle box;
+    final OPointFilter filter;
+    if (SpatialQueryBuilderDWithin.NAME.equals(operator)) {
+      final double dist = distance.doubleValue();
+      final Rectangle bounds = shape.getBoundingBox();
+      box = shapeFactory.context()
+          .makeRectangle(Math.max(-180, bounds.getMinX() - dist), Math.min(180, bounds.getMaxX() + dist),
+              Math.max(-90, bounds.getMinY() - dist), Math.min(90, bounds.getMaxY() + dist));
+
+      if (shape instanceof Point) {
+        final double x = ((Point) shape).getX();
+        final double y = ((Point) shape).getY();
+        filter = (lon, lat) -> (lon - x) * (lon - x) + (lat - y) * (lat - y) <= dist * dist;
+      } else {
+        final Geometry geometry = shapeFactory.toGeometry(shape);
+        filter = (lon, lat) -> geometry.isWithinDistance(geometryFactory.createPoint(new Coordinate(lon, lat)), dist);
+      }
+    } else if (SpatialQueryBuilderDistanceSphere.NAME.equals(operator)) {
+      final Point center = shape.getCenter();
+      final double distRAD = distance.doubleValue() / 1000 / DistanceUtils.EARTH_EQUATORIAL_RADIUS_KM;
+      final double centerLon = Math.toRadians(center.getX());
+      final double centerLat = Math.toRadians(center.getY());
+      box = DistanceUtils
+          .calcBoxByDistFromPtDEG(center.getY(), center.getX(), Math.toDegrees(distRAD), shapeFactory.context(), null);
+      filter = (lon, lat) -> DistanceUtils.distHaversineRAD(centerLat, centerLon, Math.toRadians(lat), Math.toRadians(lon))
+          <= distRAD;
+    } else if (SpatialQueryBuilderWithin.NAME.equals(operator) || SpatialQueryBuilderIntersects.NAME.equals(operator)) {
+      final PreparedGeometry geometry = PreparedGeometryFactory.prepare(shapeFactory.toGeometry(shape));
+      final boolean within = SpatialQueryBuilderWithin.NAME.equals(operator);
+      box = shape.getBoundingBox();
+      filter = (lon, lat) -> {
+        final Geometry point = geometryFactory.createPoint(new Coordinate(lon, lat));
+        return within ? geometry.contains(point) : geometry.intersects(point);
+      };
+    } else {
+      throw new OIndexEngineException("Spatial operator '" + operator + "' is not supported by index " + getName(), null);
+    }
+
+    final List<long[]> ranges = new ArrayList<long[]>();
+    if (box.getCrossesDateLine()) {
+      ranges.addAll(OHilbertCurve.ranges(box.getMinX(), box.getMinY(), 180, box.getMaxY(), MAX_CELLS / 2));
+      ranges.addAll(OHilbertCurve.ranges(-180, box.getMinY(), box.getMaxX(), box.getMaxY(), MAX_CELLS / 2));
+    } else {
+      ranges.addAll(OHilbertCurve.ranges(box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY(), MAX_CELLS));
+    }
+
+    final String field = getDefinition().getFields().get(0);
+    final List<OIdentifiable> result = new ArrayList<OIdentifiable>();
+    for (long[] range : ranges) {
+      final OIndexCursor cursor = index.iterateEntriesBetween(range[0], true, range[1], true, true);
+      Map.Entry<Object, OIdentifiable> entry;
+      while ((entry = cursor.nextEntry()) != null) {
+        // THE KEY IS ROUNDED TO A CELL OF THE CURVE: THE CONDITION IS CHECKED ON THE POINT STORED IN THE RECORD
+        final List<Number> point = getPoint(entry.getValue(), field);
+        if (point != null && filter.accept(point.get(0).doubleValue(), point.get(1).doubleValue())) {
+          result.add(entry.getValue());
+        }
+      }
+    }
+    return result;
+  }
+
+  private static List<Number> getPoint(final OIdentifiable identifiable, final String field) {
+    final ORecord record = identifiable.getRecord();
+    if (!(record instanceof ODocument)) {
+      return null;
+    }
+
+    final Object value = ((ODocument) record).field(field);
+    if (!(value instanceof ODocument) || !OPointShapeBuilder.NAME.equals(((ODocument) value).getClassName())) {
+      return null;
+    }
+    return ((ODocument) value).field(OShapeBuilder.COORDINATES);
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ *
+ *  * Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  
+ */
+
+package com.orientechnologies.lucene.tests;
+
+import com.orientechnologies.lucene.engine.OLuceneIndexEngineAbstract;
+import com.orientechnologies.lucene.engine.OLuceneRefreshPolicy;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.index.OIndex;
+import com.orientechnologies.orient.core.index.OIndexAbstract;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OLuceneRefreshPolicyTest extends OLuceneBaseTest {
+
+  @Before
+  public void init() {
+    OClass oClass = db.getMetadata().getSchema().createClass("City");
+    oClass.createProperty("name", OType.STRING);
+  }
+
+  @Test
+  public void testStrictRefresh() throws Exception {
+    db.command("create index City.name on City (name) FULLTEXT ENGINE LUCENE");
+    OIndex<?> idx = db.getMetadata().getIndexManager().getIndex("City.name");
+    OLuceneIndexEngineAbstract engine = getEngine(idx);
+
+    assertThat(engine.getRefreshPolicy()).isEqualTo(OLuceneRefreshPolicy.STRICT);
+
+    db.save(new ODocument("City").field("name", "Rome"));
+
+    assertThat((Collection<?>) idx.get("Rome")).hasSize(1);
+    assertThat(engine.getReopenCount()).isGreaterThan(0);
+  }
+
+  @Test
+  public void testIntervalRefresh() throws Exception {
+    db.command(
+        "create index City.name on City (name) FULLTEXT ENGINE LUCENE metadata {'refreshPolicy':'interval', 'refreshInterval':100}");
+    OIndex<?> idx = db.getMetadata().getIndexManager().getIndex("City.name");
+    OLuceneIndexEngineAbstract engine = getEngine(idx);
+
+    assertThat(engine.getRefreshPolicy()).isEqualTo(OLuceneRefreshPolicy.INTERVAL);
+
+    db.save(new ODocument("City").field("name", "Rome"));
+
+    // THE SEARCH DOES NOT WAIT: THE DOCUMENT BECOMES VISIBLE AFTER THE BACKGROUND REFRESH
+    final long deadline = System.currentTimeMillis() + 10000;
+    while (((Collection<?>) idx.get("Rome")).isEmpty() && System.currentTimeMillis() < deadline)
+      Thread.sleep(50);
+
+    assertThat((Collection<?>) idx.get("Rome")).hasSize(1);
+    assertThat(engine.getReopenCount()).isGreaterThan(0);
+  }
+
+  @Test
+  public void testBoundedStalenessRefresh() throws Exception {
+    db.command(
+        "create index City.name on City (name) FULLTEXT ENGINE LUCENE metadata {'refreshPolicy':'bounded-staleness', 'refreshInterval':100}");
+    OIndex<?> idx = db.getMetadata().getIndexManager().getIndex("City.name");
+    OLuceneIndexEngineAbstract engine = getEngine(idx);
+
+    assertThat(engine.getRefreshPolicy()).isEqualTo(OLuceneRefreshPolicy.BOUNDED_STALENESS);
+
+    db.save(new ODocument("City").field("name", "Rome"));
+    Thread.sleep(200);
+
+    // THE SEARCHER IS OLDER THAN THE REFRESH INTERVAL
+    assertThat((Collection<?>) idx.get("Rome")).hasSize(1);
+  }
+
+  @Test
+  public void testInvalidRefreshIntervalIsRejected() {
+    assertThatThrownBy(() -> db.command(
+        "create index City.name on City (name) FULLTEXT ENGINE LUCENE metadata {'refreshPolicy':'interval', 'refreshInterval':0}"))
+        .hasStackTraceContaining("Invalid refresh interval");
+
+    assertThat(db.getMetadata().getIndexManager().getIndex("City.name")).isNull();
+  }
+
+  private OLuceneIndexEngineAbstract getEngine(OIndex<?> index) throws Exception {
+    OAbstractPaginatedStorage storage = (OAbstractPaginatedStorage) ((ODatabaseDocumentInternal) db).getStorage();
+    return (OLuceneIndexEngineAbstract) storage.getIndexEngine(((OIndexAbstract<?>) index.getInternal()).getIndexId());
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ *
+ *  * Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  
+ */
+
+package com.orientechnologies.lucene.tests;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OLuceneResultSetPagingTest extends OLuceneBaseTest {
+
+  private static final int CITIES = 1000;
+
+  @Before
+  public void init() {
+    OClass oClass = db.getMetadata().getSchema().createClass("City");
+    oClass.createProperty("name", OType.STRING);
+    oClass.createProperty("population", OType.INTEGER);
+    db.command("create index City.name_population on City (name, population) FULLTEXT ENGINE LUCENE");
+
+    for (int i = 0; i < CITIES; i++) {
+      db.save(new ODocument("City").field("name", "Rome " + i).field("population", i));
+    }
+  }
+
+  @Test
+  public void testHitsOfSeveralPages() {
+    OResultSet docs = db.query("select from City where search_class('rome') = true");
+    assertThat(docs.stream().map(r -> r.getIdentity().get()).distinct().count()).isEqualTo(CITIES);
+    docs.close();
+
+    docs = db.query("select from City where search_class('rome') = true skip 950 limit 20");
+    assertThat(docs).hasSize(20);
+    docs.close();
+  }
+
+  @Test
+  public void testHitsWithParallelSegmentSearch() {
+    final Object searchThreads = OGlobalConfiguration.INDEX_LUCENE_SEARCH_THREADS.getValue();
+    OGlobalConfiguration.INDEX_LUCENE_SEARCH_THREADS.setValue(2);
+    try {
+      OClass oClass = db.getMetadata().getSchema().createClass("Town");
+      oClass.createProperty("name", OType.STRING);
+      db.command("create index Town.name on Town (name) FULLTEXT ENGINE LUCENE");
+      for (int i = 0; i < CITIES; i++) {
+        db.save(new ODocument("Town").field("name", "Paris " + i));
+      }
+
+      OResultSet docs = db.query("select from Town where search_class('paris') = true");
+      assertThat(docs.stream().map(r -> r.getIdentity().get()).distinct().count()).isEqualTo(CITIES);
+      docs.close();
+    } finally {
+      OGlobalConfiguration.INDEX_LUCENE_SEARCH_THREADS.setValue(searchThreads);
+    }
+  }
+
+  @Test
+  public void testSortedHitsOfSeveralPages() {
+    OResultSet docs = db.query(
+        "select from City where search_class('*:*', {'sort': [{'field': 'population', 'reverse': true, 'type': 'INT'}]}) = true");
+    List<Integer> populations = docs.stream().map(r -> r.<Integer>getProperty("population")).collect(Collectors.toList());
+    docs.close();
+
+    assertThat(populations).hasSize(CITIES);
+    for (int i = 0; i < CITIES; i++) {
+      assertThat(populations.get(i)).isEqualTo(CITIES - 1 - i);
+    }
+  }
+}
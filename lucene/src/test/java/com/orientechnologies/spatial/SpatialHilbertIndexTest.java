@@ -0,0 +1,179 @@
+/**
+ * Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * For more information: http://www.orientdb.com
+ */
+package com.orientechnologies.spatial;
+
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.OCommandSQL;
+import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.spatial.index.OHilbertCurve;
+import com.orientechnologies.spatial.index.OSpatialPointIndex;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.spatial4j.distance.DistanceUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class SpatialHilbertIndexTest extends BaseSpatialLuceneTest {
+
+  private final List<double[]> points = new ArrayList<double[]>();
+
+  @Before
+  public void init() {
+    db.command(new OCommandSQL("create class Place extends v")).execute();
+    db.command(new OCommandSQL("create property Place.location EMBEDDED OPoint")).execute();
+
+    final Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      final double[] point = new double[] { 12 + random.nextDouble(), 41 + random.nextDouble() };
+      points.add(point);
+      db.command(new OCommandSQL(
+          "insert into Place set name = 'place" + i + "', location = ST_GeomFromText('POINT(" + point[0] + " " + point[1] + ")')"))
+          .execute();
+    }
+
+    db.command(new OCommandSQL("create index Place.location on Place (location) SPATIAL engine hilbert")).execute();
+  }
+
+  @Test
+  public void testCurve() {
+    final Random random = new Random(7);
+    for (int i = 0; i < 1000; i++) {
+      final double lon = random.nextDouble() * 360 - 180;
+      final double lat = random.nextDouble() * 180 - 90;
+
+      final double[] decoded = OHilbertCurve.decode(OHilbertCurve.encode(lon, lat));
+      Assert.assertEquals(lon, decoded[0], 1e-6);
+      Assert.assertEquals(lat, decoded[1], 1e-6);
+    }
+
+    final List<long[]> ranges = OHilbertCurve.ranges(12.2, 41.3, 12.5, 41.35, 16);
+    Assert.assertTrue(ranges.size() <= 16);
+    for (int i = 1; i < ranges.size(); i++)
+      Assert.assertTrue(ranges.get(i - 1)[1] + 1 < ranges.get(i)[0]);
+
+    for (int i = 0; i < 1000; i++) {
+      final double lon = 12.2 + random.nextDouble() * 0.3;
+      final double lat = 41.3 + random.nextDouble() * 0.05;
+      final long key = OHilbertCurve.encode(lon, lat);
+
+      boolean covered = false;
+      for (long[] range : ranges)
+        covered |= key >= range[0] && key <= range[1];
+      Assert.assertTrue(covered);
+    }
+  }
+
+  @Test
+  public void testDWithin() {
+    final Set<String> expected = new HashSet<String>();
+    for (int i = 0; i < points.size(); i++) {
+      final double dx = points.get(i)[0] - 12.5;
+      final double dy = points.get(i)[1] - 41.5;
+      if (dx * dx + dy * dy <= 0.1 * 0.1)
+        expected.add("place" + i);
+    }
+
+    Assert.assertFalse(expected.isEmpty());
+    Assert.assertEquals(expected,
+        names("select from Place where ST_DWithin(location, ST_GeomFromText('POINT(12.5 41.5)'), 0.1) = true"));
+  }
+
+  @Test
+  public void testDistanceSphere() {
+    final Set<String> expected = new HashSet<String>();
+    for (int i = 0; i < points.size(); i++) {
+      final double distance = DistanceUtils
+          .distHaversineRAD(Math.toRadians(41.5), Math.toRadians(12.5), Math.toRadians(points.get(i)[1]),
+              Math.toRadians(points.get(i)[0])) * DistanceUtils.EARTH_EQUATORIAL_RADIUS_KM * 1000;
+      if (distance < 5000)
+        expected.add("place" + i);
+    }
+
+    Assert.assertFalse(expected.isEmpty());
+    Assert.assertEquals(expected,
+        names("select from Place where ST_Distance_Sphere(location, ST_GeomFromText('POINT(12.5 41.5)')) < 5000"));
+  }
+
+  @Test
+  public void testWithin() {
+    final Set<String> expected = new HashSet<String>();
+    for (int i = 0; i < points.size(); i++) {
+      if (points.get(i)[0] > 12.2 && points.get(i)[0] < 12.4 && points.get(i)[1] > 41.1 && points.get(i)[1] < 41.3)
+        expected.add("place" + i);
+    }
+
+    Assert.assertFalse(expected.isEmpty());
+    Assert.assertEquals(expected, names(
+        "select from Place where ST_Within(location, ST_GeomFromText('POLYGON((12.2 41.1, 12.4 41.1, 12.4 41.3, 12.2 41.3, 12.2 41.1))')) = true"));
+  }
+
+  @Test
+  public void testTransaction() {
+    final String query = "select from Place where ST_DWithin(location, ST_GeomFromText('POINT(0 0)'), 1) = true";
+
+    db.begin();
+    db.command(new OCommandSQL("insert into Place set name = 'new', location = ST_GeomFromText('POINT(0.5 0.5)')")).execute();
+    Assert.assertEquals(1, names(query).size());
+    db.rollback();
+    Assert.assertEquals(0, names(query).size());
+
+    db.begin();
+    db.command(new OCommandSQL("insert into Place set name = 'new', location = ST_GeomFromText('POINT(0.5 0.5)')")).execute();
+    db.commit();
+    Assert.assertEquals(1, names(query).size());
+
+    db.command(new OCommandSQL("update Place set location = ST_GeomFromText('POINT(3 3)') where name = 'new'")).execute();
+    Assert.assertEquals(0, names(query).size());
+  }
+
+  @Test
+  public void testConditionIsCheckedOnStoredPoint() {
+    // A POINT NEXT TO THE BORDER OF THE SEARCHED AREA, ON THE OTHER SIDE OF ITS KEY ON THE CURVE
+    double lon = Double.NaN;
+    for (int i = -200; i <= 200 && Double.isNaN(lon); i++) {
+      final double candidate = 1 + i * 1e-9;
+      if ((candidate <= 1) != (OHilbertCurve.decode(OHilbertCurve.encode(candidate, 0))[0] <= 1))
+        lon = candidate;
+    }
+    Assert.assertFalse(Double.isNaN(lon));
+
+    db.command(new OCommandSQL("insert into Place set name = 'border', location = ST_GeomFromText('POINT(" + lon + " 0)')"))
+        .execute();
+    Assert.assertEquals(lon <= 1,
+        names("select from Place where ST_DWithin(location, ST_GeomFromText('POINT(0 0)'), 1) = true").contains("border"));
+  }
+
+  private Set<String> names(final String query) {
+    final Set<String> names = new HashSet<String>();
+    try (OResultSet result = db.query(query)) {
+      Assert.assertTrue(result.getExecutionPlan().get().prettyPrint(0, 2).contains("FETCH FROM INDEXED FUNCTION"));
+      while (result.hasNext()) {
+        final OResult next = result.next();
+        names.add(next.getProperty("name"));
+      }
+    }
+    return names;
+  }
+}
@@ -132,6 +132,8 @@ import com.orientechnologies.orient.client.remote.message.OSubscribeLiveQueryReq
 import com.orientechnologies.orient.client.remote.message.OSubscribeLiveQueryResponse;
 import com.orientechnologies.orient.client.remote.message.OSubscribeRequest;
 import com.orientechnologies.orient.client.remote.message.OSubscribeResponse;
+import com.orientechnologies.orient.client.remote.message.OSubscribeRecordsRequest;
+import com.orientechnologies.orient.client.remote.message.OSubscribeRecordsResponse;
 import com.orientechnologies.orient.client.remote.message.OSubscribeSchemaRequest;
 import com.orientechnologies.orient.client.remote.message.OSubscribeSchemaResponse;
 import com.orientechnologies.orient.client.remote.message.OSubscribeSequencesRequest;
@@ -399,6 +401,9 @@ public final class OConnectionBinaryExecutor implements OBinaryRequestExecutor {
 
   @Override
   public OBinaryResponse executeReadRecord(OReadRecordRequest request) {
+    if (request.getConsistencyToken() != null)
+      connection.getDatabase().setConsistencyToken(request.getConsistencyToken());
+
     final ORecordId rid = request.getRid();
     final String fetchPlanString = request.getFetchPlan();
     boolean ignoreCache = false;
@@ -1258,14 +1263,15 @@ public final class OConnectionBinaryExecutor implements OBinaryRequestExecutor {
 
   public static byte[] getRecordBytes(OClientConnection connection, final ORecord iRecord) {
     final byte[] stream;
-    String dbSerializerName = null;
+    ORecordSerializer dbSerializer = null;
     if (ODatabaseRecordThreadLocal.instance().getIfDefined() != null)
-      dbSerializerName = ((ODatabaseDocumentInternal) iRecord.getDatabase()).getSerializer().toString();
+      dbSerializer = ((ODatabaseDocumentInternal) iRecord.getDatabase()).getSerializer();
     String name = connection.getData().getSerializationImpl();
-    if (ORecordInternal.getRecordType(iRecord) == ODocument.RECORD_TYPE && (dbSerializerName == null || !dbSerializerName
-        .equals(name))) {
+    ORecordSerializer ser = ORecordSerializerFactory.instance().getFormat(name);
+    // A DATABASE WRITING ANOTHER VERSION OF THE CLIENT FORMAT (E.G. WITH DICTIONARY CODES) IS ENCODED AGAIN AS WELL
+    if (ORecordInternal.getRecordType(iRecord) == ODocument.RECORD_TYPE && (dbSerializer == null || !dbSerializer.toString()
+        .equals(name) || dbSerializer.getCurrentVersion() != ser.getCurrentVersion())) {
       ((ODocument) iRecord).deserializeFields();
-      ORecordSerializer ser = ORecordSerializerFactory.instance().getFormat(name);
       stream = ser.toStream(iRecord, false);
     } else
       stream = iRecord.toStream();
@@ -1276,6 +1282,8 @@ public final class OConnectionBinaryExecutor implements OBinaryRequestExecutor {
   @Override
   public OBinaryResponse executeQuery(OQueryRequest request) {
     ODatabaseDocumentInternal database = connection.getDatabase();
+    if (request.getConsistencyToken() != null)
+      database.setConsistencyToken(request.getConsistencyToken());
     OQueryMetadataUpdateListener metadataListener = new OQueryMetadataUpdateListener();
     database.getSharedContext().registerListener(metadataListener);
     if (database.getTransaction().isActive()) {
@@ -1413,7 +1421,7 @@ public final class OConnectionBinaryExecutor implements OBinaryRequestExecutor {
       collectionManager.clearChangedIds();
     }
 
-    return new OCommit37Response(createdRecords, updatedRecords, deletedRecords, changedIds);
+    return new OCommit37Response(createdRecords, updatedRecords, deletedRecords, changedIds, database.getConsistencyToken());
   }
 
   @Override
@@ -1496,6 +1504,13 @@ public final class OConnectionBinaryExecutor implements OBinaryRequestExecutor {
     return new OSubscribeSequencesResponse();
   }
 
+  @Override
+  public OBinaryResponse executeSubscribeRecords(OSubscribeRecordsRequest request) {
+    OPushManager manager = server.getPushManager();
+    manager.subscribeRecords(connection.getDatabase(), (ONetworkProtocolBinary) connection.getProtocol());
+    return new OSubscribeRecordsResponse();
+  }
+
   @Override
   public OBinaryResponse executeUnsubscribeLiveQuery(OUnsubscribeLiveQueryRequest request) {
     ODatabaseDocumentInternal database = connection.getDatabase();
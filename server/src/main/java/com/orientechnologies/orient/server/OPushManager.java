@@ -6,8 +6,13 @@ import com.orientechnologies.orient.core.config.OStorageConfiguration;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.OMetadataUpdateListener;
 import com.orientechnologies.orient.core.index.OIndexManagerAbstract;
+import com.orientechnologies.orient.core.db.record.ORecordOperation;
+import com.orientechnologies.orient.core.exception.ODatabaseException;
+import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.index.OIndexManagerShared;
 import com.orientechnologies.orient.core.metadata.schema.OSchemaShared;
+import com.orientechnologies.orient.core.query.live.OLiveQueryHookV2;
+import com.orientechnologies.orient.core.query.live.OLiveQueryListenerV2;
 import com.orientechnologies.orient.server.network.protocol.binary.ONetworkProtocolBinary;
 
 import java.io.IOException;
@@ -22,6 +27,8 @@ public class OPushManager implements OMetadataUpdateListener {
   protected final Map<String, Set<WeakReference<ONetworkProtocolBinary>>> indexManager          = new HashMap<>();
   protected final Map<String, Set<WeakReference<ONetworkProtocolBinary>>> functions             = new HashMap<>();
   protected final Map<String, Set<WeakReference<ONetworkProtocolBinary>>> sequences             = new HashMap<>();
+  protected final Map<String, Set<WeakReference<ONetworkProtocolBinary>>> records               = new HashMap<>();
+  private final   Map<String, ORecordsListener>                           recordsListeners      = new HashMap<>();
   private         Set<String>                                             registerDatabase      = new HashSet<>();
 
   public synchronized void pushDistributedConfig(String database, List<String> hosts) {
@@ -59,6 +66,7 @@ public class OPushManager implements OMetadataUpdateListener {
     cleanListeners(indexManager);
     cleanListeners(functions);
     cleanListeners(sequences);
+    cleanListeners(records);
   }
 
   private void cleanListeners(Map<String, Set<WeakReference<ONetworkProtocolBinary>>> toClean) {
@@ -110,6 +118,36 @@ public class OPushManager implements OMetadataUpdateListener {
     genericSubscribe(sequences, database, protocol);
   }
 
+  /**
+   * Subscribes the client to the ids of the records changed or deleted in the database. The changes are collected through the live
+   * query queue of the database, so it is listened only while at least one client is subscribed.
+   */
+  public synchronized void subscribeRecords(ODatabaseDocumentInternal database, ONetworkProtocolBinary protocol) {
+    if (!recordsListeners.containsKey(database.getName())) {
+      ORecordsListener listener = new ORecordsListener(database.getName(), OLiveQueryHookV2.getOpsReference(database));
+      if (OLiveQueryHookV2.subscribe(listener.getToken(), listener, database) == -1)
+        // THE CLIENT DISABLES ITS CACHE: WITHOUT THE LIVE QUERY QUEUE NO CHANGE WOULD BE PUSHED
+        throw new ODatabaseException("Live query support is disabled on database '" + database.getName()
+            + "', the changes of the records cannot be pushed");
+      recordsListeners.put(database.getName(), listener);
+    }
+    genericSubscribe(records, database, protocol);
+  }
+
+  private synchronized void pushRecords(String database, Collection<ORID> rids) {
+    Set<WeakReference<ONetworkProtocolBinary>> clients = records.get(database);
+    if (clients != null)
+      cleanListeners(records);
+    if (clients == null || clients.isEmpty()) {
+      // NOBODY LISTENING ANYMORE, STOP COLLECTING THE CHANGES
+      ORecordsListener listener = recordsListeners.remove(database);
+      if (listener != null)
+        listener.ops.unsubscribe(listener.getToken());
+      return;
+    }
+    genericNotify(records, database, new OPushRecordsRequest(rids));
+  }
+
   @Override
   public void onSchemaUpdate(String database, OSchemaShared schema) {
     OPushSchemaRequest request = new OPushSchemaRequest(schema.toNetworkStream());
@@ -140,6 +178,54 @@ public class OPushManager implements OMetadataUpdateListener {
     genericNotify(storageConfigurations, database, request);
   }
 
+  private class ORecordsListener implements OLiveQueryListenerV2 {
+    private final String                          database;
+    private final OLiveQueryHookV2.OLiveQueryOps ops;
+    private final int                             token;
+    private       Set<ORID>                       pending = new HashSet<>();
+
+    private ORecordsListener(String database, OLiveQueryHookV2.OLiveQueryOps ops) {
+      this.database = database;
+      this.ops = ops;
+      this.token = System.identityHashCode(this);
+    }
+
+    @Override
+    public void onLiveResult(OLiveQueryHookV2.OLiveQueryOp iRecord) {
+      if (iRecord.type == ORecordOperation.CREATED)
+        // A NEW RECORD CANNOT BE IN ANY CLIENT CACHE
+        return;
+      ORID rid = iRecord.before.getProperty("@rid");
+      boolean flush;
+      synchronized (this) {
+        flush = pending.isEmpty();
+        pending.add(rid.copy());
+      }
+      if (flush)
+        // THE CHANGES ARRIVED UNTIL THE TASK RUNS ARE SENT TOGETHER
+        Orient.instance().submit(this::flush);
+    }
+
+    private void flush() {
+      Set<ORID> toSend;
+      synchronized (this) {
+        toSend = pending;
+        pending = new HashSet<>();
+      }
+      if (!toSend.isEmpty())
+        pushRecords(database, toSend);
+    }
+
+    @Override
+    public void onLiveResultEnd() {
+    }
+
+    @Override
+    public int getToken() {
+      return token;
+    }
+  }
+
   private void genericNotify(Map<String, Set<WeakReference<ONetworkProtocolBinary>>> context, String database,
       OBinaryPushRequest<?> request) {
     Orient.instance().submit(() -> {
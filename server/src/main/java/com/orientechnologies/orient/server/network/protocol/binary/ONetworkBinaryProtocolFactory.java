@@ -41,6 +41,7 @@ public class ONetworkBinaryProtocolFactory {
   public static Function<Integer, OBinaryRequest<? extends OBinaryResponse>> matchProtocol(short protocolVersion) {
     switch (protocolVersion) {
     case 37:
+    case 38:
       return ONetworkBinaryProtocolFactory::createRequest37;
     default:
       return ONetworkBinaryProtocolFactory::createRequest;
@@ -204,7 +205,7 @@ public class ONetworkBinaryProtocolFactory {
   }
 
   /**
-   * Protocol 37
+   * Protocol 37 and 38, which adds the consistency token to some of the messages
    *
    * @param requestType
    *
@@ -811,14 +811,15 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
 
   public static byte[] getRecordBytes(OClientConnection connection, final ORecord iRecord) {
     final byte[] stream;
-    String dbSerializerName = null;
+    ORecordSerializer dbSerializer = null;
     if (ODatabaseRecordThreadLocal.instance().getIfDefined() != null)
-      dbSerializerName = ((ODatabaseDocumentInternal) iRecord.getDatabase()).getSerializer().toString();
+      dbSerializer = ((ODatabaseDocumentInternal) iRecord.getDatabase()).getSerializer();
     String name = connection.getData().getSerializationImpl();
-    if (ORecordInternal.getRecordType(iRecord) == ODocument.RECORD_TYPE && (dbSerializerName == null || !dbSerializerName
-        .equals(name))) {
+    ORecordSerializer ser = ORecordSerializerFactory.instance().getFormat(name);
+    // A DATABASE WRITING ANOTHER VERSION OF THE CLIENT FORMAT (E.G. WITH DICTIONARY CODES) IS ENCODED AGAIN AS WELL
+    if (ORecordInternal.getRecordType(iRecord) == ODocument.RECORD_TYPE && (dbSerializer == null || !dbSerializer.toString()
+        .equals(name) || dbSerializer.getCurrentVersion() != ser.getCurrentVersion())) {
       ((ODocument) iRecord).deserializeFields();
-      ORecordSerializer ser = ORecordSerializerFactory.instance().getFormat(name);
       stream = ser.toStream(iRecord, false);
     } else
       stream = iRecord.toStream();
@@ -354,6 +354,29 @@ public class OHttpResponse {
               return null;
             }
           });
+    } else if (accept != null && accept.contains(OHttpUtils.CONTENT_NDJSON)) {
+      // ONE JSON DOCUMENT PER LINE, WRITTEN WHILE THE RECORDS ARE BROWSED
+      final String format = formatWithFetchPlan(iFetchPlan, iFormat == null ? JSON_FORMAT : JSON_FORMAT + "," + iFormat);
+      sendStream(OHttpUtils.STATUS_OK_CODE, OHttpUtils.STATUS_OK_DESCRIPTION, OHttpUtils.CONTENT_NDJSON, null, iArgument -> {
+        try {
+          OutputStreamWriter writer = new OutputStreamWriter(iArgument, utf8);
+          try {
+            writeRecordsAsLines(it, writer, format);
+          } catch (RuntimeException e) {
+            // THE HEADERS ARE ALREADY SENT: END THE STREAM WITH THE ERROR
+            OLogManager.instance().error(this, "Error during writing of records to the HTTP response", e);
+            final OJSONWriter json = new OJSONWriter(writer);
+            json.beginObject();
+            json.writeAttribute("error", errorMessage(e));
+            json.endObject();
+            writer.append('\n');
+          }
+          writer.flush();
+        } catch (IOException e) {
+          OLogManager.instance().error(this, "Error during writing of records to the HTTP response", e);
+        }
+        return null;
+      });
     } else {
       if (iFormat == null)
         iFormat = JSON_FORMAT;
@@ -365,7 +388,7 @@ public class OHttpResponse {
         sendStream(OHttpUtils.STATUS_OK_CODE, OHttpUtils.STATUS_OK_DESCRIPTION, OHttpUtils.CONTENT_JSON, null, iArgument -> {
           try {
             OutputStreamWriter writer = new OutputStreamWriter(iArgument);
-            writeRecordsOnStream(iFetchPlan, sendFormat, iAdditionalProperties, it, writer);
+            writeRecordsOnStream(iFetchPlan, sendFormat, iAdditionalProperties, it, writer, true);
             writer.flush();
           } catch (IOException e) {
             OLogManager.instance().error(this, "Error during writing of records to the HTTP response", e);
@@ -374,22 +397,34 @@ public class OHttpResponse {
         });
       } else {
         final StringWriter buffer = new StringWriter();
-        writeRecordsOnStream(iFetchPlan, iFormat, iAdditionalProperties, it, buffer);
+        writeRecordsOnStream(iFetchPlan, iFormat, iAdditionalProperties, it, buffer, false);
         send(OHttpUtils.STATUS_OK_CODE, OHttpUtils.STATUS_OK_DESCRIPTION, OHttpUtils.CONTENT_JSON, buffer.toString(), null);
       }
     }
   }
 
   private void writeRecordsOnStream(String iFetchPlan, String iFormat, Map<String, Object> iAdditionalProperties,
-      Iterator<Object> it, Writer buffer) throws IOException {
+      Iterator<Object> it, Writer buffer, boolean iStreaming) throws IOException {
     final OJSONWriter json = new OJSONWriter(buffer, iFormat);
     json.beginObject();
 
-    final String format = iFetchPlan != null ? iFormat + ",fetchPlan:" + iFetchPlan : iFormat;
+    final String format = formatWithFetchPlan(iFetchPlan, iFormat);
 
     // WRITE RECORDS
     json.beginCollection(-1, true, "result");
-    formatMultiValue(it, buffer, format);
+    try {
+      formatMultiValue(it, buffer, format);
+    } catch (RuntimeException e) {
+      if (!iStreaming)
+        throw e;
+
+      // THE HEADERS ARE ALREADY SENT: CLOSE THE JSON DOCUMENT WITH THE ERROR INSTEAD OF TRUNCATING IT
+      OLogManager.instance().error(this, "Error during writing of records to the HTTP response", e);
+      json.endCollection(-1, true);
+      json.writeAttribute("error", errorMessage(e));
+      json.endObject();
+      return;
+    }
     json.endCollection(-1, true);
 
     if (iAdditionalProperties != null) {
@@ -412,6 +447,24 @@ public class OHttpResponse {
     json.endObject();
   }
 
+  private void writeRecordsAsLines(final Iterator<?> iIterator, final Writer buffer, final String format) throws IOException {
+    while (iIterator.hasNext()) {
+      final Object entry = iIterator.next();
+      if (entry != null) {
+        formatMultiValue(Collections.singleton(entry).iterator(), buffer, format);
+        buffer.append('\n');
+      }
+    }
+  }
+
+  private static String errorMessage(final Throwable e) {
+    return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+  }
+
+  private static String formatWithFetchPlan(final String iFetchPlan, final String iFormat) {
+    return iFetchPlan != null ? iFormat + ",fetchPlan:" + iFetchPlan : iFormat;
+  }
+
   private void checkConnection() throws IOException {
     final Socket socket;
     if (connection.getProtocol() == null || connection.getProtocol().getChannel() == null)
@@ -652,6 +705,10 @@ public class OHttpResponse {
     return "" + key;
   }
 
+  public boolean isStreaming() {
+    return streaming;
+  }
+
   public void setStreaming(boolean streaming) {
     this.streaming = streaming;
   }
@@ -77,6 +77,7 @@ public class OHttpUtils {
   public static final String CONTENT_TEXT_PLAIN                  = "text/plain";
   public static final String CONTENT_CSV                         = "text/csv";
   public static final String CONTENT_JSON                        = "application/json";
+  public static final String CONTENT_NDJSON                      = "application/x-ndjson";
   public static final String CONTENT_JAVASCRIPT                  = "text/javascript";
   public static final String CONTENT_GZIP                        = "application/x-gzip";
   public static final String CONTENT_ACCEPT_GZIP_ENCODED         = "gzip";
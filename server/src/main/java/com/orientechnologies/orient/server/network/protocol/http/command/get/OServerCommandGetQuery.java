@@ -20,6 +20,7 @@
 package com.orientechnologies.orient.server.network.protocol.http.command.get;
 
 import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.sql.executor.OResult;
 import com.orientechnologies.orient.core.sql.executor.OResultSet;
 import com.orientechnologies.orient.core.sql.parser.OStatement;
 import com.orientechnologies.orient.server.network.protocol.http.OHttpRequest;
@@ -27,9 +28,8 @@ import com.orientechnologies.orient.server.network.protocol.http.OHttpResponse;
 import com.orientechnologies.orient.server.network.protocol.http.command.OServerCommandAuthenticatedDbAbstract;
 import com.orientechnologies.orient.server.network.protocol.http.command.post.OServerCommandPostCommand;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
 
 public class OServerCommandGetQuery extends OServerCommandAuthenticatedDbAbstract {
@@ -61,29 +61,20 @@ public class OServerCommandGetQuery extends OServerCommandAuthenticatedDbAbstrac
       if (localFetchPlan != null) {
         fetchPlan = localFetchPlan;
       }
-      int i = 0;
-      List response = new ArrayList();
-      while (result.hasNext()) {
-        if (limit >= 0 && i >= limit) {
-          break;
-        }
-        response.add(result.next());
-        i++;
+      if (iRequest.getHeader("TE") != null)
+        iResponse.setStreaming(true);
+
+      // THE RESULTS ARE SERIALIZED WHILE THEY ARE FETCHED, THE EXECUTION PLAN IS WRITTEN AFTER THEM
+      final Map<String, Object> additionalContent = new HashMap<>();
+      Iterator<OResult> records = OServerCommandPostCommand.resultIterator(result, limit,
+          () -> result.getExecutionPlan().ifPresent(x -> additionalContent.put("executionPlan", x.toResult().toElement())));
+
+      try {
+        iResponse.writeRecords(records, fetchPlan, null, accept, additionalContent);
+      } finally {
+        result.close();
       }
 
-      Map<String, Object> additionalContent = new HashMap<>();
-
-      result.getExecutionPlan().ifPresent(x -> additionalContent.put("executionPlan", x.toResult().toElement()));
-
-      result.close();
-
-      String format = null;
-      if (fetchPlan != null) {
-        format = "fetchPlan:" + fetchPlan;
-      }
-
-      iResponse.writeRecords(response, fetchPlan, null, accept, additionalContent);
-
     } finally {
       if (db != null)
         db.close();
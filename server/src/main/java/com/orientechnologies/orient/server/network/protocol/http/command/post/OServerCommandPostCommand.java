@@ -24,6 +24,7 @@ import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.OSQLEngine;
+import com.orientechnologies.orient.core.sql.executor.OResult;
 import com.orientechnologies.orient.core.sql.executor.OResultSet;
 import com.orientechnologies.orient.core.sql.parser.*;
 import com.orientechnologies.orient.server.network.protocol.http.OHttpRequest;
@@ -98,24 +99,6 @@ public class OServerCommandPostCommand extends OServerCommandAuthenticatedDbAbst
       if (localFetchPlan != null) {
         fetchPlan = localFetchPlan;
       }
-      int i = 0;
-      List response = new ArrayList();
-      while (result.hasNext()) {
-        if (limit >= 0 && i >= limit) {
-          break;
-        }
-        response.add(result.next());
-        i++;
-      }
-
-      Map<String, Object> additionalContent = new HashMap<>();
-      if (returnExecutionPlan) {
-        result.getExecutionPlan().ifPresent(x -> additionalContent.put("executionPlan", x.toResult().toElement()));
-      }
-
-      result.close();
-      long elapsedMs = System.currentTimeMillis() - begin;
-
       String format = null;
       if (fetchPlan != null) {
         format = "fetchPlan:" + fetchPlan;
@@ -124,8 +107,21 @@ public class OServerCommandPostCommand extends OServerCommandAuthenticatedDbAbst
       if (iRequest.getHeader("TE") != null)
         iResponse.setStreaming(true);
 
-      additionalContent.put("elapsedMs", elapsedMs);
-      iResponse.writeResult(response, format, accept, additionalContent, mode);
+      // THE RESULTS ARE SERIALIZED WHILE THEY ARE FETCHED, THE EXECUTION PLAN AND THE ELAPSED TIME ARE WRITTEN AFTER THEM
+      final Map<String, Object> additionalContent = new HashMap<>();
+      final boolean addExecutionPlan = returnExecutionPlan;
+      Iterator<OResult> records = resultIterator(result, limit, () -> {
+        if (addExecutionPlan) {
+          result.getExecutionPlan().ifPresent(x -> additionalContent.put("executionPlan", x.toResult().toElement()));
+        }
+        additionalContent.put("elapsedMs", System.currentTimeMillis() - begin);
+      });
+
+      try {
+        iResponse.writeRecords(records, null, format, accept, additionalContent, mode);
+      } finally {
+        result.close();
+      }
 
     } finally {
       if (db != null) {
@@ -137,6 +133,39 @@ public class OServerCommandPostCommand extends OServerCommandAuthenticatedDbAbst
     return false;
   }
 
+  /**
+   * @param result the result set to browse
+   * @param limit  the maximum number of results to return, negative for no limit
+   * @param onEnd  invoked once, when the last result has been returned
+   *
+   * @return an iterator that fetches the results from the result set only when they are requested
+   */
+  public static Iterator<OResult> resultIterator(final OResultSet result, final int limit, final Runnable onEnd) {
+    return new Iterator<OResult>() {
+      private int     count = 0;
+      private boolean ended = false;
+
+      @Override
+      public boolean hasNext() {
+        boolean hasNext = (limit < 0 || count < limit) && result.hasNext();
+        if (!hasNext && !ended) {
+          ended = true;
+          onEnd.run();
+        }
+        return hasNext;
+      }
+
+      @Override
+      public OResult next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        count++;
+        return result.next();
+      }
+    };
+  }
+
   public static String getFetchPlanFromStatement(OStatement statement) {
     if (statement instanceof OSelectStatement) {
       OFetchPlan fp = ((OSelectStatement) statement).getFetchPlan();
@@ -0,0 +1,115 @@
+package com.orientechnologies.orient.server;
+
+import com.orientechnologies.orient.client.remote.ORemoteRecordCache;
+import com.orientechnologies.orient.client.remote.OStorageRemote;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.db.OrientDBConfig;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class RemoteRecordCacheTest extends AbstractRemoteTest {
+
+  private OrientDB        orientDB;
+  private ODatabaseSession database;
+  private OrientDB        writerOrientDB;
+  private ODatabaseSession writer;
+
+  @Before
+  public void before() {
+    OrientDBConfig config = OrientDBConfig.builder().addConfig(OGlobalConfiguration.CLIENT_RECORD_CACHE_SIZE, 100).build();
+    orientDB = new OrientDB("remote:localhost", "root", "root", config);
+    database = orientDB.open(name.getMethodName(), "admin", "admin");
+
+    writerOrientDB = new OrientDB("remote:localhost", "root", "root", OrientDBConfig.defaultConfig());
+    writer = writerOrientDB.open(name.getMethodName(), "admin", "admin");
+    writer.createClass("Config");
+  }
+
+  @After
+  public void after() {
+    writer.activateOnCurrentThread();
+    writer.close();
+    writerOrientDB.close();
+    database.activateOnCurrentThread();
+    database.close();
+    orientDB.close();
+  }
+
+  @Test
+  public void testInvalidationOnRemoteUpdate() throws InterruptedException {
+    writer.activateOnCurrentThread();
+    ORID rid = writer.save(new ODocument("Config").field("name", "foo")).getIdentity();
+
+    database.activateOnCurrentThread();
+    ORemoteRecordCache cache = ((OStorageRemote) ((ODatabaseDocumentInternal) database).getStorage()).getRecordCache();
+    assertNotNull(cache);
+    assertEquals("foo", ((ODocument) database.load(rid)).field("name"));
+    assertEquals(1, cache.size());
+
+    database.getLocalCache().clear();
+    assertEquals("foo", ((ODocument) database.load(rid)).field("name"));
+
+    writer.activateOnCurrentThread();
+    writer.command("update Config set name = 'bar'").close();
+
+    database.activateOnCurrentThread();
+    //Push done in background, do not guarantee the invalidation before the command return.
+    for (int i = 0; i < 50 && cache.size() > 0; i++)
+      Thread.sleep(100);
+    assertEquals(0, cache.size());
+    database.getLocalCache().clear();
+    assertEquals("bar", ((ODocument) database.load(rid)).field("name"));
+  }
+
+  @Test
+  public void testInvalidationOnLocalUpdate() {
+    database.activateOnCurrentThread();
+    ODocument doc = database.save(new ODocument("Config").field("name", "foo"));
+    database.getLocalCache().clear();
+    assertEquals("foo", ((ODocument) database.load(doc.getIdentity())).field("name"));
+
+    ODocument loaded = database.load(doc.getIdentity());
+    loaded.field("name", "bar");
+    database.save(loaded);
+
+    database.getLocalCache().clear();
+    assertEquals("bar", ((ODocument) database.load(doc.getIdentity())).field("name"));
+  }
+
+  @Test
+  public void testCacheIsPerUser() {
+    database.activateOnCurrentThread();
+    ODocument doc = database.save(new ODocument("Config").field("name", "foo"));
+    database.getLocalCache().clear();
+    database.load(doc.getIdentity());
+
+    ORemoteRecordCache cache = ((OStorageRemote) ((ODatabaseDocumentInternal) database).getStorage()).getRecordCache();
+    assertNotNull(cache.get(doc.getIdentity(), "admin"));
+    assertNull(cache.get(doc.getIdentity(), "reader"));
+  }
+
+  @Test
+  public void testRestrictedRecordsAreNotCached() {
+    writer.activateOnCurrentThread();
+    writer.createClass("Secret", "ORestricted");
+
+    database.activateOnCurrentThread();
+    database.getMetadata().reload();
+    ODocument doc = database.save(new ODocument("Secret").field("name", "foo"));
+    database.getLocalCache().clear();
+    assertEquals("foo", ((ODocument) database.load(doc.getIdentity())).field("name"));
+
+    ORemoteRecordCache cache = ((OStorageRemote) ((ODatabaseDocumentInternal) database).getStorage()).getRecordCache();
+    assertNull(cache.get(doc.getIdentity(), "admin"));
+  }
+}
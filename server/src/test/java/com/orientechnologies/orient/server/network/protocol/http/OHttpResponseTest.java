@@ -0,0 +1,68 @@
+package com.orientechnologies.orient.server.network.protocol.http;
+
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
+import com.orientechnologies.orient.server.OClientConnection;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Iterator;
+
+public class OHttpResponseTest {
+
+  @Test
+  public void testStreamedJsonEndsWithError() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    OHttpResponse response = createResponse(out);
+    response.setStreaming(true);
+
+    response.writeRecords(failingIterator());
+
+    String content = out.toString("UTF-8");
+    Assert.assertTrue(content.contains("\"name\": \"foo\""));
+    Assert.assertTrue(content.contains("\"error\":\"query failed\""));
+    Assert.assertTrue(content.trim().endsWith("0"));
+  }
+
+  @Test
+  public void testStreamedLinesEndWithError() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    OHttpResponse response = createResponse(out);
+
+    response.writeRecords(failingIterator(), null, null, OHttpUtils.CONTENT_NDJSON);
+
+    String content = out.toString("UTF-8");
+    Assert.assertTrue(content.contains("\"name\": \"foo\""));
+    Assert.assertTrue(content.contains("{\"error\":\"query failed\"}"));
+  }
+
+  private static OHttpResponse createResponse(ByteArrayOutputStream out) {
+    OClientConnection connection = Mockito.mock(OClientConnection.class, Mockito.RETURNS_DEEP_STUBS);
+    connection.getProtocol().getChannel().socket = new Socket();
+    return new OHttpResponse(out, "HTTP/1.1", null, "utf-8", "test", null, null, false, connection);
+  }
+
+  private static Iterator<Object> failingIterator() {
+    return new Iterator<Object>() {
+      private boolean first = true;
+
+      @Override
+      public boolean hasNext() {
+        if (first)
+          return true;
+        throw new IllegalStateException("query failed");
+      }
+
+      @Override
+      public Object next() {
+        first = false;
+        OResultInternal result = new OResultInternal();
+        result.setProperty("name", "foo");
+        return result;
+      }
+    };
+  }
+}
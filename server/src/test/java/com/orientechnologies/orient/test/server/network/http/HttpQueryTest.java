@@ -1,5 +1,10 @@
 package com.orientechnologies.orient.test.server.network.http;
 
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -26,6 +31,34 @@ public class HttpQueryTest extends BaseHttpDatabaseTest {
             .setUserPassword("admin").getResponse().getStatusLine().getStatusCode(), 200);
   }
 
+  @Test
+  public void queryNDJSON() throws IOException {
+    HttpResponse response = get("query/" + getDatabaseName() + "/sql/" + URLEncoder.encode("select from OUser order by name", "UTF8") + "/2",
+        new Header[] { new BasicHeader("Accept", "application/x-ndjson") }).setUserName("admin").setUserPassword("admin")
+        .getResponse();
+    Assert.assertEquals(200, response.getStatusLine().getStatusCode());
+    Assert.assertTrue(response.getFirstHeader("Content-Type").getValue().startsWith("application/x-ndjson"));
+
+    String[] lines = EntityUtils.toString(response.getEntity()).split("\n");
+    Assert.assertEquals(2, lines.length);
+    Assert.assertEquals("admin", new ODocument().fromJSON(lines[0]).field("name"));
+    Assert.assertEquals("reader", new ODocument().fromJSON(lines[1]).field("name"));
+  }
+
+  @Test
+  public void queryLimit() throws IOException {
+    HttpResponse response = get(
+        "query/" + getDatabaseName() + "/sql/" + URLEncoder.encode("select from OUser order by name", "UTF8") + "/1")
+        .setUserName("admin").setUserPassword("admin").getResponse();
+    Assert.assertEquals(200, response.getStatusLine().getStatusCode());
+
+    ODocument result = new ODocument().fromJSON(response.getEntity().getContent());
+    Iterable<ODocument> records = result.field("result");
+    Assert.assertEquals(1, ((java.util.Collection) records).size());
+    Assert.assertEquals("admin", records.iterator().next().field("name"));
+    Assert.assertNotNull(result.field("executionPlan"));
+  }
+
   @Override
   public String getDatabaseName() {
     return "httpquery";